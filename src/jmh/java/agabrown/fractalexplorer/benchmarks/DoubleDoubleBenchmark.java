@@ -0,0 +1,131 @@
+package agabrown.fractalexplorer.benchmarks;
+
+import agabrown.fractalexplorer.deepzoom.ReferenceOrbit;
+import agabrown.fractalexplorer.util.DoubleDouble;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the Mandelbrot iterations z<sub>n+1</sub>=z<sub>n</sub><sup>2</sup>+c in double,
+ * {@link DoubleDouble}, and {@link BigDecimal} arithmetic (the latter as used for the reference orbits of the deep zoom
+ * renderer). The point c lies inside the main cardioid of the Mandelbrot set so that every benchmark carries out the same number of
+ * iterations. The scores are in iterations per second. Run with {@code gradle jmh}.
+ *
+ * @author agabrown Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleDoubleBenchmark {
+
+    /**
+     * Number of iterations per benchmark invocation.
+     */
+    private static final int ITERATIONS = 10000;
+
+    /**
+     * Number of decimal digits used in the BigDecimal iterations.
+     */
+    @Param({"32", "64"})
+    public int digits;
+
+    private BigDecimal exactRe;
+    private BigDecimal exactIm;
+    private DoubleDouble cRe;
+    private DoubleDouble cIm;
+    private DoubleDouble zRe;
+    private DoubleDouble zIm;
+    private DoubleDouble zReSquared;
+    private DoubleDouble zImSquared;
+
+    /**
+     * Set up the point to iterate and the work space.
+     */
+    @Setup
+    public void setUp() {
+        exactRe = new BigDecimal("-0.1234567890123456789012345678901");
+        exactIm = new BigDecimal("0.2345678901234567890123456789012");
+        cRe = DoubleDouble.valueOf(exactRe);
+        cIm = DoubleDouble.valueOf(exactIm);
+        zRe = new DoubleDouble();
+        zIm = new DoubleDouble();
+        zReSquared = new DoubleDouble();
+        zImSquared = new DoubleDouble();
+    }
+
+    /**
+     * Iterate in double precision.
+     *
+     * @return The real part of the last iterate.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public double iterateDouble() {
+        final double re = cRe.getHigh();
+        final double im = cIm.getHigh();
+        double x = 0.0;
+        double y = 0.0;
+        for (int n = 0; n < ITERATIONS; n++) {
+            final double xx = x * x;
+            final double yy = y * y;
+            if (xx + yy > 4.0) {
+                break;
+            }
+            y = 2.0 * x * y + im;
+            x = xx - yy + re;
+        }
+        return x;
+    }
+
+    /**
+     * Iterate in double-double precision.
+     *
+     * @return The real part of the last iterate.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public double iterateDoubleDouble() {
+        zRe.set(0.0);
+        zIm.set(0.0);
+        for (int n = 0; n < ITERATIONS; n++) {
+            final double x = zRe.getHigh();
+            final double y = zIm.getHigh();
+            if (x * x + y * y > 4.0) {
+                break;
+            }
+            zReSquared.square(zRe);
+            zImSquared.square(zIm);
+            zIm.multiply(zIm, zRe).scalb(zIm, 1).add(zIm, cIm);
+            zRe.subtract(zReSquared, zImSquared).add(zRe, cRe);
+        }
+        return zRe.doubleValue();
+    }
+
+    /**
+     * Iterate in BigDecimal arithmetic.
+     *
+     * @return The length of the orbit.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public int iterateBigDecimal() {
+        return ReferenceOrbit.calculate(BigDecimal.ZERO, BigDecimal.ZERO, exactRe, exactIm, false, ITERATIONS, 2.0,
+                digits).getLength();
+    }
+}
@@ -0,0 +1,110 @@
+package agabrown.fractalexplorer.benchmarks;
+
+import agabrown.fractalexplorer.generators.BatchImageRenderer;
+import agabrown.fractalexplorer.generators.EscapeTimeBatchKernel;
+import agabrown.fractalexplorer.generators.InterleavedEscapeTimeKernel;
+import agabrown.fractalexplorer.generators.QuadraticVariant;
+import agabrown.fractalexplorer.generators.ScalarEscapeTimeKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the {@link EscapeTimeBatchKernel} implementations on a row of pixels across the
+ * Mandelbrot set, through the period-2 bulb, the main cardioid and the surrounding escaping points, for the Mandelbrot
+ * set and some of its variants with absolute values. The scores are in pixels per second. The vector kernel needs the
+ * JVM option {@code --add-modules jdk.incubator.vector}, which the build adds. Run with {@code gradle jmh}.
+ *
+ * @author agabrown Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscapeTimeKernelBenchmark {
+
+    /**
+     * Number of pixels in the row.
+     */
+    private static final int PIXELS = 1024;
+
+    /**
+     * Maximum number of iterations.
+     */
+    private static final int MAX_ITERATIONS = 256;
+
+    /**
+     * The kernel to benchmark.
+     */
+    @Param({"scalar", "interleaved", "vector"})
+    public String kernelName;
+
+    /**
+     * The variant of the quadratic map to iterate.
+     */
+    @Param({"MANDELBROT", "BURNING_SHIP", "CELTIC"})
+    public QuadraticVariant variant;
+
+    private EscapeTimeBatchKernel kernel;
+    private double[] cRe;
+    private double[] cIm;
+    private double[] zRe;
+    private double[] zIm;
+    private int[] iterations;
+
+    /**
+     * Set up the row of pixels.
+     *
+     * @throws IllegalStateException If the vector kernel is requested but the Vector API is not available.
+     */
+    @Setup
+    public void setUp() {
+        if ("vector".equals(kernelName)) {
+            kernel = BatchImageRenderer.vectorKernel();
+        } else if ("interleaved".equals(kernelName)) {
+            kernel = new InterleavedEscapeTimeKernel();
+        } else {
+            kernel = new ScalarEscapeTimeKernel();
+        }
+        if (kernel == null) {
+            throw new IllegalStateException("The Vector API is not available.");
+        }
+        cRe = new double[PIXELS];
+        cIm = new double[PIXELS];
+        zRe = new double[PIXELS];
+        zIm = new double[PIXELS];
+        iterations = new int[PIXELS];
+        for (int k = 0; k < PIXELS; k++) {
+            cRe[k] = -2.2 + 3.0 * k / PIXELS;
+            cIm[k] = 0.1;
+        }
+    }
+
+    /**
+     * Iterate the row of pixels.
+     *
+     * @return The number of iterations of the last pixel.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PIXELS)
+    public int iterateRow() {
+        Arrays.fill(zRe, 0.0);
+        Arrays.fill(zIm, 0.0);
+        kernel.iterate(zRe, zIm, cRe, cIm, iterations, 0, PIXELS, variant, false, MAX_ITERATIONS, 4.0);
+        return iterations[PIXELS - 1];
+    }
+}
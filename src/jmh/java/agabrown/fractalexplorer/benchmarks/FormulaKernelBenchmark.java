@@ -0,0 +1,91 @@
+package agabrown.fractalexplorer.benchmarks;
+
+import agabrown.fractalexplorer.colours.EscapeTime;
+import agabrown.fractalexplorer.generators.ComplexFormula;
+import agabrown.fractalexplorer.generators.FractalGeneratorFactory;
+import agabrown.fractalexplorer.generators.ModifiedMandelbrotGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of iterating the Rudy cubic formula z<sup>3</sup>+d*z+c on a row of pixels: the
+ * {@code Function<Complex, Complex>} evaluated with {@link org.apache.commons.math3.complex.Complex} objects, the
+ * kernel compiled from the text of the formula by {@link ComplexFormula}, and the hand-written kernel of
+ * {@link FractalGeneratorFactory#getRudyCubicMandelbrotEscapeTime()}. The scores are in pixels per second. Run with
+ * {@code gradle jmh}.
+ *
+ * @author agabrown Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulaKernelBenchmark {
+
+    /**
+     * Number of pixels in the row.
+     */
+    private static final int PIXELS = 256;
+
+    /**
+     * The Rudy cubic formula.
+     */
+    private static final String FORMULA = "z^3 + (-0.7198+0.9111i)*z + c";
+
+    /**
+     * The way the formula is evaluated.
+     */
+    @Param({"function", "compiled", "handwritten"})
+    public String evaluation;
+
+    private ModifiedMandelbrotGenerator generator;
+
+    /**
+     * Set up the generator.
+     */
+    @Setup
+    public void setUp() {
+        final ComplexFormula formula = ComplexFormula.parse(FORMULA);
+        if ("handwritten".equals(evaluation)) {
+            generator = FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime();
+            return;
+        }
+        final ModifiedMandelbrotGenerator.Builder builder = new ModifiedMandelbrotGenerator.Builder()
+                .colouringAlgorithm(new EscapeTime()).maximumIterations(256).stoppingRadius(1.0e10);
+        if ("compiled".equals(evaluation)) {
+            builder.formula(formula);
+        } else {
+            builder.generatingFunction(formula.getFunction());
+        }
+        generator = builder.build();
+    }
+
+    /**
+     * Calculate the row of pixels.
+     *
+     * @return The sum of the pixel values.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PIXELS)
+    public double calculateRow() {
+        double sum = 0.0;
+        for (int k = 0; k < PIXELS; k++) {
+            sum += generator.generatePixelValue(-1.5 + 3.0 * k / PIXELS, 0.2);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,70 @@
+package agabrown.fractalexplorer.benchmarks;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.generators.LyapunovGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the speed of the Lyapunov fractal generator for the sequence AABAB, with the logarithm of the derivatives
+ * taken in every step (k=1) and every k steps. The scores are in pixels per second for an image of 4600 steps per
+ * pixel, calculated in parallel tiles. Run with {@code gradle jmh}.
+ *
+ * @author agabrown Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LyapunovBenchmark {
+
+    /**
+     * Size of the (square) image in pixels.
+     */
+    private static final int SIZE = 100;
+
+    /**
+     * Number of steps between the logarithms.
+     */
+    @Param({"1", "4", "16", "64"})
+    public int logInterval;
+
+    private LyapunovGenerator generator;
+
+    private ComplexPlaneView cpv;
+
+    /**
+     * Set up the generator and the view of the growth rates.
+     */
+    @Setup
+    public void setUp() {
+        generator = new LyapunovGenerator.Builder().sequence("AABAB").logInterval(logInterval).build();
+        cpv = new ComplexPlaneView(SIZE, SIZE);
+        cpv.setCentre(3.0, 3.0);
+    }
+
+    /**
+     * Calculate the image.
+     *
+     * @return The image.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public double[] generateImage() {
+        return generator.generateImage(cpv);
+    }
+}
@@ -0,0 +1,87 @@
+package agabrown.fractalexplorer.benchmarks;
+
+import agabrown.fractalexplorer.colours.EscapeTime;
+import agabrown.fractalexplorer.generators.ComplexFormula;
+import agabrown.fractalexplorer.generators.FractalGeneratorFactory;
+import agabrown.fractalexplorer.generators.MandelbrotGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the speed of the Multibrot generators for z<sup>n</sup>+c on a row of pixels, for the kernels compiled
+ * by {@link FractalGeneratorFactory#getMultibrotEscapeTime(int)} and for the same formula iterated with
+ * {@link org.apache.commons.math3.complex.Complex} objects. The row lies inside the Multibrot sets for all powers, so
+ * that each pixel is iterated the maximum number of times and the scores in pixels per second compare the cost of one
+ * iteration for the different powers. Run with {@code gradle jmh}.
+ *
+ * @author agabrown Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultibrotBenchmark {
+
+    /**
+     * Number of pixels in the row.
+     */
+    private static final int PIXELS = 256;
+
+    /**
+     * The power of z.
+     */
+    @Param({"2", "3", "8", "16"})
+    public int power;
+
+    /**
+     * The way the formula is evaluated.
+     */
+    @Param({"kernel", "function"})
+    public String evaluation;
+
+    private MandelbrotGenerator generator;
+
+    /**
+     * Set up the generator.
+     */
+    @Setup
+    public void setUp() {
+        if ("kernel".equals(evaluation)) {
+            generator = FractalGeneratorFactory.getMultibrotEscapeTime(power);
+        } else {
+            generator = new MandelbrotGenerator.Builder().colouringAlgorithm(new EscapeTime())
+                    .maximumIterations(256).stoppingRadius(2.0)
+                    .generatingFunction(ComplexFormula.parse("z^" + power + " + c").getFunction()).build();
+        }
+        generator.setInteriorCheck(false);
+    }
+
+    /**
+     * Calculate the row of pixels, on a segment inside the Multibrot sets for all powers.
+     *
+     * @return The sum of the pixel values.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PIXELS)
+    public double calculateRow() {
+        double sum = 0.0;
+        for (int k = 0; k < PIXELS; k++) {
+            sum += generator.generatePixelValue(-0.1 + 0.2 * k / PIXELS, 0.05);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,87 @@
+package agabrown.fractalexplorer.benchmarks;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.generators.AbstractFractalGenerator;
+import agabrown.fractalexplorer.generators.FractalGeneratorFactory;
+import org.apache.commons.math3.complex.Complex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the speed of the Newton fractal generator for z<sup>3</sup>-1 and z<sup>8</sup>-1, compared to the
+ * Mandelbrot escape-time generator, for a complete image calculated in parallel tiles. Run with {@code gradle jmh}.
+ *
+ * @author agabrown Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewtonBenchmark {
+
+    /**
+     * Width of the image in pixels.
+     */
+    private static final int WIDTH = 320;
+
+    /**
+     * Height of the image in pixels.
+     */
+    private static final int HEIGHT = 240;
+
+    /**
+     * The fractal generator.
+     */
+    @Param({"newton3", "newton8", "mandelbrot"})
+    public String fractal;
+
+    private AbstractFractalGenerator generator;
+
+    private ComplexPlaneView cpv;
+
+    /**
+     * Set up the generator and the view of the complex plane.
+     */
+    @Setup
+    public void setUp() {
+        cpv = new ComplexPlaneView(WIDTH, HEIGHT);
+        if ("mandelbrot".equals(fractal)) {
+            generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        } else {
+            cpv.setCentre(0.0, 0.0);
+            final int degree = "newton3".equals(fractal) ? 3 : 8;
+            final Complex[] coefficients = new Complex[degree + 1];
+            coefficients[0] = Complex.valueOf(-1.0);
+            for (int k = 1; k < degree; k++) {
+                coefficients[k] = Complex.ZERO;
+            }
+            coefficients[degree] = Complex.ONE;
+            generator = FractalGeneratorFactory.getNewtonRootBasins(coefficients);
+        }
+    }
+
+    /**
+     * Calculate the image.
+     *
+     * @return The image.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WIDTH * HEIGHT)
+    public double[] generateImage() {
+        return generator.generateImage(cpv);
+    }
+}
@@ -0,0 +1,101 @@
+package agabrown.fractalexplorer.benchmarks;
+
+import agabrown.fractalexplorer.deepzoom.FixedPointComplex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the reference orbit iterations Z<sub>n+1</sub>=Z<sub>n</sub><sup>2</sup>+C in
+ * {@link FixedPointComplex} and in {@link BigDecimal} arithmetic, at precisions of 128, 512 and 2048 bits. The point C
+ * lies inside the main cardioid of the Mandelbrot set so that every benchmark carries out the same number of
+ * iterations. The scores are in iterations per second. Run with {@code gradle jmh}.
+ *
+ * @author agabrown Oct 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceOrbitBenchmark {
+
+    /**
+     * Number of iterations per benchmark invocation.
+     */
+    private static final int ITERATIONS = 1000;
+
+    /**
+     * Precision of the calculations in bits.
+     */
+    @Param({"128", "512", "2048"})
+    public int bits;
+
+    private BigDecimal cRe;
+    private BigDecimal cIm;
+    private MathContext mc;
+    private FixedPointComplex c;
+    private FixedPointComplex z;
+
+    /**
+     * Set up the point to iterate, rounded to the precision of the benchmark.
+     */
+    @Setup
+    public void setUp() {
+        mc = new MathContext((int) Math.ceil(bits * Math.log10(2.0)), RoundingMode.HALF_EVEN);
+        cRe = BigDecimal.ONE.divide(new BigDecimal("-8.1"), mc);
+        cIm = BigDecimal.ONE.divide(new BigDecimal("4.3"), mc);
+        c = new FixedPointComplex(bits).set(cRe, cIm);
+        z = new FixedPointComplex(bits);
+    }
+
+    /**
+     * Iterate in fixed-point arithmetic.
+     *
+     * @return The real part of the last iterate.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public double iterateFixedPoint() {
+        z.set(BigDecimal.ZERO, BigDecimal.ZERO);
+        for (int n = 0; n < ITERATIONS; n++) {
+            z.squareAdd(c, false);
+        }
+        return z.getReal();
+    }
+
+    /**
+     * Iterate in BigDecimal arithmetic, with the same operations as the BigDecimal path of the reference orbits.
+     *
+     * @return The real part of the last iterate.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public double iterateBigDecimal() {
+        BigDecimal zRe = BigDecimal.ZERO;
+        BigDecimal zIm = BigDecimal.ZERO;
+        for (int n = 0; n < ITERATIONS; n++) {
+            final BigDecimal reSquared = zRe.multiply(zRe, mc);
+            final BigDecimal imSquared = zIm.multiply(zIm, mc);
+            final BigDecimal product = zRe.multiply(zIm, mc);
+            zRe = reSquared.subtract(imSquared, mc).add(cRe, mc);
+            zIm = product.add(product, mc).add(cIm, mc);
+        }
+        return zRe.doubleValue();
+    }
+}
@@ -17,6 +17,12 @@ import java.util.List;
  * colours to the Fractal image pixels, but values.
  * </p>
  *
+ * <p>
+ * The fractal generators do not build the list of iterates themselves but
+ * stream the iterates into the {@link OrbitAccumulator} obtained from
+ * {@link #newAccumulator()}.
+ * </p>
+ *
  * @author agabrown Aug 2014 - Sep 2021
  */
 public interface ColouringAlgorithm {
@@ -30,4 +36,20 @@ public interface ColouringAlgorithm {
      */
     double getPixelValue(List<Complex> fnz);
 
+    /**
+     * Create a new accumulator which calculates the pixel value of this algorithm
+     * from a stream of iterates, without the list of iterates having to be
+     * created. Each thread calculating pixel values needs its own accumulator.
+     *
+     * <p>
+     * The default implementation collects the iterates in a list and passes it
+     * to {@link #getPixelValue(List)}. Algorithms that need only a small part
+     * of the orbit should override this method.
+     * </p>
+     *
+     * @return A new accumulator for this colouring algorithm.
+     */
+    default OrbitAccumulator newAccumulator() {
+        return new ListOrbitAccumulator(this);
+    }
 }
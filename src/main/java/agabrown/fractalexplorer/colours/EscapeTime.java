@@ -26,4 +26,45 @@ public final class EscapeTime implements ColouringAlgorithm {
         return fnz.size();
     }
 
+    @Override
+    public OrbitAccumulator newAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Streaming version of the escape time algorithm, which only counts the
+     * iterates.
+     */
+    private static final class Accumulator implements OrbitAccumulator {
+
+        /**
+         * Number of iterates received so far.
+         */
+        private int numberOfIterates;
+
+        @Override
+        public void begin(final double re, final double im) {
+            numberOfIterates = 1;
+        }
+
+        @Override
+        public void update(final double re, final double im) {
+            numberOfIterates++;
+        }
+
+        @Override
+        public double finish() {
+            return numberOfIterates;
+        }
+
+        @Override
+        public boolean canSkipIterates() {
+            return true;
+        }
+
+        @Override
+        public void beginAt(final int numberOfIterates, final double re, final double im) {
+            this.numberOfIterates = numberOfIterates;
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package agabrown.fractalexplorer.colours;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter which lets colouring algorithms that only implement {@link ColouringAlgorithm#getPixelValue(List)} be used
+ * as an {@link OrbitAccumulator}. The iterates are collected in a list which is handed to the colouring algorithm when
+ * the pixel calculation is finished.
+ *
+ * @author agabrown Oct 2026
+ */
+final class ListOrbitAccumulator implements OrbitAccumulator {
+
+    /**
+     * The list based colouring algorithm.
+     */
+    private final ColouringAlgorithm colouringAlgorithm;
+
+    /**
+     * The iterates collected for the current pixel.
+     */
+    private ArrayList<Complex> iterates;
+
+    /**
+     * Constructor.
+     *
+     * @param ca The list based colouring algorithm.
+     */
+    ListOrbitAccumulator(final ColouringAlgorithm ca) {
+        colouringAlgorithm = ca;
+    }
+
+    @Override
+    public void begin(final double re, final double im) {
+        iterates = new ArrayList<>();
+        iterates.add(Complex.valueOf(re, im));
+    }
+
+    @Override
+    public void update(final double re, final double im) {
+        iterates.add(Complex.valueOf(re, im));
+    }
+
+    @Override
+    public double finish() {
+        final List<Complex> fnz = iterates;
+        iterates = null;
+        return colouringAlgorithm.getPixelValue(fnz);
+    }
+}
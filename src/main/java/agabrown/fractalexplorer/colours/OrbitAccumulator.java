@@ -0,0 +1,81 @@
+package agabrown.fractalexplorer.colours;
+
+/**
+ * Streaming version of a {@link ColouringAlgorithm}. Instead of receiving the full list of iterates
+ * f<sup>n</sup>(z), an accumulator is fed the iterates one at a time, as primitive doubles, while the iterations are in
+ * progress. It keeps only the state the colouring algorithm needs, so the orbit never has to be stored.
+ *
+ * <p>
+ * The calculation of one pixel value consists of a call to {@link #begin(double, double)} with the starting value,
+ * one call to {@link #update(double, double)} for each subsequent iterate, and a call to {@link #finish()} which
+ * returns the pixel value. An accumulator holds the state of one pixel calculation at a time and is therefore not
+ * thread-safe. Each thread should obtain its own instance from {@link ColouringAlgorithm#newAccumulator()} and reuse
+ * it for all its pixels.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public interface OrbitAccumulator {
+
+    /**
+     * Start the calculation of a new pixel value.
+     *
+     * @param re Real part of the starting value z.
+     * @param im Imaginary part of the starting value z.
+     */
+    void begin(double re, double im);
+
+    /**
+     * Accumulate the next iterate f<sup>n</sup>(z).
+     *
+     * @param re Real part of the iterate.
+     * @param im Imaginary part of the iterate.
+     */
+    void update(double re, double im);
+
+    /**
+     * Finish the calculation of the pixel value.
+     *
+     * @return The value to assign to the pixel of the Fractal image.
+     */
+    double finish();
+
+    /**
+     * Obtain the pixel value for a point that is known to belong to the fractal set without iterating, for which the
+     * maximum number of iterations would have been reached. The default implementation returns the number of iterates,
+     * which is the value the escape time algorithm would assign. Accumulators that assign another value to orbits that
+     * do not escape should override this method so that {@link #finish()} and this method agree. Colouring algorithms
+     * that use the interior orbit can not be exactly reproduced in this case.
+     *
+     * @param numberOfIterates The number of iterates that would have been received (maximum number of iterations plus
+     *                         one).
+     * @return The value to assign to the pixel of the Fractal image.
+     */
+    default double interiorValue(final int numberOfIterates) {
+        return numberOfIterates;
+    }
+
+    /**
+     * Check whether this accumulator can start from an iterate later in the orbit, without having received the
+     * iterates before it. This is the case for colouring algorithms that only depend on the number of iterates and on
+     * the last iterate.
+     *
+     * @return True if {@link #beginAt(int, double, double)} is supported.
+     */
+    default boolean canSkipIterates() {
+        return false;
+    }
+
+    /**
+     * Start the calculation of a new pixel value from a later iterate in the orbit, as if the preceding iterates had
+     * been received. Used by renderers that obtain the first part of the orbit by approximation.
+     *
+     * @param numberOfIterates The number of iterates up to and including this one.
+     * @param re               Real part of the iterate.
+     * @param im               Imaginary part of the iterate.
+     * @throws UnsupportedOperationException If the accumulator needs all the iterates.
+     */
+    default void beginAt(final int numberOfIterates, final double re, final double im) {
+        throw new UnsupportedOperationException("This colouring algorithm needs all the iterates.");
+    }
+}
@@ -1,5 +1,6 @@
 package agabrown.fractalexplorer.colours;
 
+import agabrown.fractalexplorer.util.ComplexMath;
 import org.apache.commons.math3.complex.Complex;
 
 import java.util.List;
@@ -10,6 +11,13 @@ import java.util.List;
  * (http://jussiharkonen.com/files/on_fractal_coloring_techniques(lo-res).pdf).
  * Intended for Fractals based on the dynamic system z<sup>p</sup>+c.
  *
+ * <p>
+ * An escaping orbit of n iterates gets a value between n and n+1. Orbits that do not escape (the last iterate is
+ * within the bailout value) get the value n+1, the limit for orbits that would escape just after the last iteration,
+ * which is also the {@link OrbitAccumulator#interiorValue(int) interior value}. Points recognized as belonging to the
+ * set without iterating therefore get the same value as when their orbit is iterated.
+ * </p>
+ *
  * @author agabrown Aug 2014 - Sep 2021
  */
 public final class SmoothIterationCount implements ColouringAlgorithm {
@@ -47,7 +55,84 @@ public final class SmoothIterationCount implements ColouringAlgorithm {
      */
     @Override
     public double getPixelValue(final List<Complex> fnz) {
-        return fnz.size() + 1 + invLnPower * Math.log(lnBailout / Math.log(fnz.get(fnz.size() - 1).abs()));
+        return smoothValue(fnz.size(), fnz.get(fnz.size() - 1).abs());
+    }
+
+    /**
+     * Calculate the smooth iteration count.
+     *
+     * @param numberOfIterates Number of iterates.
+     * @param lastModulus      Modulus of the last iterate.
+     * @return The pixel value.
+     */
+    private double smoothValue(final int numberOfIterates, final double lastModulus) {
+        final double lnModulus = Math.log(lastModulus);
+        if (!(lnModulus > lnBailout)) {
+            return numberOfIterates + 1;
+        }
+        return numberOfIterates + 1 + invLnPower * Math.log(lnBailout / lnModulus);
     }
 
+    @Override
+    public OrbitAccumulator newAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Streaming version of the smooth iteration count algorithm, which keeps
+     * only the number of iterates and the last iterate.
+     */
+    private final class Accumulator implements OrbitAccumulator {
+
+        /**
+         * Number of iterates received so far.
+         */
+        private int numberOfIterates;
+
+        /**
+         * Real part of the last iterate.
+         */
+        private double lastReal;
+
+        /**
+         * Imaginary part of the last iterate.
+         */
+        private double lastImaginary;
+
+        @Override
+        public void begin(final double re, final double im) {
+            numberOfIterates = 1;
+            lastReal = re;
+            lastImaginary = im;
+        }
+
+        @Override
+        public void update(final double re, final double im) {
+            numberOfIterates++;
+            lastReal = re;
+            lastImaginary = im;
+        }
+
+        @Override
+        public double finish() {
+            return smoothValue(numberOfIterates, ComplexMath.abs(lastReal, lastImaginary));
+        }
+
+        @Override
+        public double interiorValue(final int numberOfIterates) {
+            return numberOfIterates + 1;
+        }
+
+        @Override
+        public boolean canSkipIterates() {
+            return true;
+        }
+
+        @Override
+        public void beginAt(final int numberOfIterates, final double re, final double im) {
+            this.numberOfIterates = numberOfIterates;
+            lastReal = re;
+            lastImaginary = im;
+        }
+    }
 }
@@ -0,0 +1,250 @@
+package agabrown.fractalexplorer.deepzoom;
+
+/**
+ * Table of bivariate linear approximations (BLA) of the deviations &delta;<sub>n</sub> of orbits from a
+ * {@link ReferenceOrbit}, with which a pixel orbit can skip blocks of iterations. As long as |&delta;| is small
+ * compared to |Z<sub>n</sub>| the term &delta;<sup>2</sup> in
+ * &delta;<sub>n+1</sub>=2Z<sub>n</sub>&delta;<sub>n</sub>+&delta;<sub>n</sub><sup>2</sup>+&delta;c can be neglected,
+ * and l iterations starting at iteration n reduce to
+ * &delta;<sub>n+l</sub>=A&delta;<sub>n</sub>+B&delta;c, valid for |&delta;<sub>n</sub>|&lt;R.
+ *
+ * <p>
+ * The single iteration approximations (A=2Z<sub>n</sub>, B=1, R=2&epsilon;|Z<sub>n</sub>|, with &epsilon; the
+ * relative precision of doubles times a tolerance) are merged pairwise into a hierarchy of approximations for blocks
+ * of 2, 4, 8, &hellip; iterations. Merging x followed by y gives A=A<sub>y</sub>A<sub>x</sub>,
+ * B=A<sub>y</sub>B<sub>x</sub>+B<sub>y</sub> and
+ * R=min(R<sub>x</sub>, (R<sub>y</sub>-|B<sub>x</sub>||&delta;c|<sub>max</sub>)/|A<sub>x</sub>|). A pixel at an
+ * iteration n that is a multiple of a block length looks up the longest valid block starting at n, so that long
+ * stretches of iterations are covered in a number of steps that grows only logarithmically.
+ * </p>
+ *
+ * <p>
+ * To keep the memory use bounded for reference orbits of many millions of iterations, the approximations are only
+ * stored for blocks of at least 2<sup>{@value #MINIMUM_LEVEL}</sup> iterations, in flat arrays of doubles. The table
+ * then needs less memory than the reference orbit itself. Iterations not covered by a valid block are carried out one
+ * by one by the caller. The approximation is only valid for z<sup>2</sup>+c, not for iterations of
+ * conjugate(z)<sup>2</sup>+c. Instances are immutable.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class BivariateLinearApproximation {
+
+    /**
+     * The base two logarithm of the shortest block of iterations stored in the table.
+     */
+    public static final int MINIMUM_LEVEL = 4;
+
+    /**
+     * Default value of the maximum ratio of the neglected term to the rounding error of the linear term.
+     */
+    public static final double DEFAULT_TOLERANCE = 1.0;
+
+    /**
+     * Number of doubles stored per block: Re(A), Im(A), Re(B), Im(B), R.
+     */
+    private static final int ENTRY_SIZE = 5;
+
+    /**
+     * The approximations for each level (block length 2<sup>MINIMUM_LEVEL+level</sup>), ENTRY_SIZE doubles per
+     * block.
+     */
+    private final double[][] levels;
+
+    /**
+     * Constructor.
+     *
+     * @param levels The approximations for each level.
+     */
+    private BivariateLinearApproximation(final double[][] levels) {
+        this.levels = levels;
+    }
+
+    /**
+     * Build the table of approximations over the reference orbit.
+     *
+     * @param orbit           The reference orbit (of z<sup>2</sup>+c).
+     * @param deltaInConstant True if the points differ from the reference point in the constant c.
+     * @param radius          Maximum distance of the points from the reference point (the maximum of |&delta;c|).
+     * @param tolerance       Maximum ratio of the neglected term to the rounding error of the linear term.
+     * @return The table of approximations.
+     * @throws IllegalArgumentException If the radius is negative or the tolerance is not positive.
+     */
+    public static BivariateLinearApproximation calculate(final ReferenceOrbit orbit, final boolean deltaInConstant,
+                                                         final double radius, final double tolerance) {
+        if (!(radius >= 0.0)) {
+            throw new IllegalArgumentException("Radius should not be negative.");
+        }
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance should be positive.");
+        }
+        final double epsilon = tolerance * Math.ulp(1.0);
+        final double constant = deltaInConstant ? 1.0 : 0.0;
+        final double deltaCMax = deltaInConstant ? radius : 0.0;
+        final int steps = orbit.getLength() - 1;
+        final int blockLength = 1 << MINIMUM_LEVEL;
+
+        int numberOfLevels = 0;
+        while ((steps >> (MINIMUM_LEVEL + numberOfLevels)) > 0) {
+            numberOfLevels++;
+        }
+        final double[][] levels = new double[numberOfLevels][];
+        if (numberOfLevels == 0) {
+            return new BivariateLinearApproximation(levels);
+        }
+
+        final double[] entry = new double[ENTRY_SIZE];
+        final double[] single = new double[ENTRY_SIZE];
+        levels[0] = new double[(steps >> MINIMUM_LEVEL) * ENTRY_SIZE];
+        for (int block = 0; block < steps >> MINIMUM_LEVEL; block++) {
+            for (int k = 0; k < blockLength; k++) {
+                final int n = block * blockLength + k;
+                final double zRe = orbit.getReal(n);
+                final double zIm = orbit.getImaginary(n);
+                single[0] = 2.0 * zRe;
+                single[1] = 2.0 * zIm;
+                single[2] = constant;
+                single[3] = 0.0;
+                single[4] = 2.0 * epsilon * Math.hypot(zRe, zIm);
+                if (k == 0) {
+                    System.arraycopy(single, 0, entry, 0, ENTRY_SIZE);
+                } else {
+                    merge(entry, 0, single, 0, deltaCMax, entry, 0);
+                }
+            }
+            System.arraycopy(entry, 0, levels[0], block * ENTRY_SIZE, ENTRY_SIZE);
+        }
+        for (int level = 1; level < numberOfLevels; level++) {
+            final double[] lower = levels[level - 1];
+            final int count = steps >> (MINIMUM_LEVEL + level);
+            final double[] table = new double[count * ENTRY_SIZE];
+            for (int block = 0; block < count; block++) {
+                merge(lower, 2 * block * ENTRY_SIZE, lower, (2 * block + 1) * ENTRY_SIZE, deltaCMax, table,
+                        block * ENTRY_SIZE);
+            }
+            levels[level] = table;
+        }
+        return new BivariateLinearApproximation(levels);
+    }
+
+    /**
+     * Merge approximation x followed by approximation y. The entries are stored as Re(A), Im(A), Re(B), Im(B), R.
+     * The result may overwrite x.
+     *
+     * @param x         Array holding approximation x.
+     * @param xOffset   Offset of approximation x in its array.
+     * @param y         Array holding approximation y.
+     * @param yOffset   Offset of approximation y in its array.
+     * @param deltaCMax Maximum value of |&delta;c|.
+     * @param result    Array to hold the merged approximation.
+     * @param offset    Offset of the merged approximation in its array.
+     */
+    private static void merge(final double[] x, final int xOffset, final double[] y, final int yOffset,
+                              final double deltaCMax, final double[] result, final int offset) {
+        final double axRe = x[xOffset];
+        final double axIm = x[xOffset + 1];
+        final double bxRe = x[xOffset + 2];
+        final double bxIm = x[xOffset + 3];
+        final double rx = x[xOffset + 4];
+        final double ayRe = y[yOffset];
+        final double ayIm = y[yOffset + 1];
+        final double byRe = y[yOffset + 2];
+        final double byIm = y[yOffset + 3];
+        final double ry = y[yOffset + 4];
+        final double axModulus = Math.hypot(axRe, axIm);
+        final double rFromY = Math.max(0.0, ry - Math.hypot(bxRe, bxIm) * deltaCMax);
+        double r = axModulus > 0.0 ? Math.min(rx, rFromY / axModulus) : (rFromY > 0.0 ? rx : 0.0);
+        final double aRe = ayRe * axRe - ayIm * axIm;
+        final double aIm = ayRe * axIm + ayIm * axRe;
+        final double bRe = ayRe * bxRe - ayIm * bxIm + byRe;
+        final double bIm = ayRe * bxIm + ayIm * bxRe + byIm;
+        if (!Double.isFinite(aRe + aIm + bRe + bIm) || !(r > 0.0)) {
+            r = 0.0;
+        }
+        result[offset] = aRe;
+        result[offset + 1] = aIm;
+        result[offset + 2] = bRe;
+        result[offset + 3] = bIm;
+        result[offset + 4] = r;
+    }
+
+    /**
+     * Find the longest block of iterations starting at iteration n for which the approximation is valid. The
+     * modulus of &delta;<sub>n</sub> is compared to R, rather than its square to R<sup>2</sup>, as the squares
+     * underflow at deep zooms.
+     *
+     * @param n                 The current iteration number.
+     * @param deltaModulus      The value of |&delta;<sub>n</sub>|.
+     * @param maximumIterations The block should not extend beyond this iteration number.
+     * @return The level of the block (block length 2<sup>MINIMUM_LEVEL+level</sup>), or -1 if there is no valid
+     * block.
+     */
+    public int findLevel(final int n, final double deltaModulus, final int maximumIterations) {
+        for (int level = levels.length - 1; level >= 0; level--) {
+            final int shift = MINIMUM_LEVEL + level;
+            if ((n & ((1 << shift) - 1)) != 0 || n + (1 << shift) > maximumIterations) {
+                continue;
+            }
+            final int offset = (n >> shift) * ENTRY_SIZE;
+            if (offset < levels[level].length && deltaModulus < levels[level][offset + 4]) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtain the number of iterations covered by the blocks at a level.
+     *
+     * @param level The level.
+     * @return The block length.
+     */
+    public static int getBlockLength(final int level) {
+        return 1 << (MINIMUM_LEVEL + level);
+    }
+
+    /**
+     * Obtain the real part of &delta;<sub>n+l</sub> for the block of length l starting at iteration n.
+     *
+     * @param level The level of the block.
+     * @param n     The iteration number at the start of the block.
+     * @param dRe   Real part of &delta;<sub>n</sub>.
+     * @param dIm   Imaginary part of &delta;<sub>n</sub>.
+     * @param dcRe  Real part of &delta;c.
+     * @param dcIm  Imaginary part of &delta;c.
+     * @return Re(&delta;<sub>n+l</sub>).
+     */
+    public double deltaReal(final int level, final int n, final double dRe, final double dIm, final double dcRe,
+                            final double dcIm) {
+        final double[] table = levels[level];
+        final int offset = (n >> (MINIMUM_LEVEL + level)) * ENTRY_SIZE;
+        return table[offset] * dRe - table[offset + 1] * dIm + table[offset + 2] * dcRe - table[offset + 3] * dcIm;
+    }
+
+    /**
+     * Obtain the imaginary part of &delta;<sub>n+l</sub> for the block of length l starting at iteration n.
+     *
+     * @param level The level of the block.
+     * @param n     The iteration number at the start of the block.
+     * @param dRe   Real part of &delta;<sub>n</sub>.
+     * @param dIm   Imaginary part of &delta;<sub>n</sub>.
+     * @param dcRe  Real part of &delta;c.
+     * @param dcIm  Imaginary part of &delta;c.
+     * @return Im(&delta;<sub>n+l</sub>).
+     */
+    public double deltaImaginary(final int level, final int n, final double dRe, final double dIm, final double dcRe,
+                                 final double dcIm) {
+        final double[] table = levels[level];
+        final int offset = (n >> (MINIMUM_LEVEL + level)) * ENTRY_SIZE;
+        return table[offset] * dIm + table[offset + 1] * dRe + table[offset + 2] * dcIm + table[offset + 3] * dcRe;
+    }
+
+    /**
+     * Obtain the number of levels in the table.
+     *
+     * @return The number of levels.
+     */
+    public int getNumberOfLevels() {
+        return levels.length;
+    }
+}
@@ -0,0 +1,366 @@
+package agabrown.fractalexplorer.deepzoom;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Mutable complex number in multi-limb fixed-point arithmetic, tuned for the iteration
+ * Z<sub>n+1</sub>=Z<sub>n</sub><sup>2</sup>+C of high precision reference orbits. The real and imaginary parts are
+ * each stored as a two's complement integer in an array of 32-bit limbs (held in longs, so that products of limbs fit
+ * without overflow), scaled by 2<sup>-32f</sup> for f fraction limbs. The most significant limb holds the integer
+ * part, which limits the magnitude of the parts to below 2<sup>31</sup>.
+ *
+ * <p>
+ * Unlike {@link BigDecimal} arithmetic, which creates new objects for every operation, all work space is allocated
+ * when the number is created, so that orbits of millions of iterations can be calculated without any allocation. The
+ * products are truncated after one guard limb below the least significant fraction limb, so the absolute error per
+ * operation is a few units of 2<sup>-32f</sup>. Instances are not thread safe.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class FixedPointComplex {
+
+    /**
+     * Largest stopping radius for which the iterates up to the first one outside the stopping radius are guaranteed
+     * to fit in the integer limb.
+     */
+    public static final double MAXIMUM_STOPPING_RADIUS = 32768.0;
+
+    /**
+     * Number of bits per limb.
+     */
+    private static final int LIMB_BITS = 32;
+
+    /**
+     * Mask selecting the lower 32 bits.
+     */
+    private static final long MASK = 0xFFFFFFFFL;
+
+    /**
+     * Smallest value of the integer limb of a negative number.
+     */
+    private static final long SIGN_LIMB = 0x80000000L;
+
+    /**
+     * Number of fraction limbs.
+     */
+    private final int fractionLimbs;
+
+    /**
+     * Limbs of the real part, most significant first.
+     */
+    private final long[] real;
+
+    /**
+     * Limbs of the imaginary part, most significant first.
+     */
+    private final long[] imaginary;
+
+    /**
+     * Work space for the iterations.
+     */
+    private final long[] sum;
+    private final long[] difference;
+    private final long[] product;
+    private final long[] absA;
+    private final long[] absB;
+    private final long[] columns;
+
+    /**
+     * Constructor. Creates the number zero.
+     *
+     * @param fractionBits The number of bits after the binary point (rounded up to a multiple of 32).
+     * @throws IllegalArgumentException If the number of bits is less than 1.
+     */
+    public FixedPointComplex(final int fractionBits) {
+        if (fractionBits < 1) {
+            throw new IllegalArgumentException("At least one fraction bit is required.");
+        }
+        fractionLimbs = (fractionBits + LIMB_BITS - 1) / LIMB_BITS;
+        final int limbs = fractionLimbs + 1;
+        real = new long[limbs];
+        imaginary = new long[limbs];
+        sum = new long[limbs];
+        difference = new long[limbs];
+        product = new long[limbs];
+        absA = new long[limbs];
+        absB = new long[limbs];
+        columns = new long[limbs + 1];
+    }
+
+    /**
+     * Obtain the number of bits after the binary point.
+     *
+     * @return The number of fraction bits.
+     */
+    public int getFractionBits() {
+        return fractionLimbs * LIMB_BITS;
+    }
+
+    /**
+     * Set the value of this number, rounded to the fixed-point precision.
+     *
+     * @param re Real part.
+     * @param im Imaginary part.
+     * @return This number.
+     * @throws IllegalArgumentException If the magnitude of the real or imaginary part is 2<sup>31</sup> or larger.
+     */
+    public FixedPointComplex set(final BigDecimal re, final BigDecimal im) {
+        toLimbs(re, real);
+        toLimbs(im, imaginary);
+        return this;
+    }
+
+    /**
+     * Set the value of this number to that of another number of the same precision.
+     *
+     * @param other The other number.
+     * @return This number.
+     * @throws IllegalArgumentException If the other number has a different precision.
+     */
+    public FixedPointComplex set(final FixedPointComplex other) {
+        if (other.fractionLimbs != fractionLimbs) {
+            throw new IllegalArgumentException("The numbers should have the same precision.");
+        }
+        System.arraycopy(other.real, 0, real, 0, real.length);
+        System.arraycopy(other.imaginary, 0, imaginary, 0, imaginary.length);
+        return this;
+    }
+
+    /**
+     * Replace this number Z by Z<sup>2</sup>+C (or conjugate(Z)<sup>2</sup>+C). The real part of the square is
+     * calculated as (Re(Z)+Im(Z))(Re(Z)-Im(Z)), so that one iteration takes two multi-limb multiplications. This is
+     * faster than calculating the square from the three multi-limb squares Re(Z)<sup>2</sup>, Im(Z)<sup>2</sup> and
+     * (Re(Z)+Im(Z))<sup>2</sup>, as the products are already truncated to about half the limb multiplications.
+     *
+     * @param c         The constant C, which should have the same precision as this number.
+     * @param conjugate If true use the conjugate of Z.
+     * @return This number.
+     */
+    public FixedPointComplex squareAdd(final FixedPointComplex c, final boolean conjugate) {
+        add(real, imaginary, sum);
+        subtract(real, imaginary, difference);
+        multiply(real, imaginary, product);
+        add(product, product, imaginary);
+        if (conjugate) {
+            subtract(c.imaginary, imaginary, imaginary);
+        } else {
+            add(imaginary, c.imaginary, imaginary);
+        }
+        multiply(sum, difference, real);
+        add(real, c.real, real);
+        return this;
+    }
+
+    /**
+     * Obtain the real part rounded to double precision.
+     *
+     * @return Re(Z).
+     */
+    public double getReal() {
+        return toDouble(real);
+    }
+
+    /**
+     * Obtain the imaginary part rounded to double precision.
+     *
+     * @return Im(Z).
+     */
+    public double getImaginary() {
+        return toDouble(imaginary);
+    }
+
+    /**
+     * Obtain the exact value of the real part.
+     *
+     * @return Re(Z).
+     */
+    public BigDecimal getExactReal() {
+        return toBigDecimal(real);
+    }
+
+    /**
+     * Obtain the exact value of the imaginary part.
+     *
+     * @return Im(Z).
+     */
+    public BigDecimal getExactImaginary() {
+        return toBigDecimal(imaginary);
+    }
+
+    /**
+     * Convert a decimal number to fixed-point limbs.
+     *
+     * @param value The decimal number.
+     * @param limbs The array receiving the limbs.
+     * @throws IllegalArgumentException If the magnitude of the number is 2<sup>31</sup> or larger.
+     */
+    private void toLimbs(final BigDecimal value, final long[] limbs) {
+        final BigInteger scaled = value.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(LIMB_BITS * fractionLimbs)))
+                .setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+        if (scaled.bitLength() >= LIMB_BITS * limbs.length) {
+            throw new IllegalArgumentException("Value out of range for fixed-point arithmetic: " + value);
+        }
+        for (int k = 0; k < limbs.length; k++) {
+            limbs[k] = scaled.shiftRight(LIMB_BITS * (fractionLimbs - k)).longValue() & MASK;
+        }
+    }
+
+    /**
+     * Convert fixed-point limbs to a decimal number.
+     *
+     * @param limbs The limbs.
+     * @return The exact decimal value.
+     */
+    private BigDecimal toBigDecimal(final long[] limbs) {
+        BigInteger scaled = BigInteger.ZERO;
+        for (final long limb : limbs) {
+            scaled = scaled.shiftLeft(LIMB_BITS).or(BigInteger.valueOf(limb));
+        }
+        if (isNegative(limbs)) {
+            scaled = scaled.subtract(BigInteger.ONE.shiftLeft(LIMB_BITS * limbs.length));
+        }
+        return new BigDecimal(scaled).divide(new BigDecimal(BigInteger.ONE.shiftLeft(LIMB_BITS * fractionLimbs)));
+    }
+
+    /**
+     * Convert fixed-point limbs to a double. Only the three limbs starting at the most significant non-zero one are
+     * used, which is more than enough for double precision.
+     *
+     * @param limbs The limbs.
+     * @return The value (truncated to double precision).
+     */
+    private double toDouble(final long[] limbs) {
+        final boolean negative = isNegative(limbs);
+        final long[] magnitude = negative ? negate(limbs, absA) : limbs;
+        int k = 0;
+        while (k < magnitude.length && magnitude[k] == 0L) {
+            k++;
+        }
+        double value = 0.0;
+        for (int i = k; i < Math.min(k + 3, magnitude.length); i++) {
+            value += Math.scalb((double) magnitude[i], -LIMB_BITS * i);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Check whether a fixed-point number is negative.
+     *
+     * @param a The limbs of the number.
+     * @return True if the number is negative.
+     */
+    private static boolean isNegative(final long[] a) {
+        return a[0] >= SIGN_LIMB;
+    }
+
+    /**
+     * Calculate a+b (modulo the range of the integer limb). The result array may be one of the operands.
+     *
+     * @param a      First operand.
+     * @param b      Second operand.
+     * @param result The result.
+     */
+    private static void add(final long[] a, final long[] b, final long[] result) {
+        long carry = 0L;
+        for (int k = a.length - 1; k >= 0; k--) {
+            final long s = a[k] + b[k] + carry;
+            result[k] = s & MASK;
+            carry = s >>> LIMB_BITS;
+        }
+    }
+
+    /**
+     * Calculate a-b (modulo the range of the integer limb). The result array may be one of the operands.
+     *
+     * @param a      First operand.
+     * @param b      Second operand.
+     * @param result The result.
+     */
+    private static void subtract(final long[] a, final long[] b, final long[] result) {
+        long borrow = 0L;
+        for (int k = a.length - 1; k >= 0; k--) {
+            final long s = a[k] - b[k] - borrow;
+            result[k] = s & MASK;
+            borrow = s >>> 63;
+        }
+    }
+
+    /**
+     * Calculate -a. The result array may be the operand.
+     *
+     * @param a      The operand.
+     * @param result The result.
+     * @return The result array.
+     */
+    private static long[] negate(final long[] a, final long[] result) {
+        long borrow = 0L;
+        for (int k = a.length - 1; k >= 0; k--) {
+            final long s = -a[k] - borrow;
+            result[k] = s & MASK;
+            borrow = s >>> 63;
+        }
+        return result;
+    }
+
+    /**
+     * Calculate the signed product a&times;b, truncated to the fixed-point precision. The result array may be one of
+     * the operands.
+     *
+     * @param a      First operand.
+     * @param b      Second operand.
+     * @param result The result.
+     */
+    private void multiply(final long[] a, final long[] b, final long[] result) {
+        final boolean negativeA = isNegative(a);
+        final boolean negativeB = isNegative(b);
+        multiplyMagnitudes(negativeA ? negate(a, absA) : a, negativeB ? negate(b, absB) : b);
+        System.arraycopy(columns, 0, result, 0, result.length);
+        if (negativeA != negativeB) {
+            negate(result, result);
+        }
+    }
+
+    /**
+     * Multiply two non-negative numbers, keeping the columns up to one guard limb beyond the precision.
+     *
+     * @param x First operand.
+     * @param y Second operand.
+     */
+    private void multiplyMagnitudes(final long[] x, final long[] y) {
+        final long[] t = columns;
+        final int last = t.length - 1;
+        Arrays.fill(t, 0L);
+        for (int i = 0; i < x.length; i++) {
+            final long xi = x[i];
+            if (xi == 0L) {
+                continue;
+            }
+            for (int j = 0; j < y.length && i + j <= last; j++) {
+                final long p = xi * y[j];
+                final int k = i + j;
+                t[k] += p & MASK;
+                if (k > 0) {
+                    t[k - 1] += p >>> LIMB_BITS;
+                }
+            }
+        }
+        propagateCarries(t);
+    }
+
+    /**
+     * Propagate the carries of the column sums of a product, so that all columns hold 32-bit limbs.
+     *
+     * @param t The column sums.
+     */
+    private static void propagateCarries(final long[] t) {
+        for (int k = t.length - 1; k > 0; k--) {
+            t[k - 1] += t[k] >>> LIMB_BITS;
+            t[k] &= MASK;
+        }
+        t[0] &= MASK;
+    }
+}
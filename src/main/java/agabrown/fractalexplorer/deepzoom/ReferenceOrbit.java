@@ -0,0 +1,249 @@
+package agabrown.fractalexplorer.deepzoom;
+
+import agabrown.fractalexplorer.util.FloatExp;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * The orbit Z<sub>n+1</sub>=Z<sub>n</sub><sup>2</sup>+C (or conjugate(Z<sub>n</sub>)<sup>2</sup>+C) of a reference
+ * point, calculated in high precision and stored as doubles. The orbits of nearby points can then be calculated in
+ * double precision as deviations from the reference orbit (perturbation theory).
+ *
+ * <p>
+ * The orbit is stored up to and including the first iterate outside the stopping radius, or up to the maximum number
+ * of iterations. Instances are immutable and can be shared between threads.
+ * </p>
+ *
+ * <p>
+ * The orbit is calculated in {@link FixedPointComplex} arithmetic, which does not allocate any objects during the
+ * iterations, with the number of fraction bits equivalent to the requested number of decimal digits. Only for
+ * stopping radii or starting points beyond the range of the fixed-point numbers is {@link BigDecimal} arithmetic
+ * used.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class ReferenceOrbit {
+
+    /**
+     * Minimum number of significant decimal digits used in calculating the orbit.
+     */
+    private static final int MINIMUM_DIGITS = 20;
+
+    /**
+     * Number of decimal digits used on top of those needed to resolve the pixel size.
+     */
+    private static final int GUARD_DIGITS = 16;
+
+    /**
+     * Initial size of the arrays holding the orbit. The arrays grow as needed, so that orbits that escape early do not
+     * take up memory for the maximum number of iterations.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Number of bits per decimal digit.
+     */
+    private static final double BITS_PER_DIGIT = Math.log(10.0) / Math.log(2.0);
+
+    /**
+     * Real parts of the iterates Z<sub>n</sub>.
+     */
+    private final double[] real;
+
+    /**
+     * Imaginary parts of the iterates Z<sub>n</sub>.
+     */
+    private final double[] imaginary;
+
+    /**
+     * Number of iterates stored (including Z<sub>0</sub>).
+     */
+    private final int length;
+
+    /**
+     * True if the orbit left the stopping radius before the maximum number of iterations.
+     */
+    private final boolean escaped;
+
+    /**
+     * Constructor.
+     *
+     * @param real      Real parts of the iterates (array may be longer than the orbit).
+     * @param imaginary Imaginary parts of the iterates.
+     * @param length    Number of iterates.
+     * @param escaped   True if the orbit escaped.
+     */
+    private ReferenceOrbit(final double[] real, final double[] imaginary, final int length, final boolean escaped) {
+        this.real = real;
+        this.imaginary = imaginary;
+        this.length = length;
+        this.escaped = escaped;
+    }
+
+    /**
+     * Calculate the reference orbit in high precision.
+     *
+     * @param z0Re           Real part of the starting value Z<sub>0</sub>.
+     * @param z0Im           Imaginary part of the starting value Z<sub>0</sub>.
+     * @param cRe            Real part of the constant C.
+     * @param cIm            Imaginary part of the constant C.
+     * @param conjugate      If true iterate conjugate(Z)<sup>2</sup>+C.
+     * @param maxIter        Maximum number of iterations.
+     * @param stoppingRadius The stopping radius.
+     * @param digits         Number of significant decimal digits to use in the calculations.
+     * @return The reference orbit.
+     * @throws IllegalArgumentException If the maximum number of iterations or number of digits is less than 1.
+     */
+    public static ReferenceOrbit calculate(final BigDecimal z0Re, final BigDecimal z0Im, final BigDecimal cRe,
+                                           final BigDecimal cIm, final boolean conjugate, final int maxIter,
+                                           final double stoppingRadius, final int digits) {
+        if (maxIter < 1) {
+            throw new IllegalArgumentException("At least one iteration is required.");
+        }
+        if (digits < 1) {
+            throw new IllegalArgumentException("At least one digit of precision is required.");
+        }
+        final double radiusSquared = stoppingRadius * stoppingRadius;
+        final double maximumValue = Math.max(Math.max(z0Re.abs().doubleValue(), z0Im.abs().doubleValue()),
+                Math.max(cRe.abs().doubleValue(), cIm.abs().doubleValue()));
+        if (stoppingRadius <= FixedPointComplex.MAXIMUM_STOPPING_RADIUS
+                && maximumValue <= FixedPointComplex.MAXIMUM_STOPPING_RADIUS) {
+            return calculateFixedPoint(z0Re, z0Im, cRe, cIm, conjugate, maxIter, radiusSquared, digits);
+        }
+        final MathContext mc = new MathContext(digits, RoundingMode.HALF_EVEN);
+        double[] re = new double[Math.min(maxIter + 1, INITIAL_CAPACITY)];
+        double[] im = new double[re.length];
+        BigDecimal zRe = z0Re.round(mc);
+        BigDecimal zIm = z0Im.round(mc);
+        re[0] = zRe.doubleValue();
+        im[0] = zIm.doubleValue();
+        int n = 0;
+        while (n < maxIter && re[n] * re[n] + im[n] * im[n] <= radiusSquared) {
+            final BigDecimal reSquared = zRe.multiply(zRe, mc);
+            final BigDecimal imSquared = zIm.multiply(zIm, mc);
+            final BigDecimal product = zRe.multiply(zIm, mc);
+            zRe = reSquared.subtract(imSquared, mc).add(cRe, mc);
+            zIm = conjugate ? cIm.subtract(product.add(product, mc), mc) : product.add(product, mc).add(cIm, mc);
+            n++;
+            if (n == re.length) {
+                final int capacity = (int) Math.min(maxIter + 1L, 2L * re.length);
+                re = Arrays.copyOf(re, capacity);
+                im = Arrays.copyOf(im, capacity);
+            }
+            re[n] = zRe.doubleValue();
+            im[n] = zIm.doubleValue();
+        }
+        final boolean escaped = re[n] * re[n] + im[n] * im[n] > radiusSquared;
+        return new ReferenceOrbit(re, im, n + 1, escaped);
+    }
+
+    /**
+     * Calculate the reference orbit in fixed-point arithmetic.
+     *
+     * @param z0Re          Real part of the starting value Z<sub>0</sub>.
+     * @param z0Im          Imaginary part of the starting value Z<sub>0</sub>.
+     * @param cRe           Real part of the constant C.
+     * @param cIm           Imaginary part of the constant C.
+     * @param conjugate     If true iterate conjugate(Z)<sup>2</sup>+C.
+     * @param maxIter       Maximum number of iterations.
+     * @param radiusSquared The square of the stopping radius.
+     * @param digits        Number of decimal digits after the decimal point to use in the calculations.
+     * @return The reference orbit.
+     */
+    private static ReferenceOrbit calculateFixedPoint(final BigDecimal z0Re, final BigDecimal z0Im,
+                                                      final BigDecimal cRe, final BigDecimal cIm,
+                                                      final boolean conjugate, final int maxIter,
+                                                      final double radiusSquared, final int digits) {
+        final int bits = (int) Math.ceil(digits * BITS_PER_DIGIT);
+        final FixedPointComplex z = new FixedPointComplex(bits).set(z0Re, z0Im);
+        final FixedPointComplex c = new FixedPointComplex(bits).set(cRe, cIm);
+        double[] re = new double[Math.min(maxIter + 1, INITIAL_CAPACITY)];
+        double[] im = new double[re.length];
+        re[0] = z.getReal();
+        im[0] = z.getImaginary();
+        int n = 0;
+        while (n < maxIter && re[n] * re[n] + im[n] * im[n] <= radiusSquared) {
+            z.squareAdd(c, conjugate);
+            n++;
+            if (n == re.length) {
+                final int capacity = (int) Math.min(maxIter + 1L, 2L * re.length);
+                re = Arrays.copyOf(re, capacity);
+                im = Arrays.copyOf(im, capacity);
+            }
+            re[n] = z.getReal();
+            im[n] = z.getImaginary();
+        }
+        final boolean escaped = re[n] * re[n] + im[n] * im[n] > radiusSquared;
+        return new ReferenceOrbit(re, im, n + 1, escaped);
+    }
+
+    /**
+     * Obtain the number of significant decimal digits needed to calculate a reference orbit for a view with the
+     * given pixel size.
+     *
+     * @param pixelSize The pixel size of the view.
+     * @return Number of decimal digits.
+     */
+    public static int digitsForPixelSize(final double pixelSize) {
+        if (!(pixelSize > 0.0)) {
+            throw new IllegalArgumentException("Pixel size should be positive.");
+        }
+        return Math.max(MINIMUM_DIGITS, (int) Math.ceil(-Math.log10(pixelSize)) + GUARD_DIGITS);
+    }
+
+    /**
+     * Obtain the number of significant decimal digits needed to calculate a reference orbit for a view with the
+     * given pixel size, which may be beyond the range of doubles.
+     *
+     * @param pixelSize The pixel size of the view.
+     * @return Number of decimal digits.
+     */
+    public static int digitsForPixelSize(final FloatExp pixelSize) {
+        if (pixelSize.signum() <= 0) {
+            throw new IllegalArgumentException("Pixel size should be positive.");
+        }
+        return Math.max(MINIMUM_DIGITS, (int) Math.ceil(-pixelSize.log10()) + GUARD_DIGITS);
+    }
+
+    /**
+     * Obtain the number of iterates in the orbit (including Z<sub>0</sub>).
+     *
+     * @return The number of iterates.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Check whether the reference orbit left the stopping radius.
+     *
+     * @return True if the orbit escaped before the maximum number of iterations.
+     */
+    public boolean hasEscaped() {
+        return escaped;
+    }
+
+    /**
+     * Obtain the real part of iterate n.
+     *
+     * @param n The iterate number.
+     * @return Re(Z<sub>n</sub>).
+     */
+    public double getReal(final int n) {
+        return real[n];
+    }
+
+    /**
+     * Obtain the imaginary part of iterate n.
+     *
+     * @param n The iterate number.
+     * @return Im(Z<sub>n</sub>).
+     */
+    public double getImaginary(final int n) {
+        return imaginary[n];
+    }
+}
@@ -0,0 +1,161 @@
+package agabrown.fractalexplorer.deepzoom;
+
+/**
+ * Approximation of the deviation &delta;<sub>n</sub> of the orbits of nearby points from a {@link ReferenceOrbit} by
+ * a truncated power series in the deviation d of the point from the reference point:
+ * &delta;<sub>n</sub>&asymp;A<sub>n</sub>d+B<sub>n</sub>d<sup>2</sup>+C<sub>n</sub>d<sup>3</sup>. The coefficients
+ * follow from &delta;<sub>n+1</sub>=2Z<sub>n</sub>&delta;<sub>n</sub>+&delta;<sub>n</sub><sup>2</sup>+&delta;c as
+ * <ul>
+ * <li>A<sub>n+1</sub>=2Z<sub>n</sub>A<sub>n</sub>+1 (without the 1 if c is the same for all points),</li>
+ * <li>B<sub>n+1</sub>=2Z<sub>n</sub>B<sub>n</sub>+A<sub>n</sub><sup>2</sup>,</li>
+ * <li>C<sub>n+1</sub>=2Z<sub>n</sub>C<sub>n</sub>+2A<sub>n</sub>B<sub>n</sub>,</li>
+ * </ul>
+ * with A<sub>0</sub>=1 if the points differ in the starting value z<sub>0</sub> and A<sub>0</sub>=0 otherwise. The
+ * coefficients are calculated once per reference orbit, after which the orbits of all points within a given radius
+ * of the reference point can start at iteration N instead of zero.
+ *
+ * <p>
+ * The number of iterations N that can be skipped is determined automatically: the series is advanced as long as the
+ * cubic term, evaluated at the maximum radius, stays below the rounding error of the linear term in double precision.
+ * The cubic term is an upper estimate of the terms left out of the series, so that the approximated deviations are
+ * as accurate as those obtained by iterating. The approximation is only valid for
+ * z<sup>2</sup>+c, not for iterations of conjugate(z)<sup>2</sup>+c, which are not analytic in d. Instances are
+ * immutable.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class SeriesApproximation {
+
+    /**
+     * Default value of the maximum ratio of the cubic term to the rounding error of the linear term.
+     */
+    public static final double DEFAULT_TOLERANCE = 1.0;
+
+    /**
+     * The number of iterations skipped.
+     */
+    private final int skippedIterations;
+
+    private final double aRe;
+    private final double aIm;
+    private final double bRe;
+    private final double bIm;
+    private final double cRe;
+    private final double cIm;
+
+    /**
+     * Constructor.
+     *
+     * @param skippedIterations The number of iterations skipped.
+     * @param coefficients      The real and imaginary parts of A, B, and C at that iteration.
+     */
+    private SeriesApproximation(final int skippedIterations, final double[] coefficients) {
+        this.skippedIterations = skippedIterations;
+        aRe = coefficients[0];
+        aIm = coefficients[1];
+        bRe = coefficients[2];
+        bIm = coefficients[3];
+        cRe = coefficients[4];
+        cIm = coefficients[5];
+    }
+
+    /**
+     * Calculate the series coefficients up to the last iteration at which the approximation is still accurate for all
+     * points within the given radius.
+     *
+     * @param orbit           The reference orbit (of z<sup>2</sup>+c).
+     * @param deltaInStart    True if the points differ from the reference point in the starting value.
+     * @param deltaInConstant True if the points differ from the reference point in the constant c.
+     * @param radius          Maximum distance of the points from the reference point.
+     * @param tolerance       Maximum ratio of the cubic term to the rounding error of the linear term.
+     * @return The series approximation.
+     * @throws IllegalArgumentException If the radius is negative or the tolerance is not positive.
+     */
+    public static SeriesApproximation calculate(final ReferenceOrbit orbit, final boolean deltaInStart,
+                                                final boolean deltaInConstant, final double radius,
+                                                final double tolerance) {
+        if (!(radius >= 0.0)) {
+            throw new IllegalArgumentException("Radius should not be negative.");
+        }
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance should be positive.");
+        }
+        final double[] coefficients = {deltaInStart ? 1.0 : 0.0, 0.0, 0.0, 0.0, 0.0, 0.0};
+        final double constant = deltaInConstant ? 1.0 : 0.0;
+        // compare logarithms, as r^2 underflows at deep zooms
+        final double logRadiusSquared = 2.0 * Math.log(radius);
+        final double logMaximumRatio = Math.log(tolerance * Math.ulp(1.0));
+        int n = 0;
+        while (n + 2 < orbit.getLength()) {
+            final double twoZRe = 2.0 * orbit.getReal(n);
+            final double twoZIm = 2.0 * orbit.getImaginary(n);
+            final double a0Re = coefficients[0];
+            final double a0Im = coefficients[1];
+            final double b0Re = coefficients[2];
+            final double b0Im = coefficients[3];
+            final double c0Re = coefficients[4];
+            final double c0Im = coefficients[5];
+            final double a1Re = twoZRe * a0Re - twoZIm * a0Im + constant;
+            final double a1Im = twoZRe * a0Im + twoZIm * a0Re;
+            final double b1Re = twoZRe * b0Re - twoZIm * b0Im + a0Re * a0Re - a0Im * a0Im;
+            final double b1Im = twoZRe * b0Im + twoZIm * b0Re + 2.0 * a0Re * a0Im;
+            final double c1Re = twoZRe * c0Re - twoZIm * c0Im + 2.0 * (a0Re * b0Re - a0Im * b0Im);
+            final double c1Im = twoZRe * c0Im + twoZIm * c0Re + 2.0 * (a0Re * b0Im + a0Im * b0Re);
+            final double aModulus = Math.hypot(a1Re, a1Im);
+            // |C| r^3 compared to |A| r, both divided by r
+            final double logCubicTerm = Math.log(Math.hypot(c1Re, c1Im)) + logRadiusSquared;
+            if (!(aModulus > 0.0) || !(logCubicTerm <= logMaximumRatio + Math.log(aModulus))
+                    || !Double.isFinite(aModulus + b1Re + b1Im)) {
+                break;
+            }
+            coefficients[0] = a1Re;
+            coefficients[1] = a1Im;
+            coefficients[2] = b1Re;
+            coefficients[3] = b1Im;
+            coefficients[4] = c1Re;
+            coefficients[5] = c1Im;
+            n++;
+        }
+        return new SeriesApproximation(n, coefficients);
+    }
+
+    /**
+     * Obtain the number of iterations that can be skipped.
+     *
+     * @return The iteration number N at which the orbits of the points can be continued.
+     */
+    public int getSkippedIterations() {
+        return skippedIterations;
+    }
+
+    /**
+     * Obtain the real part of the approximated deviation &delta;<sub>N</sub> for a point.
+     *
+     * @param dRe Real part of the deviation of the point from the reference point.
+     * @param dIm Imaginary part of the deviation of the point from the reference point.
+     * @return Re(&delta;<sub>N</sub>).
+     */
+    public double deltaReal(final double dRe, final double dIm) {
+        final double sRe = bRe + dRe * cRe - dIm * cIm;
+        final double sIm = bIm + dRe * cIm + dIm * cRe;
+        final double tRe = aRe + dRe * sRe - dIm * sIm;
+        final double tIm = aIm + dRe * sIm + dIm * sRe;
+        return dRe * tRe - dIm * tIm;
+    }
+
+    /**
+     * Obtain the imaginary part of the approximated deviation &delta;<sub>N</sub> for a point.
+     *
+     * @param dRe Real part of the deviation of the point from the reference point.
+     * @param dIm Imaginary part of the deviation of the point from the reference point.
+     * @return Im(&delta;<sub>N</sub>).
+     */
+    public double deltaImaginary(final double dRe, final double dIm) {
+        final double sRe = bRe + dRe * cRe - dIm * cIm;
+        final double sIm = bIm + dRe * cIm + dIm * cRe;
+        final double tRe = aRe + dRe * sRe - dIm * sIm;
+        final double tIm = aIm + dRe * sIm + dIm * sRe;
+        return dRe * tIm + dIm * tRe;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Classes supporting the calculation of fractal images at zoom factors beyond the reach of double precision
+ * arithmetic. Central is the high-precision reference orbit, against which the orbits of the individual pixels are
+ * calculated as small (low precision) deviations.
+ *
+ * @author agabrown Oct 2026
+ */
+package agabrown.fractalexplorer.deepzoom;
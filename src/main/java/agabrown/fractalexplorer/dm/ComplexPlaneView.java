@@ -1,6 +1,10 @@
 package agabrown.fractalexplorer.dm;
 
 import agabrown.fractalexplorer.util.FEConstants;
+import agabrown.fractalexplorer.util.FloatExp;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /**
  * Data type that implements the view on the complex plane. That is, it
@@ -8,10 +12,44 @@ import agabrown.fractalexplorer.util.FEConstants;
  * imaginary axes, the pixel spacing, and the `zoom' factor. The latter controls
  * by how much one zooms in on a certain fractal set.
  *
+ * <p>
+ * The centre point is kept in arbitrary precision, so that views can be zoomed
+ * in far beyond the resolution of double precision numbers. The coordinates of
+ * the pixels are then best handled as the centre point plus an offset, where the
+ * offsets are small numbers that are accurately represented in double precision
+ * (see {@link #getOffsetAtRealPixel(int)} and
+ * {@link #getOffsetAtImaginaryPixel(int)}).
+ * </p>
+ *
+ * <p>
+ * The zoom factor and pixel sizes are kept as {@link FloatExp} numbers, so
+ * that views can be zoomed in beyond 10<sup>308</sup>, where the pixel sizes
+ * and offsets underflow in double precision. The methods returning doubles are
+ * then no longer accurate and the extended range versions of the pixel sizes
+ * and offsets should be used instead.
+ * </p>
+ *
  * @author agabrown Jul 2012 - Sep 2021
  */
 public final class ComplexPlaneView {
 
+    /**
+     * Number of decimals, beyond those needed to resolve a pixel, to which centre
+     * points calculated from pixel coordinates are rounded.
+     */
+    private static final int CENTRE_GUARD_DIGITS = 6;
+
+    /**
+     * Number of significant bits of single (float) precision numbers.
+     */
+    public static final int SINGLE_PRECISION_BITS = 24;
+
+    /**
+     * Minimum number of bits by which an arithmetic should resolve the pixel
+     * spacing.
+     */
+    private static final int PRECISION_GUARD_BITS = 4;
+
     /**
      * Size of interval along real axis in pixels.
      */
@@ -28,7 +66,7 @@ public final class ComplexPlaneView {
     /**
      * Factor by which complex plane (i.e. Fractal set image) is zoomed.
      */
-    private double zoomFactor;
+    private final FloatExp zoomFactor = new FloatExp(1.0);
     /**
      * Centre of complex plane view along real axis.
      */
@@ -37,6 +75,22 @@ public final class ComplexPlaneView {
      * Centre of complex plane view along imaginary axis.
      */
     private double centreImaginary;
+    /**
+     * Centre of complex plane view along real axis in arbitrary precision.
+     */
+    private BigDecimal exactCentreReal;
+    /**
+     * Centre of complex plane view along imaginary axis in arbitrary precision.
+     */
+    private BigDecimal exactCentreImaginary;
+    /**
+     * Size of interval along real axis at a zoom factor of 1.
+     */
+    private double baseSizeReal;
+    /**
+     * Size of interval along imaginary axis at a zoom factor of 1.
+     */
+    private double baseSizeImaginary;
     /**
      * Size of interval along real axis.
      */
@@ -45,6 +99,14 @@ public final class ComplexPlaneView {
      * Size of interval along imaginary axis
      */
     private double sizeImaginary;
+    /**
+     * Pixel size along real axis in extended range.
+     */
+    private final FloatExp pixelSizeReal = new FloatExp();
+    /**
+     * Pixel size along imaginary axis in extended range.
+     */
+    private final FloatExp pixelSizeImaginary = new FloatExp();
     /**
      * Pixel size along real axis.
      */
@@ -56,14 +118,14 @@ public final class ComplexPlaneView {
     private double deltaIm;
 
     /**
-     * Minimum values along real axis.
+     * Pixel coordinate of the centre of the view along the real axis.
      */
-    private double reMin;
+    private final double centrePixelReal;
 
     /**
-     * Minimum value along imaginary axis.
+     * Pixel coordinate of the centre of the view along the imaginary axis.
      */
-    private double imMin;
+    private final double centrePixelImaginary;
 
     /**
      * Constructor. Sets the image size in pixels and initializes to the default
@@ -76,6 +138,8 @@ public final class ComplexPlaneView {
         sizeRealPixels = sizeRePix;
         sizeImaginaryPixels = sizeImPix;
         resizeImaginary = FEConstants.PREFERRED_ASPECT_RATIO > (double) sizeImPix / sizeRePix;
+        centrePixelReal = FEConstants.HALF * (sizeRePix - 1);
+        centrePixelImaginary = FEConstants.HALF * (sizeImPix - 1);
         initialize();
     }
 
@@ -85,18 +149,17 @@ public final class ComplexPlaneView {
     private void initialize() {
         centreReal = FEConstants.DEFAULT_CENTRE_REAL;
         centreImaginary = FEConstants.DEFAULT_CENTRE_IMAGINARY;
+        exactCentreReal = BigDecimal.valueOf(centreReal);
+        exactCentreImaginary = BigDecimal.valueOf(centreImaginary);
         if (resizeImaginary) {
-            sizeReal = FEConstants.DEFAULT_SIZE_REAL;
-            sizeImaginary = sizeReal * sizeImaginaryPixels / sizeRealPixels;
+            baseSizeReal = FEConstants.DEFAULT_SIZE_REAL;
+            baseSizeImaginary = baseSizeReal * sizeImaginaryPixels / sizeRealPixels;
         } else {
-            sizeImaginary = FEConstants.DEFAULT_SIZE_IMAGINARY;
-            sizeReal = sizeImaginary * sizeRealPixels / sizeImaginaryPixels;
+            baseSizeImaginary = FEConstants.DEFAULT_SIZE_IMAGINARY;
+            baseSizeReal = baseSizeImaginary * sizeRealPixels / sizeImaginaryPixels;
         }
-        zoomFactor = 1.0;
-        reMin = centreReal - FEConstants.HALF * sizeReal;
-        imMin = centreImaginary - FEConstants.HALF * sizeImaginary;
-        deltaRe = sizeReal / (sizeRealPixels - 1);
-        deltaIm = sizeImaginary / (sizeImaginaryPixels - 1);
+        zoomFactor.set(1.0);
+        reConfigure();
     }
 
     /**
@@ -104,24 +167,28 @@ public final class ComplexPlaneView {
      * re-centring.
      */
     private void reConfigure() {
-        reMin = centreReal - FEConstants.HALF * sizeReal;
-        imMin = centreImaginary - FEConstants.HALF * sizeImaginary;
-        deltaRe = sizeReal / (sizeRealPixels - 1);
-        deltaIm = sizeImaginary / (sizeImaginaryPixels - 1);
+        final FloatExp size = new FloatExp(baseSizeReal);
+        sizeReal = size.divide(size, zoomFactor).doubleValue();
+        sizeImaginary = size.set(baseSizeImaginary).divide(size, zoomFactor).doubleValue();
+        pixelSizeReal.set(baseSizeReal / (sizeRealPixels - 1)).divide(pixelSizeReal, zoomFactor);
+        pixelSizeImaginary.set(baseSizeImaginary / (sizeImaginaryPixels - 1)).divide(pixelSizeImaginary,
+                zoomFactor);
+        deltaRe = pixelSizeReal.doubleValue();
+        deltaIm = pixelSizeImaginary.doubleValue();
     }
 
     /**
      * Double the zoom factor.
      */
     public void doubleZoomFactor() {
-        setZoomFactor(zoomFactor * 2);
+        setZoomFactor(new FloatExp().scalb(zoomFactor, 1));
     }
 
     /**
      * Halve the zoom factor.
      */
     public void halveZoomFactor() {
-        setZoomFactor(zoomFactor * FEConstants.HALF);
+        setZoomFactor(new FloatExp().scalb(zoomFactor, -1));
     }
 
     /**
@@ -133,16 +200,55 @@ public final class ComplexPlaneView {
     public void setCentre(final double centreRe, final double centreIm) {
         centreReal = centreRe;
         centreImaginary = centreIm;
+        exactCentreReal = BigDecimal.valueOf(centreRe);
+        exactCentreImaginary = BigDecimal.valueOf(centreIm);
         reConfigure();
     }
 
+    /**
+     * Change the centre of the complex plane view to a point given in arbitrary
+     * precision.
+     *
+     * @param centreRe New centre along real axis.
+     * @param centreIm New centre along imaginary axis.
+     */
+    public void setCentre(final BigDecimal centreRe, final BigDecimal centreIm) {
+        exactCentreReal = centreRe;
+        exactCentreImaginary = centreIm;
+        centreReal = centreRe.doubleValue();
+        centreImaginary = centreIm.doubleValue();
+        reConfigure();
+    }
+
+    /**
+     * Change the centre of the complex plane view to the point at the given
+     * continuous pixel coordinates. The new centre is calculated in arbitrary
+     * precision and rounded to a small fraction of the pixel size.
+     *
+     * @param x Pixel coordinate along real axis.
+     * @param y Pixel coordinate along imaginary axis.
+     */
+    public void setCentreAtPixel(final double x, final double y) {
+        setCentre(getExactValueAtRealPixel(x), getExactValueAtImaginaryPixel(y));
+    }
+
     /**
      * Obtain zoom factor.
      *
-     * @return Value of zoom factor.
+     * @return Value of zoom factor (infinite for zoom factors beyond the range
+     * of doubles).
      */
     public double getZoomFactor() {
-        return zoomFactor;
+        return zoomFactor.doubleValue();
+    }
+
+    /**
+     * Obtain zoom factor in extended range.
+     *
+     * @return Value of zoom factor (a copy).
+     */
+    public FloatExp getZoomFactorExtended() {
+        return new FloatExp(zoomFactor);
     }
 
     /**
@@ -151,13 +257,19 @@ public final class ComplexPlaneView {
      * @param zoom New value of the zoom factor.
      */
     public void setZoomFactor(final double zoom) {
-        if (zoom <= 0.0) {
+        setZoomFactor(new FloatExp(zoom));
+    }
+
+    /**
+     * Change the zoom factor to a value in extended range.
+     *
+     * @param zoom New value of the zoom factor.
+     */
+    public void setZoomFactor(final FloatExp zoom) {
+        if (zoom.signum() <= 0 || !Double.isFinite(zoom.getMantissa())) {
             throw new IllegalArgumentException("Zoom factor should be larger than 0.");
         }
-        final double change = zoomFactor / zoom;
-        sizeReal = sizeReal * change;
-        sizeImaginary = sizeImaginary * change;
-        zoomFactor = zoom;
+        zoomFactor.set(zoom);
         reConfigure();
     }
 
@@ -179,6 +291,26 @@ public final class ComplexPlaneView {
         return centreImaginary;
     }
 
+    /**
+     * Obtain real part of centre point of complex plane view in arbitrary
+     * precision.
+     *
+     * @return Value of Re(centre).
+     */
+    public BigDecimal getExactCentreReal() {
+        return exactCentreReal;
+    }
+
+    /**
+     * Obtain imaginary part of centre point of complex plane view in arbitrary
+     * precision.
+     *
+     * @return Value of Im(centre).
+     */
+    public BigDecimal getExactCentreImaginary() {
+        return exactCentreImaginary;
+    }
+
     /**
      * Reset the complex plane view to the default state.
      */
@@ -225,13 +357,71 @@ public final class ComplexPlaneView {
     }
 
     /**
-     * Obtain the real coordinate at pixel i along the real axis.
+     * Obtain the pixel size along the real axis.
+     *
+     * @return Value of the pixel size.
+     */
+    public double getPixelSizeReal() {
+        return deltaRe;
+    }
+
+    /**
+     * Obtain the pixel size along the imaginary axis.
+     *
+     * @return Value of the pixel size.
+     */
+    public double getPixelSizeImaginary() {
+        return deltaIm;
+    }
+
+    /**
+     * Obtain the pixel size along the real axis in extended range.
+     *
+     * @return Value of the pixel size (a copy).
+     */
+    public FloatExp getPixelSizeRealExtended() {
+        return new FloatExp(pixelSizeReal);
+    }
+
+    /**
+     * Obtain the pixel size along the imaginary axis in extended range.
+     *
+     * @return Value of the pixel size (a copy).
+     */
+    public FloatExp getPixelSizeImaginaryExtended() {
+        return new FloatExp(pixelSizeImaginary);
+    }
+
+    /**
+     * Estimate the number of significant bits needed to iterate the pixel orbits
+     * of this view. The estimate is based on the ratio between the magnitude of
+     * the orbit values (the largest of the centre coordinates and 2) and the
+     * pixel spacing, plus guard bits that grow with the maximum number of
+     * iterations, as rounding errors accumulate along the orbits.
+     *
+     * @param maxIterations The maximum number of iterations.
+     * @return The number of bits.
+     */
+    public int getRequiredBits(final int maxIterations) {
+        final double magnitude = Math.max(2.0, Math.max(Math.abs(centreReal), Math.abs(centreImaginary)));
+        final FloatExp pixelSize = pixelSizeReal.compareTo(pixelSizeImaginary) < 0 ? pixelSizeReal
+                : pixelSizeImaginary;
+        final double resolutionBits = (Math.log10(magnitude) - pixelSize.log10()) / Math.log10(2.0);
+        final double iterationBits = 0.5 * Math.log(Math.max(1, maxIterations)) / Math.log(2.0);
+        return (int) Math.ceil(resolutionBits + iterationBits) + PRECISION_GUARD_BITS;
+    }
+
+    /**
+     * Obtain the real coordinate at pixel i along the real axis. The coordinate
+     * is calculated with respect to the centre of the view, so that pixels placed
+     * symmetrically around a centre at zero get coordinates of exactly opposite
+     * sign.
      *
      * @param i Pixel position along real axis.
      * @return Value of the coordinate along the real axis.
      */
     public double getValueAtRealPixel(final int i) {
-        return reMin + i * deltaRe;
+        return centreReal + getOffsetAtRealPixel(i);
     }
 
     /**
@@ -242,18 +432,19 @@ public final class ComplexPlaneView {
      * @return Value of the coordinate along the real axis.
      */
     public double getValueAtRealPixel(final double x) {
-        return reMin + x * deltaRe;
+        return centreReal + getOffsetAtRealPixel(x);
     }
 
     /**
      * Obtain the imaginary coordinate at pixel j along the imaginary axis. Takes
-     * into account that the screen pixel indices run from top to bottom.
+     * into account that the screen pixel indices run from top to bottom. The
+     * coordinate is calculated with respect to the centre of the view.
      *
      * @param j Pixel position along imaginary axis.
      * @return Value of the coordinate along the imaginary axis.
      */
     public double getValueAtImaginaryPixel(final int j) {
-        return imMin + (sizeImaginaryPixels - j - 1) * deltaIm;
+        return centreImaginary + getOffsetAtImaginaryPixel(j);
     }
 
     /**
@@ -265,13 +456,178 @@ public final class ComplexPlaneView {
      * @return Value of the coordinate along the imaginary axis.
      */
     public double getValueAtImaginaryPixel(final double y) {
-        return imMin + (sizeImaginaryPixels - y - 1) * deltaIm;
+        return centreImaginary + getOffsetAtImaginaryPixel(y);
+    }
+
+    /**
+     * Obtain the offset from the centre of the view along the real axis of pixel
+     * i. The offset is accurate in double precision at any zoom factor.
+     *
+     * @param i Pixel position along real axis.
+     * @return Value of the offset along the real axis.
+     */
+    public double getOffsetAtRealPixel(final int i) {
+        return (i - centrePixelReal) * deltaRe;
+    }
+
+    /**
+     * Obtain the offset from the centre of the view along the real axis of the
+     * continuous pixel coordinate x.
+     *
+     * @param x Pixel coordinate along real axis.
+     * @return Value of the offset along the real axis.
+     */
+    public double getOffsetAtRealPixel(final double x) {
+        return (x - centrePixelReal) * deltaRe;
+    }
+
+    /**
+     * Obtain the offset from the centre of the view along the imaginary axis of
+     * pixel j. Takes into account that the screen pixel indices run from top to
+     * bottom.
+     *
+     * @param j Pixel position along imaginary axis.
+     * @return Value of the offset along the imaginary axis.
+     */
+    public double getOffsetAtImaginaryPixel(final int j) {
+        return (centrePixelImaginary - j) * deltaIm;
+    }
+
+    /**
+     * Obtain the offset from the centre of the view along the imaginary axis of
+     * the continuous pixel coordinate y.
+     *
+     * @param y Pixel coordinate along imaginary axis.
+     * @return Value of the offset along the imaginary axis.
+     */
+    public double getOffsetAtImaginaryPixel(final double y) {
+        return (centrePixelImaginary - y) * deltaIm;
+    }
+
+    /**
+     * Obtain the offset from the centre of the view along the real axis of the
+     * continuous pixel coordinate x in extended range.
+     *
+     * @param x      Pixel coordinate along real axis.
+     * @param offset Receives the value of the offset along the real axis.
+     * @return The offset.
+     */
+    public FloatExp getOffsetAtRealPixel(final double x, final FloatExp offset) {
+        return offset.multiply(pixelSizeReal, x - centrePixelReal);
+    }
+
+    /**
+     * Obtain the offset from the centre of the view along the imaginary axis of
+     * the continuous pixel coordinate y in extended range.
+     *
+     * @param y      Pixel coordinate along imaginary axis.
+     * @param offset Receives the value of the offset along the imaginary axis.
+     * @return The offset.
+     */
+    public FloatExp getOffsetAtImaginaryPixel(final double y, final FloatExp offset) {
+        return offset.multiply(pixelSizeImaginary, centrePixelImaginary - y);
+    }
+
+    /**
+     * Obtain the offsets from the centre of the view along the real axis for all
+     * pixels along the real axis.
+     *
+     * @return Array with the offsets (one for each pixel column).
+     */
+    public double[] getOffsetsRealPixels() {
+        final double[] offsets = new double[sizeRealPixels];
+        for (int i = 0; i < sizeRealPixels; i++) {
+            offsets[i] = getOffsetAtRealPixel(i);
+        }
+        return offsets;
+    }
+
+    /**
+     * Obtain the offsets from the centre of the view along the imaginary axis for
+     * all pixels along the imaginary axis.
+     *
+     * @return Array with the offsets (one for each pixel row).
+     */
+    public double[] getOffsetsImaginaryPixels() {
+        final double[] offsets = new double[sizeImaginaryPixels];
+        for (int j = 0; j < sizeImaginaryPixels; j++) {
+            offsets[j] = getOffsetAtImaginaryPixel(j);
+        }
+        return offsets;
+    }
+
+    /**
+     * Obtain the offsets from the centre of the view along the real axis for all
+     * pixels along the real axis in extended range.
+     *
+     * @return Array with the offsets (one for each pixel column).
+     */
+    public FloatExp[] getOffsetsRealPixelsExtended() {
+        final FloatExp[] offsets = new FloatExp[sizeRealPixels];
+        for (int i = 0; i < sizeRealPixels; i++) {
+            offsets[i] = getOffsetAtRealPixel(i, new FloatExp());
+        }
+        return offsets;
+    }
+
+    /**
+     * Obtain the offsets from the centre of the view along the imaginary axis for
+     * all pixels along the imaginary axis in extended range.
+     *
+     * @return Array with the offsets (one for each pixel row).
+     */
+    public FloatExp[] getOffsetsImaginaryPixelsExtended() {
+        final FloatExp[] offsets = new FloatExp[sizeImaginaryPixels];
+        for (int j = 0; j < sizeImaginaryPixels; j++) {
+            offsets[j] = getOffsetAtImaginaryPixel(j, new FloatExp());
+        }
+        return offsets;
+    }
+
+    /**
+     * Obtain the real coordinate at the continuous pixel coordinate x along the
+     * real axis in arbitrary precision, rounded to a small fraction of the pixel
+     * size.
+     *
+     * @param x Pixel coordinate along real axis.
+     * @return Value of the coordinate along the real axis.
+     */
+    public BigDecimal getExactValueAtRealPixel(final double x) {
+        return roundToPixelSize(exactCentreReal.add(getOffsetAtRealPixel(x, new FloatExp()).toBigDecimal()),
+                pixelSizeReal);
+    }
+
+    /**
+     * Obtain the imaginary coordinate at the continuous pixel coordinate y along
+     * the imaginary axis in arbitrary precision, rounded to a small fraction of the
+     * pixel size.
+     *
+     * @param y Pixel coordinate along imaginary axis.
+     * @return Value of the coordinate along the imaginary axis.
+     */
+    public BigDecimal getExactValueAtImaginaryPixel(final double y) {
+        return roundToPixelSize(exactCentreImaginary.add(getOffsetAtImaginaryPixel(y, new FloatExp())
+                .toBigDecimal()), pixelSizeImaginary);
+    }
+
+    /**
+     * Round a coordinate to the number of decimals needed to resolve a small
+     * fraction of the pixel size. This prevents the number of digits of the centre
+     * point from growing with each re-centring.
+     *
+     * @param value     The coordinate.
+     * @param pixelSize The pixel size.
+     * @return The rounded coordinate.
+     */
+    private static BigDecimal roundToPixelSize(final BigDecimal value, final FloatExp pixelSize) {
+        final int decimals = Math.max(0, (int) Math.ceil(-pixelSize.log10())) + CENTRE_GUARD_DIGITS;
+        return value.setScale(decimals, RoundingMode.HALF_EVEN).stripTrailingZeros();
     }
 
     @Override
     public Object clone() {
       final ComplexPlaneView newCPV = new ComplexPlaneView(sizeRealPixels, sizeImaginaryPixels);
-        newCPV.setCentre(centreReal, centreImaginary);
+        newCPV.setCentre(exactCentreReal, exactCentreImaginary);
         newCPV.setZoomFactor(zoomFactor);
         return newCPV;
     }
@@ -283,7 +639,8 @@ public final class ComplexPlaneView {
         }
         final ComplexPlaneView other = (ComplexPlaneView) otherCPV;
         return this.sizeRealPixels == other.sizeRealPixels && this.sizeImaginaryPixels == other.sizeImaginaryPixels
-                && this.centreReal == other.centreReal && this.centreImaginary == other.centreImaginary
-                && this.zoomFactor == other.zoomFactor;
+                && this.exactCentreReal.compareTo(other.exactCentreReal) == 0
+                && this.exactCentreImaginary.compareTo(other.exactCentreImaginary) == 0
+                && this.zoomFactor.equals(other.zoomFactor);
     }
 }
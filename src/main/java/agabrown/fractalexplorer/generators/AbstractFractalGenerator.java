@@ -8,12 +8,65 @@ import java.util.List;
 /**
  * Base implementation of the {@link FractalGenerator}. Contains the code for
  * generating the entire fractal image based in the
- * {@link FractalGenerator#generatePixelValue(Complex)} method.
+ * {@link FractalGenerator#generatePixelValue(double, double)} method. By
+ * default the image is calculated pixel by pixel in parallel tiles by a
+ * {@link TiledImageRenderer}. Other rendering strategies can be selected with
+ * {@link #setRenderer(ImageRenderer)}.
  *
  * @author agabrown Aug 2014 - Sep 2021
  */
 public abstract class AbstractFractalGenerator implements FractalGenerator {
 
+    /**
+     * The renderer used for calculating the fractal image.
+     */
+    private volatile ImageRenderer renderer = new TiledImageRenderer();
+
+    /**
+     * Keeps track of the progress of the most recent image calculation.
+     */
+    private volatile RenderProgress lastProgress = new RenderProgress();
+
+    /**
+     * Set the number of threads used to calculate the fractal image. This
+     * selects the tiled renderer.
+     *
+     * @param parallelism The number of threads.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public void setParallelism(final int parallelism) {
+        renderer = new TiledImageRenderer(parallelism);
+    }
+
+    /**
+     * Set the renderer used to calculate the fractal image.
+     *
+     * @param imageRenderer The renderer to use.
+     */
+    public void setRenderer(final ImageRenderer imageRenderer) {
+        renderer = imageRenderer;
+    }
+
+    /**
+     * Obtain the renderer used to calculate the fractal image.
+     *
+     * @return The renderer.
+     */
+    public ImageRenderer getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Obtain the progress information for the most recent call to
+     * {@link #generateImage(ComplexPlaneView)}, which includes the fraction of
+     * pixels for which {@link #generatePixelValue(double, double)} was called.
+     *
+     * @return The progress of the most recent image calculation.
+     */
+    public RenderProgress getLastRenderProgress() {
+        return lastProgress;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -23,21 +76,9 @@ public abstract class AbstractFractalGenerator implements FractalGenerator {
      */
     @Override
     public double[] generateImage(final ComplexPlaneView cpv) {
-        int i, j;
-        double x, y;
-        final int imWidth = cpv.getSizeRealPixels();
-        final int imHeight = cpv.getSizeImaginaryPixels();
-        final double[] fractalImage = new double[imWidth * imHeight];
-        Complex z;
-        for (int k = 0; k < imWidth * imHeight; k++) {
-            i = k % imWidth;
-            j = k / imWidth;
-            x = cpv.getValueAtRealPixel(i);
-            y = cpv.getValueAtImaginaryPixel(j);
-            z = Complex.valueOf(x, y);
-            fractalImage[k] = generatePixelValue(z);
-        }
-        return fractalImage;
+        final RenderProgress progress = new RenderProgress();
+        lastProgress = progress;
+        return renderer.render(this, cpv, progress);
     }
 
     /*
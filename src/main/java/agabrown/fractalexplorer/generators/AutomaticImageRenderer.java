@@ -0,0 +1,148 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Calculates fractal images with the cheapest arithmetic that still resolves the pixels of the view. For each image
+ * the number of bits needed is estimated with {@link ComplexPlaneView#getRequiredBits(int)}. The first {@link Arithmetic} on the ladder float, double,
+ * double-double, perturbation that offers enough bits is used. The switch happens transparently when zooming in or
+ * out, and {@link #select(FractalGenerator, ComplexPlaneView)} tells which arithmetic is used for a given view.
+ *
+ * <p>
+ * Float, double-double and perturbation arithmetic are available for the generators supported by the
+ * {@link DoubleDoubleImageRenderer}. All other generators are always calculated in double precision, which for views
+ * beyond double precision results in pixelated images.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class AutomaticImageRenderer implements ImageRenderer {
+
+    /**
+     * The arithmetic used to iterate the pixel orbits, in order of increasing cost.
+     */
+    public enum Arithmetic {
+        /**
+         * Single precision, see {@link FloatImageRenderer}.
+         */
+        FLOAT("float", ComplexPlaneView.SINGLE_PRECISION_BITS),
+        /**
+         * Double precision, see {@link TiledImageRenderer}.
+         */
+        DOUBLE("double", 53),
+        /**
+         * Double-double precision, see {@link DoubleDoubleImageRenderer}.
+         */
+        DOUBLE_DOUBLE("double-double", 106),
+        /**
+         * Arbitrary precision reference orbits with perturbations calculated in double (or extended range)
+         * precision, see {@link PerturbationImageRenderer}.
+         */
+        PERTURBATION("perturbation", Integer.MAX_VALUE);
+
+        private final String label;
+        private final int bits;
+
+        /**
+         * Constructor.
+         *
+         * @param label Short description of the arithmetic.
+         * @param bits  Number of significant bits.
+         */
+        Arithmetic(final String label, final int bits) {
+            this.label = label;
+            this.bits = bits;
+        }
+
+        /**
+         * Obtain the number of significant bits of this arithmetic.
+         *
+         * @return The number of bits ({@link Integer#MAX_VALUE} for arbitrary precision).
+         */
+        public int getBits() {
+            return bits;
+        }
+
+        @Override
+        public String toString() {
+            return bits == Integer.MAX_VALUE ? label : label + " (" + bits + " bits)";
+        }
+    }
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Automatic";
+
+    /**
+     * Stopping radii above which the squared radius can not be represented in float precision.
+     */
+    private static final double MAXIMUM_FLOAT_RADIUS = 1.0e18;
+
+    /**
+     * The renderers for the supported arithmetic types.
+     */
+    private final Map<Arithmetic, ImageRenderer> renderers = new EnumMap<>(Arithmetic.class);
+
+    /**
+     * Constructor. Creates a renderer which uses the common fork/join pool (and thus all available processors).
+     */
+    public AutomaticImageRenderer() {
+        renderers.put(Arithmetic.FLOAT, new FloatImageRenderer());
+        renderers.put(Arithmetic.DOUBLE, new TiledImageRenderer());
+        renderers.put(Arithmetic.DOUBLE_DOUBLE, new DoubleDoubleImageRenderer());
+        renderers.put(Arithmetic.PERTURBATION, new PerturbationImageRenderer());
+    }
+
+    /**
+     * Constructor. Creates a renderer whose underlying renderers each have their own pool of threads.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public AutomaticImageRenderer(final int parallelism) {
+        renderers.put(Arithmetic.FLOAT, new FloatImageRenderer(parallelism));
+        renderers.put(Arithmetic.DOUBLE, new TiledImageRenderer(parallelism));
+        renderers.put(Arithmetic.DOUBLE_DOUBLE, new DoubleDoubleImageRenderer(parallelism));
+        renderers.put(Arithmetic.PERTURBATION, new PerturbationImageRenderer(parallelism));
+    }
+
+    /**
+     * Select the cheapest arithmetic that resolves the pixels of the view for the given generator.
+     *
+     * @param generator The fractal generator.
+     * @param cpv       The complex plane view.
+     * @return The arithmetic to use.
+     */
+    public static Arithmetic select(final FractalGenerator generator, final ComplexPlaneView cpv) {
+        if (!DoubleDoubleImageRenderer.supports(generator)) {
+            return Arithmetic.DOUBLE;
+        }
+        final ComplexFunctionIterator iterator = ((ComplexDynamicsBased) generator).theIterator;
+        final int bits = cpv.getRequiredBits(iterator.getMaximumIterations());
+        for (final Arithmetic arithmetic : Arithmetic.values()) {
+            if (arithmetic == Arithmetic.FLOAT && iterator.getStoppingRadius() > MAXIMUM_FLOAT_RADIUS) {
+                continue;
+            }
+            if (bits <= arithmetic.getBits()) {
+                return arithmetic;
+            }
+        }
+        return Arithmetic.PERTURBATION;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        return renderers.get(select(generator, cpv)).submit(generator, cpv, progress);
+    }
+}
@@ -0,0 +1,259 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.OrbitAccumulator;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates fractal images by handing complete image rows to an {@link EscapeTimeBatchKernel}, which returns the
+ * number of iterations and the last iterate of each pixel. The pixel values are then obtained from the orbit
+ * accumulators of the generator's colouring algorithm, started at the last iterate. By default the fastest kernel
+ * available at run time is used: the {@code VectorEscapeTimeKernel}, which uses the SIMD instructions of the
+ * processor through the Java Vector API, if the JVM provides the {@code jdk.incubator.vector} module, and the
+ * {@link InterleavedEscapeTimeKernel} otherwise.
+ *
+ * <p>
+ * The renderer supports the generators that iterate f(z)=z<sup>2</sup> or one of its {@link QuadraticVariant}s (or
+ * f(conjugate(z))) and describe their {@link ParameterPlane} (the Mandelbrot, Tricorn, Burning Ship, modified
+ * Mandelbrot and Julia generators), with colouring
+ * algorithms that can skip iterates (escape time and smooth iteration count). For other generators the image is
+ * calculated with a {@link TiledImageRenderer}.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class BatchImageRenderer implements ImageRenderer {
+
+    /**
+     * Name of the class implementing the kernel with the Java Vector API, which is compiled separately.
+     */
+    private static final String VECTOR_KERNEL_CLASS = "agabrown.fractalexplorer.generators.VectorEscapeTimeKernel";
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Batch";
+
+    /**
+     * Number of image rows below which a batch of rows is not split further over the threads.
+     */
+    private static final int BATCH_ROWS = 4;
+
+    /**
+     * The kernel doing the iterations.
+     */
+    private final EscapeTimeBatchKernel kernel;
+
+    /**
+     * The pool of threads used for the calculations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Renderer used for generators that are not supported.
+     */
+    private final TiledImageRenderer fallback;
+
+    /**
+     * Constructor. Creates a renderer with the fastest available kernel which uses the common fork/join pool (and thus
+     * all available processors).
+     */
+    public BatchImageRenderer() {
+        kernel = fastestKernel();
+        pool = ForkJoinPool.commonPool();
+        fallback = new TiledImageRenderer();
+    }
+
+    /**
+     * Constructor. Creates a renderer with the given kernel and its own pool of threads.
+     *
+     * @param kernel      The kernel doing the iterations.
+     * @param parallelism The number of threads to use for the calculations.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public BatchImageRenderer(final EscapeTimeBatchKernel kernel, final int parallelism) {
+        fallback = new TiledImageRenderer(parallelism);
+        this.kernel = kernel;
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Obtain the kernel that uses the Java Vector API.
+     *
+     * @return The kernel, or null if the Vector API is not available in the running JVM.
+     */
+    public static EscapeTimeBatchKernel vectorKernel() {
+        try {
+            return (EscapeTimeBatchKernel) Class.forName(VECTOR_KERNEL_CLASS).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Obtain the fastest kernel available in the running JVM.
+     *
+     * @return The vector kernel if available, otherwise the interleaved scalar kernel.
+     */
+    public static EscapeTimeBatchKernel fastestKernel() {
+        final EscapeTimeBatchKernel vector = vectorKernel();
+        return vector != null ? vector : new InterleavedEscapeTimeKernel();
+    }
+
+    /**
+     * Check whether this renderer can calculate images for the given generator with its kernel.
+     *
+     * @param generator The fractal generator.
+     * @return True if the kernel can be used.
+     */
+    public static boolean supports(final FractalGenerator generator) {
+        if (!(generator instanceof ComplexDynamicsBased)) {
+            return false;
+        }
+        final ComplexDynamicsBased cdb = (ComplexDynamicsBased) generator;
+        return cdb.getQuadraticVariant() != null && cdb.getParameterPlane() != null
+                && cdb.getAccumulator().canSkipIterates();
+    }
+
+    /**
+     * Obtain the kernel used by this renderer.
+     *
+     * @return The kernel.
+     */
+    public EscapeTimeBatchKernel getKernel() {
+        return kernel;
+    }
+
+    @Override
+    public String getName() {
+        return NAME + ", " + kernel.getName();
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        if (!supports(generator)) {
+            return fallback.submit(generator, cpv, progress);
+        }
+        final Frame frame = new Frame((ComplexDynamicsBased) generator, cpv, progress);
+        return pool.submit(ForkJoinTask.adapt(() -> frame.new RowTask(0, frame.imHeight).invoke(), frame.image));
+    }
+
+    /**
+     * Holds the state of the calculation of one image.
+     */
+    private final class Frame {
+
+        private final ComplexDynamicsBased generator;
+        private final RenderProgress progress;
+        private final ParameterPlane plane;
+        private final QuadraticVariant variant;
+        private final boolean conjugate;
+        private final int maxIter;
+        private final double radiusSquared;
+        private final double constantReal;
+        private final double constantImaginary;
+        private final double[] pointReal;
+        private final double[] pointImaginary;
+        private final int imWidth;
+        private final int imHeight;
+        private final double[] image;
+
+        /**
+         * Constructor.
+         *
+         * @param generator The fractal generator.
+         * @param cpv       The complex plane view.
+         * @param progress  Keeps track of the progress of the calculation.
+         */
+        Frame(final ComplexDynamicsBased generator, final ComplexPlaneView cpv, final RenderProgress progress) {
+            this.generator = generator;
+            this.progress = progress;
+            plane = generator.getParameterPlane();
+            variant = generator.getQuadraticVariant();
+            conjugate = generator.iterateConjugate;
+            maxIter = generator.theIterator.getMaximumIterations();
+            final double stoppingRadius = generator.theIterator.getStoppingRadius();
+            radiusSquared = stoppingRadius * stoppingRadius;
+            constantReal = generator.getFixedConstantReal();
+            constantImaginary = generator.getFixedConstantImaginary();
+            imWidth = cpv.getSizeRealPixels();
+            imHeight = cpv.getSizeImaginaryPixels();
+            pointReal = new double[imWidth];
+            for (int i = 0; i < imWidth; i++) {
+                pointReal[i] = cpv.getValueAtRealPixel(i);
+            }
+            pointImaginary = new double[imHeight];
+            for (int j = 0; j < imHeight; j++) {
+                pointImaginary[j] = cpv.getValueAtImaginaryPixel(j);
+            }
+            image = new double[imWidth * imHeight];
+            progress.reset(image.length);
+        }
+
+        /**
+         * The fork/join task that calculates a batch of image rows.
+         */
+        private final class RowTask extends RecursiveAction {
+
+            /**
+             * Required for serializable classes.
+             */
+            private static final long serialVersionUID = -1790448356612280534L;
+
+            private final int jMin;
+            private final int jMax;
+
+            /**
+             * Constructor.
+             *
+             * @param jMin First image row (inclusive).
+             * @param jMax Last image row (exclusive).
+             */
+            RowTask(final int jMin, final int jMax) {
+                this.jMin = jMin;
+                this.jMax = jMax;
+            }
+
+            @Override
+            protected void compute() {
+                if (jMax - jMin > BATCH_ROWS) {
+                    final int jMid = (jMin + jMax) >>> 1;
+                    invokeAll(new RowTask(jMin, jMid), new RowTask(jMid, jMax));
+                    return;
+                }
+                final double[] zRe = new double[imWidth];
+                final double[] zIm = new double[imWidth];
+                final double[] cRe = new double[imWidth];
+                final double[] cIm = new double[imWidth];
+                final int[] iterations = new int[imWidth];
+                final OrbitAccumulator accumulator = generator.getAccumulator();
+                long calculatedIterations = 0L;
+                for (int j = jMin; j < jMax; j++) {
+                    final double pIm = pointImaginary[j];
+                    for (int i = 0; i < imWidth; i++) {
+                        final double pRe = pointReal[i];
+                        zRe[i] = plane.pixelIsStartingValue() ? pRe : 0.0;
+                        zIm[i] = plane.pixelIsStartingValue() ? pIm : 0.0;
+                        cRe[i] = plane.pixelIsConstant() ? pRe : constantReal;
+                        cIm[i] = plane.pixelIsConstant() ? pIm : constantImaginary;
+                    }
+                    kernel.iterate(zRe, zIm, cRe, cIm, iterations, 0, imWidth, variant, conjugate, maxIter,
+                            radiusSquared);
+                    for (int i = 0; i < imWidth; i++) {
+                        accumulator.beginAt(iterations[i] + 1, zRe[i], zIm[i]);
+                        image[j * imWidth + i] = accumulator.finish();
+                        calculatedIterations += iterations[i];
+                    }
+                }
+                final long numberOfPixels = (long) (jMax - jMin) * imWidth;
+                progress.addIterations(calculatedIterations, 0L);
+                progress.addIteratedPixels(numberOfPixels);
+                progress.addCompletedPixels(numberOfPixels);
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates fractal images by tracing the boundaries between areas of equal pixel value and filling the enclosed
+ * areas without calculating them, in the manner of the boundary tracing mode of Fractint.
+ *
+ * <p>
+ * The image is split into tiles which are handled in parallel on a {@link ForkJoinPool}. Within each tile the pixels
+ * along the tile edges are put in a queue. For each pixel taken from the queue the values of its four neighbours are
+ * calculated and the neighbours (and the adjoining diagonal neighbours) that differ in value are added to the queue.
+ * This way the calculation spreads only along the boundaries between areas of equal value. Finally each pixel that
+ * was not calculated is given the value of its left neighbour. Parts of the image that are related by symmetry to
+ * other parts are copied instead of traced (see {@link FractalGenerator#getSymmetry()}).
+ * </p>
+ *
+ * <p>
+ * The filling is exact for fractals whose sets of equal pixel value are connected, like the escape time images of the
+ * Mandelbrot set, but features that are smaller than a pixel and do not touch a boundary may be missed. For colouring
+ * algorithms that produce continuous pixel values most pixels end up being calculated.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class BoundaryTracingImageRenderer implements ImageRenderer {
+
+    /**
+     * Default size of the (square) tiles in pixels.
+     */
+    public static final int DEFAULT_TILE_SIZE = 128;
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Boundary tracing";
+
+    /**
+     * Flag marking pixels for which the value was calculated.
+     */
+    private static final byte LOADED = 1;
+
+    /**
+     * Flag marking pixels which were added to the queue.
+     */
+    private static final byte QUEUED = 2;
+
+    /**
+     * The pool of threads used for the calculations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The maximum size of the tiles along each image axis.
+     */
+    private final int tileSize;
+
+    /**
+     * Constructor. Creates a renderer which uses the common fork/join pool (and thus all available processors).
+     */
+    public BoundaryTracingImageRenderer() {
+        pool = ForkJoinPool.commonPool();
+        tileSize = DEFAULT_TILE_SIZE;
+    }
+
+    /**
+     * Constructor. Creates a renderer with its own pool of threads and the specified tile size.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @param tile        The maximum size of the tiles along each image axis.
+     * @throws IllegalArgumentException If the parallelism level or tile size is less than 1.
+     */
+    public BoundaryTracingImageRenderer(final int parallelism, final int tile) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+        if (tile < 1) {
+            throw new IllegalArgumentException("Tile size should be at least one pixel.");
+        }
+        pool = new ForkJoinPool(parallelism);
+        tileSize = tile;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        final int imWidth = cpv.getSizeRealPixels();
+        final int imHeight = cpv.getSizeImaginaryPixels();
+        final double[] image = new double[imWidth * imHeight];
+        progress.reset((long) imWidth * imHeight);
+        final SymmetryPlan plan = new SymmetryPlan(generator.getSymmetry(), cpv);
+        final List<TileTask> roots = new ArrayList<>(plan.getRegions().size());
+        for (final int[] region : plan.getRegions()) {
+            roots.add(new TileTask(generator, cpv, image, progress, region[0], region[1], region[2], region[3]));
+        }
+        return pool.submit(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(roots);
+            plan.mirror(image);
+            progress.addCompletedPixels(plan.getNumberOfMirroredPixels());
+        }, image));
+    }
+
+    /**
+     * The fork/join task that traces the boundaries for a rectangular part of the image, splitting it further if it
+     * is larger than the tile size.
+     */
+    private final class TileTask extends RecursiveAction {
+
+        /**
+         * Required for serializable classes.
+         */
+        private static final long serialVersionUID = -3102873374911523457L;
+
+        private final FractalGenerator generator;
+        private final ComplexPlaneView cpv;
+        private final double[] image;
+        private final RenderProgress progress;
+        private final int iMin;
+        private final int jMin;
+        private final int iMax;
+        private final int jMax;
+
+        /**
+         * Constructor.
+         *
+         * @param generator The fractal generator to use.
+         * @param cpv       The complex plane view for which to calculate the image.
+         * @param image     The image array to fill.
+         * @param progress  Keeps track of the progress of the calculation.
+         * @param iMin      First pixel along real axis (inclusive).
+         * @param jMin      First pixel along imaginary axis (inclusive).
+         * @param iMax      Last pixel along real axis (exclusive).
+         * @param jMax      Last pixel along imaginary axis (exclusive).
+         */
+        TileTask(final FractalGenerator generator, final ComplexPlaneView cpv, final double[] image,
+                 final RenderProgress progress, final int iMin, final int jMin,
+                 final int iMax, final int jMax) {
+            this.generator = generator;
+            this.cpv = cpv;
+            this.image = image;
+            this.progress = progress;
+            this.iMin = iMin;
+            this.jMin = jMin;
+            this.iMax = iMax;
+            this.jMax = jMax;
+        }
+
+        @Override
+        protected void compute() {
+            final int width = iMax - iMin;
+            final int height = jMax - jMin;
+            if (width <= tileSize && height <= tileSize) {
+                new BoundaryTracer(width, height).trace();
+                return;
+            }
+            final TileTask first;
+            final TileTask second;
+            if (width >= height) {
+                final int iMid = iMin + width / 2;
+                first = new TileTask(generator, cpv, image, progress, iMin, jMin, iMid, jMax);
+                second = new TileTask(generator, cpv, image, progress, iMid, jMin, iMax, jMax);
+            } else {
+                final int jMid = jMin + height / 2;
+                first = new TileTask(generator, cpv, image, progress, iMin, jMin, iMax, jMid);
+                second = new TileTask(generator, cpv, image, progress, iMin, jMid, iMax, jMax);
+            }
+            invokeAll(first, second);
+        }
+
+        /**
+         * Does the boundary tracing for one tile. Pixels are addressed with indices local to the tile.
+         */
+        private final class BoundaryTracer {
+
+            private final int width;
+            private final int height;
+            private final byte[] flags;
+            private final int[] queue;
+            private int queueHead;
+            private int queueTail;
+            private long numberCalculated;
+
+            /**
+             * Constructor.
+             *
+             * @param width  Width of the tile in pixels.
+             * @param height Height of the tile in pixels.
+             */
+            BoundaryTracer(final int width, final int height) {
+                this.width = width;
+                this.height = height;
+                flags = new byte[width * height];
+                queue = new int[width * height];
+            }
+
+            /**
+             * Trace the boundaries in the tile and fill the areas enclosed by them.
+             */
+            void trace() {
+                for (int x = 0; x < width; x++) {
+                    enqueue(x);
+                    enqueue((height - 1) * width + x);
+                }
+                for (int y = 1; y < height - 1; y++) {
+                    enqueue(y * width);
+                    enqueue(y * width + width - 1);
+                }
+                while (queueHead < queueTail) {
+                    scan(queue[queueHead++]);
+                }
+                for (int y = 0; y < height; y++) {
+                    final int rowOffset = (jMin + y) * cpv.getSizeRealPixels() + iMin;
+                    for (int x = 1; x < width; x++) {
+                        if ((flags[y * width + x] & LOADED) == 0) {
+                            image[rowOffset + x] = image[rowOffset + x - 1];
+                        }
+                    }
+                }
+                progress.addIteratedPixels(numberCalculated);
+                progress.addCompletedPixels((long) width * height);
+            }
+
+            /**
+             * Calculate the values of the four neighbours of a pixel and queue the neighbours that lie across a
+             * boundary.
+             *
+             * @param p Local index of the pixel.
+             */
+            private void scan(final int p) {
+                final int x = p % width;
+                final int y = p / width;
+                final double centre = load(p);
+                final boolean hasLeft = x > 0;
+                final boolean hasRight = x < width - 1;
+                final boolean hasUp = y > 0;
+                final boolean hasDown = y < height - 1;
+                final boolean left = hasLeft && load(p - 1) != centre;
+                final boolean right = hasRight && load(p + 1) != centre;
+                final boolean up = hasUp && load(p - width) != centre;
+                final boolean down = hasDown && load(p + width) != centre;
+                if (left) {
+                    enqueue(p - 1);
+                }
+                if (right) {
+                    enqueue(p + 1);
+                }
+                if (up) {
+                    enqueue(p - width);
+                }
+                if (down) {
+                    enqueue(p + width);
+                }
+                if (hasUp && hasLeft && (up || left)) {
+                    enqueue(p - width - 1);
+                }
+                if (hasUp && hasRight && (up || right)) {
+                    enqueue(p - width + 1);
+                }
+                if (hasDown && hasLeft && (down || left)) {
+                    enqueue(p + width - 1);
+                }
+                if (hasDown && hasRight && (down || right)) {
+                    enqueue(p + width + 1);
+                }
+            }
+
+            /**
+             * Obtain the value of a pixel, calculating it if this was not done yet.
+             *
+             * @param p Local index of the pixel.
+             * @return The pixel value.
+             */
+            private double load(final int p) {
+                final int k = (jMin + p / width) * cpv.getSizeRealPixels() + iMin + p % width;
+                if ((flags[p] & LOADED) == 0) {
+                    image[k] = generator.generatePixelValue(cpv.getValueAtRealPixel(iMin + p % width),
+                            cpv.getValueAtImaginaryPixel(jMin + p / width));
+                    flags[p] |= LOADED;
+                    numberCalculated++;
+                }
+                return image[k];
+            }
+
+            /**
+             * Add a pixel to the queue if it was not queued before.
+             *
+             * @param p Local index of the pixel.
+             */
+            private void enqueue(final int p) {
+                if ((flags[p] & QUEUED) == 0) {
+                    flags[p] |= QUEUED;
+                    queue[queueTail++] = p;
+                }
+            }
+        }
+    }
+}
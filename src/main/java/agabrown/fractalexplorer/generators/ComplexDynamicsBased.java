@@ -1,12 +1,20 @@
 package agabrown.fractalexplorer.generators;
 
 import agabrown.fractalexplorer.colours.ColouringAlgorithm;
+import agabrown.fractalexplorer.colours.OrbitAccumulator;
+import org.apache.commons.math3.complex.Complex;
 
 /**
  * Base class for fractal generating classes that are based on complex dynamics
  * (such as the Mandelbrot and Julia/Fatou fractals). These classes make use of
  * straightforward complex function iterations to generate fractals.
  *
+ * <p>
+ * The pixel values can be calculated from many threads at once. The iterator is
+ * shared by all threads, while the iterates are streamed into one
+ * {@link OrbitAccumulator} per thread, obtained from the colouring algorithm.
+ * </p>
+ *
  * @author agabrown Aug 2014 - Sep 2021
  */
 public abstract class ComplexDynamicsBased extends AbstractFractalGenerator {
@@ -16,6 +24,12 @@ public abstract class ComplexDynamicsBased extends AbstractFractalGenerator {
      */
     protected ColouringAlgorithm colouringAlgorithm;
 
+    /**
+     * The orbit accumulators of the colouring algorithm, one for each of the
+     * threads calculating pixel values.
+     */
+    private volatile ThreadLocal<OrbitAccumulator> accumulators;
+
     /**
      * The object that does the iteration of the fractal generating function.
      */
@@ -25,7 +39,7 @@ public abstract class ComplexDynamicsBased extends AbstractFractalGenerator {
      * If true iterate over the conjugate of z rather than z (i.e. z<sub>n+1</sub>
      * = f(conjugate(z<sub>n</sub>))).
      */
-    protected boolean iterateConjugate = false;
+    protected volatile boolean iterateConjugate = false;
 
     /**
      * Set whether to iterate the generating function over conjugate(z) instead of z.
@@ -61,5 +75,101 @@ public abstract class ComplexDynamicsBased extends AbstractFractalGenerator {
      */
     public void setColouringAlgorithm(final ColouringAlgorithm ca) {
         colouringAlgorithm = ca;
+        accumulators = ThreadLocal.withInitial(ca::newAccumulator);
+    }
+
+    /**
+     * Calculate the pixel value by iterating z<sub>n+1</sub>=f(z<sub>n</sub>)+c (or f(conjugate(z<sub>n</sub>))+c)
+     * and streaming the iterates into the orbit accumulator of the current thread. The primitive kernel is used when
+     * available, in which case no objects are created.
+     *
+     * @param zStartRe Real part of the starting value of z.
+     * @param zStartIm Imaginary part of the starting value of z.
+     * @param cRe      Real part of the constant c.
+     * @param cIm      Imaginary part of the constant c.
+     * @return The pixel value.
+     */
+    protected double iteratePixel(final double zStartRe, final double zStartIm, final double cRe, final double cIm) {
+        final OrbitAccumulator accumulator = accumulators.get();
+        if (theIterator.hasKernel()) {
+            if (iterateConjugate) {
+                theIterator.iterateConjugate(zStartRe, zStartIm, cRe, cIm, accumulator);
+            } else {
+                theIterator.iterate(zStartRe, zStartIm, cRe, cIm, accumulator);
+            }
+        } else {
+            final Complex zStart = Complex.valueOf(zStartRe, zStartIm);
+            final Complex c = Complex.valueOf(cRe, cIm);
+            if (iterateConjugate) {
+                theIterator.iterateConjugate(zStart, c, accumulator);
+            } else {
+                theIterator.iterate(zStart, c, accumulator);
+            }
+        }
+        return accumulator.finish();
+    }
+
+    /**
+     * Obtain the pixel value for a point that is known to belong to the fractal set, without iterating.
+     *
+     * @return The pixel value corresponding to reaching the maximum number of iterations.
+     */
+    protected double interiorPixelValue() {
+        return accumulators.get().interiorValue(theIterator.getMaximumIterations() + 1);
+    }
+
+    /**
+     * Obtain the orbit accumulator of the colouring algorithm for the calling thread.
+     *
+     * @return The orbit accumulator.
+     */
+    OrbitAccumulator getAccumulator() {
+        return accumulators.get();
+    }
+
+    /**
+     * Check whether the generating function is f(z)=z<sup>2</sup>, which is required by the renderers that carry out
+     * the iterations themselves.
+     *
+     * @return True if the generating kernel is {@link ComplexKernel#SQUARE}.
+     */
+    boolean isQuadratic() {
+        return theIterator.getKernel() == ComplexKernel.SQUARE;
+    }
+
+    /**
+     * Obtain the variant of the quadratic map that is iterated, as required by the {@link BatchImageRenderer}.
+     *
+     * @return The variant, or null if the generating kernel is not one of the {@link QuadraticVariant}s.
+     */
+    QuadraticVariant getQuadraticVariant() {
+        return QuadraticVariant.of(theIterator.getKernel());
+    }
+
+    /**
+     * Obtain the description of how the pixel point enters the iterations.
+     *
+     * @return The parameter plane, or null if the iterations can not be set up from outside the generator.
+     */
+    ParameterPlane getParameterPlane() {
+        return null;
+    }
+
+    /**
+     * Obtain the real part of the fixed value of c, used when the pixel point is not the constant c.
+     *
+     * @return Re(c).
+     */
+    double getFixedConstantReal() {
+        return 0.0;
+    }
+
+    /**
+     * Obtain the imaginary part of the fixed value of c, used when the pixel point is not the constant c.
+     *
+     * @return Im(c).
+     */
+    double getFixedConstantImaginary() {
+        return 0.0;
     }
 }
@@ -0,0 +1,328 @@
+package agabrown.fractalexplorer.generators;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.function.Function;
+
+/**
+ * A fractal generating function entered as text, in the form f(z)+c. The formula is parsed, constant-folded and
+ * compiled at runtime into a {@link ComplexKernel} (see {@link FormulaKernelCompiler}), so that user-defined formulas
+ * are iterated on primitive doubles like the built-in ones. The equivalent {@code Function<Complex, Complex>} is
+ * provided as well, and both can be passed to the builders of the {@link ComplexDynamicsBased} generators with their
+ * {@code formula} method.
+ *
+ * <p>
+ * The formula language knows the variable z, the constant c (or mu, the name used for Julia sets) which is added in
+ * each iteration, real numbers such as 1.5 or 2e-3, imaginary numbers such as 0.9111i or i, the operators +, -, *, /
+ * and ^n (a non-negative integer power, calculated by repeated squaring), and the functions conj, abs, exp and sin.
+ * The constant c must be added to the formula as a whole, for example z^3 + (-0.7198+0.9111i)*z + c or
+ * c + exp(z)/(z*z), because the generators add it to f(z) themselves. Parsing errors are reported as an
+ * {@link IllegalArgumentException} that gives the position in the text.
+ * </p>
+ *
+ * <p>
+ * The formulas z^2 + c and z*z + c are compiled to {@link ComplexKernel#SQUARE}, so that the specialised renderers for
+ * the quadratic map can be used. The generators use the symmetry of formulas with real coefficients (about the real
+ * axis) and of even formulas (about the origin) to render only part of the image.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class ComplexFormula {
+
+    /**
+     * Largest exponent accepted for powers.
+     */
+    private static final int MAXIMUM_EXPONENT = 1024;
+
+    /**
+     * The formula as entered.
+     */
+    private final String text;
+
+    /**
+     * The expression f(z).
+     */
+    private final FormulaNode function;
+
+    /**
+     * The compiled kernel.
+     */
+    private final ComplexKernel kernel;
+
+    /**
+     * Constructor.
+     *
+     * @param text     The formula as entered.
+     * @param function The expression f(z).
+     */
+    private ComplexFormula(final String text, final FormulaNode function) {
+        this.text = text;
+        this.function = function;
+        if (function.equals(FormulaNode.power(FormulaNode.Z, 2))
+                || function.equals(FormulaNode.binary(FormulaNode.Kind.MULTIPLY, FormulaNode.Z, FormulaNode.Z))) {
+            kernel = ComplexKernel.SQUARE;
+        } else {
+            kernel = FormulaKernelCompiler.compile(function);
+        }
+    }
+
+    /**
+     * Parse and compile a formula.
+     *
+     * @param text The formula, of the form f(z)+c.
+     * @return The compiled formula.
+     * @throws IllegalArgumentException If the formula can not be parsed or c is not added to it as a whole.
+     */
+    public static ComplexFormula parse(final String text) {
+        final FormulaNode formula = new Parser(text).parse();
+        final FormulaNode function = formula.withoutAddedConstant();
+        if (function == null || function.contains(FormulaNode.C)) {
+            throw new IllegalArgumentException(
+                    "The constant c must be added to the formula as a whole, as in z^2 + c.");
+        }
+        return new ComplexFormula(text.trim(), function);
+    }
+
+    /**
+     * Obtain the generating function f(z) for iterations with {@link Complex} objects.
+     *
+     * @return The function.
+     */
+    public Function<Complex, Complex> getFunction() {
+        return function::evaluate;
+    }
+
+    /**
+     * Obtain the compiled primitive version of the generating function f(z).
+     *
+     * @return The kernel.
+     */
+    public ComplexKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * Obtain the formula as entered.
+     *
+     * @return The formula text.
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * Recursive descent parser for the formula language. The grammar is:
+     *
+     * <pre>
+     * sum     = ["+" | "-"] product {("+" | "-") product}
+     * product = factor {("*" | "/") factor}
+     * factor  = "-" factor | power
+     * power   = primary ["^" integer]
+     * primary = number ["i"] | "i" | "z" | "c" | "mu" | function "(" sum ")" | "(" sum ")"
+     * </pre>
+     */
+    private static final class Parser {
+
+        private final String text;
+        private int position;
+
+        Parser(final String text) {
+            if (text == null) {
+                throw new IllegalArgumentException("The formula should not be null.");
+            }
+            this.text = text;
+        }
+
+        FormulaNode parse() {
+            final FormulaNode result = sum();
+            skipSpaces();
+            if (position < text.length()) {
+                throw error("Unexpected '" + text.charAt(position) + "'");
+            }
+            return result;
+        }
+
+        private FormulaNode sum() {
+            skipSpaces();
+            FormulaNode result;
+            if (accept('-')) {
+                result = FormulaNode.unary(FormulaNode.Kind.NEGATE, product());
+            } else {
+                accept('+');
+                result = product();
+            }
+            while (true) {
+                if (accept('+')) {
+                    result = FormulaNode.binary(FormulaNode.Kind.ADD, result, product());
+                } else if (accept('-')) {
+                    result = FormulaNode.binary(FormulaNode.Kind.SUBTRACT, result, product());
+                } else {
+                    return result;
+                }
+            }
+        }
+
+        private FormulaNode product() {
+            FormulaNode result = factor();
+            while (true) {
+                if (accept('*')) {
+                    result = FormulaNode.binary(FormulaNode.Kind.MULTIPLY, result, factor());
+                } else if (accept('/')) {
+                    result = FormulaNode.binary(FormulaNode.Kind.DIVIDE, result, factor());
+                } else {
+                    return result;
+                }
+            }
+        }
+
+        private FormulaNode factor() {
+            if (accept('-')) {
+                return FormulaNode.unary(FormulaNode.Kind.NEGATE, factor());
+            }
+            final FormulaNode base = primary();
+            if (!accept('^')) {
+                return base;
+            }
+            skipSpaces();
+            final int start = position;
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Expected a non-negative integer exponent");
+            }
+            final int exponent;
+            try {
+                exponent = Integer.parseInt(text.substring(start, position));
+            } catch (final NumberFormatException e) {
+                throw error("Exponent too large");
+            }
+            if (exponent > MAXIMUM_EXPONENT) {
+                throw error("Exponent too large");
+            }
+            return FormulaNode.power(base, exponent);
+        }
+
+        private FormulaNode primary() {
+            skipSpaces();
+            if (position >= text.length()) {
+                throw error("Unexpected end of formula");
+            }
+            final char next = text.charAt(position);
+            if (accept('(')) {
+                final FormulaNode result = sum();
+                expect(')');
+                return result;
+            }
+            if (Character.isDigit(next) || next == '.') {
+                return number();
+            }
+            if (Character.isLetter(next)) {
+                final int start = position;
+                final String name = identifier();
+                switch (name) {
+                    case "z":
+                        return FormulaNode.Z;
+                    case "c":
+                    case "mu":
+                        return FormulaNode.C;
+                    case "i":
+                        return FormulaNode.constant(Complex.I);
+                    case "conj":
+                        return function(FormulaNode.Kind.CONJUGATE);
+                    case "abs":
+                        return function(FormulaNode.Kind.ABS);
+                    case "exp":
+                        return function(FormulaNode.Kind.EXP);
+                    case "sin":
+                        return function(FormulaNode.Kind.SIN);
+                    default:
+                        position = start;
+                        throw error("Unknown name '" + name + "'");
+                }
+            }
+            throw error("Unexpected '" + next + "'");
+        }
+
+        private FormulaNode function(final FormulaNode.Kind kind) {
+            expect('(');
+            final FormulaNode argument = sum();
+            expect(')');
+            return FormulaNode.unary(kind, argument);
+        }
+
+        /**
+         * Read a real number, followed by an optional "i" for imaginary numbers.
+         *
+         * @return The constant.
+         */
+        private FormulaNode number() {
+            final int start = position;
+            while (position < text.length() && (Character.isDigit(text.charAt(position))
+                    || text.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+                int end = position + 1;
+                if (end < text.length() && (text.charAt(end) == '+' || text.charAt(end) == '-')) {
+                    end++;
+                }
+                if (end < text.length() && Character.isDigit(text.charAt(end))) {
+                    position = end;
+                    while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                        position++;
+                    }
+                }
+            }
+            final double value;
+            try {
+                value = Double.parseDouble(text.substring(start, position));
+            } catch (final NumberFormatException e) {
+                position = start;
+                throw error("Invalid number");
+            }
+            if (position < text.length() && text.charAt(position) == 'i'
+                    && (position + 1 == text.length() || !Character.isLetterOrDigit(text.charAt(position + 1)))) {
+                position++;
+                return FormulaNode.constant(Complex.valueOf(0.0, value));
+            }
+            return FormulaNode.constant(Complex.valueOf(value, 0.0));
+        }
+
+        private String identifier() {
+            final int start = position;
+            while (position < text.length() && Character.isLetter(text.charAt(position))) {
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        private boolean accept(final char symbol) {
+            skipSpaces();
+            if (position < text.length() && text.charAt(position) == symbol) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(final char symbol) {
+            if (!accept(symbol)) {
+                throw error("Expected '" + symbol + "'");
+            }
+        }
+
+        private void skipSpaces() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(final String message) {
+            return new IllegalArgumentException(message + " at position " + (position + 1) + " of formula '" + text
+                    + "'.");
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package agabrown.fractalexplorer.generators;
 
+import agabrown.fractalexplorer.colours.OrbitAccumulator;
+import agabrown.fractalexplorer.util.ComplexMath;
 import org.apache.commons.math3.complex.Complex;
 
 import java.util.ArrayList;
@@ -11,10 +13,30 @@ import java.util.function.Function;
  * stopping radius R<sub>max</sub>. The iterations f<sup>n</sup>(z) stop if n&gt;N<sub>max</sub> or if
  * |f<sup>n</sup>(z)|&gt;R<sub>max</sub>.
  *
+ * <p>
+ * Two flavours of iteration are provided. The methods returning a list iterate a {@code Function<Complex, Complex>}
+ * and return the full list of iterates. The methods taking an {@link OrbitAccumulator} iterate f(z)+c and pass each
+ * iterate to the accumulator as it is calculated, so that the orbit is never stored. The streaming method taking
+ * primitive arguments iterates the {@link ComplexKernel} on local doubles and creates no objects at all. It gives
+ * exactly the same iterates as the {@code Function} based methods for equivalent functions.
+ * </p>
+ *
+ * <p>
+ * The iteration methods do not modify the iterator, so one instance can be used from several threads at the same time
+ * (provided the parameters are not changed while iterations are in progress).
+ * </p>
+ *
  * @author agabrown Aug 2014 - Sep 2021
  */
 public final class ComplexFunctionIterator {
 
+    /**
+     * Relative margin around R<sub>max</sub><sup>2</sup> within which the cheap comparison of |z|<sup>2</sup> to
+     * R<sub>max</sub><sup>2</sup> cannot be trusted to give the same outcome as the comparison of
+     * {@link Complex#abs()} to R<sub>max</sub>.
+     */
+    private static final double SQUARED_LIMIT_MARGIN = 1.0e-12;
+
     /**
      * Maximum number of iterations N<sub>max</sub>.
      */
@@ -30,6 +52,21 @@ public final class ComplexFunctionIterator {
      */
     private Function<Complex, Complex> function;
 
+    /**
+     * Primitive version of the function to be iterated (can be null).
+     */
+    private ComplexKernel kernel;
+
+    /**
+     * Values of |z|<sup>2</sup> below which |z|&le;R<sub>max</sub> is certain, irrespective of rounding errors.
+     */
+    private double inSquaredLimit;
+
+    /**
+     * Values of |z|<sup>2</sup> above which |z|&gt;R<sub>max</sub> is certain, irrespective of rounding errors.
+     */
+    private double outSquaredLimit;
+
     /**
      * Private default constructor to enforce use of factory method for getting instance.
      */
@@ -54,6 +91,22 @@ public final class ComplexFunctionIterator {
         return cfi;
     }
 
+    /**
+     * Constructor.
+     *
+     * @param maxIter Maximum number of iterations.
+     * @param r       Stopping radius.
+     * @param f       Function to iterate.
+     * @param k       Primitive version of the function to iterate.
+     * @return Instance of ComplexFunctionIterator.
+     */
+    public static ComplexFunctionIterator getInstance(final int maxIter, final double r,
+                                                      final Function<Complex, Complex> f, final ComplexKernel k) {
+        final ComplexFunctionIterator cfi = getInstance(maxIter, r, f);
+        cfi.setKernel(k);
+        return cfi;
+    }
+
     /**
      * Set the maximum number of iterations.
      *
@@ -67,6 +120,15 @@ public final class ComplexFunctionIterator {
         maximumIterations = maxIter;
     }
 
+    /**
+     * Obtain the maximum number of iterations.
+     *
+     * @return Maximum number of iterations.
+     */
+    public int getMaximumIterations() {
+        return maximumIterations;
+    }
+
     /**
      * Set the stopping radius.
      *
@@ -78,6 +140,17 @@ public final class ComplexFunctionIterator {
             throw new IllegalArgumentException("Value of stopping radius should be postive and finite.");
         }
         stoppingRadius = r;
+        inSquaredLimit = r * r * (1.0 - SQUARED_LIMIT_MARGIN);
+        outSquaredLimit = r * r * (1.0 + SQUARED_LIMIT_MARGIN);
+    }
+
+    /**
+     * Obtain the stopping radius.
+     *
+     * @return Value of stopping radius.
+     */
+    public double getStoppingRadius() {
+        return stoppingRadius;
     }
 
     /**
@@ -89,6 +162,33 @@ public final class ComplexFunctionIterator {
         function = f;
     }
 
+    /**
+     * Set the primitive version of the complex function to be iterated.
+     *
+     * @param k Primitive kernel to be iterated.
+     */
+    public void setKernel(final ComplexKernel k) {
+        kernel = k;
+    }
+
+    /**
+     * Obtain the primitive version of the complex function to be iterated.
+     *
+     * @return The primitive kernel (null if none was set).
+     */
+    public ComplexKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * Check whether a primitive kernel was set for this iterator.
+     *
+     * @return True if the primitive iteration methods can be used.
+     */
+    public boolean hasKernel() {
+        return kernel != null;
+    }
+
     /**
      * Iterate the function until one of the stopping criteria is reached and return the list of iterates.
      *
@@ -129,4 +229,123 @@ public final class ComplexFunctionIterator {
         zn.trimToSize();
         return zn;
     }
+
+    /**
+     * Iterate z<sub>n+1</sub>=f(z<sub>n</sub>)+c until one of the stopping criteria is reached, passing the starting
+     * value and each iterate to the accumulator.
+     *
+     * @param zStart      Starting value of z.
+     * @param c           Value of the constant c.
+     * @param accumulator Receives the iterates.
+     * @return The number of iterations carried out.
+     */
+    public int iterate(final Complex zStart, final Complex c, final OrbitAccumulator accumulator) {
+        Complex zNext = Complex.valueOf(zStart.getReal(), zStart.getImaginary());
+        accumulator.begin(zNext.getReal(), zNext.getImaginary());
+        int iter = 0;
+        while (zNext.abs() <= stoppingRadius && iter < maximumIterations) {
+            zNext = function.apply(zNext).add(c);
+            accumulator.update(zNext.getReal(), zNext.getImaginary());
+            iter++;
+        }
+        return iter;
+    }
+
+    /**
+     * Iterate z<sub>n+1</sub>=f(conjugate(z<sub>n</sub>))+c until one of the stopping criteria is reached, passing
+     * the starting value and each iterate to the accumulator.
+     *
+     * @param zStart      Starting value of z.
+     * @param c           Value of the constant c.
+     * @param accumulator Receives the iterates.
+     * @return The number of iterations carried out.
+     */
+    public int iterateConjugate(final Complex zStart, final Complex c, final OrbitAccumulator accumulator) {
+        Complex zNext = Complex.valueOf(zStart.getReal(), zStart.getImaginary());
+        accumulator.begin(zNext.getReal(), zNext.getImaginary());
+        int iter = 0;
+        while (zNext.abs() <= stoppingRadius && iter < maximumIterations) {
+            zNext = function.apply(zNext.conjugate()).add(c);
+            accumulator.update(zNext.getReal(), zNext.getImaginary());
+            iter++;
+        }
+        return iter;
+    }
+
+    /**
+     * Iterate z<sub>n+1</sub>=f(z<sub>n</sub>)+c, with f the primitive kernel, until one of the stopping criteria is
+     * reached, passing the starting value and each iterate to the accumulator. No objects are created.
+     *
+     * @param zStartRe    Real part of the starting value of z.
+     * @param zStartIm    Imaginary part of the starting value of z.
+     * @param cRe         Real part of the constant c.
+     * @param cIm         Imaginary part of the constant c.
+     * @param accumulator Receives the iterates.
+     * @return The number of iterations carried out (the list returned by {@link #iterate(Complex)} contains one more
+     * element).
+     */
+    public int iterate(final double zStartRe, final double zStartIm, final double cRe, final double cIm,
+                       final OrbitAccumulator accumulator) {
+        double zRe = zStartRe;
+        double zIm = zStartIm;
+        double zReTemp;
+        int iter = 0;
+        accumulator.begin(zRe, zIm);
+        while (iter < maximumIterations && withinStoppingRadius(zRe, zIm)) {
+            zReTemp = kernel.real(zRe, zIm) + cRe;
+            zIm = kernel.imaginary(zRe, zIm) + cIm;
+            zRe = zReTemp;
+            accumulator.update(zRe, zIm);
+            iter++;
+        }
+        return iter;
+    }
+
+    /**
+     * Iterate z<sub>n+1</sub>=f(conjugate(z<sub>n</sub>))+c, with f the primitive kernel, until one of the stopping
+     * criteria is reached, passing the starting value and each iterate to the accumulator. No objects are created.
+     *
+     * @param zStartRe    Real part of the starting value of z.
+     * @param zStartIm    Imaginary part of the starting value of z.
+     * @param cRe         Real part of the constant c.
+     * @param cIm         Imaginary part of the constant c.
+     * @param accumulator Receives the iterates.
+     * @return The number of iterations carried out.
+     */
+    public int iterateConjugate(final double zStartRe, final double zStartIm, final double cRe, final double cIm,
+                                final OrbitAccumulator accumulator) {
+        double zRe = zStartRe;
+        double zIm = zStartIm;
+        double zReTemp;
+        int iter = 0;
+        accumulator.begin(zRe, zIm);
+        while (iter < maximumIterations && withinStoppingRadius(zRe, zIm)) {
+            zReTemp = kernel.real(zRe, -zIm) + cRe;
+            zIm = kernel.imaginary(zRe, -zIm) + cIm;
+            zRe = zReTemp;
+            accumulator.update(zRe, zIm);
+            iter++;
+        }
+        return iter;
+    }
+
+    /**
+     * Check whether |z|&le;R<sub>max</sub>. The comparison is first done cheaply on |z|<sup>2</sup>. Only when
+     * |z|<sup>2</sup> is so close to R<sub>max</sub><sup>2</sup> that rounding errors matter is |z| calculated in
+     * the same way as in {@link Complex#abs()}.
+     *
+     * @param re Real part of z.
+     * @param im Imaginary part of z.
+     * @return True if |z|&le;R<sub>max</sub>.
+     */
+    private boolean withinStoppingRadius(final double re, final double im) {
+        final double modulusSquared = re * re + im * im;
+        if (modulusSquared < inSquaredLimit) {
+            return true;
+        }
+        if (modulusSquared > outSquaredLimit) {
+            return false;
+        }
+        return ComplexMath.abs(re, im) <= stoppingRadius;
+    }
 }
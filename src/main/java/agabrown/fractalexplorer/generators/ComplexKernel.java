@@ -0,0 +1,167 @@
+package agabrown.fractalexplorer.generators;
+
+/**
+ * Primitive version of a complex function f(z) used to generate fractals. Implementations calculate the real and
+ * imaginary parts of f(z) directly from the real and imaginary parts of z, so that the iterations in
+ * {@link ComplexFunctionIterator} can be carried out on local double variables without creating any objects.
+ *
+ * <p>
+ * The two methods are called one after the other with the same arguments. Implementations should be stateless so
+ * that the JIT compiler can inline both calls and share the common sub-expressions between them. To get results that
+ * are identical to those of the equivalent {@code Function<Complex, Complex>}, the arithmetic operations should be
+ * carried out in the same order as in the corresponding {@link org.apache.commons.math3.complex.Complex} methods.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public interface ComplexKernel {
+
+    /**
+     * The function f(z)=z<sup>2</sup>.
+     */
+    ComplexKernel SQUARE = new ComplexKernel() {
+        @Override
+        public double real(final double re, final double im) {
+            return re * re - im * im;
+        }
+
+        @Override
+        public double imaginary(final double re, final double im) {
+            return re * im + im * re;
+        }
+
+        @Override
+        public boolean hasRealCoefficients() {
+            return true;
+        }
+
+        @Override
+        public boolean isEven() {
+            return true;
+        }
+    };
+
+    /**
+     * The function f(z)=(|Re(z)|+i|Im(z)|)<sup>2</sup> of the Burning Ship fractal.
+     */
+    ComplexKernel BURNING_SHIP = new ComplexKernel() {
+        @Override
+        public double real(final double re, final double im) {
+            final double x = Math.abs(re);
+            final double y = Math.abs(im);
+            return x * x - y * y;
+        }
+
+        @Override
+        public double imaginary(final double re, final double im) {
+            final double x = Math.abs(re);
+            final double y = Math.abs(im);
+            return x * y + y * x;
+        }
+
+        @Override
+        public boolean isEven() {
+            return true;
+        }
+    };
+
+    /**
+     * The function f(z)=(Re(z)-i|Im(z)|)<sup>2</sup> of the Perpendicular Burning Ship fractal.
+     */
+    ComplexKernel PERPENDICULAR_BURNING_SHIP = new ComplexKernel() {
+        @Override
+        public double real(final double re, final double im) {
+            final double y = -Math.abs(im);
+            return re * re - y * y;
+        }
+
+        @Override
+        public double imaginary(final double re, final double im) {
+            final double y = -Math.abs(im);
+            return re * y + y * re;
+        }
+    };
+
+    /**
+     * The function f(z)=|Re(z<sup>2</sup>)|+i*Im(z<sup>2</sup>) of the Celtic fractal.
+     */
+    ComplexKernel CELTIC = new ComplexKernel() {
+        @Override
+        public double real(final double re, final double im) {
+            return Math.abs(re * re - im * im);
+        }
+
+        @Override
+        public double imaginary(final double re, final double im) {
+            return re * im + im * re;
+        }
+
+        @Override
+        public boolean hasRealCoefficients() {
+            return true;
+        }
+
+        @Override
+        public boolean isEven() {
+            return true;
+        }
+    };
+
+    /**
+     * The function f(z)=|Re(z<sup>2</sup>)|+i|Im(z<sup>2</sup>)| of the Buffalo fractal.
+     */
+    ComplexKernel BUFFALO = new ComplexKernel() {
+        @Override
+        public double real(final double re, final double im) {
+            return Math.abs(re * re - im * im);
+        }
+
+        @Override
+        public double imaginary(final double re, final double im) {
+            return Math.abs(re * im + im * re);
+        }
+
+        @Override
+        public boolean isEven() {
+            return true;
+        }
+    };
+
+    /**
+     * Calculate the real part of f(z).
+     *
+     * @param re Real part of z.
+     * @param im Imaginary part of z.
+     * @return Value of Re(f(z)).
+     */
+    double real(double re, double im);
+
+    /**
+     * Calculate the imaginary part of f(z).
+     *
+     * @param re Real part of z.
+     * @param im Imaginary part of z.
+     * @return Value of Im(f(z)).
+     */
+    double imaginary(double re, double im);
+
+    /**
+     * Check whether f(conjugate(z))=conjugate(f(z)), as for polynomials with real coefficients. The Mandelbrot and
+     * Tricorn sets of such functions are symmetric about the real axis. The default implementation returns false.
+     *
+     * @return True if the function commutes with complex conjugation.
+     */
+    default boolean hasRealCoefficients() {
+        return false;
+    }
+
+    /**
+     * Check whether f(-z)=f(z). The Julia sets of even functions are symmetric about the origin. The default
+     * implementation returns false.
+     *
+     * @return True if the function is even.
+     */
+    default boolean isEven() {
+        return false;
+    }
+}
@@ -0,0 +1,256 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.OrbitAccumulator;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.util.DoubleDouble;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates fractal images at intermediate zoom levels by iterating the orbits of all pixels in
+ * {@link DoubleDouble} precision (about 32 decimal digits). This resolves views zoomed in by up to about
+ * 10<sup>28</sup>, beyond the zoom factor of about 10<sup>13</sup> where the pixels can no longer be resolved in
+ * double precision, without the reference orbits and glitch corrections of the {@link PerturbationImageRenderer}. The
+ * pixel points are obtained as the arbitrary precision centre of the view plus the pixel offsets, rounded to
+ * double-double precision. The iterations use a fixed set of double-double numbers per thread and create no objects.
+ *
+ * <p>
+ * The renderer supports the same generators as the {@link PerturbationImageRenderer}: {@link ComplexDynamicsBased}
+ * generators that iterate f(z)=z<sup>2</sup> (or f(conjugate(z))) and describe their {@link ParameterPlane}, which
+ * are the Mandelbrot, Tricorn, modified Mandelbrot and Julia generators. For other generators the image is calculated
+ * with a {@link TiledImageRenderer}. The iterates are passed to the orbit accumulators of the generator's colouring
+ * algorithm rounded to double precision.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class DoubleDoubleImageRenderer implements ImageRenderer {
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Double-double";
+
+    /**
+     * Number of image rows below which a batch of rows is not split further over the threads.
+     */
+    private static final int BATCH_ROWS = 4;
+
+    /**
+     * The pool of threads used for the calculations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Renderer used for generators that are not supported.
+     */
+    private final TiledImageRenderer fallback;
+
+    /**
+     * Constructor. Creates a renderer which uses the common fork/join pool (and thus all available processors).
+     */
+    public DoubleDoubleImageRenderer() {
+        pool = ForkJoinPool.commonPool();
+        fallback = new TiledImageRenderer();
+    }
+
+    /**
+     * Constructor. Creates a renderer with its own pool of threads.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public DoubleDoubleImageRenderer(final int parallelism) {
+        fallback = new TiledImageRenderer(parallelism);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Check whether this renderer can calculate images for the given generator in double-double precision.
+     *
+     * @param generator The fractal generator.
+     * @return True if the double-double iterations can be used.
+     */
+    public static boolean supports(final FractalGenerator generator) {
+        if (!(generator instanceof ComplexDynamicsBased)) {
+            return false;
+        }
+        final ComplexDynamicsBased cdb = (ComplexDynamicsBased) generator;
+        return cdb.isQuadratic() && cdb.getParameterPlane() != null;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        if (!supports(generator)) {
+            return fallback.submit(generator, cpv, progress);
+        }
+        final Frame frame = new Frame((ComplexDynamicsBased) generator, cpv, progress);
+        return pool.submit(ForkJoinTask.adapt(() -> frame.new RowTask(0, frame.imHeight).invoke(), frame.image));
+    }
+
+    /**
+     * Holds the state of the calculation of one image.
+     */
+    private static final class Frame {
+
+        private final ComplexDynamicsBased generator;
+        private final RenderProgress progress;
+        private final ParameterPlane plane;
+        private final boolean conjugate;
+        private final int maxIter;
+        private final double radiusSquared;
+        private final DoubleDouble centreReal;
+        private final DoubleDouble centreImaginary;
+        private final double[] offsetReal;
+        private final double[] offsetImaginary;
+        private final int imWidth;
+        private final int imHeight;
+        private final double[] image;
+
+        /**
+         * Constructor.
+         *
+         * @param generator The fractal generator.
+         * @param cpv       The complex plane view.
+         * @param progress  Keeps track of the progress of the calculation.
+         */
+        Frame(final ComplexDynamicsBased generator, final ComplexPlaneView cpv, final RenderProgress progress) {
+            this.generator = generator;
+            this.progress = progress;
+            plane = generator.getParameterPlane();
+            conjugate = generator.iterateConjugate;
+            maxIter = generator.theIterator.getMaximumIterations();
+            final double stoppingRadius = generator.theIterator.getStoppingRadius();
+            radiusSquared = stoppingRadius * stoppingRadius;
+            centreReal = DoubleDouble.valueOf(cpv.getExactCentreReal());
+            centreImaginary = DoubleDouble.valueOf(cpv.getExactCentreImaginary());
+            offsetReal = cpv.getOffsetsRealPixels();
+            offsetImaginary = cpv.getOffsetsImaginaryPixels();
+            imWidth = cpv.getSizeRealPixels();
+            imHeight = cpv.getSizeImaginaryPixels();
+            image = new double[imWidth * imHeight];
+            progress.reset(image.length);
+        }
+
+        /**
+         * The fork/join task that calculates a batch of image rows.
+         */
+        private final class RowTask extends RecursiveAction {
+
+            /**
+             * Required for serializable classes.
+             */
+            private static final long serialVersionUID = -4120965623517829431L;
+
+            private final int jMin;
+            private final int jMax;
+
+            /**
+             * Work space for the iterations.
+             */
+            private DoubleDouble pointRe;
+            private DoubleDouble pointIm;
+            private DoubleDouble zRe;
+            private DoubleDouble zIm;
+            private DoubleDouble cRe;
+            private DoubleDouble cIm;
+            private DoubleDouble zReSquared;
+            private DoubleDouble zImSquared;
+
+            /**
+             * Number of iterations carried out for the pixels of this task.
+             */
+            private long calculatedIterations;
+
+            /**
+             * Constructor.
+             *
+             * @param jMin First image row (inclusive).
+             * @param jMax Last image row (exclusive).
+             */
+            RowTask(final int jMin, final int jMax) {
+                this.jMin = jMin;
+                this.jMax = jMax;
+            }
+
+            @Override
+            protected void compute() {
+                if (jMax - jMin > BATCH_ROWS) {
+                    final int jMid = (jMin + jMax) >>> 1;
+                    invokeAll(new RowTask(jMin, jMid), new RowTask(jMid, jMax));
+                    return;
+                }
+                pointRe = new DoubleDouble();
+                pointIm = new DoubleDouble();
+                zRe = new DoubleDouble();
+                zIm = new DoubleDouble();
+                cRe = new DoubleDouble(generator.getFixedConstantReal());
+                cIm = new DoubleDouble(generator.getFixedConstantImaginary());
+                zReSquared = new DoubleDouble();
+                zImSquared = new DoubleDouble();
+                final OrbitAccumulator accumulator = generator.getAccumulator();
+                for (int j = jMin; j < jMax; j++) {
+                    pointIm.add(centreImaginary, offsetImaginary[j]);
+                    for (int i = 0; i < imWidth; i++) {
+                        pointRe.add(centreReal, offsetReal[i]);
+                        image[j * imWidth + i] = iteratePixel(accumulator);
+                    }
+                }
+                final long numberOfPixels = (long) (jMax - jMin) * imWidth;
+                progress.addIterations(calculatedIterations, 0L);
+                progress.addIteratedPixels(numberOfPixels);
+                progress.addCompletedPixels(numberOfPixels);
+            }
+
+            /**
+             * Iterate z<sub>n+1</sub>=z<sub>n</sub><sup>2</sup>+c (or conjugate(z<sub>n</sub>)<sup>2</sup>+c) in
+             * double-double precision for the current pixel point, passing the iterates to the orbit accumulator.
+             *
+             * @param accumulator The orbit accumulator of the calling thread.
+             * @return The pixel value.
+             */
+            private double iteratePixel(final OrbitAccumulator accumulator) {
+                if (plane.pixelIsStartingValue()) {
+                    zRe.set(pointRe);
+                    zIm.set(pointIm);
+                } else {
+                    zRe.set(0.0);
+                    zIm.set(0.0);
+                }
+                if (plane.pixelIsConstant()) {
+                    cRe.set(pointRe);
+                    cIm.set(pointIm);
+                }
+                accumulator.begin(zRe.getHigh(), zIm.getHigh());
+                int n = 0;
+                while (n < maxIter) {
+                    final double re = zRe.getHigh();
+                    final double im = zIm.getHigh();
+                    if (re * re + im * im > radiusSquared) {
+                        break;
+                    }
+                    zReSquared.square(zRe);
+                    zImSquared.square(zIm);
+                    zIm.multiply(zIm, zRe).scalb(zIm, 1);
+                    if (conjugate) {
+                        zIm.negate(zIm);
+                    }
+                    zIm.add(zIm, cIm);
+                    zRe.subtract(zReSquared, zImSquared).add(zRe, cRe);
+                    n++;
+                    accumulator.update(zRe.getHigh(), zIm.getHigh());
+                }
+                calculatedIterations += n;
+                return accumulator.finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package agabrown.fractalexplorer.generators;
+
+/**
+ * Iterates z<sub>n+1</sub>=z<sub>n</sub><sup>2</sup>+c (or conjugate(z<sub>n</sub>)<sup>2</sup>+c), or one of its
+ * {@link QuadraticVariant}s, for a batch of points at once, as used for the Mandelbrot, Tricorn, Burning Ship and
+ * Julia sets. Instead of passing every iterate to an orbit
+ * accumulator, the kernel only returns the number of iterations and the last iterate of each point, which is all that
+ * colouring algorithms that can skip iterates need (see
+ * {@link agabrown.fractalexplorer.colours.OrbitAccumulator#canSkipIterates()}). This leaves implementations free to
+ * process the points in any order, for example several at a time in SIMD registers.
+ *
+ * <p>
+ * The iterations for a point stop at the first iterate for which |z|<sup>2</sup> exceeds the squared stopping radius,
+ * or when the maximum number of iterations is reached. Implementations should be stateless, so that one instance can
+ * be shared between threads, and give identical results for each point.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public interface EscapeTimeBatchKernel {
+
+    /**
+     * Obtain a short description of the kernel.
+     *
+     * @return The name of the kernel.
+     */
+    String getName();
+
+    /**
+     * Iterate the points with indices from (inclusive) to to (exclusive) in the arrays.
+     *
+     * @param zRe           Real parts of the starting values, replaced by those of the last iterates.
+     * @param zIm           Imaginary parts of the starting values, replaced by those of the last iterates.
+     * @param cRe           Real parts of the constants c.
+     * @param cIm           Imaginary parts of the constants c.
+     * @param iterations    Receives the number of iterations carried out for each point.
+     * @param from          First index of the batch.
+     * @param to            Index beyond the last one of the batch.
+     * @param variant       The variant of the quadratic map to iterate.
+     * @param conjugate     If true iterate f(conjugate(z))+c.
+     * @param maxIter       Maximum number of iterations.
+     * @param radiusSquared The square of the stopping radius.
+     */
+    void iterate(double[] zRe, double[] zIm, double[] cRe, double[] cIm, int[] iterations, int from, int to,
+                 QuadraticVariant variant, boolean conjugate, int maxIter, double radiusSquared);
+}
@@ -0,0 +1,286 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.OrbitAccumulator;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.util.FEConstants;
+import agabrown.fractalexplorer.util.PrecisionVerification;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates fractal images at shallow zoom levels by iterating the orbits of all pixels in single (float) precision.
+ * With 24 bits of precision this resolves the default view and the first few zoom doublings, at about half the
+ * memory traffic of double precision. The pixel points are calculated in double precision and then rounded to float
+ * precision. The {@link AutomaticImageRenderer} uses this renderer only while the pixel spacing of the view is coarse
+ * enough.
+ *
+ * <p>
+ * The renderer supports the same generators as the {@link DoubleDoubleImageRenderer}: {@link ComplexDynamicsBased}
+ * generators that iterate f(z)=z<sup>2</sup> (or f(conjugate(z))) and describe their {@link ParameterPlane}. For
+ * other generators the image is calculated with a {@link TiledImageRenderer}. The iterates are passed to the orbit
+ * accumulators of the generator's colouring algorithm converted to double precision.
+ * </p>
+ *
+ * <p>
+ * In verification mode (the default) the renderer recalculates a sample of {@link FEConstants#VERIFICATION_SAMPLES}
+ * pixels in double precision once the image is complete, as described in {@link PrecisionVerification}. If more than
+ * {@link FEConstants#VERIFICATION_MAXIMUM_DISAGREEMENTS} of the sampled pixels disagree, the whole image is
+ * recalculated in double precision with a {@link TiledImageRenderer}, which is recorded in the
+ * {@link RenderProgress#isPrecisionFallback() render progress}. Otherwise the neighbourhoods of the disagreeing
+ * sampled pixels are recalculated in double precision.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class FloatImageRenderer implements ImageRenderer {
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Float";
+
+    /**
+     * Number of image rows below which a batch of rows is not split further over the threads.
+     */
+    private static final int BATCH_ROWS = 4;
+
+    /**
+     * The pool of threads used for the calculations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Renderer used for generators that are not supported.
+     */
+    private final TiledImageRenderer fallback;
+
+    /**
+     * If true verify the images against double precision on a sample of pixels.
+     */
+    private final boolean verification;
+
+    /**
+     * Constructor. Creates a renderer in verification mode which uses the common fork/join pool (and thus all
+     * available processors).
+     */
+    public FloatImageRenderer() {
+        pool = ForkJoinPool.commonPool();
+        fallback = new TiledImageRenderer();
+        verification = true;
+    }
+
+    /**
+     * Constructor. Creates a renderer in verification mode with its own pool of threads.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public FloatImageRenderer(final int parallelism) {
+        this(parallelism, true);
+    }
+
+    /**
+     * Constructor. Creates a renderer with its own pool of threads.
+     *
+     * @param parallelism  The number of threads to use for the calculations.
+     * @param verification If true verify the images against double precision and fall back to double precision when
+     *                     they disagree.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public FloatImageRenderer(final int parallelism, final boolean verification) {
+        fallback = new TiledImageRenderer(parallelism);
+        pool = new ForkJoinPool(parallelism);
+        this.verification = verification;
+    }
+
+    /**
+     * Check whether this renderer can calculate images for the given generator in float precision.
+     *
+     * @param generator The fractal generator.
+     * @return True if the float iterations can be used.
+     */
+    public static boolean supports(final FractalGenerator generator) {
+        return DoubleDoubleImageRenderer.supports(generator);
+    }
+
+    /**
+     * Check whether the renderer verifies the images against double precision.
+     *
+     * @return True if the verification mode is on.
+     */
+    public boolean isVerification() {
+        return verification;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        if (!supports(generator)) {
+            return fallback.submit(generator, cpv, progress);
+        }
+        final Frame frame = new Frame((ComplexDynamicsBased) generator, cpv, progress);
+        return pool.submit(ForkJoinTask.adapt(() -> {
+            frame.new RowTask(0, frame.imHeight).invoke();
+            if (verification && !frame.agreesWithDoublePrecision(cpv)) {
+                final double[] image = fallback.render(generator, cpv, progress);
+                progress.setPrecisionFallback();
+                return image;
+            }
+            return frame.image;
+        }));
+    }
+
+    /**
+     * Holds the state of the calculation of one image.
+     */
+    private static final class Frame {
+
+        private final ComplexDynamicsBased generator;
+        private final RenderProgress progress;
+        private final ParameterPlane plane;
+        private final boolean conjugate;
+        private final int maxIter;
+        private final float radiusSquared;
+        private final float constantReal;
+        private final float constantImaginary;
+        private final float[] pointReal;
+        private final float[] pointImaginary;
+        private final int imWidth;
+        private final int imHeight;
+        private final double[] image;
+
+        /**
+         * Constructor.
+         *
+         * @param generator The fractal generator.
+         * @param cpv       The complex plane view.
+         * @param progress  Keeps track of the progress of the calculation.
+         */
+        Frame(final ComplexDynamicsBased generator, final ComplexPlaneView cpv, final RenderProgress progress) {
+            this.generator = generator;
+            this.progress = progress;
+            plane = generator.getParameterPlane();
+            conjugate = generator.iterateConjugate;
+            maxIter = generator.theIterator.getMaximumIterations();
+            final double stoppingRadius = generator.theIterator.getStoppingRadius();
+            radiusSquared = (float) (stoppingRadius * stoppingRadius);
+            constantReal = (float) generator.getFixedConstantReal();
+            constantImaginary = (float) generator.getFixedConstantImaginary();
+            imWidth = cpv.getSizeRealPixels();
+            imHeight = cpv.getSizeImaginaryPixels();
+            pointReal = new float[imWidth];
+            for (int i = 0; i < imWidth; i++) {
+                pointReal[i] = (float) cpv.getValueAtRealPixel(i);
+            }
+            pointImaginary = new float[imHeight];
+            for (int j = 0; j < imHeight; j++) {
+                pointImaginary[j] = (float) cpv.getValueAtImaginaryPixel(j);
+            }
+            image = new double[imWidth * imHeight];
+            progress.reset(image.length);
+        }
+
+        /**
+         * Verify the image against double precision on a sample of pixels, spread evenly over the image.
+         *
+         * @param cpv The complex plane view.
+         * @return True if the image is accepted.
+         * @see PrecisionVerification#verify(double[], int, java.util.function.IntToDoubleFunction)
+         */
+        boolean agreesWithDoublePrecision(final ComplexPlaneView cpv) {
+            final boolean agrees = PrecisionVerification.verify(image, imWidth,
+                    k -> generator.generatePixelValue(cpv.getValueAtRealPixel(k % imWidth),
+                            cpv.getValueAtImaginaryPixel(k / imWidth)));
+            progress.addIteratedPixels(Math.min(FEConstants.VERIFICATION_SAMPLES, image.length));
+            return agrees;
+        }
+
+        /**
+         * The fork/join task that calculates a batch of image rows.
+         */
+        private final class RowTask extends RecursiveAction {
+
+            /**
+             * Required for serializable classes.
+             */
+            private static final long serialVersionUID = 3387120463945196270L;
+
+            private final int jMin;
+            private final int jMax;
+
+            /**
+             * Number of iterations carried out for the pixels of this task.
+             */
+            private long calculatedIterations;
+
+            /**
+             * Constructor.
+             *
+             * @param jMin First image row (inclusive).
+             * @param jMax Last image row (exclusive).
+             */
+            RowTask(final int jMin, final int jMax) {
+                this.jMin = jMin;
+                this.jMax = jMax;
+            }
+
+            @Override
+            protected void compute() {
+                if (jMax - jMin > BATCH_ROWS) {
+                    final int jMid = (jMin + jMax) >>> 1;
+                    invokeAll(new RowTask(jMin, jMid), new RowTask(jMid, jMax));
+                    return;
+                }
+                final OrbitAccumulator accumulator = generator.getAccumulator();
+                for (int j = jMin; j < jMax; j++) {
+                    for (int i = 0; i < imWidth; i++) {
+                        image[j * imWidth + i] = iteratePixel(accumulator, pointReal[i], pointImaginary[j]);
+                    }
+                }
+                final long numberOfPixels = (long) (jMax - jMin) * imWidth;
+                progress.addIterations(calculatedIterations, 0L);
+                progress.addIteratedPixels(numberOfPixels);
+                progress.addCompletedPixels(numberOfPixels);
+            }
+
+            /**
+             * Iterate z<sub>n+1</sub>=z<sub>n</sub><sup>2</sup>+c (or conjugate(z<sub>n</sub>)<sup>2</sup>+c) in
+             * float precision for one pixel point, passing the iterates to the orbit accumulator.
+             *
+             * @param accumulator The orbit accumulator of the calling thread.
+             * @param pRe         Real part of the pixel point.
+             * @param pIm         Imaginary part of the pixel point.
+             * @return The pixel value.
+             */
+            private double iteratePixel(final OrbitAccumulator accumulator, final float pRe, final float pIm) {
+                float zRe = plane.pixelIsStartingValue() ? pRe : 0.0f;
+                float zIm = plane.pixelIsStartingValue() ? pIm : 0.0f;
+                final float cRe = plane.pixelIsConstant() ? pRe : constantReal;
+                final float cIm = plane.pixelIsConstant() ? pIm : constantImaginary;
+                final float sign = conjugate ? -2.0f : 2.0f;
+                accumulator.begin(zRe, zIm);
+                int n = 0;
+                while (n < maxIter) {
+                    final float reSquared = zRe * zRe;
+                    final float imSquared = zIm * zIm;
+                    if (reSquared + imSquared > radiusSquared) {
+                        break;
+                    }
+                    zIm = sign * zRe * zIm + cIm;
+                    zRe = reSquared - imSquared + cRe;
+                    n++;
+                    accumulator.update(zRe, zIm);
+                }
+                calculatedIterations += n;
+                return accumulator.finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package agabrown.fractalexplorer.generators;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the expression tree of a {@link ComplexFormula} into a class implementing {@link ComplexKernel}. The
+ * methods of the generated class evaluate the expression on local double variables, in straight-line bytecode without
+ * any object creation or virtual calls, so that the JIT compiler can inline them into the iteration loop of
+ * {@link ComplexFunctionIterator}.
+ *
+ * <p>
+ * The arithmetic is carried out in the same order as in the corresponding
+ * {@link org.apache.commons.math3.complex.Complex} methods, calling {@link org.apache.commons.math3.util.FastMath} and
+ * {@link agabrown.fractalexplorer.util.ComplexMath} for the elementary functions, division and the modulus. The
+ * compiled kernel therefore gives the same iterates as the expression evaluated with {@code Complex} objects. Each
+ * complex value takes up four local variable slots (real and imaginary part) and repeated sub-expressions are
+ * calculated only once. Integer powers are unrolled into a sequence of squarings and multiplications, so that
+ * z<sup>n</sup> costs about log<sub>2</sub>(n) complex multiplications. As the code contains no branches, the class
+ * file needs no stack map frames. The kernel also reports whether the formula has real coefficients and whether it is
+ * even, so that the renderers can exploit the symmetry of the fractal.
+ * </p>
+ *
+ * <p>
+ * On Java 15 and later the class is defined as a hidden class, which is unloaded together with the kernel. On older
+ * Java versions each kernel class is defined by a class loader of its own.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+final class FormulaKernelCompiler {
+
+    /**
+     * Internal name of the generated class (hidden classes get a unique suffix, other classes a loader of their own).
+     */
+    private static final String CLASS_NAME = "agabrown/fractalexplorer/generators/CompiledFormulaKernel";
+
+    private static final String KERNEL_INTERFACE = "agabrown/fractalexplorer/generators/ComplexKernel";
+    private static final String FAST_MATH = "org/apache/commons/math3/util/FastMath";
+    private static final String COMPLEX_MATH = "agabrown/fractalexplorer/util/ComplexMath";
+    private static final String UNARY = "(D)D";
+    private static final String BINARY = "(DD)D";
+    private static final String QUATERNARY = "(DDDD)D";
+
+    /**
+     * Local variable slots of the real and imaginary parts of z (slot 0 holds {@code this}).
+     */
+    private static final int Z_SLOT = 1;
+
+    /**
+     * Maximum operand stack depth of the generated code (four doubles, the arguments of a division).
+     */
+    private static final int MAX_STACK = 8;
+
+    /**
+     * Maximum length of the code of a method.
+     */
+    private static final int MAX_CODE_LENGTH = 65535;
+
+    private static final int DLOAD = 0x18;
+    private static final int DSTORE = 0x39;
+    private static final int LDC2_W = 0x14;
+    private static final int DCONST_0 = 0x0e;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DNEG = 0x77;
+    private static final int DUP2 = 0x5c;
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int IRETURN = 0xac;
+    private static final int DRETURN = 0xaf;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int WIDE = 0xc4;
+
+    private final ConstantPool pool = new ConstantPool();
+    private final FormulaNode formula;
+
+    /**
+     * Number of local variable slots used by the kernel methods.
+     */
+    private int maxLocals;
+
+    /**
+     * Constructor.
+     *
+     * @param formula The expression f(z) (without the constant c).
+     */
+    private FormulaKernelCompiler(final FormulaNode formula) {
+        this.formula = formula;
+    }
+
+    /**
+     * Compile the expression f(z) into a kernel.
+     *
+     * @param formula The expression (without the constant c).
+     * @return The kernel.
+     * @throws IllegalArgumentException If the expression is too long to be compiled into one method.
+     */
+    static ComplexKernel compile(final FormulaNode formula) {
+        final byte[] classFile = new FormulaKernelCompiler(formula).toClassFile();
+        try {
+            return (ComplexKernel) defineClass(classFile).getConstructor().newInstance();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("The compiled formula could not be instantiated.", e);
+        }
+    }
+
+    /**
+     * Define the kernel class, as a hidden class if the Java version supports it.
+     *
+     * @param classFile The class file.
+     * @return The class.
+     * @throws ReflectiveOperationException If the hidden class can not be defined.
+     */
+    private static Class<?> defineClass(final byte[] classFile) throws ReflectiveOperationException {
+        final Class<?> optionClass;
+        try {
+            optionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+        } catch (final ClassNotFoundException e) {
+            return new KernelClassLoader().define(classFile);
+        }
+        final Method defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class,
+                boolean.class, Array.newInstance(optionClass, 0).getClass());
+        final Object lookup = defineHiddenClass.invoke(MethodHandles.lookup(), classFile, true,
+                Array.newInstance(optionClass, 0));
+        return ((MethodHandles.Lookup) lookup).lookupClass();
+    }
+
+    /**
+     * Generate the class file.
+     *
+     * @return The bytes of the class file.
+     */
+    private byte[] toClassFile() {
+        final int thisClass = pool.classReference(CLASS_NAME);
+        final int superClass = pool.classReference("java/lang/Object");
+        final int kernelInterface = pool.classReference(KERNEL_INTERFACE);
+        final byte[] constructor = constructorCode();
+        final byte[] real = kernelCode(true);
+        final byte[] imaginary = kernelCode(false);
+        final int code = pool.utf8("Code");
+        final int init = pool.utf8("<init>");
+        final int voidDescriptor = pool.utf8("()V");
+        final int realName = pool.utf8("real");
+        final int imaginaryName = pool.utf8("imaginary");
+        final int kernelDescriptor = pool.utf8(BINARY);
+        final int realCoefficientsName = pool.utf8("hasRealCoefficients");
+        final int evenName = pool.utf8("isEven");
+        final int booleanDescriptor = pool.utf8("()Z");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            pool.write(out);
+            out.writeShort(0x0001 | 0x0010 | 0x0020);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(kernelInterface);
+            out.writeShort(0);
+            out.writeShort(5);
+            writeMethod(out, init, voidDescriptor, code, 1, 1, constructor);
+            writeMethod(out, realName, kernelDescriptor, code, MAX_STACK, maxLocals, real);
+            writeMethod(out, imaginaryName, kernelDescriptor, code, MAX_STACK, maxLocals, imaginary);
+            writeMethod(out, realCoefficientsName, booleanDescriptor, code, 1, 1,
+                    booleanCode(formula.hasRealCoefficients()));
+            writeMethod(out, evenName, booleanDescriptor, code, 1, 1, booleanCode(formula.isEven()));
+            out.writeShort(0);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write a public method with its code attribute.
+     *
+     * @param out        The class file stream.
+     * @param name       Constant pool index of the method name.
+     * @param descriptor Constant pool index of the method descriptor.
+     * @param code       Constant pool index of the string "Code".
+     * @param maxStack   Maximum depth of the operand stack.
+     * @param maxLocals  Number of local variable slots.
+     * @param bytecode   The bytecode of the method.
+     * @throws IOException If writing fails.
+     */
+    private static void writeMethod(final DataOutputStream out, final int name, final int descriptor,
+                                    final int code, final int maxStack, final int maxLocals,
+                                    final byte[] bytecode) throws IOException {
+        out.writeShort(0x0001);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(code);
+        out.writeInt(12 + bytecode.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytecode.length);
+        out.write(bytecode);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    /**
+     * Generate the code of the constructor, which only calls the constructor of {@link Object}.
+     *
+     * @return The bytecode.
+     */
+    private byte[] constructorCode() {
+        final int objectInit = pool.methodReference("java/lang/Object", "<init>", "()V");
+        return new byte[]{(byte) ALOAD_0, (byte) INVOKESPECIAL, (byte) (objectInit >> 8), (byte) objectInit,
+                (byte) RETURN};
+    }
+
+    /**
+     * Generate the code of a method that returns a constant boolean, used for the symmetry properties of the kernel.
+     *
+     * @param value The value to return.
+     * @return The bytecode.
+     */
+    private static byte[] booleanCode(final boolean value) {
+        return new byte[]{(byte) (value ? ICONST_1 : ICONST_0), (byte) IRETURN};
+    }
+
+    /**
+     * Generate the code of the {@link ComplexKernel#real(double, double)} or
+     * {@link ComplexKernel#imaginary(double, double)} method.
+     *
+     * @param realPart If true return the real part of f(z), otherwise the imaginary part.
+     * @return The bytecode.
+     * @throws IllegalArgumentException If the code is too long.
+     */
+    private byte[] kernelCode(final boolean realPart) {
+        final MethodWriter writer = new MethodWriter();
+        final int result = writer.value(formula);
+        writer.load(realPart ? result : result + 2);
+        writer.code.write(DRETURN);
+        maxLocals = Math.max(maxLocals, writer.nextSlot);
+        if (writer.code.size() > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("The formula is too long to be compiled.");
+        }
+        return writer.code.toByteArray();
+    }
+
+    /**
+     * Generates the code of one kernel method. Each complex value is held in four consecutive local variable slots,
+     * the real part in the first two and the imaginary part in the last two.
+     */
+    private final class MethodWriter {
+
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+
+        /**
+         * First local variable slots of the values already calculated.
+         */
+        private final Map<FormulaNode, Integer> slots = new HashMap<>();
+
+        /**
+         * Next free local variable slot.
+         */
+        private int nextSlot = Z_SLOT + 4;
+
+        /**
+         * Generate the code that calculates the value of an expression, unless it was already calculated.
+         *
+         * @param node The expression.
+         * @return The first local variable slot of the value.
+         */
+        int value(final FormulaNode node) {
+            if (node.getKind() == FormulaNode.Kind.Z) {
+                return Z_SLOT;
+            }
+            final Integer known = slots.get(node);
+            if (known != null) {
+                return known;
+            }
+            final int slot;
+            switch (node.getKind()) {
+                case CONSTANT:
+                    slot = allocate();
+                    constant(node.getValue().getReal());
+                    store(slot);
+                    constant(node.getValue().getImaginary());
+                    store(slot + 2);
+                    break;
+                case ADD:
+                case SUBTRACT:
+                    slot = addOrSubtract(value(node.getLeft()), value(node.getRight()),
+                            node.getKind() == FormulaNode.Kind.ADD ? DADD : DSUB);
+                    break;
+                case MULTIPLY:
+                    slot = multiply(value(node.getLeft()), value(node.getRight()));
+                    break;
+                case DIVIDE:
+                    slot = divide(value(node.getLeft()), value(node.getRight()));
+                    break;
+                case POWER:
+                    slot = power(value(node.getLeft()), node.getExponent());
+                    break;
+                default:
+                    slot = function(node.getKind(), value(node.getLeft()));
+            }
+            slots.put(node, slot);
+            return slot;
+        }
+
+        private int addOrSubtract(final int a, final int b, final int opcode) {
+            final int slot = allocate();
+            load(a);
+            load(b);
+            code.write(opcode);
+            store(slot);
+            load(a + 2);
+            load(b + 2);
+            code.write(opcode);
+            store(slot + 2);
+            return slot;
+        }
+
+        /**
+         * Generate the code for a multiplication. For a square the imaginary part re*im+im*re is calculated as
+         * p+p with p=re*im, which saves a multiplication and gives the same result, as floating point
+         * multiplication is commutative.
+         *
+         * @param a First slot of the first factor.
+         * @param b First slot of the second factor.
+         * @return The first slot of the product.
+         */
+        private int multiply(final int a, final int b) {
+            final int slot = allocate();
+            load(a);
+            load(b);
+            code.write(DMUL);
+            load(a + 2);
+            load(b + 2);
+            code.write(DMUL);
+            code.write(DSUB);
+            store(slot);
+            load(a);
+            load(b + 2);
+            code.write(DMUL);
+            if (a == b) {
+                code.write(DUP2);
+            } else {
+                load(a + 2);
+                load(b);
+                code.write(DMUL);
+            }
+            code.write(DADD);
+            store(slot + 2);
+            return slot;
+        }
+
+        private int divide(final int a, final int b) {
+            final int slot = allocate();
+            for (final String part : new String[]{"divideReal", "divideImaginary"}) {
+                load(a);
+                load(a + 2);
+                load(b);
+                load(b + 2);
+                invoke(COMPLEX_MATH, part, QUATERNARY);
+                store("divideReal".equals(part) ? slot : slot + 2);
+            }
+            return slot;
+        }
+
+        /**
+         * Generate the code for an integer power, with the multiplications in the same order as in
+         * {@link FormulaNode#evaluate(org.apache.commons.math3.complex.Complex)}.
+         *
+         * @param base     First slot of the base.
+         * @param exponent The exponent.
+         * @return The first slot of the power.
+         */
+        private int power(final int base, final int exponent) {
+            int result = -1;
+            int square = base;
+            int e = exponent;
+            while (e != 0) {
+                if ((e & 1) != 0) {
+                    result = result < 0 ? square : multiply(result, square);
+                }
+                e >>>= 1;
+                if (e != 0) {
+                    square = multiply(square, square);
+                }
+            }
+            if (result < 0) {
+                result = allocate();
+                constant(1.0);
+                store(result);
+                constant(0.0);
+                store(result + 2);
+            }
+            return result;
+        }
+
+        private int function(final FormulaNode.Kind kind, final int a) {
+            final int slot = allocate();
+            switch (kind) {
+                case NEGATE:
+                    load(a);
+                    code.write(DNEG);
+                    store(slot);
+                    load(a + 2);
+                    code.write(DNEG);
+                    store(slot + 2);
+                    break;
+                case CONJUGATE:
+                    load(a);
+                    store(slot);
+                    load(a + 2);
+                    code.write(DNEG);
+                    store(slot + 2);
+                    break;
+                case ABS:
+                    load(a);
+                    load(a + 2);
+                    invoke(COMPLEX_MATH, "abs", BINARY);
+                    store(slot);
+                    constant(0.0);
+                    store(slot + 2);
+                    break;
+                case EXP:
+                    load(a);
+                    invoke(FAST_MATH, "exp", UNARY);
+                    store(slot + 2);
+                    load(slot + 2);
+                    load(a + 2);
+                    invoke(FAST_MATH, "cos", UNARY);
+                    code.write(DMUL);
+                    store(slot);
+                    load(slot + 2);
+                    load(a + 2);
+                    invoke(FAST_MATH, "sin", UNARY);
+                    code.write(DMUL);
+                    store(slot + 2);
+                    break;
+                case SIN:
+                    load(a);
+                    invoke(FAST_MATH, "sin", UNARY);
+                    load(a + 2);
+                    invoke(FAST_MATH, "cosh", UNARY);
+                    code.write(DMUL);
+                    store(slot);
+                    load(a);
+                    invoke(FAST_MATH, "cos", UNARY);
+                    load(a + 2);
+                    invoke(FAST_MATH, "sinh", UNARY);
+                    code.write(DMUL);
+                    store(slot + 2);
+                    break;
+                default:
+                    throw new IllegalArgumentException("The constant c can only be added to the formula as a whole.");
+            }
+            return slot;
+        }
+
+        private int allocate() {
+            final int slot = nextSlot;
+            nextSlot += 4;
+            if (nextSlot > 0xFFFF) {
+                throw new IllegalArgumentException("The formula is too long to be compiled.");
+            }
+            return slot;
+        }
+
+        private void constant(final double value) {
+            if (Double.doubleToRawLongBits(value) == 0L) {
+                code.write(DCONST_0);
+            } else {
+                final int index = pool.doubleConstant(value);
+                code.write(LDC2_W);
+                code.write(index >> 8);
+                code.write(index);
+            }
+        }
+
+        private void load(final int slot) {
+            localInstruction(DLOAD, slot);
+        }
+
+        private void store(final int slot) {
+            localInstruction(DSTORE, slot);
+        }
+
+        private void localInstruction(final int opcode, final int slot) {
+            if (slot > 0xFF) {
+                code.write(WIDE);
+                code.write(opcode);
+                code.write(slot >> 8);
+            } else {
+                code.write(opcode);
+            }
+            code.write(slot);
+        }
+
+        private void invoke(final String owner, final String name, final String descriptor) {
+            final int index = pool.methodReference(owner, name, descriptor);
+            code.write(INVOKESTATIC);
+            code.write(index >> 8);
+            code.write(index);
+        }
+    }
+
+    /**
+     * The constant pool of the generated class. Entries are created on first use and shared afterwards.
+     */
+    private static final class ConstantPool {
+
+        private static final int UTF8 = 1;
+        private static final int DOUBLE = 6;
+        private static final int CLASS = 7;
+        private static final int METHOD_REFERENCE = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<byte[]> entries = new ArrayList<>();
+
+        /**
+         * Number of constant pool slots used (doubles take up two).
+         */
+        private int count = 1;
+
+        int utf8(final String text) {
+            return entry("U" + text, UTF8, out -> out.writeUTF(text), 1);
+        }
+
+        int classReference(final String name) {
+            final int nameIndex = utf8(name);
+            return entry("C" + name, CLASS, out -> out.writeShort(nameIndex), 1);
+        }
+
+        int methodReference(final String owner, final String name, final String descriptor) {
+            final int ownerIndex = classReference(owner);
+            final int nameIndex = utf8(name);
+            final int descriptorIndex = utf8(descriptor);
+            final int nameAndType = entry("N" + name + descriptor, NAME_AND_TYPE, out -> {
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            }, 1);
+            return entry("M" + owner + "." + name + descriptor, METHOD_REFERENCE, out -> {
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            }, 1);
+        }
+
+        int doubleConstant(final double value) {
+            final long bits = Double.doubleToRawLongBits(value);
+            return entry("D" + bits, DOUBLE, out -> out.writeLong(bits), 2);
+        }
+
+        /**
+         * Obtain the index of an entry, creating the entry if needed.
+         *
+         * @param key     Identifies the entry.
+         * @param tag     The constant pool tag.
+         * @param content Writes the content of the entry following the tag.
+         * @param size    Number of constant pool slots taken up by the entry.
+         * @return The index of the entry.
+         */
+        private int entry(final String key, final int tag, final EntryContent content, final int size) {
+            final Integer known = indices.get(key);
+            if (known != null) {
+                return known;
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(tag);
+                content.write(out);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (count + size > 0xFFFF) {
+                throw new IllegalArgumentException("The formula is too long to be compiled.");
+            }
+            final int index = count;
+            count += size;
+            entries.add(bytes.toByteArray());
+            indices.put(key, index);
+            return index;
+        }
+
+        void write(final DataOutputStream out) throws IOException {
+            out.writeShort(count);
+            for (final byte[] entry : entries) {
+                out.write(entry);
+            }
+        }
+    }
+
+    /**
+     * Writes the content of a constant pool entry.
+     */
+    private interface EntryContent {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Defines one kernel class on Java versions without hidden classes.
+     */
+    private static final class KernelClassLoader extends ClassLoader {
+
+        KernelClassLoader() {
+            super(FormulaKernelCompiler.class.getClassLoader());
+        }
+
+        Class<?> define(final byte[] classFile) {
+            return defineClass(null, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package agabrown.fractalexplorer.generators;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.Objects;
+
+/**
+ * Node of the expression tree of a {@link ComplexFormula}. Nodes are immutable and compare equal when they describe
+ * the same expression, which allows the {@link FormulaKernelCompiler} to calculate repeated sub-expressions only once.
+ *
+ * <p>
+ * The factory methods fold constants: an operation on constant operands is evaluated immediately and results in a
+ * constant node. The evaluation is done with the {@link Complex} methods, in the same way as at iteration time, so
+ * that folding does not change the results.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+final class FormulaNode {
+
+    /**
+     * The kinds of nodes.
+     */
+    enum Kind {
+        CONSTANT, Z, C, ADD, SUBTRACT, MULTIPLY, DIVIDE, NEGATE, POWER, CONJUGATE, ABS, EXP, SIN
+    }
+
+    /**
+     * The variable z.
+     */
+    static final FormulaNode Z = new FormulaNode(Kind.Z, null, null, 0, null);
+
+    /**
+     * The constant c added in each iteration.
+     */
+    static final FormulaNode C = new FormulaNode(Kind.C, null, null, 0, null);
+
+    /**
+     * Parities of expressions, see {@link #parity()}.
+     */
+    private static final int EVEN = 0;
+    private static final int ODD = 1;
+    private static final int NO_PARITY = -1;
+
+    private final Kind kind;
+    private final FormulaNode left;
+    private final FormulaNode right;
+    private final int exponent;
+    private final Complex value;
+
+    /**
+     * Constructor.
+     *
+     * @param kind     The kind of node.
+     * @param left     The (first) operand (null for constants and variables).
+     * @param right    The second operand of binary operations (null otherwise).
+     * @param exponent The exponent of powers (zero otherwise).
+     * @param value    The value of constants (null otherwise).
+     */
+    private FormulaNode(final Kind kind, final FormulaNode left, final FormulaNode right, final int exponent,
+                        final Complex value) {
+        this.kind = kind;
+        this.left = left;
+        this.right = right;
+        this.exponent = exponent;
+        this.value = value;
+    }
+
+    /**
+     * Create a constant node.
+     *
+     * @param value The value of the constant.
+     * @return The node.
+     */
+    static FormulaNode constant(final Complex value) {
+        return new FormulaNode(Kind.CONSTANT, null, null, 0, value);
+    }
+
+    /**
+     * Create the node for a binary operation, folding constant operands.
+     *
+     * @param kind  One of ADD, SUBTRACT, MULTIPLY or DIVIDE.
+     * @param left  The first operand.
+     * @param right The second operand.
+     * @return The node.
+     */
+    static FormulaNode binary(final Kind kind, final FormulaNode left, final FormulaNode right) {
+        return fold(new FormulaNode(kind, left, right, 0, null));
+    }
+
+    /**
+     * Create the node for a function of one operand, folding a constant operand.
+     *
+     * @param kind    One of NEGATE, CONJUGATE, ABS, EXP or SIN.
+     * @param operand The operand.
+     * @return The node.
+     */
+    static FormulaNode unary(final Kind kind, final FormulaNode operand) {
+        return fold(new FormulaNode(kind, operand, null, 0, null));
+    }
+
+    /**
+     * Create the node for a power with a non-negative integer exponent, folding a constant operand.
+     *
+     * @param operand  The base.
+     * @param exponent The exponent.
+     * @return The node.
+     */
+    static FormulaNode power(final FormulaNode operand, final int exponent) {
+        if (exponent == 1) {
+            return operand;
+        }
+        return fold(new FormulaNode(Kind.POWER, operand, null, exponent, null));
+    }
+
+    /**
+     * Replace an operation on constants by its value.
+     *
+     * @param node The operation.
+     * @return The folded node.
+     */
+    private static FormulaNode fold(final FormulaNode node) {
+        if (node.left.kind == Kind.CONSTANT && (node.right == null || node.right.kind == Kind.CONSTANT)) {
+            return constant(node.evaluate(Complex.ZERO));
+        }
+        return node;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    FormulaNode getLeft() {
+        return left;
+    }
+
+    FormulaNode getRight() {
+        return right;
+    }
+
+    int getExponent() {
+        return exponent;
+    }
+
+    Complex getValue() {
+        return value;
+    }
+
+    /**
+     * Check whether the expression contains the given variable.
+     *
+     * @param variable {@link #Z} or {@link #C}.
+     * @return True if the variable occurs in the expression.
+     */
+    boolean contains(final FormulaNode variable) {
+        if (equals(variable)) {
+            return true;
+        }
+        return (left != null && left.contains(variable)) || (right != null && right.contains(variable));
+    }
+
+    /**
+     * Check whether all constants in the expression are real. All operations of the formula language commute with
+     * complex conjugation, so that f(conjugate(z))=conjugate(f(z)) holds for such expressions.
+     *
+     * @return True if the expression has real coefficients.
+     */
+    boolean hasRealCoefficients() {
+        if (kind == Kind.CONSTANT) {
+            return value.getImaginary() == 0.0;
+        }
+        return (left == null || left.hasRealCoefficients()) && (right == null || right.hasRealCoefficients());
+    }
+
+    /**
+     * Check whether the expression is an even function of z, that is f(-z)=f(z).
+     *
+     * @return True if the expression is even.
+     */
+    boolean isEven() {
+        return parity() == EVEN;
+    }
+
+    /**
+     * Determine the parity of the expression from the parities of its operands, where constants are even and z is
+     * odd. The analysis is conservative: expressions such as z+1 or exp(z) have no parity.
+     *
+     * @return {@link #EVEN}, {@link #ODD} or {@link #NO_PARITY}.
+     */
+    private int parity() {
+        switch (kind) {
+            case CONSTANT:
+                return EVEN;
+            case Z:
+                return ODD;
+            case ADD:
+            case SUBTRACT: {
+                final int parity = left.parity();
+                return parity == right.parity() ? parity : NO_PARITY;
+            }
+            case MULTIPLY:
+            case DIVIDE: {
+                final int a = left.parity();
+                final int b = right.parity();
+                return a == NO_PARITY || b == NO_PARITY ? NO_PARITY : a ^ b;
+            }
+            case NEGATE:
+            case CONJUGATE:
+            case SIN:
+                return left.parity();
+            case POWER: {
+                final int parity = left.parity();
+                if (parity == NO_PARITY) {
+                    return NO_PARITY;
+                }
+                return exponent % 2 == 0 ? EVEN : parity;
+            }
+            case ABS:
+                return left.parity() == NO_PARITY ? NO_PARITY : EVEN;
+            case EXP:
+                return left.parity() == EVEN ? EVEN : NO_PARITY;
+            default:
+                return NO_PARITY;
+        }
+    }
+
+    /**
+     * Remove the constant c from an expression of the form f(z)+c, where c may be added anywhere in the top-level
+     * sum, as in c+f(z) or g(z)+c-h(z).
+     *
+     * @return The expression f(z), or null if c is not added to the expression as a whole.
+     */
+    FormulaNode withoutAddedConstant() {
+        if (kind == Kind.ADD) {
+            if (right.equals(C)) {
+                return left;
+            }
+            if (left.equals(C)) {
+                return right;
+            }
+            final FormulaNode leftPart = left.withoutAddedConstant();
+            if (leftPart != null) {
+                return binary(Kind.ADD, leftPart, right);
+            }
+            final FormulaNode rightPart = right.withoutAddedConstant();
+            return rightPart == null ? null : binary(Kind.ADD, left, rightPart);
+        }
+        if (kind == Kind.SUBTRACT) {
+            if (left.equals(C)) {
+                return unary(Kind.NEGATE, right);
+            }
+            final FormulaNode leftPart = left.withoutAddedConstant();
+            return leftPart == null ? null : binary(Kind.SUBTRACT, leftPart, right);
+        }
+        return null;
+    }
+
+    /**
+     * Evaluate the expression with the methods of {@link Complex}.
+     *
+     * @param z The value of z.
+     * @return The value of the expression.
+     * @throws IllegalStateException If the expression contains c.
+     */
+    Complex evaluate(final Complex z) {
+        switch (kind) {
+            case CONSTANT:
+                return value;
+            case Z:
+                return z;
+            case ADD:
+                return left.evaluate(z).add(right.evaluate(z));
+            case SUBTRACT:
+                return left.evaluate(z).subtract(right.evaluate(z));
+            case MULTIPLY:
+                return left.evaluate(z).multiply(right.evaluate(z));
+            case DIVIDE:
+                return left.evaluate(z).divide(right.evaluate(z));
+            case NEGATE:
+                return left.evaluate(z).negate();
+            case POWER:
+                return power(left.evaluate(z), exponent);
+            case CONJUGATE:
+                return left.evaluate(z).conjugate();
+            case ABS:
+                return Complex.valueOf(left.evaluate(z).abs(), 0.0);
+            case EXP:
+                return left.evaluate(z).exp();
+            case SIN:
+                return left.evaluate(z).sin();
+            default:
+                throw new IllegalStateException("The constant c can not be evaluated as part of f(z).");
+        }
+    }
+
+    /**
+     * Calculate an integer power by repeated squaring. The {@link FormulaKernelCompiler} carries out the
+     * multiplications in the same order.
+     *
+     * @param base     The base.
+     * @param exponent The non-negative exponent.
+     * @return The value of base<sup>exponent</sup>.
+     */
+    private static Complex power(final Complex base, final int exponent) {
+        Complex result = null;
+        Complex square = base;
+        int e = exponent;
+        while (e != 0) {
+            if ((e & 1) != 0) {
+                result = result == null ? square : result.multiply(square);
+            }
+            e >>>= 1;
+            if (e != 0) {
+                square = square.multiply(square);
+            }
+        }
+        return result == null ? Complex.ONE : result;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FormulaNode)) {
+            return false;
+        }
+        final FormulaNode node = (FormulaNode) other;
+        return kind == node.kind && exponent == node.exponent && Objects.equals(left, node.left)
+                && Objects.equals(right, node.right) && sameValue(value, node.value);
+    }
+
+    @Override
+    public int hashCode() {
+        final long re = value == null ? 0L : Double.doubleToLongBits(value.getReal());
+        final long im = value == null ? 0L : Double.doubleToLongBits(value.getImaginary());
+        return Objects.hash(kind, left, right, exponent, re, im);
+    }
+
+    /**
+     * Compare the values of two constants bit for bit ({@link Complex#equals(Object)} tolerates small differences).
+     *
+     * @param a The first value (can be null).
+     * @param b The second value (can be null).
+     * @return True if both are null or both have identical real and imaginary parts.
+     */
+    private static boolean sameValue(final Complex a, final Complex b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Double.doubleToLongBits(a.getReal()) == Double.doubleToLongBits(b.getReal())
+                && Double.doubleToLongBits(a.getImaginary()) == Double.doubleToLongBits(b.getImaginary());
+    }
+}
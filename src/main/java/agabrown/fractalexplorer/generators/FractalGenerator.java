@@ -10,6 +10,14 @@ import java.util.List;
  * complex function f(z) and generating a Fractal image from the resulting
  * sequence f<sup>n</sup>(z)) should implement this interface.
  *
+ * <p>
+ * Implementations must be thread-safe: the pixel value methods of a single
+ * instance are invoked from many threads at the same time when the fractal
+ * image is calculated in parallel. Any state needed during the calculation of
+ * a pixel value should therefore be kept per thread (or per call), not in
+ * shared fields.
+ * </p>
+ *
  * @author agabrown Aug 2014 - Sep 2021
  */
 public interface FractalGenerator {
@@ -34,6 +42,32 @@ public interface FractalGenerator {
      */
     double generatePixelValue(Complex z);
 
+    /**
+     * Generate the value of the Fractal Image pixel for the specified point in
+     * the complex plane, given as a pair of primitive doubles. Implementations
+     * should override this method if they can avoid the creation of a
+     * {@link Complex} instance.
+     *
+     * @param re Real part of the point in complex plane.
+     * @param im Imaginary part of the point in complex plane.
+     * @return The pixel value (which is to be scaled and colour coded before
+     * displaying).
+     */
+    default double generatePixelValue(final double re, final double im) {
+        return generatePixelValue(Complex.valueOf(re, im));
+    }
+
+    /**
+     * Obtain the symmetry of the fractal images calculated by this generator.
+     * The pixel values at symmetric points should be exactly equal, so that
+     * renderers can copy them instead of calculating them.
+     *
+     * @return The symmetry of the fractal (the default is no symmetry).
+     */
+    default FractalSymmetry getSymmetry() {
+        return FractalSymmetry.NONE;
+    }
+
     /**
      * Obtain a string containing the name of the fractal generator.
      *
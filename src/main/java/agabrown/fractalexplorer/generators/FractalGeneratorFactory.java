@@ -1,6 +1,7 @@
 package agabrown.fractalexplorer.generators;
 
 import agabrown.fractalexplorer.colours.EscapeTime;
+import agabrown.fractalexplorer.colours.SmoothIterationCount;
 import org.apache.commons.math3.complex.Complex;
 
 import java.util.function.Function;
@@ -22,16 +23,38 @@ public final class FractalGeneratorFactory {
      */
     private static final double DEFAULT_STOPPING_RADIUS = 2.0;
 
+    /**
+     * Stopping radius for the smooth iteration count colouring. A large radius reduces the banding of the colours.
+     */
+    private static final double SMOOTH_STOPPING_RADIUS = 1.0e3;
+
+    /**
+     * Smallest power of z for the Multibrot and Multi-Julia generators.
+     */
+    public static final int MINIMUM_MULTIBROT_POWER = 2;
+
+    /**
+     * Largest power of z for the Multibrot and Multi-Julia generators.
+     */
+    public static final int MAXIMUM_MULTIBROT_POWER = 16;
+
+    /**
+     * The compiled formulas z<sup>n</sup>+c, indexed by n.
+     */
+    private static final ComplexFormula[] MULTIBROT_FORMULAS = new ComplexFormula[MAXIMUM_MULTIBROT_POWER + 1];
+
     /**
      * Creates the classic Mandelbrot fractal generator using the escape time
-     * algorithm for colouring.
+     * algorithm for colouring. Points in the main cardioid and period-2 bulb are
+     * recognized without iterating.
      *
      * @return A pre-configured version of MandelbrotGenerator.
      */
     public static MandelbrotGenerator getMandelbrotEscapeTime() {
         final Function<Complex, Complex> f = z -> z.multiply(z);
         return new MandelbrotGenerator.Builder().colouringAlgorithm(new EscapeTime())
-                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS).generatingFunction(f).build();
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS).generatingFunction(f)
+                .generatingKernel(ComplexKernel.SQUARE).interiorCheck(true).build();
     }
 
     /**
@@ -44,7 +67,8 @@ public final class FractalGeneratorFactory {
         final Function<Complex, Complex> f = z -> z.multiply(z);
         return new ModifiedMandelbrotGenerator.Builder()
                 .colouringAlgorithm(new EscapeTime()).maximumIterations(DEFAULT_ITERATIONS)
-                .stoppingRadius(DEFAULT_STOPPING_RADIUS).generatingFunction(f).build();
+                .stoppingRadius(DEFAULT_STOPPING_RADIUS).generatingFunction(f).generatingKernel(ComplexKernel.SQUARE)
+                .build();
     }
 
     /**
@@ -58,7 +82,7 @@ public final class FractalGeneratorFactory {
         final Function<Complex, Complex> f = z -> z.multiply(z).multiply(z).add(z.multiply(d));
         return new ModifiedMandelbrotGenerator.Builder()
                 .colouringAlgorithm(new EscapeTime()).maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(1.0e10)
-                .generatingFunction(f).build();
+                .generatingFunction(f).generatingKernel(rudyCubicKernel(d.getReal(), d.getImaginary())).build();
     }
 
     /**
@@ -72,6 +96,197 @@ public final class FractalGeneratorFactory {
         final Function<Complex, Complex> f = z -> z.multiply(z);
         return new JuliaFatouGenerator.Builder().colouringAlgorithm(new EscapeTime())
                 .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS)
-                .generatingFunction(f.andThen(z -> z.add(mu))).build();
+                .generatingFunction(f).generatingKernel(ComplexKernel.SQUARE).mu(mu).build();
+    }
+
+    /**
+     * Creates a Mandelbrot fractal generator for a user-defined formula f(z)+c, using the escape time algorithm for
+     * colouring. If the formula is z<sup>2</sup>+c the points in the main cardioid and period-2 bulb are recognized
+     * without iterating.
+     *
+     * @param formula The formula (see {@link ComplexFormula}).
+     * @return A pre-configured version of MandelbrotGenerator.
+     */
+    public static MandelbrotGenerator getFormulaMandelbrotEscapeTime(final ComplexFormula formula) {
+        return new MandelbrotGenerator.Builder().colouringAlgorithm(new EscapeTime())
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS).formula(formula)
+                .interiorCheck(true).build();
+    }
+
+    /**
+     * Creates a Julia fractal generator for a user-defined formula f(z)+mu, using the escape time algorithm for
+     * colouring.
+     *
+     * @param formula The formula (see {@link ComplexFormula}).
+     * @param mu      Value of fixed constant.
+     * @return A pre-configured version of JuliaFatouGenerator.
+     */
+    public static JuliaFatouGenerator getFormulaJuliaEscapeTime(final ComplexFormula formula, final Complex mu) {
+        return new JuliaFatouGenerator.Builder().colouringAlgorithm(new EscapeTime())
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS).formula(formula)
+                .mu(mu).build();
+    }
+
+    /**
+     * Creates the fractal generator for one of the variants of the Mandelbrot set, such as the Burning Ship, using the
+     * escape time algorithm for colouring.
+     *
+     * @param variant The variant of the quadratic map.
+     * @return A pre-configured version of MandelbrotGenerator.
+     */
+    public static MandelbrotGenerator getQuadraticVariantEscapeTime(final QuadraticVariant variant) {
+        return new MandelbrotGenerator.Builder().colouringAlgorithm(new EscapeTime())
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS)
+                .generatingFunction(variant.getFunction()).generatingKernel(variant.getKernel()).interiorCheck(true)
+                .build();
+    }
+
+    /**
+     * Creates the Julia fractal generator for one of the variants of the quadratic map, such as the Burning Ship,
+     * using the escape time algorithm for colouring.
+     *
+     * @param variant The variant of the quadratic map.
+     * @param mu      Value of fixed constant.
+     * @return A pre-configured version of JuliaFatouGenerator.
+     */
+    public static JuliaFatouGenerator getQuadraticVariantJuliaEscapeTime(final QuadraticVariant variant,
+                                                                         final Complex mu) {
+        return new JuliaFatouGenerator.Builder().colouringAlgorithm(new EscapeTime())
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS)
+                .generatingFunction(variant.getFunction()).generatingKernel(variant.getKernel()).mu(mu).build();
+    }
+
+    /**
+     * Creates the Multibrot fractal generator for f(z)=z<sup>n</sup>+c, using the escape time algorithm for
+     * colouring. The power of z is calculated by repeated squaring, unrolled in a compiled kernel (see
+     * {@link ComplexFormula}). For n=2 this is the classic Mandelbrot generator.
+     *
+     * @param power The power n of z.
+     * @return A pre-configured version of MandelbrotGenerator.
+     * @throws IllegalArgumentException If the power is outside the range from {@link #MINIMUM_MULTIBROT_POWER} to
+     *                                  {@link #MAXIMUM_MULTIBROT_POWER}.
+     */
+    public static MandelbrotGenerator getMultibrotEscapeTime(final int power) {
+        return new MandelbrotGenerator.Builder().colouringAlgorithm(new EscapeTime())
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS)
+                .formula(multibrotFormula(power)).interiorCheck(true).build();
+    }
+
+    /**
+     * Creates the Multibrot fractal generator for f(z)=z<sup>n</sup>+c, using the smooth iteration count algorithm
+     * for colouring. For n=2 the points in the main cardioid and period-2 bulb are recognized without iterating. They
+     * get the value that the smooth iteration count assigns to orbits that do not escape, so that renderers which
+     * iterate them give the same image.
+     *
+     * @param power The power n of z.
+     * @return A pre-configured version of MandelbrotGenerator.
+     * @throws IllegalArgumentException If the power is outside the range from {@link #MINIMUM_MULTIBROT_POWER} to
+     *                                  {@link #MAXIMUM_MULTIBROT_POWER}.
+     */
+    public static MandelbrotGenerator getMultibrotSmoothIterationCount(final int power) {
+        return new MandelbrotGenerator.Builder()
+                .colouringAlgorithm(new SmoothIterationCount(power, SMOOTH_STOPPING_RADIUS))
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(SMOOTH_STOPPING_RADIUS)
+                .formula(multibrotFormula(power)).interiorCheck(true).build();
+    }
+
+    /**
+     * Creates the Multi-Julia fractal generator for f(z)=z<sup>n</sup>+mu, using the escape time algorithm for
+     * colouring.
+     *
+     * @param power The power n of z.
+     * @param mu    Value of fixed constant.
+     * @return A pre-configured version of JuliaFatouGenerator.
+     * @throws IllegalArgumentException If the power is outside the range from {@link #MINIMUM_MULTIBROT_POWER} to
+     *                                  {@link #MAXIMUM_MULTIBROT_POWER}.
+     */
+    public static JuliaFatouGenerator getMultiJuliaEscapeTime(final int power, final Complex mu) {
+        return new JuliaFatouGenerator.Builder().colouringAlgorithm(new EscapeTime())
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(DEFAULT_STOPPING_RADIUS)
+                .formula(multibrotFormula(power)).mu(mu).build();
+    }
+
+    /**
+     * Creates the Multi-Julia fractal generator for f(z)=z<sup>n</sup>+mu, using the smooth iteration count
+     * algorithm for colouring.
+     *
+     * @param power The power n of z.
+     * @param mu    Value of fixed constant.
+     * @return A pre-configured version of JuliaFatouGenerator.
+     * @throws IllegalArgumentException If the power is outside the range from {@link #MINIMUM_MULTIBROT_POWER} to
+     *                                  {@link #MAXIMUM_MULTIBROT_POWER}.
+     */
+    public static JuliaFatouGenerator getMultiJuliaSmoothIterationCount(final int power, final Complex mu) {
+        return new JuliaFatouGenerator.Builder()
+                .colouringAlgorithm(new SmoothIterationCount(power, SMOOTH_STOPPING_RADIUS))
+                .maximumIterations(DEFAULT_ITERATIONS).stoppingRadius(SMOOTH_STOPPING_RADIUS)
+                .formula(multibrotFormula(power)).mu(mu).build();
+    }
+
+    /**
+     * Creates the Newton fractal generator for the polynomial p(z) = a<sub>0</sub> + a<sub>1</sub>z + ... +
+     * a<sub>n</sub>z<sup>n</sup>, which classifies the pixels by the root to which Newton's method converges.
+     *
+     * @param coefficients The coefficients a<sub>0</sub> to a<sub>n</sub>, in order of increasing power of z.
+     * @return A pre-configured version of NewtonGenerator.
+     * @throws IllegalArgumentException If the degree of the polynomial is less than 2.
+     */
+    public static NewtonGenerator getNewtonRootBasins(final Complex... coefficients) {
+        return new NewtonGenerator.Builder().maximumIterations(DEFAULT_ITERATIONS).coefficients(coefficients).build();
+    }
+
+    /**
+     * Creates the Markus-Lyapunov fractal generator for the logistic map driven by the input sequence of growth rates.
+     *
+     * @param sequence The sequence of growth rates, consisting of the letters A and B.
+     * @return A pre-configured version of LyapunovGenerator.
+     * @throws IllegalArgumentException If the sequence is empty or contains other characters.
+     */
+    public static LyapunovGenerator getLyapunov(final String sequence) {
+        return new LyapunovGenerator.Builder().sequence(sequence).build();
+    }
+
+    /**
+     * Obtain the compiled formula z<sup>n</sup>+c. The formulas are compiled once and shared by all generators.
+     *
+     * @param power The power n of z.
+     * @return The formula.
+     * @throws IllegalArgumentException If the power is out of range.
+     */
+    private static synchronized ComplexFormula multibrotFormula(final int power) {
+        if (power < MINIMUM_MULTIBROT_POWER || power > MAXIMUM_MULTIBROT_POWER) {
+            throw new IllegalArgumentException("The power of z should be between " + MINIMUM_MULTIBROT_POWER
+                    + " and " + MAXIMUM_MULTIBROT_POWER + ".");
+        }
+        if (MULTIBROT_FORMULAS[power] == null) {
+            MULTIBROT_FORMULAS[power] = ComplexFormula.parse("z^" + power + " + c");
+        }
+        return MULTIBROT_FORMULAS[power];
+    }
+
+    /**
+     * Creates the primitive kernel for the function f(z)=z<sup>3</sup>+d*z. The operations are carried out in the
+     * same order as in {@code z.multiply(z).multiply(z).add(z.multiply(d))}.
+     *
+     * @param dRe Real part of d.
+     * @param dIm Imaginary part of d.
+     * @return The primitive kernel.
+     */
+    private static ComplexKernel rudyCubicKernel(final double dRe, final double dIm) {
+        return new ComplexKernel() {
+            @Override
+            public double real(final double re, final double im) {
+                final double sqRe = re * re - im * im;
+                final double sqIm = re * im + im * re;
+                return (sqRe * re - sqIm * im) + (re * dRe - im * dIm);
+            }
+
+            @Override
+            public double imaginary(final double re, final double im) {
+                final double sqRe = re * re - im * im;
+                final double sqIm = re * im + im * re;
+                return (sqRe * im + sqIm * re) + (re * dIm + im * dRe);
+            }
+        };
     }
 }
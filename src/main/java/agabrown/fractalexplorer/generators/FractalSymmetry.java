@@ -0,0 +1,25 @@
+package agabrown.fractalexplorer.generators;
+
+/**
+ * Describes the symmetry of the fractal images calculated by a {@link FractalGenerator}. Renderers can use the
+ * symmetry to calculate only the unique part of an image and copy the pixel values to the rest of the image.
+ *
+ * @author agabrown Oct 2026
+ */
+public enum FractalSymmetry {
+
+    /**
+     * The fractal image has no symmetry that can be exploited.
+     */
+    NONE,
+
+    /**
+     * The pixel value at conjugate(z) is equal to the pixel value at z (mirror symmetry about the real axis).
+     */
+    CONJUGATE,
+
+    /**
+     * The pixel value at -z is equal to the pixel value at z (180&deg; rotational symmetry about the origin).
+     */
+    POINT
+}
@@ -0,0 +1,47 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Must be implemented by all classes that calculate complete fractal images from the pixel values provided by a
+ * {@link FractalGenerator}. Implementations decide in what order, in how many threads, and for which pixels the
+ * generator is called. Pixel values that are not calculated explicitly are inferred from those of neighbouring pixels.
+ *
+ * @author agabrown Oct 2026
+ */
+public interface ImageRenderer {
+
+    /**
+     * Obtain a short name describing the rendering strategy.
+     *
+     * @return The name of the renderer.
+     */
+    String getName();
+
+    /**
+     * Start the calculation of the fractal image and return immediately. The progress of the calculation, including
+     * the number of pixels for which the generator was actually called, can be followed through the
+     * {@link RenderProgress} instance. The complex plane view should not be modified until the calculation is done.
+     *
+     * @param generator The fractal generator to use.
+     * @param cpv       The complex plane view for which to calculate the image.
+     * @param progress  Keeps track of the progress of the calculation.
+     * @return The task calculating the image, from which the result can be obtained when it is done.
+     */
+    ForkJoinTask<double[]> submit(FractalGenerator generator, ComplexPlaneView cpv, RenderProgress progress);
+
+    /**
+     * Calculate the fractal image and wait for the result.
+     *
+     * @param generator The fractal generator to use.
+     * @param cpv       The complex plane view for which to calculate the image.
+     * @param progress  Keeps track of the progress of the calculation.
+     * @return The fractal image.
+     */
+    default double[] render(final FractalGenerator generator, final ComplexPlaneView cpv,
+                            final RenderProgress progress) {
+        return submit(generator, cpv, progress).join();
+    }
+}
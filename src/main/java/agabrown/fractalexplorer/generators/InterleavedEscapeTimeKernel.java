@@ -0,0 +1,280 @@
+package agabrown.fractalexplorer.generators;
+
+/**
+ * Implementation of {@link EscapeTimeBatchKernel} that advances four independent orbits in the same loop body. The
+ * iterations of a single orbit form one long chain of dependent multiplications, during which the floating point
+ * units are mostly waiting for the results of the previous iteration. Interleaving four orbits keeps the units busy
+ * with independent work, which gives a speed-up on any processor, also without SIMD instructions.
+ *
+ * <p>
+ * The four slots are iterated in blocks of {@link #BLOCK_LENGTH} iterations without testing the escape condition in
+ * between, only recording whether any iterate left the stopping radius. A slot whose orbit escaped during a block, or
+ * that would exceed the maximum number of iterations, is rolled back to the start of the block and its orbit is
+ * finished one iteration at a time, so that the iteration counts are exact. Finished slots are refilled with the next
+ * point of the batch. The arithmetic operations are those of the {@link ScalarEscapeTimeKernel}, so the results are
+ * identical.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class InterleavedEscapeTimeKernel implements EscapeTimeBatchKernel {
+
+    /**
+     * Number of iterations between tests of the escape condition.
+     */
+    public static final int BLOCK_LENGTH = 8;
+
+    /**
+     * Name of this kernel.
+     */
+    private static final String NAME = "interleaved";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void iterate(final double[] zRe, final double[] zIm, final double[] cRe, final double[] cIm,
+                        final int[] iterations, final int from, final int to, final QuadraticVariant variant,
+                        final boolean conjugate, final int maxIter, final double radiusSquared) {
+        final double sign = variant.imaginaryFactor(conjugate);
+        final boolean absRe = variant.isAbsoluteReal();
+        final boolean absIm = variant.isAbsoluteImaginary();
+        final boolean absSquareRe = variant.isAbsoluteSquareReal();
+        int next = from;
+
+        // State of the four slots: index of the point (-1 for an empty slot), iterate, constant, and the number of
+        // iterations carried out. Empty slots iterate z=0 with c=0, which never escapes.
+        int i0 = -1;
+        int i1 = -1;
+        int i2 = -1;
+        int i3 = -1;
+        double re0 = 0.0;
+        double im0 = 0.0;
+        double pRe0 = 0.0;
+        double pIm0 = 0.0;
+        double re1 = 0.0;
+        double im1 = 0.0;
+        double pRe1 = 0.0;
+        double pIm1 = 0.0;
+        double re2 = 0.0;
+        double im2 = 0.0;
+        double pRe2 = 0.0;
+        double pIm2 = 0.0;
+        double re3 = 0.0;
+        double im3 = 0.0;
+        double pRe3 = 0.0;
+        double pIm3 = 0.0;
+        int n0 = 0;
+        int n1 = 0;
+        int n2 = 0;
+        int n3 = 0;
+        if (next < to) {
+            i0 = next++;
+            re0 = zRe[i0];
+            im0 = zIm[i0];
+            pRe0 = cRe[i0];
+            pIm0 = cIm[i0];
+        }
+        if (next < to) {
+            i1 = next++;
+            re1 = zRe[i1];
+            im1 = zIm[i1];
+            pRe1 = cRe[i1];
+            pIm1 = cIm[i1];
+        }
+        if (next < to) {
+            i2 = next++;
+            re2 = zRe[i2];
+            im2 = zIm[i2];
+            pRe2 = cRe[i2];
+            pIm2 = cIm[i2];
+        }
+        if (next < to) {
+            i3 = next++;
+            re3 = zRe[i3];
+            im3 = zIm[i3];
+            pRe3 = cRe[i3];
+            pIm3 = cIm[i3];
+        }
+
+        while (i0 >= 0 || i1 >= 0 || i2 >= 0 || i3 >= 0) {
+            final double startRe0 = re0;
+            final double startIm0 = im0;
+            final double startRe1 = re1;
+            final double startIm1 = im1;
+            final double startRe2 = re2;
+            final double startIm2 = im2;
+            final double startRe3 = re3;
+            final double startIm3 = im3;
+            boolean out0 = false;
+            boolean out1 = false;
+            boolean out2 = false;
+            boolean out3 = false;
+            for (int k = 0; k < BLOCK_LENGTH; k++) {
+                final double reSquared0 = re0 * re0;
+                final double imSquared0 = im0 * im0;
+                final double reSquared1 = re1 * re1;
+                final double imSquared1 = im1 * im1;
+                final double reSquared2 = re2 * re2;
+                final double imSquared2 = im2 * im2;
+                final double reSquared3 = re3 * re3;
+                final double imSquared3 = im3 * im3;
+                out0 |= reSquared0 + imSquared0 > radiusSquared;
+                out1 |= reSquared1 + imSquared1 > radiusSquared;
+                out2 |= reSquared2 + imSquared2 > radiusSquared;
+                out3 |= reSquared3 + imSquared3 > radiusSquared;
+                im0 = sign * abs(absRe, re0) * abs(absIm, im0) + pIm0;
+                im1 = sign * abs(absRe, re1) * abs(absIm, im1) + pIm1;
+                im2 = sign * abs(absRe, re2) * abs(absIm, im2) + pIm2;
+                im3 = sign * abs(absRe, re3) * abs(absIm, im3) + pIm3;
+                re0 = abs(absSquareRe, reSquared0 - imSquared0) + pRe0;
+                re1 = abs(absSquareRe, reSquared1 - imSquared1) + pRe1;
+                re2 = abs(absSquareRe, reSquared2 - imSquared2) + pRe2;
+                re3 = abs(absSquareRe, reSquared3 - imSquared3) + pRe3;
+            }
+
+            if (i0 >= 0) {
+                if (out0 || n0 > maxIter - BLOCK_LENGTH) {
+                    finish(zRe, zIm, iterations, i0, startRe0, startIm0, pRe0, pIm0, n0, variant, sign, maxIter,
+                            radiusSquared);
+                    n0 = 0;
+                    if (next < to) {
+                        i0 = next++;
+                        re0 = zRe[i0];
+                        im0 = zIm[i0];
+                        pRe0 = cRe[i0];
+                        pIm0 = cIm[i0];
+                    } else {
+                        i0 = -1;
+                        re0 = 0.0;
+                        im0 = 0.0;
+                        pRe0 = 0.0;
+                        pIm0 = 0.0;
+                    }
+                } else {
+                    n0 += BLOCK_LENGTH;
+                }
+            }
+            if (i1 >= 0) {
+                if (out1 || n1 > maxIter - BLOCK_LENGTH) {
+                    finish(zRe, zIm, iterations, i1, startRe1, startIm1, pRe1, pIm1, n1, variant, sign, maxIter,
+                            radiusSquared);
+                    n1 = 0;
+                    if (next < to) {
+                        i1 = next++;
+                        re1 = zRe[i1];
+                        im1 = zIm[i1];
+                        pRe1 = cRe[i1];
+                        pIm1 = cIm[i1];
+                    } else {
+                        i1 = -1;
+                        re1 = 0.0;
+                        im1 = 0.0;
+                        pRe1 = 0.0;
+                        pIm1 = 0.0;
+                    }
+                } else {
+                    n1 += BLOCK_LENGTH;
+                }
+            }
+            if (i2 >= 0) {
+                if (out2 || n2 > maxIter - BLOCK_LENGTH) {
+                    finish(zRe, zIm, iterations, i2, startRe2, startIm2, pRe2, pIm2, n2, variant, sign, maxIter,
+                            radiusSquared);
+                    n2 = 0;
+                    if (next < to) {
+                        i2 = next++;
+                        re2 = zRe[i2];
+                        im2 = zIm[i2];
+                        pRe2 = cRe[i2];
+                        pIm2 = cIm[i2];
+                    } else {
+                        i2 = -1;
+                        re2 = 0.0;
+                        im2 = 0.0;
+                        pRe2 = 0.0;
+                        pIm2 = 0.0;
+                    }
+                } else {
+                    n2 += BLOCK_LENGTH;
+                }
+            }
+            if (i3 >= 0) {
+                if (out3 || n3 > maxIter - BLOCK_LENGTH) {
+                    finish(zRe, zIm, iterations, i3, startRe3, startIm3, pRe3, pIm3, n3, variant, sign, maxIter,
+                            radiusSquared);
+                    n3 = 0;
+                    if (next < to) {
+                        i3 = next++;
+                        re3 = zRe[i3];
+                        im3 = zIm[i3];
+                        pRe3 = cRe[i3];
+                        pIm3 = cIm[i3];
+                    } else {
+                        i3 = -1;
+                        re3 = 0.0;
+                        im3 = 0.0;
+                        pRe3 = 0.0;
+                        pIm3 = 0.0;
+                    }
+                } else {
+                    n3 += BLOCK_LENGTH;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finish the orbit of one point one iteration at a time, testing the escape condition before each iteration, and
+     * store the results.
+     *
+     * @param zRe           Receives the real part of the last iterate.
+     * @param zIm           Receives the imaginary part of the last iterate.
+     * @param iterations    Receives the number of iterations.
+     * @param index         Index of the point.
+     * @param startRe       Real part of the iterate to start from.
+     * @param startIm       Imaginary part of the iterate to start from.
+     * @param pRe           Real part of the constant c.
+     * @param pIm           Imaginary part of the constant c.
+     * @param start         Number of iterations carried out before the starting iterate.
+     * @param variant       The variant of the quadratic map.
+     * @param sign          Factor 2 or -2 in the imaginary part of the square.
+     * @param maxIter       Maximum number of iterations.
+     * @param radiusSquared The square of the stopping radius.
+     */
+    private static void finish(final double[] zRe, final double[] zIm, final int[] iterations, final int index,
+                               final double startRe, final double startIm, final double pRe, final double pIm,
+                               final int start, final QuadraticVariant variant, final double sign, final int maxIter,
+                               final double radiusSquared) {
+        double re = startRe;
+        double im = startIm;
+        int n = start;
+        while (n < maxIter) {
+            final double reSquared = re * re;
+            final double imSquared = im * im;
+            if (reSquared + imSquared > radiusSquared) {
+                break;
+            }
+            im = sign * abs(variant.isAbsoluteReal(), re) * abs(variant.isAbsoluteImaginary(), im) + pIm;
+            re = abs(variant.isAbsoluteSquareReal(), reSquared - imSquared) + pRe;
+            n++;
+        }
+        zRe[index] = re;
+        zIm[index] = im;
+        iterations[index] = n;
+    }
+
+    /**
+     * Take the absolute value of a number if required by the variant. The condition is the same for all iterations,
+     * so that the branch is always predicted correctly.
+     *
+     * @param absolute If true return |x|, otherwise x.
+     * @param x        The number.
+     * @return The number or its absolute value.
+     */
+    private static double abs(final boolean absolute, final double x) {
+        return absolute ? Math.abs(x) : x;
+    }
+}
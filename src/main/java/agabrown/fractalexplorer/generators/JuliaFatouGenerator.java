@@ -9,8 +9,9 @@ import java.util.function.Function;
 
 /**
  * This class implements a general version of the Julia/Fatou fractal image
- * generators. It iterates a complex function f(z) and generates the image by
- * varying the starting value z0 of the iteration over the complex plane.
+ * generators. It iterates a complex function f(z)+&mu; and generates the image by
+ * varying the starting value z0 of the iteration over the complex plane. The
+ * value of &mu; is zero unless set explicitly.
  *
  * @author agabrown Aug 2014 - Sep 2021
  */
@@ -49,9 +50,11 @@ public final class JuliaFatouGenerator extends ComplexDynamicsBased {
      *                JuliaFatouGenerator.
      */
     private JuliaFatouGenerator(final Builder builder) {
-        this.colouringAlgorithm = builder.colouringAlgorithm;
+        setColouringAlgorithm(builder.colouringAlgorithm);
+        this.muReal = builder.muReal;
+        this.muImaginary = builder.muImaginary;
         this.theIterator = ComplexFunctionIterator.getInstance(builder.maxIterations, builder.stoppingRadius,
-                builder.generatingFunction);
+                builder.generatingFunction, builder.generatingKernel);
         initializeInfoLines();
     }
 
@@ -74,20 +77,54 @@ public final class JuliaFatouGenerator extends ComplexDynamicsBased {
         infoLines.trimToSize();
     }
 
+    @Override
+    public double generatePixelValue(final double re, final double im) {
+        return iteratePixel(re, im, muReal, muImaginary);
+    }
+
+    /**
+     * For even functions, such as f(z)=z<sup>n</sup> with even n, the Julia set
+     * is symmetric under rotation by 180&deg; around the origin, because
+     * f(-z)=f(z).
+     *
+     * @return The symmetry of the fractal.
+     */
+    @Override
+    public FractalSymmetry getSymmetry() {
+        final ComplexKernel kernel = theIterator.getKernel();
+        return kernel != null && kernel.isEven() ? FractalSymmetry.POINT : FractalSymmetry.NONE;
+    }
+
     @Override
     public double generatePixelValue(final Complex z) {
-        List<Complex> iterates;
-        if (iterateConjugate) {
-            iterates = theIterator.iterateConjugate(z);
-        } else {
-            iterates = theIterator.iterate(z);
-        }
-        return colouringAlgorithm.getPixelValue(iterates);
+        return generatePixelValue(z.getReal(), z.getImaginary());
+    }
+
+    @Override
+    ParameterPlane getParameterPlane() {
+        return ParameterPlane.STARTING_VALUE;
+    }
+
+    @Override
+    double getFixedConstantReal() {
+        return muReal;
     }
 
+    @Override
+    double getFixedConstantImaginary() {
+        return muImaginary;
+    }
+
+    /**
+     * For the variants of the quadratic map the name of the variant is added (see {@link QuadraticVariant}).
+     *
+     * @return The name of the fractal generator.
+     */
     @Override
     public String getName() {
-        return NAME;
+        final QuadraticVariant variant = getQuadraticVariant();
+        return variant == null || variant == QuadraticVariant.MANDELBROT ? NAME
+                : NAME + " (" + variant.getName() + ")";
     }
 
     @Override
@@ -103,6 +140,9 @@ public final class JuliaFatouGenerator extends ComplexDynamicsBased {
     public static class Builder {
         private ColouringAlgorithm colouringAlgorithm;
         private Function<Complex, Complex> generatingFunction;
+        private ComplexKernel generatingKernel;
+        private double muReal;
+        private double muImaginary;
         private double stoppingRadius;
         private int maxIterations;
 
@@ -157,6 +197,42 @@ public final class JuliaFatouGenerator extends ComplexDynamicsBased {
             return this;
         }
 
+        /**
+         * Set the primitive version of the generating function for the Fractal. If set, this kernel is used instead
+         * of the generating function whenever the colouring algorithm allows it.
+         *
+         * @param k The primitive kernel equivalent to the generating function.
+         * @return The builder.
+         */
+        public Builder generatingKernel(final ComplexKernel k) {
+            generatingKernel = k;
+            return this;
+        }
+
+        /**
+         * Set both the generating function and its primitive version from a formula of the form f(z)+c.
+         *
+         * @param formula The compiled formula.
+         * @return The builder.
+         */
+        public Builder formula(final ComplexFormula formula) {
+            generatingFunction = formula.getFunction();
+            generatingKernel = formula.getKernel();
+            return this;
+        }
+
+        /**
+         * Set the value of the constant &mu; which is added to the generating function in each iteration.
+         *
+         * @param mu Value of &mu;.
+         * @return The builder.
+         */
+        public Builder mu(final Complex mu) {
+            muReal = mu.getReal();
+            muImaginary = mu.getImaginary();
+            return this;
+        }
+
         /**
          * Call the constructor for the JuliaFatouGenerator class.
          *
@@ -0,0 +1,271 @@
+package agabrown.fractalexplorer.generators;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class implements the Markus-Lyapunov fractals. The real and imaginary parts of the pixel point are used as two
+ * growth rates a and b of the logistic map x<sub>n+1</sub> = r<sub>n</sub>x<sub>n</sub>(1-x<sub>n</sub>), where
+ * r<sub>n</sub> runs periodically through a user-defined sequence of the letters A and B (r<sub>n</sub>=a for A and
+ * r<sub>n</sub>=b for B). The pixel value is the Lyapunov exponent of the orbit,
+ *
+ * <pre>
+ * &lambda; = (1/N) &sum; ln|r<sub>n</sub>(1-2x<sub>n</sub>)|
+ * </pre>
+ *
+ * <p>
+ * averaged over N steps after a number of warm-up steps that are discarded. Negative values indicate stable
+ * (periodic) orbits and positive values chaos. The sum is the most expensive part of the calculation, so the
+ * derivatives |r<sub>n</sub>(1-2x<sub>n</sub>)| are multiplied together on primitive doubles and the logarithm is only
+ * taken every k steps (the log interval). Each derivative is at most 4 in absolute value, so the product of k &le;
+ * {@link #MAXIMUM_LOG_INTERVAL} steps can not overflow. The image is calculated in parallel tiles by the renderer of
+ * the {@link AbstractFractalGenerator}, with the growth rates laid out on the pixel grid of the
+ * {@link agabrown.fractalexplorer.dm.ComplexPlaneView} (the interesting region lies within [0,4]x[0,4]).
+ * </p>
+ *
+ * <p>
+ * Superstable orbits have an exponent of minus infinity, which is replaced by {@link #MINIMUM_EXPONENT} so that the
+ * images can be scaled with {@link agabrown.fractalexplorer.colours.ImageScaling}. Growth rates outside [0,4], for
+ * which the logistic map does not map [0,1] into itself, get the pixel value 0.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class LyapunovGenerator extends AbstractFractalGenerator {
+
+    /**
+     * Name of fractal generator.
+     */
+    private static final String NAME = "Lyapunov";
+
+    /**
+     * Default number of warm-up steps.
+     */
+    public static final int DEFAULT_WARMUP_STEPS = 600;
+
+    /**
+     * Default number of steps over which the Lyapunov exponent is averaged.
+     */
+    public static final int DEFAULT_STEPS = 4000;
+
+    /**
+     * Default number of steps between the logarithms of the product of the derivatives.
+     */
+    public static final int DEFAULT_LOG_INTERVAL = 16;
+
+    /**
+     * Largest number of steps between the logarithms (4<sup>64</sup> is well within the range of doubles).
+     */
+    public static final int MAXIMUM_LOG_INTERVAL = 64;
+
+    /**
+     * Lower limit on the pixel values.
+     */
+    public static final double MINIMUM_EXPONENT = -5.0;
+
+    /**
+     * Starting value of the logistic map.
+     */
+    private static final double X_START = 0.5;
+
+    /**
+     * Largest growth rate for which the logistic map maps [0,1] into itself.
+     */
+    private static final double MAXIMUM_RATE = 4.0;
+
+    /**
+     * The sequence of letters A and B.
+     */
+    private final String sequence;
+
+    /**
+     * The sequence as flags, true for B.
+     */
+    private final boolean[] useB;
+
+    /**
+     * Number of warm-up steps.
+     */
+    private final int warmupSteps;
+
+    /**
+     * Number of steps over which the exponent is averaged.
+     */
+    private final int steps;
+
+    /**
+     * Number of steps between the logarithms.
+     */
+    private final int logInterval;
+
+    /**
+     * Private constructor which takes the builder inner class to create a properly configured instance of
+     * LyapunovGenerator.
+     *
+     * @param builder The Builder object that contains the information to construct a LyapunovGenerator.
+     */
+    private LyapunovGenerator(final Builder builder) {
+        sequence = builder.sequence;
+        useB = new boolean[sequence.length()];
+        for (int k = 0; k < useB.length; k++) {
+            useB[k] = sequence.charAt(k) == 'B';
+        }
+        warmupSteps = builder.warmupSteps;
+        steps = builder.steps;
+        logInterval = builder.logInterval;
+    }
+
+    /**
+     * Obtain the sequence of letters A and B.
+     *
+     * @return The sequence.
+     */
+    public String getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public double generatePixelValue(final double re, final double im) {
+        final double a = re;
+        final double b = im;
+        if (!(a >= 0.0 && a <= MAXIMUM_RATE && b >= 0.0 && b <= MAXIMUM_RATE)) {
+            return 0.0;
+        }
+        final boolean[] seq = useB;
+        final int length = seq.length;
+        int s = 0;
+        double x = X_START;
+        for (int n = 0; n < warmupSteps; n++) {
+            final double r = seq[s] ? b : a;
+            x = r * x * (1.0 - x);
+            if (++s == length) {
+                s = 0;
+            }
+        }
+        final int k = logInterval;
+        double sum = 0.0;
+        for (int done = 0; done < steps; done += k) {
+            final int blockSteps = Math.min(k, steps - done);
+            double product = 1.0;
+            for (int n = 0; n < blockSteps; n++) {
+                final double r = seq[s] ? b : a;
+                product *= Math.abs(r * (1.0 - 2.0 * x));
+                x = r * x * (1.0 - x);
+                if (++s == length) {
+                    s = 0;
+                }
+            }
+            if (product == 0.0) {
+                return MINIMUM_EXPONENT;
+            }
+            sum += Math.log(product);
+        }
+        return Math.max(MINIMUM_EXPONENT, sum / steps);
+    }
+
+    @Override
+    public double generatePixelValue(final Complex z) {
+        return generatePixelValue(z.getReal(), z.getImaginary());
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<String> getInfoLines() {
+        final List<String> lines = new ArrayList<>(2);
+        lines.add("Sequence = " + sequence);
+        lines.add("Steps = " + steps);
+        return lines;
+    }
+
+    /**
+     * Inner class used for implementing the builder pattern.
+     *
+     * @author agabrown Oct 2026
+     */
+    public static class Builder {
+        private String sequence = "AB";
+        private int warmupSteps = DEFAULT_WARMUP_STEPS;
+        private int steps = DEFAULT_STEPS;
+        private int logInterval = DEFAULT_LOG_INTERVAL;
+
+        /**
+         * Set the sequence of growth rates (default "AB").
+         *
+         * @param s The sequence, consisting of the letters A and B (case insensitive).
+         * @return The builder.
+         * @throws IllegalArgumentException If the sequence is empty or contains other characters.
+         */
+        public Builder sequence(final String s) {
+            if (s == null || s.isEmpty()) {
+                throw new IllegalArgumentException("The sequence should contain at least one letter.");
+            }
+            final String upper = s.toUpperCase();
+            for (int k = 0; k < upper.length(); k++) {
+                if (upper.charAt(k) != 'A' && upper.charAt(k) != 'B') {
+                    throw new IllegalArgumentException("The sequence should consist of the letters A and B.");
+                }
+            }
+            sequence = upper;
+            return this;
+        }
+
+        /**
+         * Set the number of warm-up steps, which are not included in the Lyapunov exponent. At least one step is
+         * required, as the derivative of the logistic map vanishes at the starting value x=0.5.
+         *
+         * @param n Number of warm-up steps.
+         * @return The builder.
+         */
+        public Builder warmupSteps(final int n) {
+            if (n < 1) {
+                throw new IllegalArgumentException("At least one warm-up step is required.");
+            }
+            warmupSteps = n;
+            return this;
+        }
+
+        /**
+         * Set the number of steps over which the Lyapunov exponent is averaged.
+         *
+         * @param n Number of steps.
+         * @return The builder.
+         */
+        public Builder steps(final int n) {
+            if (n < 1) {
+                throw new IllegalArgumentException("At least one step is required.");
+            }
+            steps = n;
+            return this;
+        }
+
+        /**
+         * Set the number of steps after which the logarithm of the product of the derivatives is taken.
+         *
+         * @param k The log interval, between 1 and {@link #MAXIMUM_LOG_INTERVAL}.
+         * @return The builder.
+         */
+        public Builder logInterval(final int k) {
+            if (k < 1 || k > MAXIMUM_LOG_INTERVAL) {
+                throw new IllegalArgumentException("The log interval should be between 1 and "
+                        + MAXIMUM_LOG_INTERVAL + ".");
+            }
+            logInterval = k;
+            return this;
+        }
+
+        /**
+         * Call the constructor for the LyapunovGenerator class.
+         *
+         * @return A new instance of LyapunovGenerator.
+         */
+        public LyapunovGenerator build() {
+            return new LyapunovGenerator(this);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package agabrown.fractalexplorer.generators;
 
 import agabrown.fractalexplorer.colours.ColouringAlgorithm;
+import agabrown.fractalexplorer.sets.MandelbrotSet;
 import org.apache.commons.math3.complex.Complex;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
@@ -13,6 +15,15 @@ import java.util.function.Function;
  * varying the value of c over the complex plane. The starting value of the
  * iteration is fixed (at zero).
  *
+ * <p>
+ * For the classic Mandelbrot set (generating kernel {@link ComplexKernel#SQUARE}
+ * and no iteration over conjugate(z)) the points in the main cardioid and the
+ * period-2 bulb can optionally be recognized before iterating. These pixels
+ * are assigned the value for reaching the maximum number of iterations (see
+ * {@link agabrown.fractalexplorer.colours.OrbitAccumulator#interiorValue(int)})
+ * and are counted.
+ * </p>
+ *
  * @author agabrown Aug 2014 - Sep 2021
  */
 public final class MandelbrotGenerator extends ComplexDynamicsBased {
@@ -23,10 +34,22 @@ public final class MandelbrotGenerator extends ComplexDynamicsBased {
     private static final String NAME = "Mandelbrot";
 
     /**
-     * The function f(z) used for generating the Fractal image. Note that the
-     * iterations are over f(z)+c.
+     * Counts the pixels for which the iterations were skipped because they are in
+     * the main cardioid or the period-2 bulb.
+     */
+    private final LongAdder shortCircuitedPixels = new LongAdder();
+
+    /**
+     * True if the generating function is f(z)=z<sup>2</sup>, for which the
+     * closed form interior check is valid.
      */
-    private final Function<Complex, Complex> baseGeneratingFunction;
+    private final boolean quadratic;
+
+    /**
+     * If true check whether points are in the main cardioid or period-2 bulb
+     * before iterating.
+     */
+    private volatile boolean interiorCheck;
 
     /**
      * Private constructor which takes the builder inner class to create a
@@ -36,28 +59,84 @@ public final class MandelbrotGenerator extends ComplexDynamicsBased {
      *                MandelbrotGenerator.
      */
     private MandelbrotGenerator(final Builder builder) {
-        this.colouringAlgorithm = builder.colouringAlgorithm;
-        this.baseGeneratingFunction = builder.generatingFunction;
+        setColouringAlgorithm(builder.colouringAlgorithm);
         this.theIterator = ComplexFunctionIterator.getInstance(builder.maxIterations, builder.stoppingRadius,
-                builder.generatingFunction);
+                builder.generatingFunction, builder.generatingKernel);
+        this.quadratic = builder.generatingKernel == ComplexKernel.SQUARE;
+        this.interiorCheck = builder.interiorCheck;
     }
 
     @Override
-    public double generatePixelValue(final Complex z) {
-        final Complex zStart = Complex.ZERO;
-        List<Complex> iterates;
-        theIterator.setFunction(baseGeneratingFunction.andThen(y -> y.add(z)));
-        if (iterateConjugate) {
-            iterates = theIterator.iterateConjugate(zStart);
-        } else {
-            iterates = theIterator.iterate(zStart);
+    public double generatePixelValue(final double re, final double im) {
+        if (interiorCheck && quadratic && !iterateConjugate && MandelbrotSet.isInMainCardioidOrPeriod2Bulb(re, im)) {
+            shortCircuitedPixels.increment();
+            return interiorPixelValue();
         }
-        return colouringAlgorithm.getPixelValue(iterates);
+        return iteratePixel(0.0, 0.0, re, im);
+    }
+
+    /**
+     * The Mandelbrot set for functions with real coefficients, such as
+     * f(z)=z<sup>n</sup> (and the Tricorn set obtained by iterating over
+     * conjugate(z)), is symmetric about the real axis.
+     *
+     * @return The symmetry of the fractal.
+     */
+    @Override
+    public FractalSymmetry getSymmetry() {
+        final ComplexKernel kernel = theIterator.getKernel();
+        return kernel != null && kernel.hasRealCoefficients() ? FractalSymmetry.CONJUGATE : FractalSymmetry.NONE;
+    }
+
+    /**
+     * Switch the closed form check for points in the main cardioid or period-2
+     * bulb on or off. The check is only applied when the generating function is
+     * f(z)=z<sup>2</sup> and z (not its conjugate) is iterated.
+     *
+     * @param check If true check for points in the main cardioid or period-2 bulb
+     *              before iterating.
+     */
+    public void setInteriorCheck(final boolean check) {
+        interiorCheck = check;
+    }
+
+    /**
+     * Obtain the number of pixels for which the iterations were skipped because
+     * they are in the main cardioid or the period-2 bulb.
+     *
+     * @return Number of short-circuited pixels since the creation of this
+     * generator or the last reset.
+     */
+    public long getNumberOfShortCircuitedPixels() {
+        return shortCircuitedPixels.sum();
+    }
+
+    /**
+     * Reset the count of short-circuited pixels to zero.
+     */
+    public void resetNumberOfShortCircuitedPixels() {
+        shortCircuitedPixels.reset();
     }
 
+    @Override
+    public double generatePixelValue(final Complex z) {
+        return generatePixelValue(z.getReal(), z.getImaginary());
+    }
+
+    @Override
+    ParameterPlane getParameterPlane() {
+        return ParameterPlane.CONSTANT;
+    }
+
+    /**
+     * The name is that of the {@link QuadraticVariant}, if the generating kernel is one of them.
+     *
+     * @return The name of the fractal generator.
+     */
     @Override
     public String getName() {
-        return NAME;
+        final QuadraticVariant variant = getQuadraticVariant();
+        return variant == null ? NAME : variant.getName();
     }
 
     @Override
@@ -73,6 +152,8 @@ public final class MandelbrotGenerator extends ComplexDynamicsBased {
     public static class Builder {
         private ColouringAlgorithm colouringAlgorithm;
         private Function<Complex, Complex> generatingFunction;
+        private ComplexKernel generatingKernel;
+        private boolean interiorCheck;
         private double stoppingRadius;
         private int maxIterations;
 
@@ -127,6 +208,42 @@ public final class MandelbrotGenerator extends ComplexDynamicsBased {
             return this;
         }
 
+        /**
+         * Set the primitive version of the generating function for the Fractal. If set, this kernel is used instead
+         * of the generating function whenever the colouring algorithm allows it.
+         *
+         * @param k The primitive kernel equivalent to the generating function.
+         * @return The builder.
+         */
+        public Builder generatingKernel(final ComplexKernel k) {
+            generatingKernel = k;
+            return this;
+        }
+
+        /**
+         * Set both the generating function and its primitive version from a formula of the form f(z)+c.
+         *
+         * @param formula The compiled formula.
+         * @return The builder.
+         */
+        public Builder formula(final ComplexFormula formula) {
+            generatingFunction = formula.getFunction();
+            generatingKernel = formula.getKernel();
+            return this;
+        }
+
+        /**
+         * Switch the closed form check for points in the main cardioid or period-2
+         * bulb on or off (off by default).
+         *
+         * @param check If true check for interior points before iterating.
+         * @return The builder.
+         */
+        public Builder interiorCheck(final boolean check) {
+            interiorCheck = check;
+            return this;
+        }
+
         /**
          * Call the constructor for the MandelbrotGenerator class.
          *
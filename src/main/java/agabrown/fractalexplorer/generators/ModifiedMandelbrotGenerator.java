@@ -20,12 +20,6 @@ public final class ModifiedMandelbrotGenerator extends ComplexDynamicsBased {
      */
     private static final String NAME = "Modified Mandelbrot";
 
-    /**
-     * The function f(z) used for generating the Fractal image. Note that the
-     * iterations are over f(z)+c.
-     */
-    private final Function<Complex, Complex> baseGeneratingFunction;
-
     /**
      * Private constructor which takes the builder inner class to create a
      * properly configured instance of MandelbrotGenerator.
@@ -34,23 +28,36 @@ public final class ModifiedMandelbrotGenerator extends ComplexDynamicsBased {
      *                MandelbrotGenerator.
      */
     private ModifiedMandelbrotGenerator(final Builder builder) {
-        this.colouringAlgorithm = builder.colouringAlgorithm;
-        this.baseGeneratingFunction = builder.generatingFunction;
+        setColouringAlgorithm(builder.colouringAlgorithm);
         this.theIterator = ComplexFunctionIterator.getInstance(builder.maxIterations, builder.stoppingRadius,
-                builder.generatingFunction);
+                builder.generatingFunction, builder.generatingKernel);
+    }
+
+    @Override
+    public double generatePixelValue(final double re, final double im) {
+        return iteratePixel(re, im, re, im);
+    }
+
+    /**
+     * For functions with real coefficients, such as f(z)=z<sup>n</sup>, the
+     * modified Mandelbrot set is symmetric about the real axis.
+     *
+     * @return The symmetry of the fractal.
+     */
+    @Override
+    public FractalSymmetry getSymmetry() {
+        final ComplexKernel kernel = theIterator.getKernel();
+        return kernel != null && kernel.hasRealCoefficients() ? FractalSymmetry.CONJUGATE : FractalSymmetry.NONE;
     }
 
     @Override
     public double generatePixelValue(final Complex z) {
-        final Complex zStart = Complex.valueOf(z.getReal(), z.getImaginary());
-        List<Complex> iterates;
-        theIterator.setFunction(baseGeneratingFunction.andThen(y -> y.add(z)));
-        if (iterateConjugate) {
-            iterates = theIterator.iterateConjugate(zStart);
-        } else {
-            iterates = theIterator.iterate(zStart);
-        }
-        return colouringAlgorithm.getPixelValue(iterates);
+        return generatePixelValue(z.getReal(), z.getImaginary());
+    }
+
+    @Override
+    ParameterPlane getParameterPlane() {
+        return ParameterPlane.BOTH;
     }
 
     @Override
@@ -71,6 +78,7 @@ public final class ModifiedMandelbrotGenerator extends ComplexDynamicsBased {
     public static class Builder {
         private ColouringAlgorithm colouringAlgorithm;
         private Function<Complex, Complex> generatingFunction;
+        private ComplexKernel generatingKernel;
         private double stoppingRadius;
         private int maxIterations;
 
@@ -125,6 +133,30 @@ public final class ModifiedMandelbrotGenerator extends ComplexDynamicsBased {
             return this;
         }
 
+        /**
+         * Set the primitive version of the generating function for the Fractal. If set, this kernel is used instead
+         * of the generating function whenever the colouring algorithm allows it.
+         *
+         * @param k The primitive kernel equivalent to the generating function.
+         * @return The builder.
+         */
+        public Builder generatingKernel(final ComplexKernel k) {
+            generatingKernel = k;
+            return this;
+        }
+
+        /**
+         * Set both the generating function and its primitive version from a formula of the form f(z)+c.
+         *
+         * @param formula The compiled formula.
+         * @return The builder.
+         */
+        public Builder formula(final ComplexFormula formula) {
+            generatingFunction = formula.getFunction();
+            generatingKernel = formula.getKernel();
+            return this;
+        }
+
         /**
          * Call the constructor for the MandelbrotGenerator class.
          *
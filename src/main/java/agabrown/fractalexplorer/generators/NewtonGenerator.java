@@ -0,0 +1,479 @@
+package agabrown.fractalexplorer.generators;
+
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class implements the Newton fractal for a polynomial p(z). Each pixel point is used as the starting value of
+ * Newton's method, z<sub>n+1</sub> = z<sub>n</sub> - p(z<sub>n</sub>)/p'(z<sub>n</sub>), and is classified by the
+ * root of p(z) to which the iterations converge (its basin of attraction) and by how fast they converge.
+ *
+ * <p>
+ * Unlike the escape-time generators the iterations stop when the squared size of the Newton step falls below the
+ * square of the convergence tolerance. The polynomial and its derivative are evaluated together with Horner's scheme
+ * on primitive doubles, so that no objects are created while iterating and the generator is as fast per iteration as
+ * the primitive escape-time kernels. The image is calculated in parallel tiles by the renderer of the
+ * {@link AbstractFractalGenerator}.
+ * </p>
+ *
+ * <p>
+ * The root index and the convergence speed are packed into the single pixel value k+&nu;/(N+1), where k is the index
+ * of the root in {@link #getRoots()}, N the maximum number of iterations, and &nu; the smooth (continuous) number of
+ * iterations needed to converge. Pixels that do not converge get the value k=number of roots. The parts are recovered
+ * with {@link #getRootIndex(double)} and {@link #getConvergenceValue(double)}. A linear {@link
+ * agabrown.fractalexplorer.colours.ImageScaling} thus gives each basin its own band of the colour LUT, shaded by the
+ * convergence speed.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class NewtonGenerator extends AbstractFractalGenerator {
+
+    /**
+     * Name of fractal generator.
+     */
+    private static final String NAME = "Newton";
+
+    /**
+     * Default convergence tolerance on the size of the Newton step.
+     */
+    public static final double DEFAULT_TOLERANCE = 1.0e-6;
+
+    /**
+     * Maximum number of iterations used to find the roots of the polynomial.
+     */
+    private static final int ROOT_FINDING_ITERATIONS = 1000;
+
+    /**
+     * Relative distance below which two roots found numerically are considered to be one multiple root.
+     */
+    private static final double MULTIPLE_ROOT_TOLERANCE = 1.0e-5;
+
+    /**
+     * Real parts of the coefficients a<sub>0</sub> to a<sub>n</sub> of p(z) = a<sub>0</sub> + a<sub>1</sub>z + ... +
+     * a<sub>n</sub>z<sup>n</sup>.
+     */
+    private final double[] coefficientsRe;
+
+    /**
+     * Imaginary parts of the coefficients of p(z).
+     */
+    private final double[] coefficientsIm;
+
+    /**
+     * Real parts of the distinct roots of p(z).
+     */
+    private final double[] rootsRe;
+
+    /**
+     * Imaginary parts of the distinct roots of p(z).
+     */
+    private final double[] rootsIm;
+
+    /**
+     * Maximum number of Newton iterations.
+     */
+    private volatile int maxIterations;
+
+    /**
+     * Square of the convergence tolerance on the size of the Newton step.
+     */
+    private volatile double toleranceSquared;
+
+    /**
+     * Private constructor which takes the builder inner class to create a properly configured instance of
+     * NewtonGenerator.
+     *
+     * @param builder The Builder object that contains the information to construct a NewtonGenerator.
+     */
+    private NewtonGenerator(final Builder builder) {
+        coefficientsRe = builder.coefficientsRe;
+        coefficientsIm = builder.coefficientsIm;
+        if (builder.rootsRe != null) {
+            rootsRe = builder.rootsRe;
+            rootsIm = builder.rootsIm;
+        } else {
+            final double[][] roots = findRoots(coefficientsRe, coefficientsIm);
+            rootsRe = roots[0];
+            rootsIm = roots[1];
+        }
+        maxIterations = builder.maxIterations;
+        toleranceSquared = builder.tolerance * builder.tolerance;
+    }
+
+    /**
+     * Set the maximum number of Newton iterations.
+     *
+     * @param m Maximum number of iterations.
+     */
+    public void setMaximumIterations(final int m) {
+        if (m < 1) {
+            throw new IllegalArgumentException("At least one iteration is required.");
+        }
+        maxIterations = m;
+    }
+
+    /**
+     * Set the convergence tolerance on the size of the Newton step.
+     *
+     * @param tolerance The tolerance, between 0 and 1.
+     */
+    public void setTolerance(final double tolerance) {
+        toleranceSquared = checkTolerance(tolerance) * tolerance;
+    }
+
+    /**
+     * Obtain the distinct roots of the polynomial, in the order used for the root index of the pixel values.
+     *
+     * @return The roots.
+     */
+    public Complex[] getRoots() {
+        final Complex[] roots = new Complex[rootsRe.length];
+        for (int k = 0; k < roots.length; k++) {
+            roots[k] = Complex.valueOf(rootsRe[k], rootsIm[k]);
+        }
+        return roots;
+    }
+
+    /**
+     * Obtain the index of the root to which the iterations converged from a pixel value calculated by this generator.
+     *
+     * @param pixelValue The pixel value.
+     * @return The index of the root in {@link #getRoots()}, or -1 if the iterations did not converge.
+     */
+    public int getRootIndex(final double pixelValue) {
+        final int k = (int) Math.floor(pixelValue);
+        return k < rootsRe.length ? k : -1;
+    }
+
+    /**
+     * Obtain the smooth number of iterations needed to converge from a pixel value calculated by this generator.
+     *
+     * @param pixelValue The pixel value.
+     * @return The smooth number of iterations, or the maximum number of iterations if the iterations did not converge.
+     */
+    public double getConvergenceValue(final double pixelValue) {
+        if (getRootIndex(pixelValue) < 0) {
+            return maxIterations;
+        }
+        return (pixelValue - Math.floor(pixelValue)) * (maxIterations + 1);
+    }
+
+    @Override
+    public double generatePixelValue(final double re, final double im) {
+        final double[] aRe = coefficientsRe;
+        final double[] aIm = coefficientsIm;
+        final int degree = aRe.length - 1;
+        final int maxIter = maxIterations;
+        final double tolSq = toleranceSquared;
+        double zRe = re;
+        double zIm = im;
+        double stepSq = Double.POSITIVE_INFINITY;
+        int iter = 0;
+        while (stepSq >= tolSq && iter < maxIter) {
+            // Horner's scheme for p(z) and p'(z) at once.
+            double pRe = aRe[degree];
+            double pIm = aIm[degree];
+            double dRe = 0.0;
+            double dIm = 0.0;
+            for (int k = degree - 1; k >= 0; k--) {
+                final double tRe = dRe * zRe - dIm * zIm + pRe;
+                dIm = dRe * zIm + dIm * zRe + pIm;
+                dRe = tRe;
+                final double sRe = pRe * zRe - pIm * zIm + aRe[k];
+                pIm = pRe * zIm + pIm * zRe + aIm[k];
+                pRe = sRe;
+            }
+            final double denominator = dRe * dRe + dIm * dIm;
+            if (denominator == 0.0) {
+                break;
+            }
+            final double stepRe = (pRe * dRe + pIm * dIm) / denominator;
+            final double stepIm = (pIm * dRe - pRe * dIm) / denominator;
+            zRe -= stepRe;
+            zIm -= stepIm;
+            stepSq = stepRe * stepRe + stepIm * stepIm;
+            iter++;
+        }
+        if (stepSq >= tolSq) {
+            return rootsRe.length;
+        }
+        return nearestRoot(zRe, zIm) + smoothIterations(iter, stepSq, tolSq) / (maxIter + 1);
+    }
+
+    @Override
+    public double generatePixelValue(final Complex z) {
+        return generatePixelValue(z.getReal(), z.getImaginary());
+    }
+
+    /**
+     * Find the root closest to the point z.
+     *
+     * @param zRe Real part of z.
+     * @param zIm Imaginary part of z.
+     * @return The index of the closest root.
+     */
+    private int nearestRoot(final double zRe, final double zIm) {
+        int nearest = 0;
+        double minimumSq = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < rootsRe.length; k++) {
+            final double dRe = zRe - rootsRe[k];
+            final double dIm = zIm - rootsIm[k];
+            final double distanceSq = dRe * dRe + dIm * dIm;
+            if (distanceSq < minimumSq) {
+                minimumSq = distanceSq;
+                nearest = k;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Calculate the smooth number of iterations needed to converge. Near a simple root the size of the Newton step is
+     * squared in each iteration, so that the fraction of the last iteration needed to reach the tolerance follows
+     * from log(step<sup>2</sup>)/log(tolerance<sup>2</sup>), which is 1 when the step just reaches the tolerance and
+     * 2 when the previous step just missed it.
+     *
+     * @param iter   Number of iterations carried out.
+     * @param stepSq Square of the size of the last Newton step.
+     * @param tolSq  Square of the convergence tolerance.
+     * @return The smooth number of iterations, between iter-1 and iter.
+     */
+    private static double smoothIterations(final int iter, final double stepSq, final double tolSq) {
+        final double fraction = Math.log(Math.log(tolSq) / Math.log(stepSq)) / Math.log(2.0);
+        return iter + Math.max(-1.0, Math.min(0.0, fraction));
+    }
+
+    /**
+     * Find the distinct roots of the polynomial with the Durand-Kerner (Weierstrass) method, polished with Newton's
+     * method. Roots that coincide to within {@link #MULTIPLE_ROOT_TOLERANCE} are merged into one.
+     *
+     * @param aRe Real parts of the coefficients a<sub>0</sub> to a<sub>n</sub>.
+     * @param aIm Imaginary parts of the coefficients.
+     * @return The real (first element) and imaginary (second element) parts of the roots.
+     */
+    static double[][] findRoots(final double[] aRe, final double[] aIm) {
+        final int degree = aRe.length - 1;
+        final Complex leading = Complex.valueOf(aRe[degree], aIm[degree]);
+        final Complex[] monic = new Complex[degree + 1];
+        double radius = 0.0;
+        for (int k = 0; k <= degree; k++) {
+            monic[k] = Complex.valueOf(aRe[k], aIm[k]).divide(leading);
+            radius = Math.max(radius, monic[k].abs());
+        }
+        final Complex[] roots = new Complex[degree];
+        final Complex seed = Complex.valueOf(0.4, 0.9);
+        for (int k = 0; k < degree; k++) {
+            roots[k] = seed.pow(k).multiply(radius);
+        }
+        for (int n = 0; n < ROOT_FINDING_ITERATIONS; n++) {
+            double change = 0.0;
+            for (int k = 0; k < degree; k++) {
+                Complex denominator = Complex.ONE;
+                for (int j = 0; j < degree; j++) {
+                    if (j != k) {
+                        denominator = denominator.multiply(roots[k].subtract(roots[j]));
+                    }
+                }
+                final Complex step = horner(monic, roots[k]).divide(denominator);
+                if (step.isNaN() || step.isInfinite()) {
+                    continue;
+                }
+                roots[k] = roots[k].subtract(step);
+                change = Math.max(change, step.abs());
+            }
+            if (change <= 1.0e-15 * radius) {
+                break;
+            }
+        }
+
+        final List<Complex> distinct = new ArrayList<>(degree);
+        for (final Complex root : roots) {
+            boolean isNew = true;
+            for (int j = 0; j < distinct.size() && isNew; j++) {
+                final Complex other = distinct.get(j);
+                if (root.subtract(other).abs() <= MULTIPLE_ROOT_TOLERANCE * Math.max(1.0, other.abs())) {
+                    isNew = false;
+                }
+            }
+            if (isNew) {
+                distinct.add(root);
+            }
+        }
+        final double[][] result = new double[2][distinct.size()];
+        for (int k = 0; k < distinct.size(); k++) {
+            result[0][k] = distinct.get(k).getReal();
+            result[1][k] = distinct.get(k).getImaginary();
+        }
+        return result;
+    }
+
+    /**
+     * Evaluate a polynomial with Horner's scheme.
+     *
+     * @param a The coefficients a<sub>0</sub> to a<sub>n</sub>.
+     * @param z The point at which to evaluate the polynomial.
+     * @return The value of the polynomial.
+     */
+    private static Complex horner(final Complex[] a, final Complex z) {
+        Complex p = a[a.length - 1];
+        for (int k = a.length - 2; k >= 0; k--) {
+            p = p.multiply(z).add(a[k]);
+        }
+        return p;
+    }
+
+    /**
+     * Check the value of the convergence tolerance.
+     *
+     * @param tolerance The tolerance.
+     * @return The tolerance.
+     * @throws IllegalArgumentException If the tolerance is not between 0 and 1.
+     */
+    private static double checkTolerance(final double tolerance) {
+        if (!(tolerance > 0.0 && tolerance < 1.0)) {
+            throw new IllegalArgumentException("The convergence tolerance should be between 0 and 1.");
+        }
+        return tolerance;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<String> getInfoLines() {
+        final List<String> lines = new ArrayList<>(rootsRe.length + 1);
+        lines.add("Degree = " + (coefficientsRe.length - 1));
+        for (int k = 0; k < rootsRe.length; k++) {
+            lines.add("Root " + k + " = " + rootsRe[k] + (rootsIm[k] < 0.0 ? " - " : " + ") + Math.abs(rootsIm[k])
+                    + "i");
+        }
+        return lines;
+    }
+
+    /**
+     * Inner class used for implementing the builder pattern. The polynomial is specified either by its coefficients
+     * or by its roots.
+     *
+     * @author agabrown Oct 2026
+     */
+    public static class Builder {
+        private double[] coefficientsRe;
+        private double[] coefficientsIm;
+        private double[] rootsRe;
+        private double[] rootsIm;
+        private double tolerance = DEFAULT_TOLERANCE;
+        private int maxIterations;
+
+        /**
+         * Set the maximum number of Newton iterations.
+         *
+         * @param m Maximum number of iterations.
+         * @return The builder.
+         */
+        public Builder maximumIterations(final int m) {
+            if (m < 1) {
+                throw new IllegalArgumentException("At least one iteration is required.");
+            }
+            maxIterations = m;
+            return this;
+        }
+
+        /**
+         * Set the convergence tolerance on the size of the Newton step (default {@link #DEFAULT_TOLERANCE}).
+         *
+         * @param t The tolerance, between 0 and 1.
+         * @return The builder.
+         */
+        public Builder tolerance(final double t) {
+            tolerance = checkTolerance(t);
+            return this;
+        }
+
+        /**
+         * Set the polynomial p(z) = a<sub>0</sub> + a<sub>1</sub>z + ... + a<sub>n</sub>z<sup>n</sup> through its
+         * coefficients. The roots are found numerically.
+         *
+         * @param a The coefficients a<sub>0</sub> to a<sub>n</sub>, in order of increasing power of z.
+         * @return The builder.
+         * @throws IllegalArgumentException If the degree of the polynomial is less than 2.
+         */
+        public Builder coefficients(final Complex... a) {
+            int degree = a.length - 1;
+            while (degree >= 0 && a[degree].equals(Complex.ZERO)) {
+                degree--;
+            }
+            if (degree < 2) {
+                throw new IllegalArgumentException("The degree of the polynomial should be at least 2.");
+            }
+            coefficientsRe = new double[degree + 1];
+            coefficientsIm = new double[degree + 1];
+            for (int k = 0; k <= degree; k++) {
+                if (a[k].isNaN() || a[k].isInfinite()) {
+                    throw new IllegalArgumentException("The coefficients should be finite.");
+                }
+                coefficientsRe[k] = a[k].getReal();
+                coefficientsIm[k] = a[k].getImaginary();
+            }
+            rootsRe = null;
+            rootsIm = null;
+            return this;
+        }
+
+        /**
+         * Set the polynomial p(z) = (z-r<sub>1</sub>)(z-r<sub>2</sub>)...(z-r<sub>n</sub>) through its roots.
+         * Repeated roots are allowed and give rise to a multiple root of p(z).
+         *
+         * @param r The roots.
+         * @return The builder.
+         * @throws IllegalArgumentException If fewer than two roots are given.
+         */
+        public Builder roots(final Complex... r) {
+            if (r.length < 2) {
+                throw new IllegalArgumentException("The degree of the polynomial should be at least 2.");
+            }
+            Complex[] a = {Complex.ONE};
+            final List<Complex> distinct = new ArrayList<>(r.length);
+            for (final Complex root : r) {
+                if (root.isNaN() || root.isInfinite()) {
+                    throw new IllegalArgumentException("The roots should be finite.");
+                }
+                final Complex[] product = new Complex[a.length + 1];
+                product[a.length] = a[a.length - 1];
+                for (int k = a.length - 1; k > 0; k--) {
+                    product[k] = a[k - 1].subtract(a[k].multiply(root));
+                }
+                product[0] = a[0].multiply(root).negate();
+                a = product;
+                if (!distinct.contains(root)) {
+                    distinct.add(root);
+                }
+            }
+            coefficients(a);
+            rootsRe = new double[distinct.size()];
+            rootsIm = new double[distinct.size()];
+            for (int k = 0; k < distinct.size(); k++) {
+                rootsRe[k] = distinct.get(k).getReal();
+                rootsIm[k] = distinct.get(k).getImaginary();
+            }
+            return this;
+        }
+
+        /**
+         * Call the constructor for the NewtonGenerator class.
+         *
+         * @return A new instance of NewtonGenerator.
+         * @throws IllegalArgumentException If the polynomial was not set.
+         */
+        public NewtonGenerator build() {
+            if (coefficientsRe == null) {
+                throw new IllegalArgumentException("The polynomial should be set.");
+            }
+            return new NewtonGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package agabrown.fractalexplorer.generators;
+
+/**
+ * Describes how the point in the complex plane corresponding to a pixel enters the iterations
+ * z<sub>n+1</sub>=f(z<sub>n</sub>)+c of a {@link ComplexDynamicsBased} generator. Renderers that do not calculate
+ * the pixel values through {@link FractalGenerator#generatePixelValue(double, double)} use this to set up the
+ * iterations themselves.
+ *
+ * @author agabrown Oct 2026
+ */
+enum ParameterPlane {
+
+    /**
+     * The pixel point is the constant c, while z<sub>0</sub> is fixed (Mandelbrot).
+     */
+    CONSTANT,
+
+    /**
+     * The pixel point is the starting value z<sub>0</sub>, while c is fixed (Julia).
+     */
+    STARTING_VALUE,
+
+    /**
+     * The pixel point is both the starting value z<sub>0</sub> and the constant c (modified Mandelbrot).
+     */
+    BOTH;
+
+    /**
+     * Check whether the pixel point is the constant c.
+     *
+     * @return True if c varies with the pixel.
+     */
+    boolean pixelIsConstant() {
+        return this != STARTING_VALUE;
+    }
+
+    /**
+     * Check whether the pixel point is the starting value z<sub>0</sub>.
+     *
+     * @return True if z<sub>0</sub> varies with the pixel.
+     */
+    boolean pixelIsStartingValue() {
+        return this != CONSTANT;
+    }
+}
@@ -0,0 +1,723 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.OrbitAccumulator;
+import agabrown.fractalexplorer.deepzoom.BivariateLinearApproximation;
+import agabrown.fractalexplorer.deepzoom.ReferenceOrbit;
+import agabrown.fractalexplorer.deepzoom.SeriesApproximation;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.util.FloatExp;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates fractal images at deep zoom levels with perturbation theory. One reference orbit Z<sub>n</sub> is
+ * calculated in high precision (see {@link ReferenceOrbit}), after which the orbit of each pixel is calculated in
+ * double precision as the deviation &delta;<sub>n</sub> from the reference orbit:
+ * &delta;<sub>n+1</sub>=2Z<sub>n</sub>&delta;<sub>n</sub>+&delta;<sub>n</sub><sup>2</sup>+&delta;c. The pixel
+ * offsets with respect to the centre of the view are small numbers that are accurately represented in double
+ * precision, also when they are far below the resolution of the centre coordinates themselves.
+ *
+ * <p>
+ * Where the pixel orbit comes much closer to zero than the reference orbit, the deviation can no longer be
+ * represented accurately and the pixel is flagged as a glitch (the criterion of Pauldelbrot:
+ * |Z<sub>n</sub>+&delta;<sub>n</sub>| &lt; 10<sup>-3</sup>|Z<sub>n</sub>|). The same happens when the reference orbit
+ * escapes before the pixel orbit. After each pass over the pixels a secondary reference orbit is calculated for the
+ * most strongly glitched pixel and the glitched pixels are recalculated with respect to it, until no glitches are
+ * left or the maximum number of reference orbits is reached.
+ * </p>
+ *
+ * <p>
+ * For each reference orbit a {@link SeriesApproximation} of the pixel deviations is calculated, so that the first
+ * iterations, during which all pixels still move together, can be skipped. After that, blocks of iterations during
+ * which the deviations evolve linearly are skipped with a table of {@link BivariateLinearApproximation}s, which lets
+ * very deep zooms with millions of iterations per pixel be calculated in a fraction of the time. The numbers of
+ * skipped and calculated iterations are reported in the {@link RenderProgress}.
+ * </p>
+ *
+ * <p>
+ * Beyond zoom factors of about 10<sup>298</sup> the pixel offsets and the deviations underflow in double precision.
+ * For such views the pixel offsets and the first iterations of the deviations are calculated with {@link FloatExp}
+ * numbers, until the deviations have grown large enough to continue in double precision. Shallower views are
+ * calculated entirely in double precision. The series approximation is not used for views in extended range.
+ * </p>
+ *
+ * <p>
+ * The renderer supports {@link ComplexDynamicsBased} generators that iterate f(z)=z<sup>2</sup> (or
+ * f(conjugate(z))) and describe their {@link ParameterPlane}: the Mandelbrot, Tricorn, modified Mandelbrot and Julia
+ * generators. For other generators the image is calculated with a {@link TiledImageRenderer}. The pixel values are
+ * obtained from the orbit accumulators of the generator's colouring algorithm, so all colouring algorithms are
+ * supported.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class PerturbationImageRenderer implements ImageRenderer {
+
+    /**
+     * Maximum number of reference orbits calculated for one image.
+     */
+    public static final int MAXIMUM_REFERENCE_ORBITS = 32;
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Perturbation";
+
+    /**
+     * Pixels are flagged as glitched if |z|<sup>2</sup> falls below this factor times |Z|<sup>2</sup>.
+     */
+    private static final double GLITCH_TOLERANCE_SQUARED = 1.0e-6;
+
+    /**
+     * Number of pixels below which a batch of pixels is not split further over the threads.
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Bit mask for testing whether an iteration number is a multiple of the shortest block length of the bivariate
+     * linear approximations.
+     */
+    private static final int BLOCK_MASK = (1 << BivariateLinearApproximation.MINIMUM_LEVEL) - 1;
+
+    /**
+     * Views with pixel sizes below 2 to the power of this binary exponent (about 10<sup>-298</sup>) are calculated
+     * in extended range.
+     */
+    private static final int EXTENDED_RANGE_EXPONENT = -990;
+
+    /**
+     * Deviations calculated in extended range are continued in double precision once their binary exponent reaches
+     * this value (about 10<sup>-271</sup>).
+     */
+    private static final int DOUBLE_RANGE_EXPONENT = -900;
+
+    /**
+     * The pool of threads used for the calculations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Renderer used for generators that are not supported.
+     */
+    private final TiledImageRenderer fallback;
+
+    /**
+     * If true skip the first iterations of the pixel orbits with a series approximation.
+     */
+    private volatile boolean seriesApproximation = true;
+
+    /**
+     * If true skip blocks of iterations with bivariate linear approximations.
+     */
+    private volatile boolean linearApproximation = true;
+
+    /**
+     * Constructor. Creates a renderer which uses the common fork/join pool (and thus all available processors).
+     */
+    public PerturbationImageRenderer() {
+        pool = ForkJoinPool.commonPool();
+        fallback = new TiledImageRenderer();
+    }
+
+    /**
+     * Constructor. Creates a renderer with its own pool of threads.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public PerturbationImageRenderer(final int parallelism) {
+        fallback = new TiledImageRenderer(parallelism);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Check whether this renderer can calculate images for the given generator with perturbation theory.
+     *
+     * @param generator The fractal generator.
+     * @return True if perturbation theory can be used.
+     */
+    public static boolean supports(final FractalGenerator generator) {
+        if (!(generator instanceof ComplexDynamicsBased)) {
+            return false;
+        }
+        final ComplexDynamicsBased cdb = (ComplexDynamicsBased) generator;
+        return cdb.isQuadratic() && cdb.getParameterPlane() != null;
+    }
+
+    /**
+     * Switch the skipping of iterations with a {@link SeriesApproximation} on or off. The series approximation is
+     * only used for iterations of z<sup>2</sup>+c and for colouring algorithms that do not need the full orbit.
+     *
+     * @param use If true skip iterations where possible.
+     */
+    public void setSeriesApproximation(final boolean use) {
+        seriesApproximation = use;
+    }
+
+    /**
+     * Check whether iterations are skipped with a series approximation.
+     *
+     * @return True if iterations are skipped where possible.
+     */
+    public boolean isSeriesApproximation() {
+        return seriesApproximation;
+    }
+
+    /**
+     * Switch the skipping of blocks of iterations with a {@link BivariateLinearApproximation} table on or off. The
+     * linear approximation is only used for iterations of z<sup>2</sup>+c and for colouring algorithms that do not
+     * need the full orbit.
+     *
+     * @param use If true skip iterations where possible.
+     */
+    public void setLinearApproximation(final boolean use) {
+        linearApproximation = use;
+    }
+
+    /**
+     * Check whether blocks of iterations are skipped with bivariate linear approximations.
+     *
+     * @return True if iterations are skipped where possible.
+     */
+    public boolean isLinearApproximation() {
+        return linearApproximation;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        if (!supports(generator)) {
+            return fallback.submit(generator, cpv, progress);
+        }
+        final Frame frame = new Frame((ComplexDynamicsBased) generator, cpv, progress, seriesApproximation,
+                linearApproximation);
+        return pool.submit(ForkJoinTask.adapt(frame::render, frame.image));
+    }
+
+    /**
+     * Holds the state of the calculation of one image.
+     */
+    private static final class Frame {
+
+        private final ComplexDynamicsBased generator;
+        private final RenderProgress progress;
+        private final ParameterPlane plane;
+        private final boolean conjugate;
+        private final int maxIter;
+        private final double stoppingRadius;
+        private final double radiusSquared;
+        private final int digits;
+        private final boolean seriesApproximation;
+        private final boolean linearApproximation;
+        private final BigDecimal centreReal;
+        private final BigDecimal centreImaginary;
+        private final int imWidth;
+        private final double[] offsetReal;
+        private final double[] offsetImaginary;
+        private final double[] image;
+
+        /**
+         * True if the deviations are calculated in extended range.
+         */
+        private final boolean extendedRange;
+
+        /**
+         * The pixel offsets in extended range (null if not needed).
+         */
+        private final FloatExp[] offsetRealExtended;
+        private final FloatExp[] offsetImaginaryExtended;
+
+        /**
+         * For glitched pixels the value of |z|<sup>2</sup>/|Z|<sup>2</sup> at the glitch, negative for pixels that
+         * are not glitched.
+         */
+        private final double[] glitch;
+
+        /**
+         * Constructor.
+         *
+         * @param generator The fractal generator.
+         * @param cpv       The complex plane view.
+         * @param progress  Keeps track of the progress of the calculation.
+         * @param useSeries If true skip iterations with the series approximation where possible.
+         * @param useLinear If true skip iterations with bivariate linear approximations where possible.
+         */
+        Frame(final ComplexDynamicsBased generator, final ComplexPlaneView cpv, final RenderProgress progress,
+              final boolean useSeries, final boolean useLinear) {
+            this.generator = generator;
+            this.progress = progress;
+            plane = generator.getParameterPlane();
+            conjugate = generator.iterateConjugate;
+            maxIter = generator.theIterator.getMaximumIterations();
+            stoppingRadius = generator.theIterator.getStoppingRadius();
+            radiusSquared = stoppingRadius * stoppingRadius;
+            imWidth = cpv.getSizeRealPixels();
+            final FloatExp pixelSize = cpv.getPixelSizeRealExtended();
+            final FloatExp pixelSizeImaginary = cpv.getPixelSizeImaginaryExtended();
+            if (pixelSizeImaginary.compareTo(pixelSize) < 0) {
+                pixelSize.set(pixelSizeImaginary);
+            }
+            digits = ReferenceOrbit.digitsForPixelSize(pixelSize);
+            extendedRange = pixelSize.getExponent() < EXTENDED_RANGE_EXPONENT;
+            final boolean canSkip = !conjugate && generator.getAccumulator().canSkipIterates();
+            seriesApproximation = useSeries && canSkip && !extendedRange;
+            linearApproximation = useLinear && canSkip;
+            centreReal = cpv.getExactCentreReal();
+            centreImaginary = cpv.getExactCentreImaginary();
+            offsetReal = cpv.getOffsetsRealPixels();
+            offsetImaginary = cpv.getOffsetsImaginaryPixels();
+            offsetRealExtended = extendedRange ? cpv.getOffsetsRealPixelsExtended() : null;
+            offsetImaginaryExtended = extendedRange ? cpv.getOffsetsImaginaryPixelsExtended() : null;
+            image = new double[imWidth * cpv.getSizeImaginaryPixels()];
+            glitch = new double[image.length];
+            progress.reset(image.length);
+        }
+
+        /**
+         * Calculate the image, adding secondary reference orbits until no glitches remain.
+         */
+        void render() {
+            int[] pixels = new int[image.length];
+            for (int k = 0; k < pixels.length; k++) {
+                pixels[k] = k;
+            }
+            final FloatExp referenceRe = new FloatExp();
+            final FloatExp referenceIm = new FloatExp();
+            for (int references = 1; pixels.length > 0; references++) {
+                final Reference reference = new Reference(referenceRe, referenceIm, pixels);
+                progress.addReferenceOrbit();
+                new PixelTask(reference, pixels, 0, pixels.length, references == 1).invoke();
+                progress.addIteratedPixels(pixels.length);
+                if (references == MAXIMUM_REFERENCE_ORBITS) {
+                    break;
+                }
+                pixels = glitchedPixels(pixels);
+                int worst = -1;
+                for (final int k : pixels) {
+                    if (worst < 0 || glitch[k] < glitch[worst]) {
+                        worst = k;
+                    }
+                }
+                if (worst >= 0 && extendedRange) {
+                    referenceRe.set(offsetRealExtended[worst % imWidth]);
+                    referenceIm.set(offsetImaginaryExtended[worst / imWidth]);
+                } else if (worst >= 0) {
+                    referenceRe.set(offsetReal[worst % imWidth]);
+                    referenceIm.set(offsetImaginary[worst / imWidth]);
+                }
+            }
+        }
+
+        /**
+         * Calculate the reference orbit for the point at the given offset from the centre of the view.
+         *
+         * @param referenceRe Offset along the real axis.
+         * @param referenceIm Offset along the imaginary axis.
+         * @return The reference orbit.
+         */
+        private ReferenceOrbit referenceOrbit(final FloatExp referenceRe, final FloatExp referenceIm) {
+            final BigDecimal pointRe = centreReal.add(referenceRe.toBigDecimal());
+            final BigDecimal pointIm = centreImaginary.add(referenceIm.toBigDecimal());
+            final BigDecimal z0Re = plane.pixelIsStartingValue() ? pointRe : BigDecimal.ZERO;
+            final BigDecimal z0Im = plane.pixelIsStartingValue() ? pointIm : BigDecimal.ZERO;
+            final BigDecimal cRe = plane.pixelIsConstant() ? pointRe : new BigDecimal(generator.getFixedConstantReal());
+            final BigDecimal cIm = plane.pixelIsConstant() ? pointIm :
+                    new BigDecimal(generator.getFixedConstantImaginary());
+            return ReferenceOrbit.calculate(z0Re, z0Im, cRe, cIm, conjugate, maxIter, stoppingRadius, digits);
+        }
+
+        /**
+         * Select the glitched pixels from the list of pixels.
+         *
+         * @param pixels The pixels calculated in the last pass.
+         * @return The pixels that are glitched.
+         */
+        private int[] glitchedPixels(final int[] pixels) {
+            int count = 0;
+            for (final int k : pixels) {
+                if (glitch[k] >= 0.0) {
+                    count++;
+                }
+            }
+            final int[] glitched = new int[count];
+            count = 0;
+            for (final int k : pixels) {
+                if (glitch[k] >= 0.0) {
+                    glitched[count++] = k;
+                }
+            }
+            return glitched;
+        }
+
+        /**
+         * A reference orbit together with the series approximation for the pixels calculated with respect to it.
+         */
+        private final class Reference {
+
+            /**
+             * Offset of the reference point from the centre along the real axis.
+             */
+            private final double offsetRe;
+
+            /**
+             * Offset of the reference point from the centre along the imaginary axis.
+             */
+            private final double offsetIm;
+
+            /**
+             * The offsets of the reference point from the centre in extended range.
+             */
+            private final FloatExp offsetReExtended;
+            private final FloatExp offsetImExtended;
+
+            private final ReferenceOrbit orbit;
+
+            /**
+             * The series approximation (null if iterations are not skipped).
+             */
+            private final SeriesApproximation series;
+
+            /**
+             * Number of iterations skipped with the series approximation.
+             */
+            private final int skip;
+
+            /**
+             * The table of bivariate linear approximations (null if iterations are not skipped).
+             */
+            private final BivariateLinearApproximation bla;
+
+            /**
+             * Constructor. Calculates the reference orbit and, if possible, the approximations valid for all pixels to
+             * be calculated.
+             *
+             * @param offsetRe Offset of the reference point from the centre along the real axis.
+             * @param offsetIm Offset of the reference point from the centre along the imaginary axis.
+             * @param pixels   The pixels that will be calculated with respect to this reference.
+             */
+            Reference(final FloatExp offsetRe, final FloatExp offsetIm, final int[] pixels) {
+                offsetReExtended = new FloatExp(offsetRe);
+                offsetImExtended = new FloatExp(offsetIm);
+                this.offsetRe = offsetRe.doubleValue();
+                this.offsetIm = offsetIm.doubleValue();
+                orbit = referenceOrbit(offsetRe, offsetIm);
+                double radius = 0.0;
+                if (seriesApproximation || linearApproximation) {
+                    for (final int k : pixels) {
+                        radius = Math.max(radius, Math.hypot(offsetReal[k % imWidth] - this.offsetRe,
+                                offsetImaginary[k / imWidth] - this.offsetIm));
+                    }
+                }
+                bla = linearApproximation ? BivariateLinearApproximation.calculate(orbit, plane.pixelIsConstant(),
+                        radius, BivariateLinearApproximation.DEFAULT_TOLERANCE) : null;
+                if (seriesApproximation) {
+                    series = SeriesApproximation.calculate(orbit, plane.pixelIsStartingValue(),
+                            plane.pixelIsConstant(), radius, SeriesApproximation.DEFAULT_TOLERANCE);
+                    skip = series.getSkippedIterations();
+                } else {
+                    series = null;
+                    skip = 0;
+                }
+            }
+        }
+
+        /**
+         * The fork/join task that calculates a batch of pixels with respect to one reference orbit.
+         */
+        private final class PixelTask extends RecursiveAction {
+
+            /**
+             * Required for serializable classes.
+             */
+            private static final long serialVersionUID = 6342107542968370271L;
+
+            private final Reference reference;
+            private final int[] pixels;
+            private final int first;
+            private final int last;
+            private final boolean firstPass;
+
+            /**
+             * Number of iterations carried out for the pixels of this task.
+             */
+            private long calculatedIterations;
+
+            /**
+             * Number of iterations skipped for the pixels of this task.
+             */
+            private long skippedIterations;
+
+            /**
+             * Work space for the calculations in extended range.
+             */
+            private FloatExp dRe;
+            private FloatExp dIm;
+            private FloatExp dcRe;
+            private FloatExp dcIm;
+            private FloatExp newRe;
+            private FloatExp newIm;
+            private FloatExp term;
+
+            /**
+             * Constructor.
+             *
+             * @param reference The reference orbit.
+             * @param pixels    The indices of the pixels to calculate.
+             * @param first     First entry in the pixels array to calculate (inclusive).
+             * @param last      Last entry in the pixels array to calculate (exclusive).
+             * @param firstPass True if this is the first pass over the image.
+             */
+            PixelTask(final Reference reference, final int[] pixels, final int first, final int last,
+                      final boolean firstPass) {
+                this.reference = reference;
+                this.pixels = pixels;
+                this.first = first;
+                this.last = last;
+                this.firstPass = firstPass;
+            }
+
+            @Override
+            protected void compute() {
+                if (last - first > BATCH_SIZE) {
+                    final int middle = (first + last) >>> 1;
+                    invokeAll(new PixelTask(reference, pixels, first, middle, firstPass),
+                            new PixelTask(reference, pixels, middle, last, firstPass));
+                    return;
+                }
+                final OrbitAccumulator accumulator = generator.getAccumulator();
+                if (extendedRange) {
+                    dRe = new FloatExp();
+                    dIm = new FloatExp();
+                    dcRe = new FloatExp();
+                    dcIm = new FloatExp();
+                    newRe = new FloatExp();
+                    newIm = new FloatExp();
+                    term = new FloatExp();
+                }
+                for (int p = first; p < last; p++) {
+                    final int k = pixels[p];
+                    if (extendedRange) {
+                        iteratePixelExtended(accumulator, k);
+                    } else {
+                        iteratePixel(accumulator, k, offsetReal[k % imWidth] - reference.offsetRe,
+                                offsetImaginary[k / imWidth] - reference.offsetIm);
+                    }
+                }
+                progress.addIterations(calculatedIterations, skippedIterations);
+                if (firstPass) {
+                    progress.addCompletedPixels(last - first);
+                }
+            }
+
+            /**
+             * Iterate one pixel as a deviation from the reference orbit, passing the full iterates to the orbit
+             * accumulator. The iterations start from the series approximation if one is available and the result
+             * stays within the stopping radius. Blocks of iterations are skipped with the bivariate linear
+             * approximation where it is valid.
+             *
+             * @param accumulator The orbit accumulator of the calling thread.
+             * @param k           The pixel index.
+             * @param deltaRe     Real part of the deviation of the pixel point from the reference point.
+             * @param deltaIm     Imaginary part of the deviation of the pixel point from the reference point.
+             */
+            private void iteratePixel(final OrbitAccumulator accumulator, final int k, final double deltaRe,
+                                      final double deltaIm) {
+                final ReferenceOrbit orbit = reference.orbit;
+                final double dcRe = plane.pixelIsConstant() ? deltaRe : 0.0;
+                final double dcIm = plane.pixelIsConstant() ? deltaIm : 0.0;
+                double dRe = plane.pixelIsStartingValue() ? deltaRe : 0.0;
+                double dIm = plane.pixelIsStartingValue() ? deltaIm : 0.0;
+                double zRe = orbit.getReal(0) + dRe;
+                double zIm = orbit.getImaginary(0) + dIm;
+                int n = 0;
+                if (reference.skip > 0) {
+                    final double tRe = reference.series.deltaReal(deltaRe, deltaIm);
+                    final double tIm = reference.series.deltaImaginary(deltaRe, deltaIm);
+                    final double skipRe = orbit.getReal(reference.skip) + tRe;
+                    final double skipIm = orbit.getImaginary(reference.skip) + tIm;
+                    if (skipRe * skipRe + skipIm * skipIm <= radiusSquared) {
+                        n = reference.skip;
+                        dRe = tRe;
+                        dIm = tIm;
+                        zRe = skipRe;
+                        zIm = skipIm;
+                    }
+                }
+                if (n > 0) {
+                    accumulator.beginAt(n + 1, zRe, zIm);
+                } else {
+                    accumulator.begin(zRe, zIm);
+                }
+                skippedIterations += n;
+                glitch[k] = -1.0;
+                continuePixel(accumulator, k, n, dRe, dIm, dcRe, dcIm, zRe, zIm);
+            }
+
+            /**
+             * Iterate one pixel of a view in extended range. The deviations are calculated with {@link FloatExp}
+             * numbers until they can be represented accurately in double precision, after which the iterations are
+             * continued in double precision.
+             *
+             * @param accumulator The orbit accumulator of the calling thread.
+             * @param k           The pixel index.
+             */
+            private void iteratePixelExtended(final OrbitAccumulator accumulator, final int k) {
+                final ReferenceOrbit orbit = reference.orbit;
+                final int orbitLength = orbit.getLength();
+                final FloatExp deltaRe = newRe.subtract(offsetRealExtended[k % imWidth], reference.offsetReExtended);
+                final FloatExp deltaIm = newIm.subtract(offsetImaginaryExtended[k / imWidth],
+                        reference.offsetImExtended);
+                if (plane.pixelIsConstant()) {
+                    dcRe.set(deltaRe);
+                    dcIm.set(deltaIm);
+                } else {
+                    dcRe.set(0.0);
+                    dcIm.set(0.0);
+                }
+                if (plane.pixelIsStartingValue()) {
+                    dRe.set(deltaRe);
+                    dIm.set(deltaIm);
+                } else {
+                    dRe.set(0.0);
+                    dIm.set(0.0);
+                }
+                double zRe = orbit.getReal(0) + dRe.doubleValue();
+                double zIm = orbit.getImaginary(0) + dIm.doubleValue();
+                accumulator.begin(zRe, zIm);
+                glitch[k] = -1.0;
+                int n = 0;
+                while (Math.max(dRe.getExponent(), dIm.getExponent()) < DOUBLE_RANGE_EXPONENT) {
+                    if (n >= maxIter || zRe * zRe + zIm * zIm > radiusSquared) {
+                        image[k] = accumulator.finish();
+                        calculatedIterations += n;
+                        return;
+                    }
+                    if (n + 1 >= orbitLength) {
+                        glitch[k] = 1.0;
+                        image[k] = accumulator.finish();
+                        calculatedIterations += n;
+                        return;
+                    }
+                    final double refRe = orbit.getReal(n);
+                    final double refIm = orbit.getImaginary(n);
+                    // Re: 2(Zr dr - Zi di) + dr^2 - di^2
+                    newRe.multiply(dRe, refRe);
+                    newRe.subtract(newRe, term.multiply(dIm, refIm));
+                    newRe.scalb(newRe, 1);
+                    newRe.add(newRe, term.multiply(dRe, dRe));
+                    newRe.subtract(newRe, term.multiply(dIm, dIm));
+                    // Im: 2(Zr di + Zi dr + dr di)
+                    newIm.multiply(dIm, refRe);
+                    newIm.add(newIm, term.multiply(dRe, refIm));
+                    newIm.add(newIm, term.multiply(dRe, dIm));
+                    newIm.scalb(newIm, 1);
+                    if (conjugate) {
+                        newIm.negate(newIm);
+                    }
+                    dRe.add(newRe, dcRe);
+                    dIm.add(newIm, dcIm);
+                    n++;
+                    final double nextRe = orbit.getReal(n);
+                    final double nextIm = orbit.getImaginary(n);
+                    zRe = nextRe + dRe.doubleValue();
+                    zIm = nextIm + dIm.doubleValue();
+                    accumulator.update(zRe, zIm);
+                    final double zModulusSquared = zRe * zRe + zIm * zIm;
+                    final double refModulusSquared = nextRe * nextRe + nextIm * nextIm;
+                    if (zModulusSquared < GLITCH_TOLERANCE_SQUARED * refModulusSquared) {
+                        glitch[k] = zModulusSquared / refModulusSquared;
+                        image[k] = accumulator.finish();
+                        calculatedIterations += n;
+                        return;
+                    }
+                }
+                calculatedIterations += n;
+                continuePixel(accumulator, k, n, dRe.doubleValue(), dIm.doubleValue(), dcRe.doubleValue(),
+                        dcIm.doubleValue(), zRe, zIm);
+            }
+
+            /**
+             * Continue the iterations of one pixel in double precision from iteration n until the orbit escapes, the
+             * maximum number of iterations is reached, or a glitch is detected, and store the pixel value. The orbit
+             * accumulator should have received the iterates up to z<sub>n</sub>.
+             *
+             * @param accumulator The orbit accumulator of the calling thread.
+             * @param k           The pixel index.
+             * @param start       The iteration number n.
+             * @param deltaRe     Real part of &delta;<sub>n</sub>.
+             * @param deltaIm     Imaginary part of &delta;<sub>n</sub>.
+             * @param dcRe        Real part of &delta;c.
+             * @param dcIm        Imaginary part of &delta;c.
+             * @param zStartRe    Real part of z<sub>n</sub>.
+             * @param zStartIm    Imaginary part of z<sub>n</sub>.
+             */
+            private void continuePixel(final OrbitAccumulator accumulator, final int k, final int start,
+                                       final double deltaRe, final double deltaIm, final double dcRe,
+                                       final double dcIm, final double zStartRe, final double zStartIm) {
+                final ReferenceOrbit orbit = reference.orbit;
+                final int orbitLength = orbit.getLength();
+                double dRe = deltaRe;
+                double dIm = deltaIm;
+                double zRe = zStartRe;
+                double zIm = zStartIm;
+                double tRe;
+                double tIm;
+                int n = start;
+                int linearSkipped = 0;
+                while (n < maxIter && zRe * zRe + zIm * zIm <= radiusSquared) {
+                    if (n + 1 >= orbitLength) {
+                        glitch[k] = 1.0;
+                        break;
+                    }
+                    if (reference.bla != null && (n & BLOCK_MASK) == 0) {
+                        final int level = reference.bla.findLevel(n, Math.hypot(dRe, dIm), maxIter);
+                        if (level >= 0) {
+                            tRe = reference.bla.deltaReal(level, n, dRe, dIm, dcRe, dcIm);
+                            dIm = reference.bla.deltaImaginary(level, n, dRe, dIm, dcRe, dcIm);
+                            dRe = tRe;
+                            final int blockLength = BivariateLinearApproximation.getBlockLength(level);
+                            n += blockLength;
+                            linearSkipped += blockLength - 1;
+                            zRe = orbit.getReal(n) + dRe;
+                            zIm = orbit.getImaginary(n) + dIm;
+                            accumulator.beginAt(n + 1, zRe, zIm);
+                            continue;
+                        }
+                    }
+                    final double refRe = orbit.getReal(n);
+                    final double refIm = orbit.getImaginary(n);
+                    tRe = 2.0 * (refRe * dRe - refIm * dIm) + dRe * dRe - dIm * dIm;
+                    tIm = 2.0 * (refRe * dIm + refIm * dRe + dRe * dIm);
+                    if (conjugate) {
+                        tIm = -tIm;
+                    }
+                    dRe = tRe + dcRe;
+                    dIm = tIm + dcIm;
+                    n++;
+                    final double nextRe = orbit.getReal(n);
+                    final double nextIm = orbit.getImaginary(n);
+                    zRe = nextRe + dRe;
+                    zIm = nextIm + dIm;
+                    accumulator.update(zRe, zIm);
+                    final double zModulusSquared = zRe * zRe + zIm * zIm;
+                    final double refModulusSquared = nextRe * nextRe + nextIm * nextIm;
+                    if (zModulusSquared < GLITCH_TOLERANCE_SQUARED * refModulusSquared) {
+                        glitch[k] = zModulusSquared / refModulusSquared;
+                        break;
+                    }
+                }
+                image[k] = accumulator.finish();
+                calculatedIterations += n - start - linearSkipped;
+                skippedIterations += linearSkipped;
+            }
+        }
+    }
+}
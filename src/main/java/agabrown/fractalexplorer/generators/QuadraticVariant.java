@@ -0,0 +1,192 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.sets.BurningShipSet;
+import agabrown.fractalexplorer.sets.FractalSet;
+import agabrown.fractalexplorer.sets.MandelbrotSet;
+import org.apache.commons.math3.complex.Complex;
+
+import java.util.function.Function;
+
+/**
+ * The quadratic map f(z)=z<sup>2</sup> and its variants that take the absolute values of the components of z, or of
+ * the real part of z<sup>2</sup>, in each iteration: the Burning Ship, Perpendicular Burning Ship, Celtic and Buffalo
+ * fractals. All variants iterate
+ *
+ * <pre>
+ * x' = |x| or x, y' = |y| or y
+ * Re(z<sub>n+1</sub>) = [|x<sup>2</sup>-y<sup>2</sup>| or x<sup>2</sup>-y<sup>2</sup>] + Re(c)
+ * Im(z<sub>n+1</sub>) = &plusmn;2x'y' + Im(c)
+ * </pre>
+ *
+ * <p>
+ * with the combination of absolute values and sign given by the variant. As only absolute values are added to the
+ * arithmetic of the quadratic map, which compile to a single bit operation without branches, the variants are
+ * iterated just as fast as the Mandelbrot set by the {@link EscapeTimeBatchKernel} implementations, including the
+ * SIMD kernel. Each variant also has a {@link ComplexKernel} and the equivalent {@code Function<Complex, Complex>}
+ * for use with the {@link ComplexDynamicsBased} generators.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public enum QuadraticVariant {
+
+    /**
+     * The Mandelbrot set, f(z)=z<sup>2</sup>.
+     */
+    MANDELBROT("Mandelbrot", ComplexKernel.SQUARE, false, false, false, 2.0),
+
+    /**
+     * The Burning Ship fractal, f(z)=(|Re(z)|+i|Im(z)|)<sup>2</sup>.
+     */
+    BURNING_SHIP("Burning Ship", ComplexKernel.BURNING_SHIP, true, true, false, 2.0),
+
+    /**
+     * The Perpendicular Burning Ship fractal, f(z)=(Re(z)-i|Im(z)|)<sup>2</sup>.
+     */
+    PERPENDICULAR_BURNING_SHIP("Perpendicular Burning Ship", ComplexKernel.PERPENDICULAR_BURNING_SHIP, false, true,
+            false, -2.0),
+
+    /**
+     * The Celtic fractal, f(z)=|Re(z<sup>2</sup>)|+i*Im(z<sup>2</sup>).
+     */
+    CELTIC("Celtic", ComplexKernel.CELTIC, false, false, true, 2.0),
+
+    /**
+     * The Buffalo fractal, f(z)=|Re(z<sup>2</sup>)|+i|Im(z<sup>2</sup>)|.
+     */
+    BUFFALO("Buffalo", ComplexKernel.BUFFALO, true, true, true, 2.0);
+
+    private final String name;
+    private final ComplexKernel kernel;
+    private final boolean absoluteReal;
+    private final boolean absoluteImaginary;
+    private final boolean absoluteSquareReal;
+    private final double imaginaryFactor;
+
+    /**
+     * Constructor.
+     *
+     * @param name               The name of the fractal.
+     * @param kernel             The primitive kernel of f(z).
+     * @param absoluteReal       If true the absolute value of Re(z) is used in Im(z<sup>2</sup>).
+     * @param absoluteImaginary  If true the absolute value of Im(z) is used in Im(z<sup>2</sup>).
+     * @param absoluteSquareReal If true the absolute value of Re(z<sup>2</sup>) is used.
+     * @param imaginaryFactor    Factor 2 or -2 in Im(z<sup>2</sup>).
+     */
+    QuadraticVariant(final String name, final ComplexKernel kernel, final boolean absoluteReal,
+                     final boolean absoluteImaginary, final boolean absoluteSquareReal,
+                     final double imaginaryFactor) {
+        this.name = name;
+        this.kernel = kernel;
+        this.absoluteReal = absoluteReal;
+        this.absoluteImaginary = absoluteImaginary;
+        this.absoluteSquareReal = absoluteSquareReal;
+        this.imaginaryFactor = imaginaryFactor;
+    }
+
+    /**
+     * Find the variant that a primitive kernel belongs to.
+     *
+     * @param kernel The kernel (can be null).
+     * @return The variant, or null if the kernel is not one of the quadratic variants.
+     */
+    public static QuadraticVariant of(final ComplexKernel kernel) {
+        for (final QuadraticVariant variant : values()) {
+            if (variant.kernel == kernel) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtain the name of the fractal.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Obtain the primitive kernel of f(z).
+     *
+     * @return The kernel.
+     */
+    public ComplexKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * Obtain the generating function f(z) for iterations with {@link Complex} objects. The operations are carried out
+     * in the same order as in the kernel.
+     *
+     * @return The function.
+     */
+    public Function<Complex, Complex> getFunction() {
+        return z -> {
+            final double x = absoluteReal ? Math.abs(z.getReal()) : z.getReal();
+            double y = absoluteImaginary ? Math.abs(z.getImaginary()) : z.getImaginary();
+            if (imaginaryFactor < 0.0) {
+                y = -y;
+            }
+            final Complex w = Complex.valueOf(x, y);
+            final Complex square = w.multiply(w);
+            if (!absoluteSquareReal) {
+                return square;
+            }
+            return Complex.valueOf(Math.abs(square.getReal()), square.getImaginary());
+        };
+    }
+
+    /**
+     * Create the {@link FractalSet} of this variant, which is a {@link MandelbrotSet} for {@link #MANDELBROT} and a
+     * {@link BurningShipSet} with the absolute values of this variant otherwise.
+     *
+     * @return The fractal set.
+     */
+    public FractalSet getFractalSet() {
+        if (this == MANDELBROT) {
+            return new MandelbrotSet();
+        }
+        return new BurningShipSet(name, absoluteReal, absoluteImaginary, absoluteSquareReal, imaginaryFactor);
+    }
+
+    /**
+     * Check whether the absolute value of Re(z) is used in the calculation of Im(z<sup>2</sup>).
+     *
+     * @return True if |Re(z)| is used.
+     */
+    public boolean isAbsoluteReal() {
+        return absoluteReal;
+    }
+
+    /**
+     * Check whether the absolute value of Im(z) is used in the calculation of Im(z<sup>2</sup>).
+     *
+     * @return True if |Im(z)| is used.
+     */
+    public boolean isAbsoluteImaginary() {
+        return absoluteImaginary;
+    }
+
+    /**
+     * Check whether the absolute value of Re(z<sup>2</sup>) is used.
+     *
+     * @return True if |Re(z<sup>2</sup>)| is used.
+     */
+    public boolean isAbsoluteSquareReal() {
+        return absoluteSquareReal;
+    }
+
+    /**
+     * Obtain the factor 2 or -2 of the product x'y' in Im(z<sup>2</sup>), taking into account whether conjugate(z)
+     * is iterated. Conjugation changes the sign of Im(z), which only matters if its absolute value is not taken.
+     *
+     * @param conjugate True if f(conjugate(z)) is iterated.
+     * @return The factor.
+     */
+    public double imaginaryFactor(final boolean conjugate) {
+        return conjugate && !absoluteImaginary ? -imaginaryFactor : imaginaryFactor;
+    }
+}
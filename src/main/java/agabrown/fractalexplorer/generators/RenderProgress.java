@@ -0,0 +1,217 @@
+package agabrown.fractalexplorer.generators;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the progress of the calculation of a fractal image. The number of completed pixels is updated by
+ * the rendering threads without locking, while any other thread (for example the one driving a progress bar) can
+ * read the progress at any time.
+ *
+ * <p>
+ * Renderers that infer pixel values from neighbouring pixels complete more pixels than they actually calculate with
+ * the fractal generator. The number of pixels for which the generator was called is tracked separately.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class RenderProgress {
+
+    /**
+     * Number of pixels for which the calculation is complete.
+     */
+    private final AtomicLong completedPixels = new AtomicLong();
+
+    /**
+     * Number of pixels for which the value was calculated with the fractal generator.
+     */
+    private final AtomicLong iteratedPixels = new AtomicLong();
+
+    /**
+     * Number of high-precision reference orbits calculated (for perturbation based renderers).
+     */
+    private final AtomicInteger referenceOrbits = new AtomicInteger();
+
+    /**
+     * Number of iterations carried out (for renderers that do the iterations themselves).
+     */
+    private final AtomicLong calculatedIterations = new AtomicLong();
+
+    /**
+     * Number of iterations skipped by approximating the first part of the orbits.
+     */
+    private final AtomicLong skippedIterations = new AtomicLong();
+
+    /**
+     * Total number of pixels to calculate.
+     */
+    private volatile long totalPixels;
+
+    /**
+     * True if the image was recalculated in double precision after a lower precision failed verification.
+     */
+    private volatile boolean precisionFallback;
+
+    /**
+     * Reset the progress to zero completed pixels.
+     *
+     * @param total The total number of pixels in the image to be calculated.
+     */
+    void reset(final long total) {
+        totalPixels = total;
+        completedPixels.set(0L);
+        iteratedPixels.set(0L);
+        referenceOrbits.set(0);
+        calculatedIterations.set(0L);
+        skippedIterations.set(0L);
+        precisionFallback = false;
+    }
+
+    /**
+     * Add to the number of completed pixels.
+     *
+     * @param n The number of pixels for which the calculation was just completed.
+     */
+    void addCompletedPixels(final long n) {
+        completedPixels.addAndGet(n);
+    }
+
+    /**
+     * Add to the number of pixels for which the value was calculated with the fractal generator.
+     *
+     * @param n The number of pixels for which the generator was just called.
+     */
+    void addIteratedPixels(final long n) {
+        iteratedPixels.addAndGet(n);
+    }
+
+    /**
+     * Count a newly calculated high-precision reference orbit.
+     */
+    void addReferenceOrbit() {
+        referenceOrbits.incrementAndGet();
+    }
+
+    /**
+     * Add to the numbers of calculated and skipped iterations.
+     *
+     * @param calculated The number of iterations carried out.
+     * @param skipped    The number of iterations skipped.
+     */
+    void addIterations(final long calculated, final long skipped) {
+        calculatedIterations.addAndGet(calculated);
+        skippedIterations.addAndGet(skipped);
+    }
+
+    /**
+     * Record that the image was recalculated in double precision because a lower precision failed verification.
+     */
+    void setPrecisionFallback() {
+        precisionFallback = true;
+    }
+
+    /**
+     * Obtain the number of pixels for which the calculation is complete.
+     *
+     * @return Number of completed pixels.
+     */
+    public long getCompletedPixels() {
+        return completedPixels.get();
+    }
+
+    /**
+     * Obtain the total number of pixels to be calculated.
+     *
+     * @return Total number of pixels.
+     */
+    public long getTotalPixels() {
+        return totalPixels;
+    }
+
+    /**
+     * Obtain the progress as a percentage, suitable for feeding into a progress bar.
+     *
+     * @return The percentage (0 to 100) of pixels completed.
+     */
+    public int getPercentage() {
+        final long total = totalPixels;
+        if (total <= 0L) {
+            return 0;
+        }
+        return (int) Math.round((double) completedPixels.get() / total * 100.0);
+    }
+
+    /**
+     * Obtain the number of pixels for which the value was calculated with the fractal generator.
+     *
+     * @return Number of iterated pixels.
+     */
+    public long getIteratedPixels() {
+        return iteratedPixels.get();
+    }
+
+    /**
+     * Obtain the fraction of the pixels in the image for which the value was calculated with the fractal generator.
+     *
+     * @return The fraction of iterated pixels (0 to 1, unless pixels were calculated more than once).
+     */
+    public double getIteratedFraction() {
+        final long total = totalPixels;
+        if (total <= 0L) {
+            return 0.0;
+        }
+        return (double) iteratedPixels.get() / total;
+    }
+
+    /**
+     * Obtain the number of high-precision reference orbits calculated.
+     *
+     * @return Number of reference orbits (zero for renderers that do not use them).
+     */
+    public int getNumberOfReferenceOrbits() {
+        return referenceOrbits.get();
+    }
+
+    /**
+     * Obtain the number of iterations carried out.
+     *
+     * @return Number of iterations (zero for renderers that leave the iterations to the fractal generator).
+     */
+    public long getCalculatedIterations() {
+        return calculatedIterations.get();
+    }
+
+    /**
+     * Obtain the number of iterations skipped by approximating the first part of the orbits.
+     *
+     * @return Number of skipped iterations.
+     */
+    public long getSkippedIterations() {
+        return skippedIterations.get();
+    }
+
+    /**
+     * Obtain the speed-up from skipping iterations, as the ratio of the number of iterations that would have been
+     * needed without skipping to the number of iterations carried out.
+     *
+     * @return The speed-up factor (one if no iterations were skipped).
+     */
+    public double getIterationSpeedup() {
+        final long calculated = calculatedIterations.get();
+        final long skipped = skippedIterations.get();
+        if (skipped == 0L) {
+            return 1.0;
+        }
+        return (double) (calculated + skipped) / Math.max(calculated, 1L);
+    }
+
+    /**
+     * Check whether the image was recalculated in double precision because the values calculated in a lower precision
+     * disagreed with double precision values on a sample of pixels.
+     *
+     * @return True if the renderer fell back to double precision.
+     */
+    public boolean isPrecisionFallback() {
+        return precisionFallback;
+    }
+}
@@ -0,0 +1,49 @@
+package agabrown.fractalexplorer.generators;
+
+/**
+ * Straightforward implementation of {@link EscapeTimeBatchKernel} that iterates the points one after the other.
+ *
+ * @author agabrown Oct 2026
+ */
+public final class ScalarEscapeTimeKernel implements EscapeTimeBatchKernel {
+
+    /**
+     * Name of this kernel.
+     */
+    private static final String NAME = "scalar";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void iterate(final double[] zRe, final double[] zIm, final double[] cRe, final double[] cIm,
+                        final int[] iterations, final int from, final int to, final QuadraticVariant variant,
+                        final boolean conjugate, final int maxIter, final double radiusSquared) {
+        final double sign = variant.imaginaryFactor(conjugate);
+        final boolean absRe = variant.isAbsoluteReal();
+        final boolean absIm = variant.isAbsoluteImaginary();
+        final boolean absSquareRe = variant.isAbsoluteSquareReal();
+        for (int k = from; k < to; k++) {
+            double re = zRe[k];
+            double im = zIm[k];
+            final double pRe = cRe[k];
+            final double pIm = cIm[k];
+            int n = 0;
+            while (n < maxIter) {
+                final double reSquared = re * re;
+                final double imSquared = im * im;
+                if (reSquared + imSquared > radiusSquared) {
+                    break;
+                }
+                im = sign * (absRe ? Math.abs(re) : re) * (absIm ? Math.abs(im) : im) + pIm;
+                re = (absSquareRe ? Math.abs(reSquared - imSquared) : reSquared - imSquared) + pRe;
+                n++;
+            }
+            zRe[k] = re;
+            zIm[k] = im;
+            iterations[k] = n;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates fractal images with the Mariani&ndash;Silver rectangle subdivision algorithm. The pixel values are first
+ * calculated along the border of the image. A rectangle whose border pixels all have the same value is filled with
+ * that value without calculating its interior. Otherwise the rectangle is split in two by calculating a line of pixels
+ * across it, and the two halves are treated in the same way (in parallel on a {@link ForkJoinPool}). Small rectangles
+ * are calculated pixel by pixel. Parts of the image that are related by symmetry to other parts are copied instead of
+ * subdivided (see {@link FractalGenerator#getSymmetry()}).
+ *
+ * <p>
+ * The filling is exact for fractals whose sets of equal pixel value are connected, like the escape time images of the
+ * Mandelbrot set. For other fractals or colouring algorithms small features inside a rectangle with a uniform border
+ * may be missed. Colouring algorithms that produce continuous pixel values rarely lead to uniform borders, in which
+ * case all pixels end up being calculated.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class SubdivisionImageRenderer implements ImageRenderer {
+
+    /**
+     * Rectangles of which the interior is this number of pixels or less wide (or high) are calculated pixel by pixel.
+     */
+    public static final int MINIMUM_REGION_SIZE = 8;
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Subdivision";
+
+    /**
+     * The pool of threads used for the calculations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor. Creates a renderer which uses the common fork/join pool (and thus all available processors).
+     */
+    public SubdivisionImageRenderer() {
+        pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Constructor. Creates a renderer with its own pool of threads.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public SubdivisionImageRenderer(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        final int imWidth = cpv.getSizeRealPixels();
+        final int imHeight = cpv.getSizeImaginaryPixels();
+        final double[] image = new double[imWidth * imHeight];
+        progress.reset((long) imWidth * imHeight);
+        final SymmetryPlan plan = new SymmetryPlan(generator.getSymmetry(), cpv);
+        final List<RegionTask> roots = new ArrayList<>(plan.getRegions().size());
+        for (final int[] region : plan.getRegions()) {
+            roots.add(new RegionTask(generator, cpv, image, progress, region[0], region[1], region[2] - 1,
+                    region[3] - 1));
+        }
+        return pool.submit(ForkJoinTask.adapt(() -> {
+            for (final RegionTask root : roots) {
+                root.computeBorder();
+            }
+            ForkJoinTask.invokeAll(roots);
+            plan.mirror(image);
+            progress.addCompletedPixels(plan.getNumberOfMirroredPixels());
+        }, image));
+    }
+
+    /**
+     * The fork/join task that fills in the interior of a rectangle for which the pixel values along the border have
+     * already been calculated.
+     */
+    private static final class RegionTask extends RecursiveAction {
+
+        /**
+         * Required for serializable classes.
+         */
+        private static final long serialVersionUID = -4511358240573367251L;
+
+        private final FractalGenerator generator;
+        private final ComplexPlaneView cpv;
+        private final double[] image;
+        private final RenderProgress progress;
+        private final int imWidth;
+        private final int iMin;
+        private final int jMin;
+        private final int iMax;
+        private final int jMax;
+
+        /**
+         * Constructor.
+         *
+         * @param generator The fractal generator to use.
+         * @param cpv       The complex plane view for which to calculate the image.
+         * @param image     The image array to fill.
+         * @param progress  Keeps track of the progress of the calculation.
+         * @param iMin      First pixel along real axis (inclusive, on the border).
+         * @param jMin      First pixel along imaginary axis (inclusive, on the border).
+         * @param iMax      Last pixel along real axis (inclusive, on the border).
+         * @param jMax      Last pixel along imaginary axis (inclusive, on the border).
+         */
+        RegionTask(final FractalGenerator generator, final ComplexPlaneView cpv, final double[] image,
+                   final RenderProgress progress, final int iMin, final int jMin, final int iMax, final int jMax) {
+            this.generator = generator;
+            this.cpv = cpv;
+            this.image = image;
+            this.progress = progress;
+            this.imWidth = cpv.getSizeRealPixels();
+            this.iMin = iMin;
+            this.jMin = jMin;
+            this.iMax = iMax;
+            this.jMax = jMax;
+        }
+
+        @Override
+        protected void compute() {
+            final int interiorWidth = iMax - iMin - 1;
+            final int interiorHeight = jMax - jMin - 1;
+            if (interiorWidth <= 0 || interiorHeight <= 0) {
+                return;
+            }
+            final double borderValue = image[jMin * imWidth + iMin];
+            if (isBorderUniform(borderValue)) {
+                for (int j = jMin + 1; j < jMax; j++) {
+                    Arrays.fill(image, j * imWidth + iMin + 1, j * imWidth + iMax, borderValue);
+                }
+                progress.addCompletedPixels((long) interiorWidth * interiorHeight);
+                return;
+            }
+            if (interiorWidth <= MINIMUM_REGION_SIZE || interiorHeight <= MINIMUM_REGION_SIZE) {
+                for (int j = jMin + 1; j < jMax; j++) {
+                    computeRow(j, iMin + 1, iMax - 1);
+                }
+                return;
+            }
+            final RegionTask first;
+            final RegionTask second;
+            if (interiorWidth >= interiorHeight) {
+                final int iMid = (iMin + iMax) >>> 1;
+                computeColumn(iMid, jMin + 1, jMax - 1);
+                first = new RegionTask(generator, cpv, image, progress, iMin, jMin, iMid, jMax);
+                second = new RegionTask(generator, cpv, image, progress, iMid, jMin, iMax, jMax);
+            } else {
+                final int jMid = (jMin + jMax) >>> 1;
+                computeRow(jMid, iMin + 1, iMax - 1);
+                first = new RegionTask(generator, cpv, image, progress, iMin, jMin, iMax, jMid);
+                second = new RegionTask(generator, cpv, image, progress, iMin, jMid, iMax, jMax);
+            }
+            invokeAll(first, second);
+        }
+
+        /**
+         * Calculate the pixel values along the border of the rectangle.
+         */
+        void computeBorder() {
+            computeRow(jMin, iMin, iMax);
+            if (jMax > jMin) {
+                computeRow(jMax, iMin, iMax);
+            }
+            if (jMax - jMin > 1) {
+                computeColumn(iMin, jMin + 1, jMax - 1);
+                if (iMax > iMin) {
+                    computeColumn(iMax, jMin + 1, jMax - 1);
+                }
+            }
+        }
+
+        /**
+         * Check whether all pixels along the border of the rectangle have the given value.
+         *
+         * @param value The value to compare to.
+         * @return True if all border pixels have the given value.
+         */
+        private boolean isBorderUniform(final double value) {
+            final int rowMin = jMin * imWidth;
+            final int rowMax = jMax * imWidth;
+            for (int i = iMin; i <= iMax; i++) {
+                if (image[rowMin + i] != value || image[rowMax + i] != value) {
+                    return false;
+                }
+            }
+            for (int j = jMin + 1; j < jMax; j++) {
+                if (image[j * imWidth + iMin] != value || image[j * imWidth + iMax] != value) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Calculate the pixel values for part of a row of the image.
+         *
+         * @param j     The row index.
+         * @param first First pixel along real axis (inclusive).
+         * @param last  Last pixel along real axis (inclusive).
+         */
+        private void computeRow(final int j, final int first, final int last) {
+            final double y = cpv.getValueAtImaginaryPixel(j);
+            final int rowOffset = j * imWidth;
+            for (int i = first; i <= last; i++) {
+                image[rowOffset + i] = generator.generatePixelValue(cpv.getValueAtRealPixel(i), y);
+            }
+            addCalculatedPixels(last - first + 1);
+        }
+
+        /**
+         * Calculate the pixel values for part of a column of the image.
+         *
+         * @param i     The column index.
+         * @param first First pixel along imaginary axis (inclusive).
+         * @param last  Last pixel along imaginary axis (inclusive).
+         */
+        private void computeColumn(final int i, final int first, final int last) {
+            final double x = cpv.getValueAtRealPixel(i);
+            for (int j = first; j <= last; j++) {
+                image[j * imWidth + i] = generator.generatePixelValue(x, cpv.getValueAtImaginaryPixel(j));
+            }
+            addCalculatedPixels(last - first + 1);
+        }
+
+        /**
+         * Update the progress for pixels calculated with the fractal generator.
+         *
+         * @param n The number of pixels calculated.
+         */
+        private void addCalculatedPixels(final int n) {
+            if (n > 0) {
+                progress.addIteratedPixels(n);
+                progress.addCompletedPixels(n);
+            }
+        }
+    }
+}
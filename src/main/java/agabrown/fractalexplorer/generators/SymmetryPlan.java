@@ -0,0 +1,207 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Works out which part of a fractal image has to be calculated and which part can be copied, given the symmetry of
+ * the fractal and the complex plane view. The pixels are only copied if the reflection of the pixel grid falls onto
+ * the pixel grid itself and the coordinates of each pair of reflected pixels are exactly opposite in sign, so that the
+ * copied pixel values are identical to the calculated ones. This is always the case for views centred on the
+ * symmetry axis or centre (see {@link ComplexPlaneView#getValueAtImaginaryPixel(int)}), and can be the case for views
+ * that straddle it off-centre.
+ *
+ * <p>
+ * For reflection about the real axis the rows of the image fall into a block that is calculated and a block of rows
+ * that are copied from their mirror images. For reflection about the origin the same split is made along the
+ * imaginary axis, and the pixels in the copied rows whose mirror image is outside the image are calculated as well.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+final class SymmetryPlan {
+
+    /**
+     * Maximum offset (in pixels) of the reflected pixel grid with respect to the pixel grid itself.
+     */
+    private static final double ALIGNMENT_TOLERANCE = 1.0e-6;
+
+    /**
+     * Width of the image in pixels.
+     */
+    private final int imWidth;
+
+    /**
+     * The rectangles of the image that should be calculated, as {iMin, jMin, iMax, jMax} (maxima exclusive).
+     */
+    private final List<int[]> regions = new ArrayList<>(2);
+
+    /**
+     * First and last (inclusive) row of the block of rows that is copied (empty if first &gt; last).
+     */
+    private int mirrorRowFirst = 0;
+    private int mirrorRowLast = -1;
+
+    /**
+     * First and last (inclusive) column in the copied rows that is copied.
+     */
+    private int mirrorColumnFirst;
+    private int mirrorColumnLast;
+
+    /**
+     * Row j is the mirror image of row rowSum-j (and column i of column columnSum-i).
+     */
+    private int rowSum;
+    private int columnSum;
+
+    /**
+     * If true the columns are reflected as well as the rows.
+     */
+    private boolean reflectColumns;
+
+    /**
+     * Constructor.
+     *
+     * @param symmetry The symmetry of the fractal.
+     * @param cpv      The complex plane view for which the image is calculated.
+     */
+    SymmetryPlan(final FractalSymmetry symmetry, final ComplexPlaneView cpv) {
+        imWidth = cpv.getSizeRealPixels();
+        final int imHeight = cpv.getSizeImaginaryPixels();
+        if (symmetry == FractalSymmetry.NONE || !planRows(cpv, imHeight)
+                || (symmetry == FractalSymmetry.POINT && !planColumns(cpv))) {
+            mirrorRowFirst = 0;
+            mirrorRowLast = -1;
+            regions.clear();
+            regions.add(new int[]{0, 0, imWidth, imHeight});
+            return;
+        }
+        reflectColumns = symmetry == FractalSymmetry.POINT;
+        if (mirrorRowFirst == 0) {
+            regions.add(new int[]{0, mirrorRowLast + 1, imWidth, imHeight});
+        } else {
+            regions.add(new int[]{0, 0, imWidth, mirrorRowFirst});
+        }
+        if (!reflectColumns) {
+            mirrorColumnFirst = 0;
+            mirrorColumnLast = imWidth - 1;
+        } else if (mirrorColumnFirst > 0) {
+            regions.add(new int[]{0, mirrorRowFirst, mirrorColumnFirst, mirrorRowLast + 1});
+        } else if (mirrorColumnLast < imWidth - 1) {
+            regions.add(new int[]{mirrorColumnLast + 1, mirrorRowFirst, imWidth, mirrorRowLast + 1});
+        }
+    }
+
+    /**
+     * Find the block of rows that can be copied from their reflections about the real axis.
+     *
+     * @param cpv      The complex plane view.
+     * @param imHeight Height of the image in pixels.
+     * @return False if the view does not straddle the real axis on a pixel-aligned grid.
+     */
+    private boolean planRows(final ComplexPlaneView cpv, final int imHeight) {
+        // Im(j) = Im(H-1) + (H-1-j)*delta, so -Im(j) = Im(rowSum-j) for rowSum = 2(H-1) + 2*Im(H-1)/delta.
+        final double sum = 2.0 * (imHeight - 1) + 2.0 * cpv.getValueAtImaginaryPixel(imHeight - 1)
+                / cpv.getPixelSizeImaginary();
+        if (!isAligned(sum)) {
+            return false;
+        }
+        rowSum = (int) Math.round(sum);
+        if (rowSum < 1 || rowSum > 2 * imHeight - 3) {
+            return false;
+        }
+        if (rowSum <= imHeight - 1) {
+            mirrorRowFirst = 0;
+            mirrorRowLast = (rowSum + 1) / 2 - 1;
+        } else {
+            mirrorRowFirst = rowSum / 2 + 1;
+            mirrorRowLast = imHeight - 1;
+        }
+        for (int j = mirrorRowFirst; j <= mirrorRowLast; j++) {
+            if (cpv.getValueAtImaginaryPixel(rowSum - j) != -cpv.getValueAtImaginaryPixel(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the block of columns that can be copied from their reflections about the imaginary axis.
+     *
+     * @param cpv The complex plane view.
+     * @return False if the view does not straddle the imaginary axis on a pixel-aligned grid.
+     */
+    private boolean planColumns(final ComplexPlaneView cpv) {
+        // Re(i) = Re(0) + i*delta, so -Re(i) = Re(columnSum-i) for columnSum = -2*Re(0)/delta.
+        final double sum = -2.0 * cpv.getValueAtRealPixel(0) / cpv.getPixelSizeReal();
+        if (!isAligned(sum)) {
+            return false;
+        }
+        columnSum = (int) Math.round(sum);
+        if (columnSum < 0 || columnSum > 2 * (imWidth - 1)) {
+            return false;
+        }
+        mirrorColumnFirst = Math.max(0, columnSum - imWidth + 1);
+        mirrorColumnLast = Math.min(imWidth - 1, columnSum);
+        for (int i = mirrorColumnFirst; i <= mirrorColumnLast; i++) {
+            if (cpv.getValueAtRealPixel(columnSum - i) != -cpv.getValueAtRealPixel(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a (reflected) pixel coordinate is a whole number to within the alignment tolerance.
+     *
+     * @param coordinate The pixel coordinate.
+     * @return True if the coordinate is aligned with the pixel grid.
+     */
+    private static boolean isAligned(final double coordinate) {
+        return Math.abs(coordinate - Math.rint(coordinate)) <= ALIGNMENT_TOLERANCE
+                && Math.abs(coordinate) < Integer.MAX_VALUE / 2;
+    }
+
+    /**
+     * Obtain the rectangles of the image for which the pixel values should be calculated.
+     *
+     * @return List of rectangles as {iMin, jMin, iMax, jMax}, with the maxima exclusive.
+     */
+    List<int[]> getRegions() {
+        return regions;
+    }
+
+    /**
+     * Obtain the number of pixels that are copied rather than calculated.
+     *
+     * @return The number of copied pixels.
+     */
+    long getNumberOfMirroredPixels() {
+        if (mirrorRowLast < mirrorRowFirst) {
+            return 0L;
+        }
+        return (long) (mirrorRowLast - mirrorRowFirst + 1) * (mirrorColumnLast - mirrorColumnFirst + 1);
+    }
+
+    /**
+     * Copy the calculated pixel values to the pixels related to them by symmetry. To be called after the pixel values
+     * in all regions have been calculated.
+     *
+     * @param image The image array.
+     */
+    void mirror(final double[] image) {
+        for (int j = mirrorRowFirst; j <= mirrorRowLast; j++) {
+            final int rowOffset = j * imWidth;
+            final int sourceOffset = (rowSum - j) * imWidth;
+            if (reflectColumns) {
+                for (int i = mirrorColumnFirst; i <= mirrorColumnLast; i++) {
+                    image[rowOffset + i] = image[sourceOffset + columnSum - i];
+                }
+            } else {
+                System.arraycopy(image, sourceOffset, image, rowOffset, imWidth);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Calculates fractal images in parallel. The complex plane view is recursively split into rectangular tiles which are
+ * handed to the threads of a {@link ForkJoinPool}. Each tile writes its pixel values directly into the shared image
+ * array, so no merging of results is needed. Only the part of the image that is not related by symmetry to another
+ * part is calculated (see {@link FractalGenerator#getSymmetry()}), the rest is copied.
+ *
+ * @author agabrown Oct 2026
+ */
+public final class TiledImageRenderer implements ImageRenderer {
+
+    /**
+     * Default size of the (square) tiles in pixels.
+     */
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    /**
+     * Name of this renderer.
+     */
+    private static final String NAME = "Tiled";
+
+    /**
+     * The pool of threads used for the calculations.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The maximum size of the tiles along each image axis.
+     */
+    private final int tileSize;
+
+    /**
+     * Constructor. Creates a renderer which uses the common fork/join pool (and thus all available processors).
+     */
+    public TiledImageRenderer() {
+        pool = ForkJoinPool.commonPool();
+        tileSize = DEFAULT_TILE_SIZE;
+    }
+
+    /**
+     * Constructor. Creates a renderer with its own pool of threads.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @throws IllegalArgumentException If the parallelism level is less than 1.
+     */
+    public TiledImageRenderer(final int parallelism) {
+        this(parallelism, DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Constructor. Creates a renderer with its own pool of threads and the specified tile size.
+     *
+     * @param parallelism The number of threads to use for the calculations.
+     * @param tile        The maximum size of the tiles along each image axis.
+     * @throws IllegalArgumentException If the parallelism level or tile size is less than 1.
+     */
+    public TiledImageRenderer(final int parallelism, final int tile) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+        if (tile < 1) {
+            throw new IllegalArgumentException("Tile size should be at least one pixel.");
+        }
+        pool = new ForkJoinPool(parallelism);
+        tileSize = tile;
+    }
+
+    /**
+     * Obtain the number of threads used by this renderer.
+     *
+     * @return The parallelism level.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ForkJoinTask<double[]> submit(final FractalGenerator generator, final ComplexPlaneView cpv,
+                                         final RenderProgress progress) {
+        final int imWidth = cpv.getSizeRealPixels();
+        final int imHeight = cpv.getSizeImaginaryPixels();
+        final double[] image = new double[imWidth * imHeight];
+        progress.reset((long) imWidth * imHeight);
+        final SymmetryPlan plan = new SymmetryPlan(generator.getSymmetry(), cpv);
+        final List<TileTask> roots = new ArrayList<>(plan.getRegions().size());
+        for (final int[] region : plan.getRegions()) {
+            roots.add(new TileTask(generator, cpv, image, progress, region[0], region[1], region[2], region[3]));
+        }
+        return pool.submit(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(roots);
+            plan.mirror(image);
+            progress.addCompletedPixels(plan.getNumberOfMirroredPixels());
+        }, image));
+    }
+
+    /**
+     * The fork/join task that calculates the pixel values for a rectangular part of the image, splitting it further
+     * if it is larger than the tile size.
+     */
+    private final class TileTask extends RecursiveAction {
+
+        /**
+         * Required for serializable classes.
+         */
+        private static final long serialVersionUID = 2615433480178453652L;
+
+        private final FractalGenerator generator;
+        private final ComplexPlaneView cpv;
+        private final double[] image;
+        private final RenderProgress progress;
+        private final int iMin;
+        private final int jMin;
+        private final int iMax;
+        private final int jMax;
+
+        /**
+         * Constructor.
+         *
+         * @param generator The fractal generator to use.
+         * @param cpv       The complex plane view for which to calculate the image.
+         * @param image     The image array to fill.
+         * @param progress  Keeps track of the progress of the calculation.
+         * @param iMin      First pixel along real axis (inclusive).
+         * @param jMin      First pixel along imaginary axis (inclusive).
+         * @param iMax      Last pixel along real axis (exclusive).
+         * @param jMax      Last pixel along imaginary axis (exclusive).
+         */
+        TileTask(final FractalGenerator generator, final ComplexPlaneView cpv, final double[] image,
+                 final RenderProgress progress, final int iMin, final int jMin,
+                 final int iMax, final int jMax) {
+            this.generator = generator;
+            this.cpv = cpv;
+            this.image = image;
+            this.progress = progress;
+            this.iMin = iMin;
+            this.jMin = jMin;
+            this.iMax = iMax;
+            this.jMax = jMax;
+        }
+
+        @Override
+        protected void compute() {
+            final int width = iMax - iMin;
+            final int height = jMax - jMin;
+            if (width <= tileSize && height <= tileSize) {
+                computeTile();
+                return;
+            }
+            final TileTask first;
+            final TileTask second;
+            if (width >= height) {
+                final int iMid = iMin + width / 2;
+                first = new TileTask(generator, cpv, image, progress, iMin, jMin, iMid, jMax);
+                second = new TileTask(generator, cpv, image, progress, iMid, jMin, iMax, jMax);
+            } else {
+                final int jMid = jMin + height / 2;
+                first = new TileTask(generator, cpv, image, progress, iMin, jMin, iMax, jMid);
+                second = new TileTask(generator, cpv, image, progress, iMin, jMid, iMax, jMax);
+            }
+            invokeAll(first, second);
+        }
+
+        /**
+         * Calculate the pixel values for the tile.
+         */
+        private void computeTile() {
+            final int imWidth = cpv.getSizeRealPixels();
+            for (int j = jMin; j < jMax; j++) {
+                final double y = cpv.getValueAtImaginaryPixel(j);
+                final int rowOffset = j * imWidth;
+                for (int i = iMin; i < iMax; i++) {
+                    image[rowOffset + i] = generator.generatePixelValue(cpv.getValueAtRealPixel(i), y);
+                }
+            }
+            final long numberOfPixels = (long) (iMax - iMin) * (jMax - jMin);
+            progress.addIteratedPixels(numberOfPixels);
+            progress.addCompletedPixels(numberOfPixels);
+        }
+    }
+}
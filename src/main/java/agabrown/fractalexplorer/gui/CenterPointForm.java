@@ -1,6 +1,7 @@
 package agabrown.fractalexplorer.gui;
 
 import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.util.FloatExp;
 
 import javax.swing.*;
 import java.awt.Container;
@@ -9,10 +10,12 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.math.BigDecimal;
 
 /**
  * Provides the simple form that is used to enter the point that the Fractal
- * explorer should be centred on.
+ * explorer should be centred on. The coordinates of the point are read in
+ * arbitrary precision.
  *
  * @author agabrown Jul 2012 - Sep 2021
  */
@@ -95,17 +98,17 @@ public final class CenterPointForm implements ActionListener {
 
         final Box realPart = new Box(BoxLayout.X_AXIS);
         realPart.add(new JLabel("Re: "));
-        realPartText = new JTextField(Double.toString(cpvData.getCentreReal()), 20);
+        realPartText = new JTextField(cpvData.getExactCentreReal().toString(), 20);
         realPart.add(realPartText);
 
         final Box imaginaryPart = new Box(BoxLayout.X_AXIS);
         imaginaryPart.add(new JLabel("Im: "));
-        imagPartText = new JTextField(Double.toString(cpvData.getCentreImaginary()), 20);
+        imagPartText = new JTextField(cpvData.getExactCentreImaginary().toString(), 20);
         imaginaryPart.add(imagPartText);
 
         final Box zoom = new Box(BoxLayout.X_AXIS);
         zoom.add(new JLabel("Zoom: "));
-        zoomText = new JTextField(Double.toString(cpvData.getZoomFactor()), 20);
+        zoomText = new JTextField(cpvData.getZoomFactorExtended().toString(), 20);
         zoom.add(zoomText);
 
         textFieldsBox.add(realPart);
@@ -151,9 +154,9 @@ public final class CenterPointForm implements ActionListener {
      */
     private boolean readFields() {
         try {
-            final double x = Double.parseDouble(realPartText.getText().trim());
-            final double y = Double.parseDouble(imagPartText.getText().trim());
-            final double z = Double.parseDouble(zoomText.getText().trim());
+            final BigDecimal x = new BigDecimal(realPartText.getText().trim());
+            final BigDecimal y = new BigDecimal(imagPartText.getText().trim());
+            final FloatExp z = FloatExp.valueOf(new BigDecimal(zoomText.getText().trim()));
             cpvData.setCentre(x, y);
             cpvData.setZoomFactor(z);
             return true;
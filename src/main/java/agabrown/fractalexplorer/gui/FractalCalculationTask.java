@@ -2,7 +2,9 @@ package agabrown.fractalexplorer.gui;
 
 import agabrown.fractalexplorer.dm.ComplexPlaneView;
 import agabrown.fractalexplorer.generators.FractalGenerator;
-import org.apache.commons.math3.complex.Complex;
+import agabrown.fractalexplorer.generators.ImageRenderer;
+import agabrown.fractalexplorer.generators.RenderProgress;
+import agabrown.fractalexplorer.generators.TiledImageRenderer;
 
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -11,6 +13,9 @@ import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * This class facilitates doing the fractal calculations in a background thread. The class should be used together with
@@ -37,6 +42,11 @@ import java.util.concurrent.ExecutionException;
  */
 public final class FractalCalculationTask implements PropertyChangeListener {
 
+    /**
+     * Interval in milliseconds at which the progress of the calculation is reported.
+     */
+    private static final long PROGRESS_INTERVAL_MILLIS = 100L;
+
     /**
      * Holds the reference to the FractalGenerator instance that calculates the fractal.
      */
@@ -47,6 +57,16 @@ public final class FractalCalculationTask implements PropertyChangeListener {
      */
     private final ComplexPlaneView theCpv;
 
+    /**
+     * Holds the renderer that calculates the fractal image.
+     */
+    private final ImageRenderer renderer;
+
+    /**
+     * Keeps track of the progress of the calculation.
+     */
+    private final RenderProgress renderProgress = new RenderProgress();
+
     /**
      * Holds progress bar.
      */
@@ -76,10 +96,25 @@ public final class FractalCalculationTask implements PropertyChangeListener {
      */
     public FractalCalculationTask(final PropertyChangeListener owner, final FractalGenerator fg,
                                   final ComplexPlaneView cpv) {
+        this(owner, fg, cpv, new TiledImageRenderer());
+    }
+
+    /**
+     * Create a new Fractal calculation task for a specific Fractal generator and complex plane view, which uses the
+     * given renderer for the calculations.
+     *
+     * @param owner The class that created this FractalCalculationTask.
+     * @param fg    The FractalGenerator instance to use in the calculations.
+     * @param cpv   The ComplexPlaneView instance for which the calculation is to be done.
+     * @param tir   The renderer which does the calculation of the fractal image.
+     */
+    public FractalCalculationTask(final PropertyChangeListener owner, final FractalGenerator fg,
+                                  final ComplexPlaneView cpv, final ImageRenderer tir) {
         progressFrame = new JFrame("Fractal calculation progress");
         generator = fg;
         theCpv = cpv;
         taskOwner = owner;
+        renderer = tir;
 
         final Border border = new EmptyBorder(new Insets(10, 10, 10, 10));
         progressBar = new JProgressBar(0, 100);
@@ -130,6 +165,16 @@ public final class FractalCalculationTask implements PropertyChangeListener {
         return fractalImage;
     }
 
+    /**
+     * Use this method to obtain the progress information of the calculation, including the fraction of pixels for
+     * which the fractal generator was actually called.
+     *
+     * @return The progress of the calculation.
+     */
+    RenderProgress getRenderProgress() {
+        return renderProgress;
+    }
+
     @Override
     public void propertyChange(final PropertyChangeEvent evt) {
         if (evt.getPropertyName().equals("progress")) {
@@ -150,26 +195,18 @@ public final class FractalCalculationTask implements PropertyChangeListener {
     private class Task extends SwingWorker<double[], Integer> {
 
         @Override
-        protected double[] doInBackground() {
-            int i, j;
-            double x, y;
-            final int imWidth = theCpv.getSizeRealPixels();
-            final int imHeight = theCpv.getSizeImaginaryPixels();
+        protected double[] doInBackground() throws InterruptedException, ExecutionException {
             setProgress(0);
-            final double[] image = new double[imWidth * imHeight];
-            Complex z;
-            for (int k = 0; k < imWidth * imHeight; k++) {
-                i = k % imWidth;
-                j = k / imWidth;
-                x = theCpv.getValueAtRealPixel(i);
-                y = theCpv.getValueAtImaginaryPixel(j);
-                z = Complex.valueOf(x, y);
-                image[k] = generator.generatePixelValue(z);
-                if (i == 0) {
-                    setProgress((int) Math.round((double) k / image.length * 100.0));
+            final ForkJoinTask<double[]> renderTask = renderer.submit(generator, theCpv, renderProgress);
+            while (true) {
+                try {
+                    final double[] image = renderTask.get(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    setProgress(100);
+                    return image;
+                } catch (final TimeoutException e) {
+                    setProgress(renderProgress.getPercentage());
                 }
             }
-            return image;
         }
 
         @Override
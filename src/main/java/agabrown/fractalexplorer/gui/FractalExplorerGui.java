@@ -3,10 +3,12 @@ package agabrown.fractalexplorer.gui;
 import agabrown.fractalexplorer.colours.ColourLuts;
 import agabrown.fractalexplorer.colours.ImageScaling;
 import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.generators.QuadraticVariant;
 import agabrown.fractalexplorer.sets.FractalSet;
 import agabrown.fractalexplorer.sets.JuliaSet;
 import agabrown.fractalexplorer.sets.MandelbrotSet;
 import agabrown.fractalexplorer.sets.TricornSet;
+import agabrown.fractalexplorer.util.PrecisionVerification;
 
 import javax.swing.*;
 import javax.swing.UIManager.LookAndFeelInfo;
@@ -120,6 +122,11 @@ public class FractalExplorerGui extends JFrame implements KeyListener, MouseList
      */
     private boolean showTricornSet;
 
+    /**
+     * The variant of the Mandelbrot set that is shown (Burning Ship and relatives).
+     */
+    private QuadraticVariant variant;
+
     /**
      * The index of the LUT currently in use.
      */
@@ -213,6 +220,7 @@ public class FractalExplorerGui extends JFrame implements KeyListener, MouseList
         helpVisible = false;
         showJuliaSet = false;
         showTricornSet = false;
+        variant = QuadraticVariant.MANDELBROT;
         lutIndex = 0;
         reverseLut = true;
     }
@@ -269,24 +277,52 @@ public class FractalExplorerGui extends JFrame implements KeyListener, MouseList
 
     /**
      * Calculate the fractal set by using the algorithm implemented in instances of {@link
-     * agabrown.fractalexplorer.sets.FractalSet}.
+     * agabrown.fractalexplorer.sets.FractalSet}. Single (float) precision is used while it resolves the pixels of the
+     * view, in which case the result is verified against double precision on a sample of pixels and recalculated in
+     * double precision if they disagree (see {@link PrecisionVerification}).
      */
     private void calculateFractalSet() {
-        int i, j;
-        double x, y;
+        fractalSet.setPeriodicityTolerance(activeCpv);
+        fractalSet.setSinglePrecision(activeCpv, maxIterations);
         for (int k = 0; k < imWidth * imHeight; k++) {
-            i = k % imWidth;
-            j = k / imWidth;
-            x = activeCpv.getValueAtRealPixel(i);
-            y = activeCpv.getValueAtImaginaryPixel(j);
-            if (blackAndWhite) {
-                fractalImage[k] = fractalSet.isPointInSet(x, y, maxIterations) ? 1.0 : 0.0;
-            } else {
-                fractalImage[k] = fractalSet.numberOfIterationsForPoint(x, y, maxIterations);
+            fractalImage[k] = calculatePixelValue(k);
+        }
+        if (fractalSet.isSinglePrecision() && !agreesWithDoublePrecision()) {
+            fractalSet.setSinglePrecision(false);
+            for (int k = 0; k < imWidth * imHeight; k++) {
+                fractalImage[k] = calculatePixelValue(k);
             }
         }
     }
 
+    /**
+     * Calculate the value of one pixel of the fractal image.
+     *
+     * @param k Index of the pixel in the image array.
+     * @return The pixel value.
+     */
+    private double calculatePixelValue(final int k) {
+        final double x = activeCpv.getValueAtRealPixel(k % imWidth);
+        final double y = activeCpv.getValueAtImaginaryPixel(k / imWidth);
+        if (blackAndWhite) {
+            return fractalSet.isPointInSet(x, y, maxIterations) ? 1.0 : 0.0;
+        }
+        return fractalSet.numberOfIterationsForPoint(x, y, maxIterations);
+    }
+
+    /**
+     * Verify the fractal image calculated in single precision against double precision on a sample of pixels.
+     *
+     * @return True if the image is accepted.
+     * @see PrecisionVerification#verify(double[], int, java.util.function.IntToDoubleFunction)
+     */
+    private boolean agreesWithDoublePrecision() {
+        fractalSet.setSinglePrecision(false);
+        final boolean agrees = PrecisionVerification.verify(fractalImage, imWidth, this::calculatePixelValue);
+        fractalSet.setSinglePrecision(true);
+        return agrees;
+    }
+
     /**
      * Toggle the visibility of the help screen.
      */
@@ -401,13 +437,11 @@ public class FractalExplorerGui extends JFrame implements KeyListener, MouseList
                 break;
             case KeyEvent.VK_ENTER:
                 final Point mousePosition = MouseInfo.getPointerInfo().getLocation();
-                final double newCentreRe = activeCpv.getValueAtRealPixel(mousePosition.getX());
-                final double newCentreIm = activeCpv.getValueAtImaginaryPixel(mousePosition.getY());
-                activeCpv.setCentre(newCentreRe, newCentreIm);
+                activeCpv.setCentreAtPixel(mousePosition.getX(), mousePosition.getY());
                 showFractal();
                 break;
             case KeyEvent.VK_J:
-                if (showTricornSet) {
+                if (showTricornSet || variant != QuadraticVariant.MANDELBROT) {
                     break;
                 }
                 showJuliaSet = !showJuliaSet;
@@ -424,7 +458,7 @@ public class FractalExplorerGui extends JFrame implements KeyListener, MouseList
                 showFractal();
                 break;
             case KeyEvent.VK_T:
-                if (showJuliaSet) {
+                if (showJuliaSet || variant != QuadraticVariant.MANDELBROT) {
                     break;
                 }
                 showTricornSet = !showTricornSet;
@@ -437,6 +471,22 @@ public class FractalExplorerGui extends JFrame implements KeyListener, MouseList
                 }
                 showFractal();
                 break;
+            case KeyEvent.VK_B:
+                if (showJuliaSet || showTricornSet) {
+                    break;
+                }
+                if (variant == QuadraticVariant.MANDELBROT) {
+                    mandelbrotCpv = (ComplexPlaneView) activeCpv.clone();
+                }
+                variant = QuadraticVariant.values()[(variant.ordinal() + 1) % QuadraticVariant.values().length];
+                if (variant == QuadraticVariant.MANDELBROT) {
+                    activeCpv = mandelbrotCpv;
+                    fractalSet = mandelbrotSet;
+                } else {
+                    fractalSet = variant.getFractalSet();
+                }
+                showFractal();
+                break;
             default:
         }
         updateInfoLayer();
@@ -449,9 +499,7 @@ public class FractalExplorerGui extends JFrame implements KeyListener, MouseList
     @Override
     public void mouseClicked(final MouseEvent e) {
         if (e.getButton() == MouseEvent.BUTTON1) {
-            final double newCentreRe = activeCpv.getValueAtRealPixel(e.getX());
-            final double newCentreIm = activeCpv.getValueAtImaginaryPixel(e.getY());
-            activeCpv.setCentre(newCentreRe, newCentreIm);
+            activeCpv.setCentreAtPixel(e.getX(), e.getY());
             showFractal();
         }
         updateInfoLayer();
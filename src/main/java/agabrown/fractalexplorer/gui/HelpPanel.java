@@ -34,11 +34,13 @@ public final class HelpPanel extends JPanel {
             {"+", "Zoom in by factor 2"}, {"-", "Zoom out by factor two"},
             {"c", "Toggle between colour scale and black and white"},
             {"j", "Toggle between Julia and Mandelbrot sets"}, {"t", "Toggle between Tricorn and Mandelbrot sets"},
+            {"b", "Cycle through the Burning Ship, Perpendicular Burning Ship, Celtic, Buffalo and Mandelbrot sets"},
             {"i", "Toggle information layer"}, {"Left mouse-button/Enter", "Centre on complex number at mouse pointer"},
             {"1 ... 5", "Set the maximum number of iterations (256 ... 4096)"},
             {"r", "Reset image to initial centre point and zoom factor"}, {"s", "Save current image to file"},
             {"l", "Toggle linear and logarithmic scaling"}, {"Page-up/page-down", "Cycle through colour LUTs"},
-            {"d", "Invert colour scale"}};
+            {"d", "Invert colour scale"}, {"m", "Cycle through rendering strategies"},
+            {"f", "Enter the formula f(z) + c to iterate"}};
     /**
      * Height of a line of text in pixels.
      */
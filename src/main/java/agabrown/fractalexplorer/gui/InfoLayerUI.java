@@ -45,6 +45,16 @@ public final class InfoLayerUI extends LayerUI<JComponent> {
 
     private int maxIterations;
 
+    private String rendererName = "";
+
+    private String arithmetic;
+
+    private double iteratedFraction;
+
+    private long skippedIterations;
+
+    private double iterationSpeedup;
+
     /**
      * Constructor which initializes the relevant data for drawing the info layer.
      */
@@ -62,7 +72,7 @@ public final class InfoLayerUI extends LayerUI<JComponent> {
         }
         final FontRenderContext frc = g2.getFontRenderContext();
         final Font textFont = new Font(Font.SANS_SERIF, Font.BOLD, 10);
-        final int numLines = 5 + infoLines.size();
+        final int numLines = 6 + (skippedIterations > 0 ? 1 : 0) + (arithmetic != null ? 1 : 0) + infoLines.size();
         int lineNumber = 0;
         final int lineZeroY = 10 + LINE_HEIGHT;
         g2.setColor(new Color(255, 255, 255, 192));
@@ -76,17 +86,32 @@ public final class InfoLayerUI extends LayerUI<JComponent> {
             textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
         }
         lineNumber++;
-        textBox = new TextLayout("Re: " + cpvData.getCentreReal(), textFont, frc);
+        textBox = new TextLayout("Re: " + cpvData.getExactCentreReal(), textFont, frc);
         textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
         lineNumber++;
-        textBox = new TextLayout("Im: " + cpvData.getCentreImaginary(), textFont, frc);
+        textBox = new TextLayout("Im: " + cpvData.getExactCentreImaginary(), textFont, frc);
         textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
         lineNumber++;
-        textBox = new TextLayout("Zoom: " + cpvData.getZoomFactor(), textFont, frc);
+        textBox = new TextLayout("Zoom: " + cpvData.getZoomFactorExtended(), textFont, frc);
         textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
         lineNumber++;
         textBox = new TextLayout("Iterations: " + maxIterations, textFont, frc);
         textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
+        lineNumber++;
+        textBox = new TextLayout(String.format("Renderer: %s (%.1f%% iterated)", rendererName,
+                100.0 * iteratedFraction), textFont, frc);
+        textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
+        if (arithmetic != null) {
+            lineNumber++;
+            textBox = new TextLayout("Arithmetic: " + arithmetic, textFont, frc);
+            textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
+        }
+        if (skippedIterations > 0) {
+            lineNumber++;
+            textBox = new TextLayout(String.format("Skipped iterations: %d (%.1fx faster)", skippedIterations,
+                    iterationSpeedup), textFont, frc);
+            textBox.draw(g2, 20, lineZeroY + lineNumber * LINE_HEIGHT);
+        }
         g2.dispose();
     }
 
@@ -135,4 +160,42 @@ public final class InfoLayerUI extends LayerUI<JComponent> {
         this.maxIterations = maxIterations;
     }
 
+    /**
+     * Set the name of the renderer used to calculate the fractal image.
+     *
+     * @param rendererName The name of the renderer.
+     */
+    public void setRendererName(final String rendererName) {
+        this.rendererName = rendererName;
+    }
+
+    /**
+     * Set the arithmetic selected for the calculation of the fractal image.
+     *
+     * @param arithmetic Description of the arithmetic (no information is shown if null).
+     */
+    public void setArithmetic(final String arithmetic) {
+        this.arithmetic = arithmetic;
+    }
+
+    /**
+     * Set the fraction of pixels for which the fractal generator was called in the most recent calculation.
+     *
+     * @param iteratedFraction The fraction of iterated pixels.
+     */
+    public void setIteratedFraction(final double iteratedFraction) {
+        this.iteratedFraction = iteratedFraction;
+    }
+
+    /**
+     * Set the number of iterations skipped in the most recent calculation and the resulting speed-up.
+     *
+     * @param skippedIterations The number of skipped iterations (no information is shown if zero).
+     * @param iterationSpeedup  The speed-up factor.
+     */
+    public void setSkippedIterations(final long skippedIterations, final double iterationSpeedup) {
+        this.skippedIterations = skippedIterations;
+        this.iterationSpeedup = iterationSpeedup;
+    }
+
 }
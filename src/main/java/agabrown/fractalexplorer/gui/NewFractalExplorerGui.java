@@ -3,9 +3,20 @@ package agabrown.fractalexplorer.gui;
 import agabrown.fractalexplorer.colours.ColourLuts;
 import agabrown.fractalexplorer.colours.ImageScaling;
 import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.generators.AutomaticImageRenderer;
+import agabrown.fractalexplorer.generators.BatchImageRenderer;
+import agabrown.fractalexplorer.generators.BoundaryTracingImageRenderer;
+import agabrown.fractalexplorer.generators.ComplexFormula;
 import agabrown.fractalexplorer.generators.ComplexDynamicsBased;
+import agabrown.fractalexplorer.generators.DoubleDoubleImageRenderer;
 import agabrown.fractalexplorer.generators.FractalGenerator;
 import agabrown.fractalexplorer.generators.FractalGeneratorFactory;
+import agabrown.fractalexplorer.generators.ImageRenderer;
+import agabrown.fractalexplorer.generators.PerturbationImageRenderer;
+import agabrown.fractalexplorer.generators.QuadraticVariant;
+import agabrown.fractalexplorer.generators.RenderProgress;
+import agabrown.fractalexplorer.generators.SubdivisionImageRenderer;
+import agabrown.fractalexplorer.generators.TiledImageRenderer;
 import org.apache.commons.math3.complex.Complex;
 
 import javax.swing.*;
@@ -65,11 +76,38 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
      */
     private final ComplexDynamicsBased mandelbrot = FractalGeneratorFactory.getMandelbrotEscapeTime();
 
+    /**
+     * The user-defined formula (null if the classic Mandelbrot and Julia sets are shown).
+     */
+    private ComplexFormula formula;
+
+    /**
+     * Holds the Mandelbrot generator for the user-defined formula.
+     */
+    private ComplexDynamicsBased formulaMandelbrot;
+
+    /**
+     * The variant of the Mandelbrot set that is shown (Burning Ship and relatives).
+     */
+    private QuadraticVariant variant = QuadraticVariant.MANDELBROT;
+
+    /**
+     * Holds the generator for the variant of the Mandelbrot set (null for the Mandelbrot set itself).
+     */
+    private ComplexDynamicsBased variantMandelbrot;
+
     /**
      * Holds the InfoLayerUI instance.
      */
     private final InfoLayerUI infoLayerUI = new InfoLayerUI();
 
+    /**
+     * Contains the renderers available for calculating the fractal images.
+     */
+    private final ImageRenderer[] renderers = {new AutomaticImageRenderer(), new TiledImageRenderer(),
+            new BatchImageRenderer(), new SubdivisionImageRenderer(), new BoundaryTracingImageRenderer(),
+            new DoubleDoubleImageRenderer(), new PerturbationImageRenderer()};
+
     /**
      * Holds the fractal set to be explored.
      */
@@ -136,6 +174,11 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
      */
     private boolean reverseLut;
 
+    /**
+     * The index of the renderer currently in use.
+     */
+    private int rendererIndex;
+
     /**
      * Holds the form which can be used to specify the centre of the complex plane
      * view and the zoom factor.
@@ -294,6 +337,7 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
         showTricornSet = false;
         lutIndex = 0;
         reverseLut = true;
+        rendererIndex = 0;
     }
 
     /**
@@ -330,10 +374,16 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
      * Update the information to be displayed.
      */
     private void updateInfoLayer() {
-        infoLayerUI.setFractalName(fractalSet.getName());
+        infoLayerUI.setFractalName(formula == null ? fractalSet.getName() : fractalSet.getName() + ": " + formula);
         infoLayerUI.setInfoLines(fractalSet.getInfoLines());
         infoLayerUI.setCpvData(activeCpv);
         infoLayerUI.setMaxIterations(maxIterations);
+        infoLayerUI.setRendererName(renderers[rendererIndex].getName());
+        if (renderers[rendererIndex] instanceof AutomaticImageRenderer) {
+            infoLayerUI.setArithmetic(AutomaticImageRenderer.select(fractalSet, activeCpv).toString());
+        } else {
+            infoLayerUI.setArithmetic(null);
+        }
     }
 
     /**
@@ -348,10 +398,61 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
      * Calculate the fractal image.
      */
     private void calculateFractalSet() {
-        fcTask = new FractalCalculationTask(this, fractalSet, activeCpv);
+        fcTask = new FractalCalculationTask(this, fractalSet, activeCpv, renderers[rendererIndex]);
         fcTask.calculateFractalImage();
     }
 
+    /**
+     * Obtain the generator for the parameter plane (Mandelbrot-like) image of the current formula or variant.
+     *
+     * @return The generator.
+     */
+    private ComplexDynamicsBased parameterPlaneGenerator() {
+        if (formula != null) {
+            return formulaMandelbrot;
+        }
+        return variantMandelbrot == null ? mandelbrot : variantMandelbrot;
+    }
+
+    /**
+     * Obtain the Julia set generator for the current formula or variant.
+     *
+     * @param mu Value of fixed constant.
+     * @return The generator.
+     */
+    private ComplexDynamicsBased juliaGenerator(final Complex mu) {
+        if (formula != null) {
+            return FractalGeneratorFactory.getFormulaJuliaEscapeTime(formula, mu);
+        }
+        return FractalGeneratorFactory.getQuadraticVariantJuliaEscapeTime(variant, mu);
+    }
+
+    /**
+     * Ask the user for the formula f(z)+c to iterate. An empty formula restores the classic Mandelbrot set.
+     *
+     * @return True if a new formula was entered.
+     */
+    private boolean enterFormula() {
+        final Object text = JOptionPane.showInputDialog(this, "Formula f(z) + c (leave empty for z^2 + c):",
+                "Formula", JOptionPane.PLAIN_MESSAGE, null, null, formula == null ? "z^2 + c" : formula.toString());
+        if (text == null) {
+            return false;
+        }
+        if (text.toString().trim().isEmpty()) {
+            formula = null;
+            formulaMandelbrot = null;
+            return true;
+        }
+        try {
+            formula = ComplexFormula.parse(text.toString());
+        } catch (final IllegalArgumentException iae) {
+            JOptionPane.showMessageDialog(this, iae.getMessage(), "Formula input error.", JOptionPane.WARNING_MESSAGE);
+            return false;
+        }
+        formulaMandelbrot = FractalGeneratorFactory.getFormulaMandelbrotEscapeTime(formula);
+        return true;
+    }
+
     /**
      * Toggle the visibility of the help screen.
      */
@@ -454,11 +555,13 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
             case KeyEvent.VK_H:
                 toggleHelp();
                 break;
+            case KeyEvent.VK_M:
+                rendererIndex = (rendererIndex + 1) % renderers.length;
+                showFractal();
+                break;
             case KeyEvent.VK_ENTER:
                 final Point mousePosition = MouseInfo.getPointerInfo().getLocation();
-                final double newCentreRe = activeCpv.getValueAtRealPixel(mousePosition.getX());
-                final double newCentreIm = activeCpv.getValueAtImaginaryPixel(mousePosition.getY());
-                activeCpv.setCentre(newCentreRe, newCentreIm);
+                activeCpv.setCentreAtPixel(mousePosition.getX(), mousePosition.getY());
                 showFractal();
                 break;
             case KeyEvent.VK_J:
@@ -471,14 +574,13 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
                     /**
                      * Holds the JuliaSet instance.
                      */
-                    ComplexDynamicsBased julia = FractalGeneratorFactory.getJuliaClassicEscapeTime(Complex.valueOf(activeCpv.getCentreReal(),
-                            activeCpv.getCentreImaginary()));
+                    final Complex mu = Complex.valueOf(activeCpv.getCentreReal(), activeCpv.getCentreImaginary());
                     activeCpv.reset();
                     activeCpv.setCentre(0.0, 0.0);
-                    fractalSet = julia;
+                    fractalSet = juliaGenerator(mu);
                 } else {
                     activeCpv = mandelbrotCpv;
-                    fractalSet = mandelbrot;
+                    fractalSet = parameterPlaneGenerator();
                 }
                 showFractal();
                 break;
@@ -489,13 +591,39 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
                 showTricornSet = !showTricornSet;
                 if (showTricornSet) {
                     mandelbrotCpv = (ComplexPlaneView) activeCpv.clone();
-                    mandelbrot.useConjugate(true);
+                    parameterPlaneGenerator().useConjugate(true);
                 } else {
                     activeCpv = mandelbrotCpv;
-                    mandelbrot.useConjugate(false);
+                    parameterPlaneGenerator().useConjugate(false);
+                }
+                showFractal();
+                break;
+            case KeyEvent.VK_B:
+                if (showJuliaSet || showTricornSet || formula != null) {
+                    break;
+                }
+                if (variant == QuadraticVariant.MANDELBROT) {
+                    mandelbrotCpv = (ComplexPlaneView) activeCpv.clone();
+                }
+                variant = QuadraticVariant.values()[(variant.ordinal() + 1) % QuadraticVariant.values().length];
+                if (variant == QuadraticVariant.MANDELBROT) {
+                    activeCpv = mandelbrotCpv;
+                    variantMandelbrot = null;
+                } else {
+                    variantMandelbrot = FractalGeneratorFactory.getQuadraticVariantEscapeTime(variant);
                 }
+                fractalSet = parameterPlaneGenerator();
                 showFractal();
                 break;
+            case KeyEvent.VK_F:
+                if (showJuliaSet || showTricornSet || variant != QuadraticVariant.MANDELBROT) {
+                    break;
+                }
+                if (enterFormula()) {
+                    fractalSet = parameterPlaneGenerator();
+                    showFractal();
+                }
+                break;
             default:
         }
         updateInfoLayer();
@@ -508,9 +636,7 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
     @Override
     public void mouseClicked(final MouseEvent e) {
         if (e.getButton() == MouseEvent.BUTTON1) {
-            final double newCentreRe = activeCpv.getValueAtRealPixel(e.getX());
-            final double newCentreIm = activeCpv.getValueAtImaginaryPixel(e.getY());
-            activeCpv.setCentre(newCentreRe, newCentreIm);
+            activeCpv.setCentreAtPixel(e.getX(), e.getY());
             showFractal();
         }
         updateInfoLayer();
@@ -536,6 +662,12 @@ public final class NewFractalExplorerGui extends JFrame implements KeyListener,
     public void propertyChange(final PropertyChangeEvent evt) {
         if (SwingWorker.StateValue.DONE.equals(evt.getNewValue())) {
             fractalImage = fcTask.getFractalImage();
+            final RenderProgress progress = fcTask.getRenderProgress();
+            infoLayerUI.setIteratedFraction(progress.getIteratedFraction());
+            infoLayerUI.setSkippedIterations(progress.getSkippedIterations(), progress.getIterationSpeedup());
+            if (progress.isPrecisionFallback()) {
+                infoLayerUI.setArithmetic(AutomaticImageRenderer.Arithmetic.DOUBLE + " (float failed verification)");
+            }
             viewingPanel.setImage(fractalImage, imWidth, imHeight);
         }
     }
@@ -0,0 +1,268 @@
+package agabrown.fractalexplorer.sets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the Burning Ship set and its relatives (Perpendicular Burning Ship, Celtic and Buffalo), which are
+ * generated by taking absolute values of the components of z or z<sup>2</sup> in the Mandelbrot equation,
+ *
+ * <pre>
+ * x' = |x| or x, y' = |y| or y
+ * Re(z<sub>n+1</sub>) = [|x<sup>2</sup>-y<sup>2</sup>| or x<sup>2</sup>-y<sup>2</sup>] + Re(c)
+ * Im(z<sub>n+1</sub>) = &plusmn;2x'y' + Im(c)
+ * </pre>
+ *
+ * <p>
+ * The instances for the named variants are created by {@code QuadraticVariant.getFractalSet()} in the generators
+ * package. The absolute values are taken on the local doubles, without branches or objects, so that the iterations
+ * are as fast as for the {@link MandelbrotSet}.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class BurningShipSet implements FractalSet {
+
+    /**
+     * Upper limit on magnitude of the complex numbers that can belong to the set.
+     */
+    private static final double BOUND = 2.0;
+
+    /**
+     * Upper limit on square of the magnitude of the complex numbers that can belong to the set.
+     */
+    private static final double BOUND_SQUARE = BOUND * BOUND;
+
+    /**
+     * Name of the fractal.
+     */
+    private final String name;
+
+    /**
+     * If true the absolute value of Re(z) is used in Im(z<sup>2</sup>).
+     */
+    private final boolean absoluteReal;
+
+    /**
+     * If true the absolute value of Im(z) is used in Im(z<sup>2</sup>).
+     */
+    private final boolean absoluteImaginary;
+
+    /**
+     * If true the absolute value of Re(z<sup>2</sup>) is used.
+     */
+    private final boolean absoluteSquareReal;
+
+    /**
+     * Factor 2 or -2 in Im(z<sup>2</sup>).
+     */
+    private final double imaginaryFactor;
+
+    /**
+     * Tolerance for the detection of periodic orbits (zero means no periodicity checking).
+     */
+    private volatile double periodicityTolerance;
+
+    /**
+     * If true the series are iterated in single (float) precision.
+     */
+    private volatile boolean singlePrecision;
+
+    /**
+     * Constructor.
+     *
+     * @param name               The name of the fractal.
+     * @param absoluteReal       If true the absolute value of Re(z) is used in Im(z<sup>2</sup>).
+     * @param absoluteImaginary  If true the absolute value of Im(z) is used in Im(z<sup>2</sup>).
+     * @param absoluteSquareReal If true the absolute value of Re(z<sup>2</sup>) is used.
+     * @param imaginaryFactor    Factor 2 or -2 in Im(z<sup>2</sup>).
+     * @throws IllegalArgumentException If the name is empty, if no absolute value is taken (use {@link MandelbrotSet}),
+     *                                  or if the factor is not 2 or -2.
+     */
+    public BurningShipSet(final String name, final boolean absoluteReal, final boolean absoluteImaginary,
+                          final boolean absoluteSquareReal, final double imaginaryFactor) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("The name of the fractal should not be empty.");
+        }
+        if (!absoluteReal && !absoluteImaginary && !absoluteSquareReal) {
+            throw new IllegalArgumentException("At least one absolute value should be taken.");
+        }
+        if (Math.abs(imaginaryFactor) != 2.0) {
+            throw new IllegalArgumentException("The imaginary factor should be 2 or -2.");
+        }
+        this.name = name;
+        this.absoluteReal = absoluteReal;
+        this.absoluteImaginary = absoluteImaginary;
+        this.absoluteSquareReal = absoluteSquareReal;
+        this.imaginaryFactor = imaginaryFactor;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see agabrown.fractalexplorer.sets.FractalSet#isPointInSet(double, double,
+     * int)
+     */
+    @Override
+    public boolean isPointInSet(final double real, final double imaginary, final int maxIter) {
+        return SeriesResult.iterations(iterateSeries(real, imaginary, maxIter)) >= maxIter;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * agabrown.fractalexplorer.sets.FractalSet#numberOfIterationsForPoint(double,
+     * double, int)
+     */
+    @Override
+    public int numberOfIterationsForPoint(final double real, final double imaginary, final int maxIter) {
+        return SeriesResult.iterations(iterateSeries(real, imaginary, maxIter));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * agabrown.fractalexplorer.sets.FractalSet#periodOfPoint(double,
+     * double, int)
+     */
+    @Override
+    public int periodOfPoint(final double real, final double imaginary, final int maxIter) {
+        return SeriesResult.period(iterateSeries(real, imaginary, maxIter));
+    }
+
+    @Override
+    public void setPeriodicityTolerance(final double tolerance) {
+        if (tolerance < 0.0 || Double.isInfinite(tolerance) || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Periodicity tolerance should be positive and finite.");
+        }
+        periodicityTolerance = tolerance;
+    }
+
+    @Override
+    public void setSinglePrecision(final boolean singlePrecision) {
+        this.singlePrecision = singlePrecision;
+    }
+
+    @Override
+    public boolean isSinglePrecision() {
+        return singlePrecision;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see agabrown.fractalexplorer.sets.FractalSet#getName()
+     */
+    @Override
+    public String getName() {
+        return name + " set";
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see agabrown.fractalexplorer.sets.FractalSet#getInfoLines()
+     */
+    @Override
+    public List<String> getInfoLines() {
+        return new ArrayList<>(0);
+    }
+
+    /**
+     * Check if the complex input number c is in the set. Use the fast approach using doubles and the worked out
+     * formula for updating the complex number series.
+     *
+     * @param cReal      Real part of complex number to check
+     * @param cImaginary Imaginary part of complex number to check
+     * @param maxIter    Maximum number of iterations to decide on whether the number is in the set. Numbers for which
+     *                   maxIter is exceeded are considered to be part of the set.
+     * @return Number of iterations used and period of the orbit (packed with {@link SeriesResult}).
+     */
+    private long iterateSeries(final double cReal, final double cImaginary, final int maxIter) {
+        if (singlePrecision) {
+            return iterateSeriesSinglePrecision((float) cReal, (float) cImaginary, maxIter);
+        }
+        final double factor = imaginaryFactor;
+        final boolean absReal = absoluteReal;
+        final boolean absImaginary = absoluteImaginary;
+        final boolean absSquareReal = absoluteSquareReal;
+        int iter = 0;
+        double zReal = cReal;
+        double zImaginary = cImaginary;
+        double zRealTemp;
+        final double tolerance = periodicityTolerance;
+        double refReal = zReal;
+        double refImaginary = zImaginary;
+        int refIter = 0;
+        int cycleLength = 1;
+        while (zReal * zReal + zImaginary * zImaginary <= BOUND_SQUARE && iter < maxIter) {
+            zRealTemp = zReal * zReal - zImaginary * zImaginary;
+            zRealTemp = (absSquareReal ? Math.abs(zRealTemp) : zRealTemp) + cReal;
+            zImaginary = factor * (absReal ? Math.abs(zReal) : zReal)
+                    * (absImaginary ? Math.abs(zImaginary) : zImaginary) + cImaginary;
+            zReal = zRealTemp;
+            iter = iter + 1;
+            if (tolerance > 0.0) {
+                if (Math.abs(zReal - refReal) <= tolerance && Math.abs(zImaginary - refImaginary) <= tolerance) {
+                    return SeriesResult.of(maxIter, iter - refIter);
+                }
+                if (iter - refIter == cycleLength) {
+                    refReal = zReal;
+                    refImaginary = zImaginary;
+                    refIter = iter;
+                    cycleLength = cycleLength << 1;
+                }
+            }
+        }
+        return SeriesResult.of(iter, 0);
+    }
+
+    /**
+     * Iterate the series as in {@link #iterateSeries(double, double, int)}, but in single (float) precision.
+     *
+     * @param cReal      Real part of complex number to check
+     * @param cImaginary Imaginary part of complex number to check
+     * @param maxIter    Maximum number of iterations to decide on whether the number is in the set. Numbers for which
+     *                   maxIter is exceeded are considered to be part of the set.
+     * @return Number of iterations used and period of the orbit (packed with {@link SeriesResult}).
+     */
+    private long iterateSeriesSinglePrecision(final float cReal, final float cImaginary, final int maxIter) {
+        final float boundSquare = (float) BOUND_SQUARE;
+        final float factor = (float) imaginaryFactor;
+        final boolean absReal = absoluteReal;
+        final boolean absImaginary = absoluteImaginary;
+        final boolean absSquareReal = absoluteSquareReal;
+        int iter = 0;
+        float zReal = cReal;
+        float zImaginary = cImaginary;
+        float zRealTemp;
+        final float tolerance = (float) periodicityTolerance;
+        float refReal = zReal;
+        float refImaginary = zImaginary;
+        int refIter = 0;
+        int cycleLength = 1;
+        while (zReal * zReal + zImaginary * zImaginary <= boundSquare && iter < maxIter) {
+            zRealTemp = zReal * zReal - zImaginary * zImaginary;
+            zRealTemp = (absSquareReal ? Math.abs(zRealTemp) : zRealTemp) + cReal;
+            zImaginary = factor * (absReal ? Math.abs(zReal) : zReal)
+                    * (absImaginary ? Math.abs(zImaginary) : zImaginary) + cImaginary;
+            zReal = zRealTemp;
+            iter = iter + 1;
+            if (tolerance > 0.0f) {
+                if (Math.abs(zReal - refReal) <= tolerance && Math.abs(zImaginary - refImaginary) <= tolerance) {
+                    return SeriesResult.of(maxIter, iter - refIter);
+                }
+                if (iter - refIter == cycleLength) {
+                    refReal = zReal;
+                    refImaginary = zImaginary;
+                    refIter = iter;
+                    cycleLength = cycleLength << 1;
+                }
+            }
+        }
+        return SeriesResult.of(iter, 0);
+    }
+
+}
@@ -1,10 +1,25 @@
 package agabrown.fractalexplorer.sets;
 
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.util.FEConstants;
+
 import java.util.List;
 
 /**
  * Must be implemented by all classes representing Fractal sets.
  *
+ * <p>
+ * Implementations can detect periodic orbits of points inside the set (with Brent's cycle detection algorithm), in
+ * which case the iterations stop before the maximum number of iterations is reached. This requires a tolerance within
+ * which two iterates are considered equal, which should be tied to the pixel size of the complex plane view (see
+ * {@link #setPeriodicityTolerance(ComplexPlaneView)}). Periodicity checking is off as long as no tolerance is set.
+ * </p>
+ *
+ * <p>
+ * The series can be iterated in single (float) precision instead of double precision, which is sufficient as long as
+ * the pixel spacing of the complex plane view is coarse (see {@link #setSinglePrecision(ComplexPlaneView, int)}).
+ * </p>
+ *
  * @author agabrown Jul 2012 - Sep 2021
  */
 public interface FractalSet {
@@ -32,6 +47,65 @@ public interface FractalSet {
      */
     int numberOfIterationsForPoint(final double real, final double imaginary, final int maxIter);
 
+    /**
+     * Obtain the period of the orbit of the complex input number, as detected when iterating the series. This can be
+     * used as additional information for colouring the points inside the set.
+     *
+     * @param real      Real part of complex number to check
+     * @param imaginary Imaginary part of complex number to check
+     * @param maxIter   Maximum number of iterations to decide on whether the number is in the set.
+     * @return The period of the orbit, or 0 if the number is not in the set or no periodic orbit was detected.
+     */
+    int periodOfPoint(final double real, final double imaginary, final int maxIter);
+
+    /**
+     * Set the tolerance for the detection of periodic orbits. Two iterates are considered equal if their real and
+     * imaginary parts differ by no more than the tolerance.
+     *
+     * @param tolerance The value of the tolerance (a value of zero switches periodicity checking off).
+     * @throws IllegalArgumentException If the tolerance is negative or not finite.
+     */
+    void setPeriodicityTolerance(final double tolerance);
+
+    /**
+     * Set the tolerance for the detection of periodic orbits to match the pixel size of the complex plane view.
+     *
+     * @param cpv The complex plane view for which the fractal set is calculated.
+     */
+    default void setPeriodicityTolerance(final ComplexPlaneView cpv) {
+        setPeriodicityTolerance(FEConstants.PERIODICITY_TOLERANCE_FACTOR *
+                Math.min(cpv.getPixelSizeReal(), cpv.getPixelSizeImaginary()));
+    }
+
+    /**
+     * Switch the iterations in single (float) precision on or off. The default implementation ignores the request,
+     * for fractal sets that are only iterated in double precision.
+     *
+     * @param singlePrecision If true iterate the series in float precision, otherwise in double precision.
+     */
+    default void setSinglePrecision(final boolean singlePrecision) {
+    }
+
+    /**
+     * Check whether the series are iterated in single (float) precision.
+     *
+     * @return True if float precision is used (the default implementation always uses double precision).
+     */
+    default boolean isSinglePrecision() {
+        return false;
+    }
+
+    /**
+     * Use single (float) precision if it resolves the pixels of the complex plane view, as estimated with
+     * {@link ComplexPlaneView#getRequiredBits(int)}, and double precision otherwise.
+     *
+     * @param cpv     The complex plane view for which the fractal set is calculated.
+     * @param maxIter Maximum number of iterations used in calculating the fractal set.
+     */
+    default void setSinglePrecision(final ComplexPlaneView cpv, final int maxIter) {
+        setSinglePrecision(cpv.getRequiredBits(maxIter) <= ComplexPlaneView.SINGLE_PRECISION_BITS);
+    }
+
     /**
      * Obtain a string containing the name of the fractal set.
      *
@@ -48,6 +48,16 @@ public final class JuliaSet implements FractalSet {
      */
     private ArrayList<String> infoLines;
 
+    /**
+     * Tolerance for the detection of periodic orbits (zero means no periodicity checking).
+     */
+    private volatile double periodicityTolerance;
+
+    /**
+     * If true the series are iterated in single (float) precision.
+     */
+    private volatile boolean singlePrecision;
+
     /**
      * Constructor. Sets the value for &mu;.
      *
@@ -68,7 +78,7 @@ public final class JuliaSet implements FractalSet {
      */
     @Override
     public boolean isPointInSet(final double real, final double imaginary, final int maxIter) {
-        return iterateSeries(real, imaginary, maxIter) >= maxIter;
+        return SeriesResult.iterations(iterateSeries(real, imaginary, maxIter)) >= maxIter;
     }
 
     /*
@@ -80,7 +90,37 @@ public final class JuliaSet implements FractalSet {
      */
     @Override
     public int numberOfIterationsForPoint(final double real, final double imaginary, final int maxIter) {
-        return iterateSeries(real, imaginary, maxIter);
+        return SeriesResult.iterations(iterateSeries(real, imaginary, maxIter));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * agabrown.fractalexplorer.sets.FractalSet#periodOfPoint(double,
+     * double, int)
+     */
+    @Override
+    public int periodOfPoint(final double real, final double imaginary, final int maxIter) {
+        return SeriesResult.period(iterateSeries(real, imaginary, maxIter));
+    }
+
+    @Override
+    public void setPeriodicityTolerance(final double tolerance) {
+        if (tolerance < 0.0 || Double.isInfinite(tolerance) || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Periodicity tolerance should be positive and finite.");
+        }
+        periodicityTolerance = tolerance;
+    }
+
+    @Override
+    public void setSinglePrecision(final boolean singlePrecision) {
+        this.singlePrecision = singlePrecision;
+    }
+
+    @Override
+    public boolean isSinglePrecision() {
+        return singlePrecision;
     }
 
     @Override
@@ -118,20 +158,81 @@ public final class JuliaSet implements FractalSet {
      * @param imaginary Imaginary part of complex number (z<sub>0</sub>) to check
      * @param maxIter   Maximum number of iterations to decide on whether the number is in the set. Numbers for which
      *                  maxIter is exceeded are considered to be part of the set.
-     * @return Number of iterations used.
+     * @return Number of iterations used and period of the orbit (packed with {@link SeriesResult}).
      */
-    private int iterateSeries(final double real, final double imaginary, final int maxIter) {
+    private long iterateSeries(final double real, final double imaginary, final int maxIter) {
+        if (singlePrecision) {
+            return iterateSeriesSinglePrecision((float) real, (float) imaginary, maxIter);
+        }
         int iter = 0;
         double zReal = real;
         double zImaginary = imaginary;
         double zRealTemp;
+        final double tolerance = periodicityTolerance;
+        double refReal = zReal;
+        double refImaginary = zImaginary;
+        int refIter = 0;
+        int cycleLength = 1;
         while (zReal * zReal + zImaginary * zImaginary <= BOUND_SQUARE && iter < maxIter) {
             zRealTemp = zReal * zReal - zImaginary * zImaginary + muReal;
             zImaginary = 2.0 * zReal * zImaginary + muImaginary;
             zReal = zRealTemp;
             iter = iter + 1;
+            if (tolerance > 0.0) {
+                if (Math.abs(zReal - refReal) <= tolerance && Math.abs(zImaginary - refImaginary) <= tolerance) {
+                    return SeriesResult.of(maxIter, iter - refIter);
+                }
+                if (iter - refIter == cycleLength) {
+                    refReal = zReal;
+                    refImaginary = zImaginary;
+                    refIter = iter;
+                    cycleLength = cycleLength << 1;
+                }
+            }
+        }
+        return SeriesResult.of(iter, 0);
+    }
+
+    /**
+     * Iterate the series as in {@link #iterateSeries(double, double, int)}, but in single (float) precision.
+     *
+     * @param real      Real part of complex number (z<sub>0</sub>) to check
+     * @param imaginary Imaginary part of complex number (z<sub>0</sub>) to check
+     * @param maxIter   Maximum number of iterations to decide on whether the number is in the set. Numbers for which
+     *                  maxIter is exceeded are considered to be part of the set.
+     * @return Number of iterations used and period of the orbit (packed with {@link SeriesResult}).
+     */
+    private long iterateSeriesSinglePrecision(final float real, final float imaginary, final int maxIter) {
+        final float boundSquare = (float) BOUND_SQUARE;
+        final float constantReal = (float) muReal;
+        final float constantImaginary = (float) muImaginary;
+        int iter = 0;
+        float zReal = real;
+        float zImaginary = imaginary;
+        float zRealTemp;
+        final float tolerance = (float) periodicityTolerance;
+        float refReal = zReal;
+        float refImaginary = zImaginary;
+        int refIter = 0;
+        int cycleLength = 1;
+        while (zReal * zReal + zImaginary * zImaginary <= boundSquare && iter < maxIter) {
+            zRealTemp = zReal * zReal - zImaginary * zImaginary + constantReal;
+            zImaginary = 2.0f * zReal * zImaginary + constantImaginary;
+            zReal = zRealTemp;
+            iter = iter + 1;
+            if (tolerance > 0.0f) {
+                if (Math.abs(zReal - refReal) <= tolerance && Math.abs(zImaginary - refImaginary) <= tolerance) {
+                    return SeriesResult.of(maxIter, iter - refIter);
+                }
+                if (iter - refIter == cycleLength) {
+                    refReal = zReal;
+                    refImaginary = zImaginary;
+                    refIter = iter;
+                    cycleLength = cycleLength << 1;
+                }
+            }
         }
-        return iter;
+        return SeriesResult.of(iter, 0);
     }
 
 }
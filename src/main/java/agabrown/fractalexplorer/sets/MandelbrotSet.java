@@ -2,11 +2,19 @@ package agabrown.fractalexplorer.sets;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Provides methods for evaluating whether a point c belongs to the Mandelbrot set. The set is generated by iterating
  * z<sub>n+1</sub>=z<sup>2</sup><sub>n</sub>+c, with z<sub>0</sub>=0. The value of c is varied over the complex plane.
  *
+ * <p>
+ * Points inside the main cardioid or the period-2 bulb belong to the set and would always use up the maximum number of
+ * iterations. Membership of these two regions can be decided in closed form, so by default such points are recognized
+ * before iterating (see {@link #setInteriorCheck(boolean)}). The number of points for which the iterations were
+ * skipped in this way is counted.
+ * </p>
+ *
  * @author agabrown Jul 2012 - Sep 2021
  */
 public final class MandelbrotSet implements FractalSet {
@@ -26,6 +34,100 @@ public final class MandelbrotSet implements FractalSet {
      */
     private static final String NAME = "Mandelbrot set";
 
+    /**
+     * Counts the number of points for which the iterations were skipped because they are in the main cardioid or the
+     * period-2 bulb.
+     */
+    private final LongAdder shortCircuitedPoints = new LongAdder();
+
+    /**
+     * If true check whether points are in the main cardioid or period-2 bulb before iterating.
+     */
+    private volatile boolean interiorCheck = true;
+
+    /**
+     * Check whether the point c is inside the main cardioid or the period-2 bulb of the Mandelbrot set. Such points
+     * belong to the set, so iterating z<sup>2</sup>+c for them is not necessary.
+     *
+     * @param cReal      Real part of c.
+     * @param cImaginary Imaginary part of c.
+     * @return True if c is in the main cardioid or the period-2 bulb.
+     */
+    public static boolean isInMainCardioidOrPeriod2Bulb(final double cReal, final double cImaginary) {
+        return isInMainCardioid(cReal, cImaginary) || isInPeriod2Bulb(cReal, cImaginary);
+    }
+
+    /**
+     * Check whether the point c is inside the main cardioid of the Mandelbrot set (where the orbit has period 1).
+     *
+     * @param cReal      Real part of c.
+     * @param cImaginary Imaginary part of c.
+     * @return True if c is in the main cardioid.
+     */
+    private static boolean isInMainCardioid(final double cReal, final double cImaginary) {
+        final double yy = cImaginary * cImaginary;
+        final double xShifted = cReal - 0.25;
+        final double q = xShifted * xShifted + yy;
+        return q * (q + xShifted) <= 0.25 * yy;
+    }
+
+    /**
+     * Check whether the point c is inside the period-2 bulb of the Mandelbrot set.
+     *
+     * @param cReal      Real part of c.
+     * @param cImaginary Imaginary part of c.
+     * @return True if c is in the period-2 bulb.
+     */
+    private static boolean isInPeriod2Bulb(final double cReal, final double cImaginary) {
+        final double xPlusOne = cReal + 1.0;
+        return xPlusOne * xPlusOne + cImaginary * cImaginary <= 0.0625;
+    }
+
+    /**
+     * Tolerance for the detection of periodic orbits (zero means no periodicity checking).
+     */
+    private volatile double periodicityTolerance;
+
+    /**
+     * If true the series are iterated in single (float) precision.
+     */
+    private volatile boolean singlePrecision;
+
+    /**
+     * Switch the closed form check for points in the main cardioid or period-2 bulb on or off.
+     *
+     * @param check If true check for points in the main cardioid or period-2 bulb before iterating.
+     */
+    public void setInteriorCheck(final boolean check) {
+        interiorCheck = check;
+    }
+
+    /**
+     * Check whether the closed form check for points in the main cardioid or period-2 bulb is switched on.
+     *
+     * @return True if the check is used.
+     */
+    public boolean isInteriorCheck() {
+        return interiorCheck;
+    }
+
+    /**
+     * Obtain the number of points for which the iterations were skipped because they are in the main cardioid or the
+     * period-2 bulb.
+     *
+     * @return Number of short-circuited points since the creation of this instance or the last reset.
+     */
+    public long getNumberOfShortCircuitedPoints() {
+        return shortCircuitedPoints.sum();
+    }
+
+    /**
+     * Reset the count of short-circuited points to zero.
+     */
+    public void resetNumberOfShortCircuitedPoints() {
+        shortCircuitedPoints.reset();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -34,7 +136,7 @@ public final class MandelbrotSet implements FractalSet {
      */
     @Override
     public boolean isPointInSet(final double real, final double imaginary, final int maxIter) {
-        return iterateSeries(real, imaginary, maxIter) >= maxIter;
+        return SeriesResult.iterations(iterateSeries(real, imaginary, maxIter)) >= maxIter;
     }
 
     /*
@@ -46,7 +148,37 @@ public final class MandelbrotSet implements FractalSet {
      */
     @Override
     public int numberOfIterationsForPoint(final double real, final double imaginary, final int maxIter) {
-        return iterateSeries(real, imaginary, maxIter);
+        return SeriesResult.iterations(iterateSeries(real, imaginary, maxIter));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * agabrown.fractalexplorer.sets.FractalSet#periodOfPoint(double,
+     * double, int)
+     */
+    @Override
+    public int periodOfPoint(final double real, final double imaginary, final int maxIter) {
+        return SeriesResult.period(iterateSeries(real, imaginary, maxIter));
+    }
+
+    @Override
+    public void setPeriodicityTolerance(final double tolerance) {
+        if (tolerance < 0.0 || Double.isInfinite(tolerance) || Double.isNaN(tolerance)) {
+            throw new IllegalArgumentException("Periodicity tolerance should be positive and finite.");
+        }
+        periodicityTolerance = tolerance;
+    }
+
+    @Override
+    public void setSinglePrecision(final boolean singlePrecision) {
+        this.singlePrecision = singlePrecision;
+    }
+
+    @Override
+    public boolean isSinglePrecision() {
+        return singlePrecision;
     }
 
     @Override
@@ -67,20 +199,89 @@ public final class MandelbrotSet implements FractalSet {
      * @param cImaginary Imaginary part of complex number to check
      * @param maxIter    Maximum number of iterations to decide on whether the number is in the set. Numbers for which
      *                   maxIter is exceeded are considered to be part of the set.
-     * @return Number of iterations used.
+     * @return Number of iterations used and period of the orbit (packed with {@link SeriesResult}).
      */
-    private int iterateSeries(final double cReal, final double cImaginary, final int maxIter) {
+    private long iterateSeries(final double cReal, final double cImaginary, final int maxIter) {
+        if (interiorCheck) {
+            if (isInMainCardioid(cReal, cImaginary)) {
+                shortCircuitedPoints.increment();
+                return SeriesResult.of(maxIter, 1);
+            }
+            if (isInPeriod2Bulb(cReal, cImaginary)) {
+                shortCircuitedPoints.increment();
+                return SeriesResult.of(maxIter, 2);
+            }
+        }
+        if (singlePrecision) {
+            return iterateSeriesSinglePrecision((float) cReal, (float) cImaginary, maxIter);
+        }
         int iter = 0;
         double zReal = cReal;
         double zImaginary = cImaginary;
         double zRealTemp;
+        final double tolerance = periodicityTolerance;
+        double refReal = zReal;
+        double refImaginary = zImaginary;
+        int refIter = 0;
+        int cycleLength = 1;
         while (zReal * zReal + zImaginary * zImaginary <= BOUND_SQUARE && iter < maxIter) {
             zRealTemp = zReal * zReal - zImaginary * zImaginary + cReal;
             zImaginary = 2.0 * zReal * zImaginary + cImaginary;
             zReal = zRealTemp;
             iter = iter + 1;
+            if (tolerance > 0.0) {
+                if (Math.abs(zReal - refReal) <= tolerance && Math.abs(zImaginary - refImaginary) <= tolerance) {
+                    return SeriesResult.of(maxIter, iter - refIter);
+                }
+                if (iter - refIter == cycleLength) {
+                    refReal = zReal;
+                    refImaginary = zImaginary;
+                    refIter = iter;
+                    cycleLength = cycleLength << 1;
+                }
+            }
+        }
+        return SeriesResult.of(iter, 0);
+    }
+
+    /**
+     * Iterate the series as in {@link #iterateSeries(double, double, int)}, but in single (float) precision.
+     *
+     * @param cReal      Real part of complex number to check
+     * @param cImaginary Imaginary part of complex number to check
+     * @param maxIter    Maximum number of iterations to decide on whether the number is in the set. Numbers for which
+     *                   maxIter is exceeded are considered to be part of the set.
+     * @return Number of iterations used and period of the orbit (packed with {@link SeriesResult}).
+     */
+    private long iterateSeriesSinglePrecision(final float cReal, final float cImaginary, final int maxIter) {
+        final float boundSquare = (float) BOUND_SQUARE;
+        int iter = 0;
+        float zReal = cReal;
+        float zImaginary = cImaginary;
+        float zRealTemp;
+        final float tolerance = (float) periodicityTolerance;
+        float refReal = zReal;
+        float refImaginary = zImaginary;
+        int refIter = 0;
+        int cycleLength = 1;
+        while (zReal * zReal + zImaginary * zImaginary <= boundSquare && iter < maxIter) {
+            zRealTemp = zReal * zReal - zImaginary * zImaginary + cReal;
+            zImaginary = 2.0f * zReal * zImaginary + cImaginary;
+            zReal = zRealTemp;
+            iter = iter + 1;
+            if (tolerance > 0.0f) {
+                if (Math.abs(zReal - refReal) <= tolerance && Math.abs(zImaginary - refImaginary) <= tolerance) {
+                    return SeriesResult.of(maxIter, iter - refIter);
+                }
+                if (iter - refIter == cycleLength) {
+                    refReal = zReal;
+                    refImaginary = zImaginary;
+                    refIter = iter;
+                    cycleLength = cycleLength << 1;
+                }
+            }
         }
-        return iter;
+        return SeriesResult.of(iter, 0);
     }
 
 }
@@ -0,0 +1,48 @@
+package agabrown.fractalexplorer.sets;
+
+/**
+ * Packs the outcome of iterating a series (number of iterations and detected period of the orbit) into a single
+ * primitive value, so that the iteration loops in the fractal set classes do not have to create objects.
+ *
+ * @author agabrown Oct 2026
+ */
+final class SeriesResult {
+
+    /**
+     * Private default constructor to prevent instantiation.
+     */
+    private SeriesResult() {
+
+    }
+
+    /**
+     * Pack the number of iterations and the period into one value.
+     *
+     * @param iterations Number of iterations.
+     * @param period     Detected period of the orbit (0 if none).
+     * @return The packed result.
+     */
+    static long of(final int iterations, final int period) {
+        return ((long) period << Integer.SIZE) | (iterations & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Obtain the number of iterations from the packed result.
+     *
+     * @param result The packed result.
+     * @return Number of iterations.
+     */
+    static int iterations(final long result) {
+        return (int) result;
+    }
+
+    /**
+     * Obtain the period from the packed result.
+     *
+     * @param result The packed result.
+     * @return Period of the orbit (0 if none was detected).
+     */
+    static int period(final long result) {
+        return (int) (result >>> Integer.SIZE);
+    }
+}
@@ -0,0 +1,322 @@
+package agabrown.fractalexplorer.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Floating point number in double-double precision, held as the unevaluated sum of two doubles hi+lo with
+ * |lo|&le;ulp(hi)/2. This gives about 106 bits (32 decimal digits) of precision, enough to resolve the pixels of views
+ * zoomed in up to about 10<sup>28</sup>, at a small fraction of the cost of {@link BigDecimal} arithmetic. The
+ * algorithms are the error-free transformations of Dekker and Knuth, as used in the QD library of Hida, Li and Bailey.
+ * The exponent range is that of doubles, somewhat reduced for multiplications of numbers above about
+ * 10<sup>300</sup>.
+ *
+ * <p>
+ * As for {@link FloatExp}, instances are mutable and the arithmetic methods store their result in the instance on
+ * which they are called (which may also be one of the operands) and return that instance, so that hot loops can work
+ * on a fixed set of instances without creating objects. Instances are not thread safe.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class DoubleDouble {
+
+    /**
+     * Number of significant decimal digits of double-double numbers.
+     */
+    public static final int DIGITS = 32;
+
+    /**
+     * Constant 2<sup>27</sup>+1 used to split a double into two halves of 26 bits.
+     */
+    private static final double SPLITTER = 134217729.0;
+
+    /**
+     * The leading part.
+     */
+    private double hi;
+
+    /**
+     * The trailing part.
+     */
+    private double lo;
+
+    /**
+     * Constructor. Creates the number zero.
+     */
+    public DoubleDouble() {
+        hi = 0.0;
+        lo = 0.0;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param value The value of the number.
+     */
+    public DoubleDouble(final double value) {
+        set(value);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other The number to copy.
+     */
+    public DoubleDouble(final DoubleDouble other) {
+        set(other);
+    }
+
+    /**
+     * Create a number from an arbitrary precision decimal, rounded to double-double precision.
+     *
+     * @param value The decimal number.
+     * @return The number.
+     */
+    public static DoubleDouble valueOf(final BigDecimal value) {
+        final DoubleDouble result = new DoubleDouble();
+        final double high = value.doubleValue();
+        if (!Double.isFinite(high)) {
+            return result.set(high, 0.0);
+        }
+        return result.set(high, value.subtract(new BigDecimal(high)).doubleValue());
+    }
+
+    /**
+     * Set the value of this number.
+     *
+     * @param value The new value.
+     * @return This number.
+     */
+    public DoubleDouble set(final double value) {
+        hi = value;
+        lo = 0.0;
+        return this;
+    }
+
+    /**
+     * Set the value of this number to the sum of two doubles, where |high|&ge;|low| (or high=0).
+     *
+     * @param high The leading part.
+     * @param low  The trailing part.
+     * @return This number.
+     */
+    public DoubleDouble set(final double high, final double low) {
+        final double s = high + low;
+        hi = s;
+        lo = low - (s - high);
+        return this;
+    }
+
+    /**
+     * Set the value of this number to that of another number.
+     *
+     * @param other The other number.
+     * @return This number.
+     */
+    public DoubleDouble set(final DoubleDouble other) {
+        hi = other.hi;
+        lo = other.lo;
+        return this;
+    }
+
+    /**
+     * Set this number to a+b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public DoubleDouble add(final DoubleDouble a, final DoubleDouble b) {
+        return sum(a.hi, a.lo, b.hi, b.lo);
+    }
+
+    /**
+     * Set this number to a+b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public DoubleDouble add(final DoubleDouble a, final double b) {
+        final double s = a.hi + b;
+        final double v = s - a.hi;
+        final double e = (a.hi - (s - v)) + (b - v) + a.lo;
+        return set(s, e);
+    }
+
+    /**
+     * Set this number to a-b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public DoubleDouble subtract(final DoubleDouble a, final DoubleDouble b) {
+        return sum(a.hi, a.lo, -b.hi, -b.lo);
+    }
+
+    /**
+     * Set this number to a&times;b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public DoubleDouble multiply(final DoubleDouble a, final DoubleDouble b) {
+        final double p = a.hi * b.hi;
+        final double e = productError(a.hi, b.hi, p) + (a.hi * b.lo + a.lo * b.hi);
+        return set(p, e);
+    }
+
+    /**
+     * Set this number to a&times;b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public DoubleDouble multiply(final DoubleDouble a, final double b) {
+        final double p = a.hi * b;
+        final double e = productError(a.hi, b, p) + a.lo * b;
+        return set(p, e);
+    }
+
+    /**
+     * Set this number to a<sup>2</sup>.
+     *
+     * @param a The operand.
+     * @return This number.
+     */
+    public DoubleDouble square(final DoubleDouble a) {
+        final double p = a.hi * a.hi;
+        final double e = productError(a.hi, a.hi, p) + 2.0 * a.hi * a.lo;
+        return set(p, e);
+    }
+
+    /**
+     * Set this number to a&times;2<sup>n</sup> (which is exact).
+     *
+     * @param a The operand.
+     * @param n The power of two.
+     * @return This number.
+     */
+    public DoubleDouble scalb(final DoubleDouble a, final int n) {
+        hi = Math.scalb(a.hi, n);
+        lo = Math.scalb(a.lo, n);
+        return this;
+    }
+
+    /**
+     * Set this number to -a.
+     *
+     * @param a The operand.
+     * @return This number.
+     */
+    public DoubleDouble negate(final DoubleDouble a) {
+        hi = -a.hi;
+        lo = -a.lo;
+        return this;
+    }
+
+    /**
+     * Set this number to the sum of two double-double numbers given by their parts.
+     *
+     * @param aHi Leading part of the first operand.
+     * @param aLo Trailing part of the first operand.
+     * @param bHi Leading part of the second operand.
+     * @param bLo Trailing part of the second operand.
+     * @return This number.
+     */
+    private DoubleDouble sum(final double aHi, final double aLo, final double bHi, final double bLo) {
+        final double s = aHi + bHi;
+        final double v = s - aHi;
+        double e = (aHi - (s - v)) + (bHi - v);
+        final double t = aLo + bLo;
+        final double w = t - aLo;
+        final double f = (aLo - (t - w)) + (bLo - w);
+        e += t;
+        final double s2 = s + e;
+        e = e - (s2 - s) + f;
+        return set(s2, e);
+    }
+
+    /**
+     * Calculate the rounding error of the product of two doubles with Dekker's algorithm, such that a&times;b equals
+     * p plus the error exactly.
+     *
+     * @param a First factor.
+     * @param b Second factor.
+     * @param p The product a&times;b rounded to double precision.
+     * @return The rounding error.
+     */
+    private static double productError(final double a, final double b, final double p) {
+        double t = SPLITTER * a;
+        final double aHi = t - (t - a);
+        final double aLo = a - aHi;
+        t = SPLITTER * b;
+        final double bHi = t - (t - b);
+        final double bLo = b - bHi;
+        return ((aHi * bHi - p) + aHi * bLo + aLo * bHi) + aLo * bLo;
+    }
+
+    /**
+     * Obtain the leading part of this number.
+     *
+     * @return The leading part (equal to the number rounded to double precision).
+     */
+    public double getHigh() {
+        return hi;
+    }
+
+    /**
+     * Obtain the trailing part of this number.
+     *
+     * @return The trailing part.
+     */
+    public double getLow() {
+        return lo;
+    }
+
+    /**
+     * Obtain the value of this number rounded to double precision.
+     *
+     * @return The value as a double.
+     */
+    public double doubleValue() {
+        return hi;
+    }
+
+    /**
+     * Obtain the exact value of this number as an arbitrary precision decimal.
+     *
+     * @return The decimal number.
+     * @throws NumberFormatException If the number is not finite.
+     */
+    public BigDecimal toBigDecimal() {
+        return new BigDecimal(hi).add(new BigDecimal(lo));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof DoubleDouble)) {
+            return false;
+        }
+        final DoubleDouble that = (DoubleDouble) other;
+        return Double.compare(hi, that.hi) == 0 && Double.compare(lo, that.lo) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(hi) + Double.hashCode(lo);
+    }
+
+    @Override
+    public String toString() {
+        if (!Double.isFinite(hi)) {
+            return Double.toString(hi);
+        }
+        return toBigDecimal().round(new MathContext(DIGITS, RoundingMode.HALF_EVEN)).toString();
+    }
+}
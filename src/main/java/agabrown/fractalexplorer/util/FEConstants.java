@@ -48,6 +48,22 @@ public final class FEConstants {
      * Preferred aspect ratio dictated by default view of complex plane.
      */
     public static final double PREFERRED_ASPECT_RATIO = DEFAULT_SIZE_IMAGINARY / DEFAULT_SIZE_REAL;
+    /**
+     * Ratio of the tolerance used in detecting periodic orbits to the pixel size of the complex plane view.
+     */
+    public static final double PERIODICITY_TOLERANCE_FACTOR = 1.0e-3;
+    /**
+     * Number of pixels on which single precision results are verified against double precision.
+     */
+    public static final int VERIFICATION_SAMPLES = 256;
+    /**
+     * Difference between the single and double precision values above which a sampled pixel counts as disagreeing.
+     */
+    public static final double VERIFICATION_VALUE_TOLERANCE = 0.5;
+    /**
+     * Number of disagreeing sampled pixels above which a single precision image is recalculated in double precision.
+     */
+    public static final int VERIFICATION_MAXIMUM_DISAGREEMENTS = 2;
 
     /**
      * Private default constructor to prevent instantiation.
@@ -0,0 +1,384 @@
+package agabrown.fractalexplorer.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Floating point number with an extended exponent range ("floatexp"), held as a double mantissa m and an int exponent
+ * e, representing m&times;2<sup>e</sup>. The mantissa is kept normalised to 1&le;|m|&lt;2 (or m=0), so that the
+ * precision is that of a double while numbers far below 10<sup>-308</sup> (or far above 10<sup>308</sup>) can be
+ * represented. This is needed for the pixel offsets and orbit deviations of views zoomed in beyond the range of
+ * doubles.
+ *
+ * <p>
+ * Instances are mutable and the arithmetic methods store their result in the instance on which they are called
+ * (which may also be one of the operands) and return that instance. Hence hot loops can work on a fixed set of
+ * instances without creating objects, for example {@code d.multiply(d, d).add(d, c)} for d<sub>n+1</sub> =
+ * d<sub>n</sub><sup>2</sup>+c. Instances are not thread safe.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class FloatExp implements Comparable<FloatExp> {
+
+    /**
+     * Operands whose binary exponents differ by more than this do not affect each other's sum.
+     */
+    private static final int MAXIMUM_EXPONENT_DIFFERENCE = 64;
+
+    /**
+     * The value of log<sub>10</sub>(2).
+     */
+    private static final double LOG10_TWO = Math.log10(2.0);
+
+    /**
+     * The mantissa m, with 1&le;|m|&lt;2 or m=0 (or not finite).
+     */
+    private double mantissa;
+
+    /**
+     * The binary exponent e ({@link Integer#MIN_VALUE} for the number zero).
+     */
+    private int exponent;
+
+    /**
+     * Constructor. Creates the number zero.
+     */
+    public FloatExp() {
+        mantissa = 0.0;
+        exponent = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param value The value of the number.
+     */
+    public FloatExp(final double value) {
+        set(value);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param mantissa The mantissa (need not be normalised).
+     * @param exponent The binary exponent.
+     */
+    public FloatExp(final double mantissa, final int exponent) {
+        set(mantissa, exponent);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other The number to copy.
+     */
+    public FloatExp(final FloatExp other) {
+        set(other);
+    }
+
+    /**
+     * Create a number from an arbitrary precision decimal, rounded to double precision.
+     *
+     * @param value The decimal number.
+     * @return The number.
+     */
+    public static FloatExp valueOf(final BigDecimal value) {
+        if (value.signum() == 0) {
+            return new FloatExp();
+        }
+        final double asDouble = value.doubleValue();
+        if (Double.isFinite(asDouble) && Math.abs(asDouble) >= Double.MIN_NORMAL) {
+            return new FloatExp(asDouble);
+        }
+        // scale exactly by a power of two close to the value, using 2^-k = 5^k / 10^k
+        final int e10 = value.precision() - value.scale() - 1;
+        final int k = (int) Math.floor(e10 / LOG10_TWO);
+        final BigDecimal scaled = k < 0 ? value.multiply(BigDecimal.valueOf(2).pow(-k))
+                : value.multiply(BigDecimal.valueOf(5).pow(k)).scaleByPowerOfTen(-k);
+        return new FloatExp(scaled.doubleValue(), k);
+    }
+
+    /**
+     * Set the value of this number.
+     *
+     * @param value The new value.
+     * @return This number.
+     */
+    public FloatExp set(final double value) {
+        return set(value, 0);
+    }
+
+    /**
+     * Set the value of this number to m&times;2<sup>e</sup>.
+     *
+     * @param m The mantissa (need not be normalised).
+     * @param e The binary exponent.
+     * @return This number.
+     */
+    public FloatExp set(final double m, final int e) {
+        if (m == 0.0 || !Double.isFinite(m)) {
+            mantissa = m;
+            exponent = m == 0.0 ? Integer.MIN_VALUE : 0;
+            return this;
+        }
+        double scaled = m;
+        int shift = e;
+        int k = Math.getExponent(scaled);
+        if (k < Double.MIN_EXPONENT) {
+            // subnormal
+            scaled = scaled * 0x1.0p54;
+            shift -= 54;
+            k = Math.getExponent(scaled);
+        }
+        mantissa = Math.scalb(scaled, -k);
+        exponent = shift + k;
+        return this;
+    }
+
+    /**
+     * Set the value of this number to that of another number.
+     *
+     * @param other The other number.
+     * @return This number.
+     */
+    public FloatExp set(final FloatExp other) {
+        mantissa = other.mantissa;
+        exponent = other.exponent;
+        return this;
+    }
+
+    /**
+     * Set this number to a+b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public FloatExp add(final FloatExp a, final FloatExp b) {
+        return sum(a.mantissa, a.exponent, b.mantissa, b.exponent);
+    }
+
+    /**
+     * Set this number to a-b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public FloatExp subtract(final FloatExp a, final FloatExp b) {
+        return sum(a.mantissa, a.exponent, -b.mantissa, b.exponent);
+    }
+
+    /**
+     * Set this number to a&times;b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public FloatExp multiply(final FloatExp a, final FloatExp b) {
+        return set(a.mantissa * b.mantissa, a.exponent + b.exponent);
+    }
+
+    /**
+     * Set this number to a&times;b.
+     *
+     * @param a First operand.
+     * @param b Second operand (a double, which should not be subnormal).
+     * @return This number.
+     */
+    public FloatExp multiply(final FloatExp a, final double b) {
+        return set(a.mantissa * b, a.exponent);
+    }
+
+    /**
+     * Set this number to a/b.
+     *
+     * @param a First operand.
+     * @param b Second operand.
+     * @return This number.
+     */
+    public FloatExp divide(final FloatExp a, final FloatExp b) {
+        return set(a.mantissa / b.mantissa, a.exponent - b.exponent);
+    }
+
+    /**
+     * Set this number to a&times;2<sup>n</sup>.
+     *
+     * @param a The operand.
+     * @param n The power of two.
+     * @return This number.
+     */
+    public FloatExp scalb(final FloatExp a, final int n) {
+        mantissa = a.mantissa;
+        exponent = a.mantissa == 0.0 || !Double.isFinite(a.mantissa) ? a.exponent : a.exponent + n;
+        return this;
+    }
+
+    /**
+     * Set this number to -a.
+     *
+     * @param a The operand.
+     * @return This number.
+     */
+    public FloatExp negate(final FloatExp a) {
+        mantissa = -a.mantissa;
+        exponent = a.exponent;
+        return this;
+    }
+
+    /**
+     * Set this number to |a|.
+     *
+     * @param a The operand.
+     * @return This number.
+     */
+    public FloatExp abs(final FloatExp a) {
+        mantissa = Math.abs(a.mantissa);
+        exponent = a.exponent;
+        return this;
+    }
+
+    /**
+     * Set this number to the sum of m<sub>a</sub>&times;2<sup>e<sub>a</sub></sup> and
+     * m<sub>b</sub>&times;2<sup>e<sub>b</sub></sup>.
+     *
+     * @param ma Mantissa of the first operand.
+     * @param ea Exponent of the first operand.
+     * @param mb Mantissa of the second operand.
+     * @param eb Exponent of the second operand.
+     * @return This number.
+     */
+    private FloatExp sum(final double ma, final int ea, final double mb, final int eb) {
+        if (mb == 0.0) {
+            return set(ma, ea);
+        }
+        if (ma == 0.0) {
+            return set(mb, eb);
+        }
+        final int difference = ea - eb;
+        if (difference > MAXIMUM_EXPONENT_DIFFERENCE) {
+            return set(ma, ea);
+        }
+        if (difference < -MAXIMUM_EXPONENT_DIFFERENCE) {
+            return set(mb, eb);
+        }
+        if (difference >= 0) {
+            return set(ma + Math.scalb(mb, -difference), ea);
+        }
+        return set(Math.scalb(ma, difference) + mb, eb);
+    }
+
+    /**
+     * Obtain the normalised mantissa m (1&le;|m|&lt;2, or 0).
+     *
+     * @return The mantissa.
+     */
+    public double getMantissa() {
+        return mantissa;
+    }
+
+    /**
+     * Obtain the binary exponent e, such that the number equals m&times;2<sup>e</sup>, which is the largest integer
+     * not above log<sub>2</sub>|x|. For the number zero {@link Integer#MIN_VALUE} is returned, so that zero compares
+     * as smaller in magnitude than all other numbers.
+     *
+     * @return The exponent.
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Obtain the sign of this number.
+     *
+     * @return -1, 0, or 1 for negative numbers, zero, and positive numbers.
+     */
+    public int signum() {
+        return (int) Math.signum(mantissa);
+    }
+
+    /**
+     * Obtain the value of this number as a double, which underflows to zero or overflows to infinity if the number is
+     * outside the range of doubles.
+     *
+     * @return The value as a double.
+     */
+    public double doubleValue() {
+        return Math.scalb(mantissa, exponent);
+    }
+
+    /**
+     * Obtain the base 10 logarithm of the absolute value of this number.
+     *
+     * @return The value of log<sub>10</sub>|x|.
+     */
+    public double log10() {
+        if (mantissa == 0.0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return Math.log10(Math.abs(mantissa)) + exponent * LOG10_TWO;
+    }
+
+    /**
+     * Obtain the exact value of this number as an arbitrary precision decimal.
+     *
+     * @return The decimal number.
+     * @throws ArithmeticException If the number is not finite.
+     */
+    public BigDecimal toBigDecimal() {
+        if (!Double.isFinite(mantissa)) {
+            throw new ArithmeticException("Number is not finite.");
+        }
+        if (mantissa == 0.0) {
+            return BigDecimal.ZERO;
+        }
+        final BigDecimal m = new BigDecimal(mantissa);
+        if (exponent >= 0) {
+            return m.multiply(BigDecimal.valueOf(2).pow(exponent));
+        }
+        // 2^-n = 5^n / 10^n
+        return m.multiply(BigDecimal.valueOf(5).pow(-exponent)).scaleByPowerOfTen(exponent);
+    }
+
+    @Override
+    public int compareTo(final FloatExp other) {
+        final int sign = signum();
+        final int otherSign = other.signum();
+        if (sign != otherSign || sign == 0) {
+            return Integer.compare(sign, otherSign);
+        }
+        if (exponent != other.exponent) {
+            return sign * Integer.compare(exponent, other.exponent);
+        }
+        return Double.compare(mantissa, other.mantissa);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof FloatExp)) {
+            return false;
+        }
+        final FloatExp that = (FloatExp) other;
+        return Double.compare(mantissa, that.mantissa) == 0 && exponent == that.exponent;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(mantissa) + exponent;
+    }
+
+    @Override
+    public String toString() {
+        final double value = doubleValue();
+        if ((value != 0.0 && Double.isFinite(value) && Math.abs(value) >= Double.MIN_NORMAL) || mantissa == 0.0
+                || !Double.isFinite(mantissa)) {
+            return Double.toString(value);
+        }
+        final BigDecimal decimal = toBigDecimal().round(new MathContext(17, RoundingMode.HALF_EVEN));
+        final int e10 = decimal.precision() - decimal.scale() - 1;
+        return Double.toString(decimal.movePointLeft(e10).doubleValue()) + "E" + e10;
+    }
+}
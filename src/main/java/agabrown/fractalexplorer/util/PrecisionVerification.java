@@ -0,0 +1,86 @@
+package agabrown.fractalexplorer.util;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Verifies images calculated in single (float) precision against double precision on a sample of
+ * {@link FEConstants#VERIFICATION_SAMPLES} pixels, spread evenly over the image. A sampled pixel agrees if its single
+ * precision value equals the double precision value or differs from it by at most
+ * {@link FEConstants#VERIFICATION_VALUE_TOLERANCE}. Values that are not a number, or infinite values of which only one
+ * is infinite, never agree.
+ *
+ * <p>
+ * Single precision is only accepted for pixels close to the boundary of a fractal set, where the orbits are chaotic
+ * and a rounding error may change the pixel value in any precision. The image is therefore accepted if at most
+ * {@link FEConstants#VERIFICATION_MAXIMUM_DISAGREEMENTS} of the sampled pixels disagree, in which case the pixels in a
+ * {@link #NEIGHBOURHOOD_RADIUS neighbourhood} of each disagreeing sample are recalculated in double precision, so that
+ * no pixel found to be wrong is kept. Otherwise the image should be recalculated in double precision as a whole.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class PrecisionVerification {
+
+    /**
+     * Half the width in pixels of the square neighbourhood of a disagreeing sampled pixel that is recalculated in
+     * double precision.
+     */
+    public static final int NEIGHBOURHOOD_RADIUS = 1;
+
+    /**
+     * Private default constructor to prevent instantiation.
+     */
+    private PrecisionVerification() {
+
+    }
+
+    /**
+     * Compare the single and double precision values of a pixel.
+     *
+     * @param singleValue The value calculated in single precision.
+     * @param doubleValue The value calculated in double precision.
+     * @return True if the values agree.
+     */
+    public static boolean agrees(final double singleValue, final double doubleValue) {
+        return singleValue == doubleValue
+                || Math.abs(singleValue - doubleValue) <= FEConstants.VERIFICATION_VALUE_TOLERANCE;
+    }
+
+    /**
+     * Verify an image calculated in single precision against double precision. If the image is accepted the
+     * neighbourhoods of the disagreeing sampled pixels are replaced by their double precision values.
+     *
+     * @param image           The image, calculated in single precision.
+     * @param width           Width of the image in pixels.
+     * @param doublePrecision Calculates the value of the pixel with the given index in the image array in double
+     *                        precision.
+     * @return True if the image is accepted, false if it should be recalculated in double precision.
+     */
+    public static boolean verify(final double[] image, final int width, final IntToDoubleFunction doublePrecision) {
+        final int samples = Math.min(FEConstants.VERIFICATION_SAMPLES, image.length);
+        final int[] disagreeing = new int[FEConstants.VERIFICATION_MAXIMUM_DISAGREEMENTS];
+        int disagreements = 0;
+        for (int s = 0; s < samples; s++) {
+            final int k = (int) ((long) s * image.length / samples);
+            if (!agrees(image[k], doublePrecision.applyAsDouble(k))) {
+                if (disagreements == disagreeing.length) {
+                    return false;
+                }
+                disagreeing[disagreements++] = k;
+            }
+        }
+        final int height = image.length / width;
+        for (int d = 0; d < disagreements; d++) {
+            final int i0 = disagreeing[d] % width;
+            final int j0 = disagreeing[d] / width;
+            for (int j = Math.max(0, j0 - NEIGHBOURHOOD_RADIUS); j <= Math.min(height - 1, j0 + NEIGHBOURHOOD_RADIUS);
+                 j++) {
+                for (int i = Math.max(0, i0 - NEIGHBOURHOOD_RADIUS);
+                     i <= Math.min(width - 1, i0 + NEIGHBOURHOOD_RADIUS); i++) {
+                    image[j * width + i] = doublePrecision.applyAsDouble(j * width + i);
+                }
+            }
+        }
+        return true;
+    }
+}
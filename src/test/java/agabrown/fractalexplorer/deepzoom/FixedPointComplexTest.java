@@ -0,0 +1,95 @@
+package agabrown.fractalexplorer.deepzoom;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.deepzoom.FixedPointComplex}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class FixedPointComplexTest {
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.deepzoom.FixedPointComplex#set(BigDecimal, BigDecimal)}. Check
+     * the conversions from and to decimal numbers and doubles, including negative numbers.
+     */
+    @Test
+    public void testConversions() {
+        final FixedPointComplex z = new FixedPointComplex(100);
+        assertEquals(128, z.getFractionBits());
+        final BigDecimal re = new BigDecimal("-1.25");
+        final BigDecimal im = new BigDecimal("3.0517578125E-5");
+        z.set(re, im);
+        assertEquals(0, re.compareTo(z.getExactReal()));
+        assertEquals(0, im.compareTo(z.getExactImaginary()));
+        assertEquals(-1.25, z.getReal(), 0.0);
+        assertEquals(3.0517578125E-5, z.getImaginary(), 0.0);
+
+        final BigDecimal tiny = new BigDecimal("-1.0E-30");
+        z.set(tiny, BigDecimal.ZERO);
+        assertEquals(-1.0e-30, z.getReal(), 3.0e-39);
+        assertEquals(0.0, z.getImaginary(), 0.0);
+        assertTrue(tiny.subtract(z.getExactReal()).abs().compareTo(new BigDecimal("3E-39")) < 0);
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.deepzoom.FixedPointComplex#squareAdd(FixedPointComplex, boolean)}. Compare the
+     * orbit of a point inside the Mandelbrot set (and outside the Tricorn) with the orbit calculated in BigDecimal
+     * arithmetic, up to the first iterate outside the stopping radius.
+     */
+    @Test
+    public void testSquareAdd() {
+        final BigDecimal cRe = new BigDecimal("-0.1234567890123456789012345678901234567");
+        final BigDecimal cIm = new BigDecimal("0.2345678901234567890123456789012345678");
+        final MathContext mc = new MathContext(80, RoundingMode.HALF_EVEN);
+        final BigDecimal tolerance = new BigDecimal("1E-60");
+        for (final boolean conjugate : new boolean[]{false, true}) {
+            final FixedPointComplex c = new FixedPointComplex(256).set(cRe, cIm);
+            final FixedPointComplex z = new FixedPointComplex(256).set(BigDecimal.ZERO, BigDecimal.ZERO);
+            BigDecimal zRe = BigDecimal.ZERO;
+            BigDecimal zIm = BigDecimal.ZERO;
+            for (int n = 0; n < 50 && zRe.pow(2).add(zIm.pow(2)).compareTo(BigDecimal.valueOf(4)) <= 0; n++) {
+                z.squareAdd(c, conjugate);
+                final BigDecimal product = zRe.multiply(zIm, mc);
+                final BigDecimal newRe = zRe.multiply(zRe, mc).subtract(zIm.multiply(zIm, mc), mc).add(cRe, mc);
+                zIm = conjugate ? cIm.subtract(product.add(product), mc) : product.add(product).add(cIm, mc);
+                zRe = newRe;
+                assertTrue(n + ": " + zRe + " vs " + z.getExactReal(),
+                        zRe.subtract(z.getExactReal()).abs().compareTo(tolerance) < 0);
+                assertTrue(n + ": " + zIm + " vs " + z.getExactImaginary(),
+                        zIm.subtract(z.getExactImaginary()).abs().compareTo(tolerance) < 0);
+                assertEquals(zRe.doubleValue(), z.getReal(), Math.ulp(zRe.doubleValue()));
+                assertEquals(zIm.doubleValue(), z.getImaginary(), Math.ulp(zIm.doubleValue()));
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.deepzoom.ReferenceOrbit}. Orbits calculated in fixed-point
+     * arithmetic should match those calculated in BigDecimal arithmetic (used for large stopping radii).
+     */
+    @Test
+    public void testReferenceOrbit() {
+        final BigDecimal cRe = new BigDecimal("-1.7400623825793399052981956671");
+        final BigDecimal cIm = new BigDecimal("0.0281753397792110489924115211");
+        final ReferenceOrbit fixed = ReferenceOrbit.calculate(BigDecimal.ZERO, BigDecimal.ZERO, cRe, cIm, false,
+                1000, 2.0, 40);
+        final ReferenceOrbit decimal = ReferenceOrbit.calculate(BigDecimal.ZERO, BigDecimal.ZERO, cRe, cIm, false,
+                fixed.getLength() - 1, 1.0e5, 40);
+        assertTrue(fixed.hasEscaped());
+        assertEquals(fixed.getLength(), decimal.getLength());
+        for (int n = 0; n < fixed.getLength(); n++) {
+            assertEquals(decimal.getReal(n), fixed.getReal(n), 1.0e-14 * Math.abs(decimal.getReal(n)) + 1.0e-300);
+            assertEquals(decimal.getImaginary(n), fixed.getImaginary(n),
+                    1.0e-14 * Math.abs(decimal.getImaginary(n)) + 1.0e-300);
+        }
+    }
+}
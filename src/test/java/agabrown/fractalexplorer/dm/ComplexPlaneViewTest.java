@@ -1,9 +1,12 @@
 package agabrown.fractalexplorer.dm;
 
 import agabrown.fractalexplorer.util.FEConstants;
+import agabrown.fractalexplorer.util.FloatExp;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
+
 import static org.junit.Assert.*;
 
 /**
@@ -222,4 +225,75 @@ public class ComplexPlaneViewTest {
         assertEquals(viewC, viewA);
     }
 
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.dm.ComplexPlaneView#setCentre(BigDecimal, BigDecimal)}
+     * . Check that centre points beyond double precision are kept and that the pixel offsets are resolved at zoom
+     * factors where the pixel coordinates are not.
+     */
+    @Test
+    public void testExactCentre() {
+        final BigDecimal re = new BigDecimal("-0.74364388703715870475219150611477416");
+        final BigDecimal im = new BigDecimal("0.13182590420531197049313205638513950");
+        viewA.setCentre(re, im);
+        viewA.setZoomFactor(1.0e25);
+        assertEquals(0, re.compareTo(viewA.getExactCentreReal()));
+        assertEquals(0, im.compareTo(viewA.getExactCentreImaginary()));
+        assertEquals(re.doubleValue(), viewA.getCentreReal(), 0.0);
+        assertEquals(im.doubleValue(), viewA.getCentreImaginary(), 0.0);
+
+        assertEquals(viewA.getValueAtRealPixel(0), viewA.getValueAtRealPixel(sizeRe - 1), 0.0);
+        assertEquals(-viewA.getOffsetAtRealPixel(0), viewA.getOffsetAtRealPixel(sizeRe - 1), 0.0);
+        assertEquals((sizeRe - 1) * viewA.getPixelSizeReal(),
+                viewA.getOffsetAtRealPixel(sizeRe - 1) - viewA.getOffsetAtRealPixel(0), 1.0e-12 * viewA.getSizeReal());
+        assertEquals(viewA.getPixelSizeImaginary(), viewA.getOffsetAtImaginaryPixel(0)
+                - viewA.getOffsetAtImaginaryPixel(1), 1.0e-12 * viewA.getPixelSizeImaginary());
+        final double[] offsets = viewA.getOffsetsImaginaryPixels();
+        assertEquals(sizeIm, offsets.length);
+        assertEquals(viewA.getOffsetAtImaginaryPixel(7), offsets[7], 0.0);
+
+        viewB = (ComplexPlaneView) viewA.clone();
+        assertEquals(viewA, viewB);
+        viewB.setCentreAtPixel(sizeRe - 1.0, 0.0);
+        assertNotEquals(viewA, viewB);
+        final BigDecimal shift = viewB.getExactCentreReal().subtract(re);
+        assertEquals(viewA.getOffsetAtRealPixel(sizeRe - 1), shift.doubleValue(), 1.0e-3 * viewA.getPixelSizeReal());
+        viewB.setCentreAtPixel(0.0, sizeIm - 1.0);
+        assertEquals(0.0, viewB.getExactCentreReal().subtract(re).doubleValue(), 1.0e-3 * viewA.getPixelSizeReal());
+        assertEquals(0.0, viewB.getExactCentreImaginary().subtract(im).doubleValue(),
+                1.0e-3 * viewA.getPixelSizeImaginary());
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.dm.ComplexPlaneView#setZoomFactor(FloatExp)}
+     * . Check that zoom factors beyond the range of doubles give pixel sizes and
+     * offsets in extended range.
+     */
+    @Test
+    public void testExtendedZoomFactor() {
+        final double origPixelSizeReal = viewA.getPixelSizeReal();
+        viewA.setZoomFactor(FloatExp.valueOf(new BigDecimal("1e400")));
+        assertEquals(Double.POSITIVE_INFINITY, viewA.getZoomFactor(), 0.0);
+        assertEquals(0.0, viewA.getPixelSizeReal(), 0.0);
+        assertEquals(Math.log10(origPixelSizeReal) - 400, viewA.getPixelSizeRealExtended().log10(), 1.0e-12);
+        final FloatExp offset = viewA.getOffsetAtRealPixel(sizeRe - 1.0, new FloatExp());
+        assertEquals(0, offset.compareTo(viewA.getOffsetsRealPixelsExtended()[sizeRe - 1]));
+        assertEquals(0, new FloatExp().negate(offset).compareTo(viewA.getOffsetsRealPixelsExtended()[0]));
+        assertEquals(0, viewA.getOffsetAtImaginaryPixel(0.0, new FloatExp()).compareTo(
+                viewA.getOffsetsImaginaryPixelsExtended()[0]));
+
+        final FloatExp pixelSizeImaginary = viewA.getPixelSizeImaginaryExtended();
+        viewA.doubleZoomFactor();
+        assertEquals(pixelSizeImaginary.getExponent() - 1, viewA.getPixelSizeImaginaryExtended().getExponent());
+        assertEquals(pixelSizeImaginary.getMantissa(), viewA.getPixelSizeImaginaryExtended().getMantissa(), 0.0);
+
+        viewB = (ComplexPlaneView) viewA.clone();
+        assertEquals(viewA, viewB);
+        viewB.setCentreAtPixel(sizeRe - 1.0, 0.0);
+        final BigDecimal shift = viewB.getExactCentreReal().subtract(viewA.getExactCentreReal());
+        final FloatExp expected = viewA.getOffsetAtRealPixel(sizeRe - 1.0, new FloatExp());
+        assertEquals(1.0, new FloatExp().divide(FloatExp.valueOf(shift), expected).doubleValue(), 1.0e-5);
+    }
+
 }
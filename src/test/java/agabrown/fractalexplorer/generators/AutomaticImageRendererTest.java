@@ -0,0 +1,71 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.generators.AutomaticImageRenderer.Arithmetic;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.AutomaticImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class AutomaticImageRendererTest {
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.AutomaticImageRenderer#select(FractalGenerator, ComplexPlaneView)}.
+     * Zooming in should climb the ladder of arithmetic types.
+     */
+    @Test
+    public void testSelect() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(800, 600);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setMaximumIterations(256);
+        assertEquals(Arithmetic.FLOAT, AutomaticImageRenderer.select(generator, cpv));
+        cpv.setCentre(new BigDecimal("-0.743643887037158704752191506114774"),
+                new BigDecimal("0.131825904205311970493132056385139"));
+        cpv.setZoomFactor(1.0e6);
+        assertEquals(Arithmetic.DOUBLE, AutomaticImageRenderer.select(generator, cpv));
+        cpv.setZoomFactor(1.0e20);
+        assertEquals(Arithmetic.DOUBLE_DOUBLE, AutomaticImageRenderer.select(generator, cpv));
+        cpv.setZoomFactor(1.0e40);
+        assertEquals(Arithmetic.PERTURBATION, AutomaticImageRenderer.select(generator, cpv));
+
+        cpv.setZoomFactor(1.0e6);
+        final int bits = cpv.getRequiredBits(256);
+        cpv.doubleZoomFactor();
+        assertEquals(bits + 1, cpv.getRequiredBits(256));
+        assertTrue(cpv.getRequiredBits(1 << 20) > bits + 1);
+
+        cpv.reset();
+        assertEquals(Arithmetic.DOUBLE, AutomaticImageRenderer.select(
+                FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime(), cpv));
+        generator.setStoppingRadius(1.0e20);
+        assertEquals(Arithmetic.DOUBLE, AutomaticImageRenderer.select(generator, cpv));
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.AutomaticImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . The image should be the one calculated by the renderer for the selected arithmetic.
+     */
+    @Test
+    public void testRender() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(80, 60);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        final AutomaticImageRenderer renderer = new AutomaticImageRenderer(2);
+        assertEquals(Arithmetic.FLOAT, AutomaticImageRenderer.select(generator, cpv));
+        assertArrayEquals(new FloatImageRenderer(1).render(generator, cpv, new RenderProgress()),
+                renderer.render(generator, cpv, new RenderProgress()), 0.0);
+        cpv.setZoomFactor(1.0e6);
+        assertEquals(Arithmetic.DOUBLE, AutomaticImageRenderer.select(generator, cpv));
+        assertArrayEquals(new TiledImageRenderer(1).render(generator, cpv, new RenderProgress()),
+                renderer.render(generator, cpv, new RenderProgress()), 0.0);
+    }
+}
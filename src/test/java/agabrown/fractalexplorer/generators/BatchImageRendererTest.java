@@ -0,0 +1,143 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.SmoothIterationCount;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.BatchImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class BatchImageRendererTest {
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.BatchImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . The images should agree with those calculated by the {@link TiledImageRenderer}, apart from the rare pixels
+     * whose iterates come within rounding errors of the stopping radius.
+     */
+    @Test
+    public void testRender() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(163, 121);
+        cpv.setCentre(-0.75, 0.1);
+        cpv.setZoomFactor(4.0);
+        final ComplexDynamicsBased[] generators = {FractalGeneratorFactory.getMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getModifiedMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getJuliaClassicEscapeTime(new Complex(-0.8, 0.156)),
+                FractalGeneratorFactory.getQuadraticVariantEscapeTime(QuadraticVariant.BURNING_SHIP),
+                FractalGeneratorFactory.getQuadraticVariantEscapeTime(QuadraticVariant.PERPENDICULAR_BURNING_SHIP),
+                FractalGeneratorFactory.getQuadraticVariantEscapeTime(QuadraticVariant.CELTIC),
+                FractalGeneratorFactory.getQuadraticVariantEscapeTime(QuadraticVariant.BUFFALO),
+                FractalGeneratorFactory.getQuadraticVariantJuliaEscapeTime(QuadraticVariant.BURNING_SHIP,
+                        new Complex(-1.2, -0.1))};
+        final BatchImageRenderer renderer = new BatchImageRenderer(new ScalarEscapeTimeKernel(), 2);
+        for (final ComplexDynamicsBased generator : generators) {
+            generator.setMaximumIterations(300);
+            for (final boolean conjugate : new boolean[]{false, true}) {
+                generator.useConjugate(conjugate);
+                assertTrue(BatchImageRenderer.supports(generator));
+                final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+                final RenderProgress progress = new RenderProgress();
+                final double[] image = renderer.render(generator, cpv, progress);
+                assertEquals(expected.length, progress.getCompletedPixels());
+                int differences = 0;
+                for (int k = 0; k < image.length; k++) {
+                    if (image[k] != expected[k]) {
+                        differences++;
+                    }
+                }
+                assertTrue(generator.getName() + ": " + differences, differences <= image.length / 1000);
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.generators.BatchImageRenderer#vectorKernel()}. On Java 17 and
+     * later the tests run with the Vector API enabled, and the vector kernel should give exactly the same images as
+     * the scalar kernel, also for row lengths that do not fill the last vector and for the variants of the quadratic
+     * map. On older JVMs the vector kernel is not built and the test is skipped.
+     */
+    @Test
+    public void testVectorKernel() {
+        assumeFalse(System.getProperty("java.specification.version").startsWith("1."));
+        assumeTrue(Integer.parseInt(System.getProperty("java.specification.version")) >= 17);
+        final EscapeTimeBatchKernel vector = BatchImageRenderer.vectorKernel();
+        assertNotNull(vector);
+        assertTrue(BatchImageRenderer.fastestKernel().getName().startsWith("vector"));
+        final ComplexPlaneView cpv = new ComplexPlaneView(163, 121);
+        for (final QuadraticVariant variant : QuadraticVariant.values()) {
+            final MandelbrotGenerator generator = FractalGeneratorFactory.getQuadraticVariantEscapeTime(variant);
+            generator.setColouringAlgorithm(new SmoothIterationCount(2.0, 2.0));
+            assertTrue(BatchImageRenderer.supports(generator));
+            for (final boolean conjugate : new boolean[]{false, true}) {
+                generator.useConjugate(conjugate);
+                final double[] expected = new BatchImageRenderer(new ScalarEscapeTimeKernel(), 1).render(generator,
+                        cpv, new RenderProgress());
+                assertArrayEquals(variant.getName(), expected, new BatchImageRenderer(vector, 2).render(generator,
+                        cpv, new RenderProgress()), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.generators.InterleavedEscapeTimeKernel}. The kernel should give
+     * exactly the same results as the scalar kernel, also for batches that do not fill all slots, maximum numbers of
+     * iterations that are not a multiple of the block length, starting values outside the stopping radius, and the
+     * variants of the quadratic map.
+     */
+    @Test
+    public void testInterleavedKernel() {
+        final int length = 503;
+        final double[] cRe = new double[length];
+        final double[] cIm = new double[length];
+        for (int k = 0; k < length; k++) {
+            cRe[k] = -2.5 + 3.5 * k / length;
+            cIm[k] = 1.5 * Math.sin(k);
+        }
+        final EscapeTimeBatchKernel scalar = new ScalarEscapeTimeKernel();
+        final EscapeTimeBatchKernel interleaved = new InterleavedEscapeTimeKernel();
+        for (final QuadraticVariant variant : QuadraticVariant.values()) {
+            for (final int maxIter : new int[]{0, 1, 7, 8, 9, 250}) {
+                for (final boolean conjugate : new boolean[]{false, true}) {
+                    for (final int to : new int[]{2, length}) {
+                        final double[] expectedRe = cRe.clone();
+                        final double[] expectedIm = cIm.clone();
+                        final int[] expected = new int[length];
+                        scalar.iterate(expectedRe, expectedIm, cRe, cIm, expected, 1, to, variant, conjugate, maxIter,
+                                4.0);
+                        final double[] zRe = cRe.clone();
+                        final double[] zIm = cIm.clone();
+                        final int[] iterations = new int[length];
+                        interleaved.iterate(zRe, zIm, cRe, cIm, iterations, 1, to, variant, conjugate, maxIter, 4.0);
+                        assertArrayEquals(expected, iterations);
+                        assertArrayEquals(expectedRe, zRe, 0.0);
+                        assertArrayEquals(expectedIm, zIm, 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.BatchImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Generators that are not supported are rendered by the {@link TiledImageRenderer}.
+     */
+    @Test
+    public void testRenderUnsupported() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(60, 40);
+        final ModifiedMandelbrotGenerator generator = FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime();
+        assertTrue(!BatchImageRenderer.supports(generator));
+        final double[] expected = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+        assertArrayEquals(expected, new BatchImageRenderer().render(generator, cpv, new RenderProgress()), 0.0);
+    }
+}
@@ -0,0 +1,63 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.BoundaryTracingImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class BoundaryTracingImageRendererTest {
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.BoundaryTracingImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check that the escape time image of the Mandelbrot set is reproduced (apart from a few isolated pixels) while
+     * iterating only part of the pixels, and that the progress accounting is complete.
+     */
+    @Test
+    public void testRender() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(1000, 667);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+
+        for (final int tileSize : new int[]{16, BoundaryTracingImageRenderer.DEFAULT_TILE_SIZE, 2000}) {
+            final RenderProgress progress = new RenderProgress();
+            final double[] image = new BoundaryTracingImageRenderer(3, tileSize).render(generator, cpv, progress);
+            int differences = 0;
+            for (int k = 0; k < expected.length; k++) {
+                if (image[k] != expected[k]) {
+                    differences++;
+                }
+            }
+            assertTrue(differences <= expected.length / 10000);
+            assertEquals(expected.length, progress.getCompletedPixels());
+            assertEquals(100, progress.getPercentage());
+            assertTrue(progress.getIteratedFraction() < (tileSize < 100 ? 0.75 : 0.5));
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.BoundaryTracingImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check images consisting of a single row or column, for which all pixels on the boundary (or their mirror
+     * images) are calculated.
+     */
+    @Test
+    public void testRenderNarrowImages() {
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setRenderer(new BoundaryTracingImageRenderer());
+        for (final int[] size : new int[][]{{1, 50}, {50, 1}, {2, 2}}) {
+            final ComplexPlaneView cpv = new ComplexPlaneView(size[0], size[1]);
+            final double[] expected = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+            assertArrayEquals(expected, generator.generateImage(cpv), 0.0);
+            assertEquals(expected.length, generator.getLastRenderProgress().getCompletedPixels());
+            assertTrue(generator.getLastRenderProgress().getIteratedFraction() >= 0.5);
+        }
+    }
+}
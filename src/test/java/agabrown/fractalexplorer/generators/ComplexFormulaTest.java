@@ -0,0 +1,96 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.EscapeTime;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.ComplexFormula}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class ComplexFormulaTest {
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.generators.ComplexFormula#getKernel()}. The compiled kernels
+     * should give exactly the same values as the generating functions evaluated with {@link Complex} objects.
+     */
+    @Test
+    public void testKernelMatchesFunction() {
+        final String[] formulas = {"z^3 + (-0.7198+0.9111i)*z + c", "c + exp(z)/(z*z - 1)", "sin(z)*0.5 + c",
+                "conj(z)^2 + c", "abs(z)^2 - z + c", "-z^7 + 2.5e-1*z^0 + i*z + mu", "c - z/(1 + 1i)",
+                "(z^2 + z)*(z^2 + z) + c", "z^16 + c"};
+        for (final String text : formulas) {
+            final ComplexFormula formula = ComplexFormula.parse(text);
+            final Function<Complex, Complex> f = formula.getFunction();
+            final ComplexKernel k = formula.getKernel();
+            for (double re = -1.5; re <= 1.5; re += 0.1875) {
+                for (double im = -1.25; im <= 1.25; im += 0.3125) {
+                    final Complex expected = f.apply(Complex.valueOf(re, im));
+                    assertEquals(text, expected.getReal(), k.real(re, im), 0.0);
+                    assertEquals(text, expected.getImaginary(), k.imaginary(re, im), 0.0);
+                }
+            }
+        }
+        assertEquals(Double.NaN, ComplexFormula.parse("1/z + c").getKernel().real(0.0, 0.0), 0.0);
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.generators.ComplexFormula#parse(String)}. Constant
+     * sub-expressions are folded and the quadratic map is recognized.
+     */
+    @Test
+    public void testParse() {
+        assertSame(ComplexKernel.SQUARE, ComplexFormula.parse("z^2+c").getKernel());
+        assertSame(ComplexKernel.SQUARE, ComplexFormula.parse(" c + z * z ").getKernel());
+        assertSame(ComplexKernel.SQUARE, ComplexFormula.parse("mu + z^2").getKernel());
+        assertNotSame(ComplexKernel.SQUARE, ComplexFormula.parse("z^2 + z + c").getKernel());
+        assertEquals("z^3 + c", ComplexFormula.parse(" z^3 + c ").toString());
+
+        final ComplexKernel folded = ComplexFormula.parse("(2^3 - exp(0)*7)*z + 2*i*i + c").getKernel();
+        assertEquals(1.5 - 2.0, folded.real(1.5, 0.5), 0.0);
+        assertEquals(0.5, folded.imaginary(1.5, 0.5), 0.0);
+
+        for (final String text : new String[]{"z^2", "z^2*c", "c - c + z", "z^2 + c + c", "z^-2 + c", "z^2 + c)",
+                "log(z) + c", "z^2 + ", "z^99999999999 + c", "2 z + c", ""}) {
+            try {
+                ComplexFormula.parse(text);
+                fail("IllegalArgumentException expected for '" + text + "'.");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.FractalGeneratorFactory#getFormulaMandelbrotEscapeTime(ComplexFormula)}.
+     * The image for the formula of the Rudy cubic Mandelbrot set is identical to that of the built-in generator.
+     */
+    @Test
+    public void testFormulaGenerator() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(120, 80);
+        final ModifiedMandelbrotGenerator rudy = FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime();
+        final ModifiedMandelbrotGenerator formulaRudy = new ModifiedMandelbrotGenerator.Builder()
+                .colouringAlgorithm(new EscapeTime()).maximumIterations(256)
+                .stoppingRadius(1.0e10).formula(ComplexFormula.parse("z^3 + (-0.7198+0.9111i)*z + c")).build();
+        final TiledImageRenderer renderer = new TiledImageRenderer(2);
+        assertArrayEquals(renderer.render(rudy, cpv, new RenderProgress()),
+                renderer.render(formulaRudy, cpv, new RenderProgress()), 0.0);
+
+        final MandelbrotGenerator quadratic = FractalGeneratorFactory.getFormulaMandelbrotEscapeTime(
+                ComplexFormula.parse("z^2 + c"));
+        assertEquals(FractalSymmetry.CONJUGATE, quadratic.getSymmetry());
+        assertArrayEquals(renderer.render(FractalGeneratorFactory.getMandelbrotEscapeTime(), cpv,
+                new RenderProgress()), renderer.render(quadratic, cpv, new RenderProgress()), 0.0);
+    }
+}
@@ -1,9 +1,11 @@
 package agabrown.fractalexplorer.generators;
 
+import agabrown.fractalexplorer.colours.OrbitAccumulator;
 import org.apache.commons.math3.complex.Complex;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -62,4 +64,97 @@ public class ComplexFunctionIteratorTest {
         assertTrue(result.get(result.size() - 2).abs() <= bailoutValue);
         assertTrue(result.get(result.size() - 1).abs() > bailoutValue);
     }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.ComplexFunctionIterator#iterate(double, double, double, double, OrbitAccumulator)}
+     * and
+     * {@link agabrown.fractalexplorer.generators.ComplexFunctionIterator#iterateConjugate(double, double, double, double, OrbitAccumulator)}
+     * . Check that the primitive iterations stream exactly the same iterates as the iterations over Complex instances.
+     */
+    @Test
+    public void testIteratePrimitive() {
+        final OrbitRecorder recorder = new OrbitRecorder();
+        final int nmax = 5000;
+        final double bailoutValue = 2.0;
+        final double[][] cValues = {{0.1, 0.1}, {-0.78, 0.20}, {-0.75, 0.0}, {0.25, 0.0}, {-2.0, 0.0}, {0.3, -0.5},
+                {-0.1011, 0.9563}, {2.0, 2.0}};
+        for (final double[] c : cValues) {
+            final Complex cc = Complex.valueOf(c[0], c[1]);
+            cfi = ComplexFunctionIterator.getInstance(nmax, bailoutValue, z -> z.multiply(z).add(cc),
+                    ComplexKernel.SQUARE);
+            for (final Complex start : new Complex[]{Complex.ZERO, cc, Complex.valueOf(0.5, -0.25)}) {
+                result = cfi.iterate(start);
+                int n = cfi.iterate(start.getReal(), start.getImaginary(), c[0], c[1], recorder);
+                assertEquals(result.size(), n + 1);
+                assertEquals(result, recorder.orbit);
+
+                result = cfi.iterateConjugate(start);
+                n = cfi.iterateConjugate(start.getReal(), start.getImaginary(), c[0], c[1], recorder);
+                assertEquals(result.size(), n + 1);
+                assertEquals(result, recorder.orbit);
+            }
+        }
+
+        cfi = ComplexFunctionIterator.getInstance(10, bailoutValue, z -> z, new ComplexKernel() {
+            @Override
+            public double real(final double re, final double im) {
+                return re;
+            }
+
+            @Override
+            public double imaginary(final double re, final double im) {
+                return im;
+            }
+        });
+        assertEquals(0, cfi.iterate(2.1, 0.0, 0.0, 0.0, recorder));
+        assertEquals(1, recorder.orbit.size());
+        assertEquals(10, cfi.iterate(2.0, 0.0, 0.0, 0.0, recorder));
+        assertEquals(10, cfi.iterate(0.0, -2.0, 0.0, 0.0, recorder));
+        assertEquals(11, recorder.orbit.size());
+        assertEquals(Complex.valueOf(0.0, -2.0), recorder.orbit.get(10));
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.ComplexFunctionIterator#iterate(Complex, Complex, OrbitAccumulator)}
+     * . Check that passing the constant c gives the same iterates as iterating the function f(z)+c.
+     */
+    @Test
+    public void testIterateWithConstant() {
+        final OrbitRecorder recorder = new OrbitRecorder();
+        final Complex c = Complex.valueOf(-0.78, 0.20);
+        cfi = ComplexFunctionIterator.getInstance(5000, 2.0, z -> z.multiply(z).add(c));
+        final List<Complex> expected = cfi.iterate(Complex.ZERO);
+        final List<Complex> expectedConjugate = cfi.iterateConjugate(Complex.ZERO);
+        cfi.setFunction(z -> z.multiply(z));
+        assertEquals(expected.size() - 1, cfi.iterate(Complex.ZERO, c, recorder));
+        assertEquals(expected, recorder.orbit);
+        assertEquals(expectedConjugate.size() - 1, cfi.iterateConjugate(Complex.ZERO, c, recorder));
+        assertEquals(expectedConjugate, recorder.orbit);
+    }
+
+    /**
+     * Orbit accumulator which records all the iterates it receives.
+     */
+    private static final class OrbitRecorder implements OrbitAccumulator {
+
+        List<Complex> orbit;
+
+        @Override
+        public void begin(final double re, final double im) {
+            orbit = new ArrayList<>();
+            orbit.add(Complex.valueOf(re, im));
+        }
+
+        @Override
+        public void update(final double re, final double im) {
+            orbit.add(Complex.valueOf(re, im));
+        }
+
+        @Override
+        public double finish() {
+            return orbit.size();
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.deepzoom.ReferenceOrbit;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.DoubleDoubleImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class DoubleDoubleImageRendererTest {
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.DoubleDoubleImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check that at moderate zoom levels the images of the supported generators agree with those calculated
+     * directly in double precision, apart from a small fraction of pixels affected by rounding errors in double
+     * precision.
+     */
+    @Test
+    public void testRenderModerateZoom() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(160, 120);
+        cpv.setCentre(-0.7436438870371587, 0.1318259042053119);
+        cpv.setZoomFactor(1.0e5);
+        final ComplexDynamicsBased[] generators = {FractalGeneratorFactory.getMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getModifiedMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getJuliaClassicEscapeTime(new Complex(-0.7436438870371587,
+                        0.1318259042053119))};
+        final DoubleDoubleImageRenderer renderer = new DoubleDoubleImageRenderer(2);
+        for (final ComplexDynamicsBased generator : generators) {
+            generator.setMaximumIterations(500);
+            assertTrue(DoubleDoubleImageRenderer.supports(generator));
+            final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+            final RenderProgress progress = new RenderProgress();
+            final double[] image = renderer.render(generator, cpv, progress);
+            assertEquals(expected.length, progress.getCompletedPixels());
+            assertEquals(expected.length, progress.getIteratedPixels());
+            int differences = 0;
+            for (int k = 0; k < image.length; k++) {
+                if (image[k] != expected[k]) {
+                    differences++;
+                }
+            }
+            assertTrue(generator.getName() + ": " + differences, differences <= image.length / 100);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.DoubleDoubleImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check pixels of a view beyond double precision against their escape times calculated in high precision, for
+     * the Mandelbrot set and the Tricorn.
+     */
+    @Test
+    public void testRenderDeepZoom() {
+        final int size = 24;
+        final ComplexPlaneView cpv = new ComplexPlaneView(size, size);
+        cpv.setCentre(new BigDecimal("-0.743643887037158704752191506114774"),
+                new BigDecimal("0.131825904205311970493132056385139"));
+        cpv.setZoomFactor(1.0e20);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setMaximumIterations(10000);
+        for (final boolean conjugate : new boolean[]{false, true}) {
+            generator.useConjugate(conjugate);
+            final double[] image = new DoubleDoubleImageRenderer(2).render(generator, cpv, new RenderProgress());
+            int differences = 0;
+            for (int k = 0; k < image.length; k += 53) {
+                final BigDecimal cRe = cpv.getExactCentreReal().add(new BigDecimal(cpv.getOffsetAtRealPixel(k % size)));
+                final BigDecimal cIm = cpv.getExactCentreImaginary().add(new BigDecimal(
+                        cpv.getOffsetAtImaginaryPixel(k / size)));
+                final ReferenceOrbit orbit = ReferenceOrbit.calculate(BigDecimal.ZERO, BigDecimal.ZERO, cRe, cIm,
+                        conjugate, 10000, 2.0, 40);
+                if (image[k] != orbit.getLength()) {
+                    differences++;
+                }
+            }
+            assertEquals(0, differences);
+            if (!conjugate) {
+                final double[] unresolved = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+                assertEquals(1L, Arrays.stream(unresolved).distinct().count());
+                assertTrue(Arrays.stream(image).distinct().count() > 100L);
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.DoubleDoubleImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Generators that are not supported are rendered in double precision.
+     */
+    @Test
+    public void testRenderUnsupported() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(60, 40);
+        final ModifiedMandelbrotGenerator generator = FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime();
+        assertTrue(!DoubleDoubleImageRenderer.supports(generator));
+        final double[] expected = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+        assertArrayEquals(expected, new DoubleDoubleImageRenderer(1).render(generator, cpv, new RenderProgress()),
+                0.0);
+    }
+}
@@ -0,0 +1,103 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.FloatImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class FloatImageRendererTest {
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.FloatImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . At the default zoom level the images of the supported generators should agree with those calculated in
+     * double precision, apart from a small fraction of pixels close to the boundary of the set.
+     */
+    @Test
+    public void testRender() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(160, 120);
+        final ComplexDynamicsBased[] generators = {FractalGeneratorFactory.getMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getModifiedMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getJuliaClassicEscapeTime(new Complex(-0.8, 0.156))};
+        final FloatImageRenderer renderer = new FloatImageRenderer(2);
+        for (final ComplexDynamicsBased generator : generators) {
+            generator.setMaximumIterations(256);
+            for (final boolean conjugate : new boolean[]{false, true}) {
+                generator.useConjugate(conjugate);
+                final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+                final RenderProgress progress = new RenderProgress();
+                final double[] image = renderer.render(generator, cpv, progress);
+                assertEquals(expected.length, progress.getCompletedPixels());
+                int differences = 0;
+                for (int k = 0; k < image.length; k++) {
+                    if (image[k] != expected[k]) {
+                        differences++;
+                    }
+                }
+                assertTrue(generator.getName() + ": " + differences, differences <= image.length / 50);
+            }
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.FloatImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . In verification mode images that float precision can not resolve are recalculated in double precision, while
+     * images at the default zoom level are kept.
+     */
+    @Test
+    public void testVerification() {
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setMaximumIterations(1000);
+        final FloatImageRenderer renderer = new FloatImageRenderer(2);
+        assertTrue(renderer.isVerification());
+        final ComplexPlaneView cpv = new ComplexPlaneView(80, 60);
+        RenderProgress progress = new RenderProgress();
+        renderer.render(generator, cpv, progress);
+        assertFalse(progress.isPrecisionFallback());
+
+        cpv.setCentre(-0.7436438870371587, 0.1318259042053119);
+        cpv.setZoomFactor(1.0e6);
+        final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+        progress = new RenderProgress();
+        assertArrayEquals(expected, renderer.render(generator, cpv, progress), 0.0);
+        assertTrue(progress.isPrecisionFallback());
+        assertEquals(expected.length, progress.getCompletedPixels());
+
+        final FloatImageRenderer unverified = new FloatImageRenderer(2, false);
+        assertFalse(unverified.isVerification());
+        progress = new RenderProgress();
+        final double[] image = unverified.render(generator, cpv, progress);
+        assertFalse(progress.isPrecisionFallback());
+        int differences = 0;
+        for (int k = 0; k < image.length; k++) {
+            if (image[k] != expected[k]) {
+                differences++;
+            }
+        }
+        assertTrue(differences > image.length / 20);
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.FloatImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Generators that are not supported are rendered in double precision.
+     */
+    @Test
+    public void testRenderUnsupported() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(60, 40);
+        final ModifiedMandelbrotGenerator generator = FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime();
+        assertTrue(!FloatImageRenderer.supports(generator));
+        final double[] expected = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+        assertArrayEquals(expected, new FloatImageRenderer(1).render(generator, cpv, new RenderProgress()), 0.0);
+    }
+}
@@ -0,0 +1,141 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.EscapeTime;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for the Multibrot and Multi-Julia generators of
+ * {@link agabrown.fractalexplorer.generators.FractalGeneratorFactory}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class FractalGeneratorFactoryTest {
+
+    /**
+     * Test method for {@link FractalGeneratorFactory#getMultibrotEscapeTime(int)} and
+     * {@link FractalGeneratorFactory#getMultiJuliaEscapeTime(int, Complex)}. The unrolled kernels should give exactly
+     * the same values as z<sup>n</sup> calculated by repeated squaring with {@link Complex} objects.
+     */
+    @Test
+    public void testKernelMatchesFunction() {
+        final Complex mu = Complex.valueOf(0.3, 0.5);
+        for (int n = FractalGeneratorFactory.MINIMUM_MULTIBROT_POWER;
+             n <= FractalGeneratorFactory.MAXIMUM_MULTIBROT_POWER; n++) {
+            final ComplexFormula formula = ComplexFormula.parse("z^" + n + " + c");
+            final MandelbrotGenerator multibrot = FractalGeneratorFactory.getMultibrotEscapeTime(n);
+            final MandelbrotGenerator multibrotFunction = new MandelbrotGenerator.Builder()
+                    .colouringAlgorithm(new EscapeTime()).maximumIterations(256).stoppingRadius(2.0)
+                    .generatingFunction(formula.getFunction()).build();
+            final JuliaFatouGenerator julia = FractalGeneratorFactory.getMultiJuliaEscapeTime(n, mu);
+            final JuliaFatouGenerator juliaFunction = new JuliaFatouGenerator.Builder()
+                    .colouringAlgorithm(new EscapeTime()).maximumIterations(256).stoppingRadius(2.0)
+                    .generatingFunction(formula.getFunction()).mu(mu).build();
+            int escaped = 0;
+            for (double re = -1.5; re <= 1.5; re += 0.0625) {
+                for (double im = -1.25; im <= 1.25; im += 0.078125) {
+                    final double value = multibrot.generatePixelValue(re, im);
+                    assertEquals("n = " + n, multibrotFunction.generatePixelValue(re, im), value, 0.0);
+                    assertEquals("n = " + n, juliaFunction.generatePixelValue(re, im),
+                            julia.generatePixelValue(re, im), 0.0);
+                    if (value < 256) {
+                        escaped++;
+                    }
+                }
+            }
+            assertTrue(escaped > 0);
+        }
+    }
+
+    /**
+     * Test method for {@link FractalGeneratorFactory#getMultibrotEscapeTime(int)}. The Multibrot set for n=2 is the
+     * Mandelbrot set, and all Multibrot sets are symmetric about the real axis. The Multi-Julia sets are symmetric
+     * about the origin for even powers only.
+     */
+    @Test
+    public void testSymmetry() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(120, 80);
+        final TiledImageRenderer renderer = new TiledImageRenderer(2);
+        assertArrayEquals(renderer.render(FractalGeneratorFactory.getMandelbrotEscapeTime(), cpv,
+                new RenderProgress()), renderer.render(FractalGeneratorFactory.getMultibrotEscapeTime(2), cpv,
+                new RenderProgress()), 0.0);
+
+        final Complex mu = Complex.valueOf(-0.4, 0.6);
+        for (int n = 2; n <= 16; n++) {
+            assertEquals(FractalSymmetry.CONJUGATE, FractalGeneratorFactory.getMultibrotEscapeTime(n).getSymmetry());
+            assertEquals(FractalSymmetry.CONJUGATE,
+                    FractalGeneratorFactory.getMultibrotSmoothIterationCount(n).getSymmetry());
+            assertEquals(n % 2 == 0 ? FractalSymmetry.POINT : FractalSymmetry.NONE,
+                    FractalGeneratorFactory.getMultiJuliaEscapeTime(n, mu).getSymmetry());
+        }
+
+        assertEquals(FractalSymmetry.CONJUGATE, FractalGeneratorFactory.getFormulaMandelbrotEscapeTime(
+                ComplexFormula.parse("z^3 - 0.5*z + c")).getSymmetry());
+        assertEquals(FractalSymmetry.NONE, FractalGeneratorFactory.getFormulaMandelbrotEscapeTime(
+                ComplexFormula.parse("z^3 - 0.5i*z + c")).getSymmetry());
+        assertEquals(FractalSymmetry.POINT, FractalGeneratorFactory.getFormulaJuliaEscapeTime(
+                ComplexFormula.parse("z^4 - 2*z^2 + abs(z)*z*z + c"), mu).getSymmetry());
+        assertEquals(FractalSymmetry.NONE, FractalGeneratorFactory.getFormulaJuliaEscapeTime(
+                ComplexFormula.parse("z^4 + z + c"), mu).getSymmetry());
+        assertEquals(FractalSymmetry.NONE, FractalGeneratorFactory.getFormulaJuliaEscapeTime(
+                ComplexFormula.parse("exp(z) + c"), mu).getSymmetry());
+    }
+
+    /**
+     * Test method for {@link FractalGeneratorFactory#getMultibrotSmoothIterationCount(int)}. On the real axis outside
+     * the Multibrot set the smooth iteration count should decrease continuously, without the jumps of the escape time.
+     */
+    @Test
+    public void testSmoothIterationCount() {
+        for (final int n : new int[]{3, 5, 8}) {
+            final MandelbrotGenerator smooth = FractalGeneratorFactory.getMultibrotSmoothIterationCount(n);
+            double previous = smooth.generatePixelValue(1.0, 0.0);
+            for (double re = 1.0; re <= 4.0; re += 1.0 / 1024) {
+                final double value = smooth.generatePixelValue(re, 0.0);
+                assertTrue("n = " + n + ", c = " + re, value <= previous && value > previous - 0.05);
+                previous = value;
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link FractalGeneratorFactory#getMultibrotSmoothIterationCount(int)}. For n=2 the interior
+     * check skips the iterations for the main cardioid and period-2 bulb, which the {@link BatchImageRenderer} does
+     * not. Both renderers should nevertheless give identical images, without undefined values for the interior.
+     */
+    @Test
+    public void testSmoothIterationCountRenderers() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(160, 120);
+        final MandelbrotGenerator smooth = FractalGeneratorFactory.getMultibrotSmoothIterationCount(2);
+        smooth.setMaximumIterations(200);
+        assertTrue(BatchImageRenderer.supports(smooth));
+        final double[] expected = new TiledImageRenderer(2).render(smooth, cpv, new RenderProgress());
+        assertTrue(smooth.getNumberOfShortCircuitedPixels() > 0L);
+        for (final double value : expected) {
+            assertTrue(Double.isFinite(value));
+        }
+        assertArrayEquals(expected, new BatchImageRenderer().render(smooth, cpv, new RenderProgress()), 0.0);
+    }
+
+    /**
+     * Test method for {@link FractalGeneratorFactory#getMultibrotEscapeTime(int)}. Powers outside the range 2 to 16
+     * are refused.
+     */
+    @Test
+    public void testPowerRange() {
+        for (final int n : new int[]{-2, 0, 1, 17}) {
+            try {
+                FractalGeneratorFactory.getMultibrotEscapeTime(n);
+                fail("IllegalArgumentException expected for n = " + n + ".");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.ColouringAlgorithm;
+import agabrown.fractalexplorer.colours.EscapeTime;
+import agabrown.fractalexplorer.colours.SmoothIterationCount;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Concurrency stress tests for the {@link agabrown.fractalexplorer.generators.FractalGenerator} implementations. A
+ * single generator instance is evaluated from many threads at once and the result is compared to the serial
+ * calculation.
+ *
+ * @author agabrown Oct 2026
+ */
+public class GeneratorConcurrencyTest {
+
+    private static final int NUMBER_OF_THREADS = 16;
+
+    ComplexPlaneView cpv;
+    List<ComplexDynamicsBased> generators;
+
+    @Before
+    public void setUp() {
+        cpv = new ComplexPlaneView(160, 120);
+        generators = new ArrayList<>();
+        generators.add(FractalGeneratorFactory.getMandelbrotEscapeTime());
+        generators.add(FractalGeneratorFactory.getModifiedMandelbrotEscapeTime());
+        generators.add(FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime());
+        generators.add(FractalGeneratorFactory.getJuliaClassicEscapeTime(Complex.valueOf(-0.8, 0.156)));
+        generators.add(new MandelbrotGenerator.Builder().colouringAlgorithm(new EscapeTime()).maximumIterations(64)
+                .stoppingRadius(2.0).generatingFunction(z -> z.multiply(z)).build());
+    }
+
+    /**
+     * Calculate the fractal image pixel by pixel on the current thread.
+     *
+     * @param fg The fractal generator.
+     * @return The fractal image.
+     */
+    private double[] serialImage(final FractalGenerator fg) {
+        final int imWidth = cpv.getSizeRealPixels();
+        final double[] image = new double[imWidth * cpv.getSizeImaginaryPixels()];
+        for (int k = 0; k < image.length; k++) {
+            image[k] = fg.generatePixelValue(Complex.valueOf(cpv.getValueAtRealPixel(k % imWidth),
+                    cpv.getValueAtImaginaryPixel(k / imWidth)));
+        }
+        return image;
+    }
+
+    /**
+     * Calculate the fractal image by letting many threads, released at the same moment, each calculate an
+     * interleaved subset of the pixels in random order.
+     *
+     * @param fg The fractal generator.
+     * @return The fractal image.
+     * @throws Exception If one of the threads fails.
+     */
+    private double[] concurrentImage(final FractalGenerator fg) throws Exception {
+        final int imWidth = cpv.getSizeRealPixels();
+        final double[] image = new double[imWidth * cpv.getSizeImaginaryPixels()];
+        final ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < NUMBER_OF_THREADS; t++) {
+                final List<Integer> pixels = new ArrayList<>();
+                for (int k = t; k < image.length; k += NUMBER_OF_THREADS) {
+                    pixels.add(k);
+                }
+                Collections.shuffle(pixels);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (final int k : pixels) {
+                        image[k] = fg.generatePixelValue(cpv.getValueAtRealPixel(k % imWidth),
+                                cpv.getValueAtImaginaryPixel(k / imWidth));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return image;
+    }
+
+    /**
+     * Check that the streaming iterations give identical images when done serially, by many threads at once, and
+     * with the tiled renderer, for both z and conjugate(z) iterations.
+     *
+     * @throws Exception If one of the threads fails.
+     */
+    @Test
+    public void testStreamingIterations() throws Exception {
+        final TiledImageRenderer renderer = new TiledImageRenderer(NUMBER_OF_THREADS, 8);
+        for (final ComplexDynamicsBased fg : generators) {
+            for (final boolean conjugate : new boolean[]{false, true}) {
+                fg.useConjugate(conjugate);
+                final double[] expected = serialImage(fg);
+                for (int repeat = 0; repeat < 3; repeat++) {
+                    assertArrayEquals(expected, concurrentImage(fg), 0.0);
+                    assertArrayEquals(expected, renderer.render(fg, cpv, new RenderProgress()), 0.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that colouring algorithms working on lists of iterates (through the list adapter) give identical images
+     * when done serially and by many threads at once.
+     *
+     * @throws Exception If one of the threads fails.
+     */
+    @Test
+    public void testListBasedColouring() throws Exception {
+        final ColouringAlgorithm smooth = new SmoothIterationCount(2.0, 2.0);
+        final ColouringAlgorithm listBased = smooth::getPixelValue;
+        for (final ComplexDynamicsBased fg : generators) {
+            fg.setColouringAlgorithm(listBased);
+            fg.setMaximumIterations(64);
+            final double[] expected = serialImage(fg);
+            assertArrayEquals(expected, concurrentImage(fg), 0.0);
+            assertArrayEquals(expected, fg.generateImage(cpv), 0.0);
+        }
+    }
+}
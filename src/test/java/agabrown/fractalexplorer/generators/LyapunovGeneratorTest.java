@@ -0,0 +1,115 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.LyapunovGenerator}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class LyapunovGeneratorTest {
+
+    /**
+     * Test method for {@link LyapunovGenerator#generatePixelValue(double, double)}. The exponent calculated with the
+     * logarithm taken every k steps should agree with the one calculated with the logarithm taken in every step.
+     */
+    @Test
+    public void testLogInterval() {
+        final LyapunovGenerator everyStep = new LyapunovGenerator.Builder().sequence("aabab").logInterval(1)
+                .steps(1000).build();
+        for (final int k : new int[]{7, LyapunovGenerator.DEFAULT_LOG_INTERVAL,
+                LyapunovGenerator.MAXIMUM_LOG_INTERVAL}) {
+            final LyapunovGenerator amortised = new LyapunovGenerator.Builder().sequence("AABAB").logInterval(k)
+                    .steps(1000).build();
+            for (double a = 2.0; a <= 4.0; a += 0.0625) {
+                for (double b = 2.0; b <= 4.0; b += 0.0625) {
+                    final double expected = everyStep.generatePixelValue(a, b);
+                    assertEquals("k = " + k + ", a = " + a + ", b = " + b, expected,
+                            amortised.generatePixelValue(a, b), 1.0e-12 * Math.max(1.0, Math.abs(expected)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link LyapunovGenerator#generatePixelValue(double, double)}. For the logistic map with a single
+     * growth rate r the exponent of the stable period-2 orbit is ln|4+2r-r<sup>2</sup>|/2, it is positive in the
+     * chaotic regime, at most ln(4), and minus infinity for the superstable orbit at r=2.
+     */
+    @Test
+    public void testLogisticMap() {
+        final LyapunovGenerator lyapunov = FractalGeneratorFactory.getLyapunov("A");
+        assertEquals(0.5 * Math.log(4.0 + 2.0 * 3.2 - 3.2 * 3.2), lyapunov.generatePixelValue(3.2, 3.2), 1.0e-9);
+        assertTrue(lyapunov.generatePixelValue(4.0, 4.0) <= Math.log(4.0) + 1.0e-12);
+        assertTrue(lyapunov.generatePixelValue(3.9, 3.9) > 0.0);
+        assertEquals(LyapunovGenerator.MINIMUM_EXPONENT, lyapunov.generatePixelValue(2.0, 2.0), 0.0);
+        assertEquals(0.0, lyapunov.generatePixelValue(4.5, 3.0), 0.0);
+        assertEquals(0.0, lyapunov.generatePixelValue(3.0, -0.5), 0.0);
+
+        // With the sequence "A" the rate b is never used.
+        assertEquals(lyapunov.generatePixelValue(3.7, 2.0), lyapunov.generatePixelValue(3.7, 3.5), 0.0);
+        final LyapunovGenerator ab = FractalGeneratorFactory.getLyapunov("ab");
+        assertEquals("AB", ab.getSequence());
+        assertEquals(ab.generatePixelValue(3.2, 3.2), lyapunov.generatePixelValue(3.2, 3.2), 0.0);
+    }
+
+    /**
+     * Test method for {@link LyapunovGenerator#generateImage(ComplexPlaneView)}. The parallel image should be the
+     * same as the one calculated with one thread and contain both stable and chaotic regions.
+     */
+    @Test
+    public void testImage() {
+        final LyapunovGenerator lyapunov = new LyapunovGenerator.Builder().sequence("AB").steps(500).build();
+        final ComplexPlaneView cpv = new ComplexPlaneView(120, 120);
+        cpv.setCentre(3.0, 3.0);
+        final double[] image = lyapunov.generateImage(cpv);
+        lyapunov.setParallelism(1);
+        assertArrayEquals(image, lyapunov.generateImage(cpv), 0.0);
+        int stable = 0;
+        int chaotic = 0;
+        for (final double value : image) {
+            if (value < 0.0) {
+                stable++;
+            } else if (value > 0.0) {
+                chaotic++;
+            }
+        }
+        assertTrue(stable > image.length / 10);
+        assertTrue(chaotic > image.length / 10);
+    }
+
+    /**
+     * Test method for {@link LyapunovGenerator.Builder}. Invalid sequences and settings are refused.
+     */
+    @Test
+    public void testBuilder() {
+        for (final String sequence : new String[]{null, "", "ABC", "A B"}) {
+            try {
+                new LyapunovGenerator.Builder().sequence(sequence);
+                fail("IllegalArgumentException expected for sequence " + sequence + ".");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+        for (final int k : new int[]{0, LyapunovGenerator.MAXIMUM_LOG_INTERVAL + 1}) {
+            try {
+                new LyapunovGenerator.Builder().logInterval(k);
+                fail("IllegalArgumentException expected for k = " + k + ".");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            new LyapunovGenerator.Builder().warmupSteps(0);
+            fail("IllegalArgumentException expected.");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.colours.SmoothIterationCount;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.sets.MandelbrotSet;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.MandelbrotGenerator}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class MandelbrotGeneratorTest {
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.generators.MandelbrotGenerator#setInteriorCheck(boolean)}. Check
+     * that skipping the iterations for the main cardioid and period-2 bulb does not change the escape time image and
+     * that the short-circuited pixels are counted.
+     */
+    @Test
+    public void testInteriorCheck() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(160, 120);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+
+        generator.setInteriorCheck(false);
+        final double[] expected = generator.generateImage(cpv);
+        assertEquals(0L, generator.getNumberOfShortCircuitedPixels());
+
+        generator.setInteriorCheck(true);
+        assertArrayEquals(expected, generator.generateImage(cpv), 0.0);
+        final long shortCircuited = generator.getNumberOfShortCircuitedPixels();
+        assertTrue(shortCircuited > 0L);
+        assertTrue(shortCircuited < expected.length);
+
+        generator.resetNumberOfShortCircuitedPixels();
+        generator.useConjugate(true);
+        generator.generateImage(cpv);
+        assertEquals(0L, generator.getNumberOfShortCircuitedPixels());
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.generators.MandelbrotGenerator#setInteriorCheck(boolean)}. Check
+     * that skipping the iterations does not change the image for the smooth iteration count colouring either, which
+     * assigns interior pixels a value other than the number of iterates.
+     */
+    @Test
+    public void testInteriorCheckSmooth() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(160, 120);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setColouringAlgorithm(new SmoothIterationCount(2.0, 2.0));
+        generator.setMaximumIterations(200);
+
+        generator.setInteriorCheck(false);
+        final double[] expected = generator.generateImage(cpv);
+        for (final double value : expected) {
+            assertTrue(Double.isFinite(value));
+        }
+
+        generator.setInteriorCheck(true);
+        assertArrayEquals(expected, generator.generateImage(cpv), 0.0);
+        assertTrue(generator.getNumberOfShortCircuitedPixels() > 0L);
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.sets.MandelbrotSet#isInMainCardioidOrPeriod2Bulb(double, double)}.
+     */
+    @Test
+    public void testIsInMainCardioidOrPeriod2Bulb() {
+        assertTrue(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(0.0, 0.0));
+        assertTrue(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(0.25, 0.0));
+        assertTrue(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(-0.75, 0.0));
+        assertTrue(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(-1.0, 0.2));
+        assertTrue(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(-0.1, 0.6));
+        assertFalse(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(0.26, 0.0));
+        assertFalse(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(-1.26, 0.0));
+        assertFalse(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(-0.1, 0.7));
+        assertFalse(MandelbrotSet.isInMainCardioidOrPeriod2Bulb(-1.3, 0.05));
+    }
+}
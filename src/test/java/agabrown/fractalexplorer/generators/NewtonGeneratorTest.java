@@ -0,0 +1,126 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.NewtonGenerator}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class NewtonGeneratorTest {
+
+    /**
+     * Test method for {@link NewtonGenerator#getRoots()}. The roots found numerically from the coefficients of
+     * z<sup>3</sup>-1 should be the cube roots of unity, and multiple roots should be merged.
+     */
+    @Test
+    public void testRoots() {
+        final NewtonGenerator newton = FractalGeneratorFactory.getNewtonRootBasins(Complex.valueOf(-1.0),
+                Complex.ZERO, Complex.ZERO, Complex.ONE);
+        final Complex[] roots = newton.getRoots();
+        assertEquals(3, roots.length);
+        for (final Complex root : roots) {
+            assertEquals(1.0, root.abs(), 1.0e-12);
+            assertEquals(0.0, root.pow(3.0).subtract(Complex.ONE).abs(), 1.0e-12);
+        }
+
+        // z^3 - z^2 = z^2(z-1) has the double root 0.
+        final Complex[] multiple = FractalGeneratorFactory.getNewtonRootBasins(Complex.ZERO, Complex.ZERO,
+                Complex.valueOf(-1.0), Complex.ONE).getRoots();
+        assertEquals(2, multiple.length);
+
+        final NewtonGenerator fromRoots = new NewtonGenerator.Builder().maximumIterations(100)
+                .roots(Complex.valueOf(1.0, 1.0), Complex.valueOf(-2.0), Complex.valueOf(-2.0)).build();
+        assertEquals(2, fromRoots.getRoots().length);
+        assertEquals(Complex.valueOf(1.0, 1.0), fromRoots.getRoots()[0]);
+    }
+
+    /**
+     * Test method for {@link NewtonGenerator#generatePixelValue(double, double)}. Points close to a root converge to
+     * that root, and points further away converge more slowly.
+     */
+    @Test
+    public void testPixelValues() {
+        final NewtonGenerator newton = new NewtonGenerator.Builder().maximumIterations(100)
+                .roots(Complex.ONE, Complex.valueOf(-1.0), Complex.I, Complex.I.negate()).build();
+        assertEquals(0, newton.getRootIndex(newton.generatePixelValue(1.1, 0.05)));
+        assertEquals(1, newton.getRootIndex(newton.generatePixelValue(-1.1, 0.05)));
+        assertEquals(2, newton.getRootIndex(newton.generatePixelValue(0.05, 1.1)));
+        assertEquals(3, newton.getRootIndex(newton.generatePixelValue(0.05, -1.1)));
+        final double near = newton.getConvergenceValue(newton.generatePixelValue(1.01, 0.0));
+        final double far = newton.getConvergenceValue(newton.generatePixelValue(3.0, 0.0));
+        assertTrue(near + " " + far, near > 0.0 && near < far);
+        assertEquals(0, newton.getRootIndex(newton.generatePixelValue(1.0, 0.0)));
+
+        // p'(0)=0, so that the Newton step can not be taken at the origin.
+        assertEquals(-1, newton.getRootIndex(newton.generatePixelValue(0.0, 0.0)));
+        assertEquals(100.0, newton.getConvergenceValue(newton.generatePixelValue(0.0, 0.0)), 0.0);
+
+        // On the real axis the convergence value increases continuously towards the basin boundary.
+        double previous = newton.getConvergenceValue(newton.generatePixelValue(1.0 + 1.0 / 1024, 0.0));
+        for (double x = 1.0 + 2.0 / 1024; x <= 2.0; x += 1.0 / 1024) {
+            final double value = newton.getConvergenceValue(newton.generatePixelValue(x, 0.0));
+            assertTrue("x = " + x, value >= previous && value < previous + 0.25);
+            previous = value;
+        }
+    }
+
+    /**
+     * Test method for {@link NewtonGenerator#generateImage(ComplexPlaneView)}. The parallel image should be the same
+     * as the one calculated with one thread and almost every pixel should be classified.
+     */
+    @Test
+    public void testImage() {
+        final NewtonGenerator newton = FractalGeneratorFactory.getNewtonRootBasins(Complex.valueOf(-1.0),
+                Complex.ZERO, Complex.ZERO, Complex.ONE);
+        final ComplexPlaneView cpv = new ComplexPlaneView(200, 150);
+        cpv.setCentre(0.0, 0.0);
+        final double[] image = newton.generateImage(cpv);
+        newton.setParallelism(1);
+        assertArrayEquals(image, newton.generateImage(cpv), 0.0);
+        final int[] basinSizes = new int[4];
+        for (final double value : image) {
+            final int k = newton.getRootIndex(value);
+            basinSizes[k < 0 ? 3 : k]++;
+        }
+        for (int k = 0; k < 3; k++) {
+            assertTrue(basinSizes[k] > image.length / 4);
+        }
+        assertTrue(basinSizes[3] < image.length / 100);
+    }
+
+    /**
+     * Test method for {@link NewtonGenerator.Builder}. Polynomials of degree less than 2 and invalid tolerances are
+     * refused.
+     */
+    @Test
+    public void testBuilder() {
+        try {
+            FractalGeneratorFactory.getNewtonRootBasins(Complex.ONE, Complex.ONE, Complex.ZERO);
+            fail("IllegalArgumentException expected.");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        for (final double tolerance : new double[]{0.0, 1.0, Double.NaN}) {
+            try {
+                new NewtonGenerator.Builder().tolerance(tolerance);
+                fail("IllegalArgumentException expected for tolerance = " + tolerance + ".");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            new NewtonGenerator.Builder().maximumIterations(10).build();
+            fail("IllegalArgumentException expected.");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
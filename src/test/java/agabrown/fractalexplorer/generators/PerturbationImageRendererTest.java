@@ -0,0 +1,217 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.deepzoom.ReferenceOrbit;
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.util.FEConstants;
+import agabrown.fractalexplorer.util.FloatExp;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.PerturbationImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class PerturbationImageRendererTest {
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.PerturbationImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check that at moderate zoom levels the images of the supported generators agree with those calculated
+     * directly in double precision. Rounding errors in the long orbits near the boundary of the set make a small
+     * fraction of the pixels differ (mostly because the direct calculation goes wrong).
+     */
+    @Test
+    public void testRenderModerateZoom() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(160, 120);
+        cpv.setCentre(-0.7436438870371587, 0.1318259042053119);
+        cpv.setZoomFactor(1.0e5);
+        final ComplexDynamicsBased[] generators = {FractalGeneratorFactory.getMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getModifiedMandelbrotEscapeTime(),
+                FractalGeneratorFactory.getJuliaClassicEscapeTime(new Complex(-0.7436438870371587,
+                        0.1318259042053119))};
+        final PerturbationImageRenderer renderer = new PerturbationImageRenderer(2);
+        for (final ComplexDynamicsBased generator : generators) {
+            generator.setMaximumIterations(500);
+            assertTrue(PerturbationImageRenderer.supports(generator));
+            final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+            final RenderProgress progress = new RenderProgress();
+            final double[] image = renderer.render(generator, cpv, progress);
+            assertEquals(expected.length, progress.getCompletedPixels());
+            assertTrue(progress.getNumberOfReferenceOrbits() >= 1);
+            int differences = 0;
+            for (int k = 0; k < image.length; k++) {
+                if (image[k] != expected[k]) {
+                    differences++;
+                }
+            }
+            assertTrue(generator.getName() + ": " + differences, differences <= image.length / 100);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.PerturbationImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check pixels of a view far beyond double precision (around the tip of the Mandelbrot set, where the double
+     * precision image is featureless) against their escape times calculated in high precision.
+     */
+    @Test
+    public void testRenderDeepZoom() {
+        final int size = 24;
+        final ComplexPlaneView cpv = new ComplexPlaneView(size, size);
+        cpv.setCentre(-2.0, 0.0);
+        cpv.setZoomFactor(1.0e30);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setMaximumIterations(1000);
+        final RenderProgress progress = new RenderProgress();
+        final double[] image = new PerturbationImageRenderer(2).render(generator, cpv, progress);
+        assertEquals(image.length, progress.getCompletedPixels());
+
+        final int digits = ReferenceOrbit.digitsForPixelSize(cpv.getPixelSizeReal());
+        int differences = 0;
+        for (int k = 0; k < image.length; k += 7) {
+            final int i = k % size;
+            final int j = k / size;
+            final BigDecimal cRe = new BigDecimal(cpv.getCentreReal()).add(new BigDecimal((i - FEConstants.HALF *
+                    (size - 1)) * cpv.getPixelSizeReal()));
+            final BigDecimal cIm = new BigDecimal(cpv.getCentreImaginary()).add(new BigDecimal((FEConstants.HALF *
+                    (size - 1) - j) * cpv.getPixelSizeImaginary()));
+            final ReferenceOrbit orbit = ReferenceOrbit.calculate(BigDecimal.ZERO, BigDecimal.ZERO, cRe, cIm, false,
+                    1000, 2.0, digits);
+            if (image[k] != orbit.getLength()) {
+                differences++;
+            }
+        }
+        assertEquals(0, differences);
+
+        final double[] unresolved = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+        assertTrue(countDistinct(unresolved) < countDistinct(image));
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.PerturbationImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check pixels of a view zoomed in beyond the range of doubles, where the pixel offsets underflow in double
+     * precision, against their escape times calculated in high precision.
+     */
+    @Test
+    public void testRenderExtendedRange() {
+        final int size = 16;
+        final ComplexPlaneView cpv = new ComplexPlaneView(size, size);
+        cpv.setCentre(-2.0, 0.0);
+        cpv.setZoomFactor(FloatExp.valueOf(new BigDecimal("1e320")));
+        assertTrue(cpv.getPixelSizeReal() < Double.MIN_NORMAL);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setMaximumIterations(2000);
+        final RenderProgress progress = new RenderProgress();
+        final double[] image = new PerturbationImageRenderer(2).render(generator, cpv, progress);
+        assertEquals(image.length, progress.getCompletedPixels());
+
+        final int digits = ReferenceOrbit.digitsForPixelSize(cpv.getPixelSizeRealExtended());
+        final FloatExp[] offsetsReal = cpv.getOffsetsRealPixelsExtended();
+        final FloatExp[] offsetsImaginary = cpv.getOffsetsImaginaryPixelsExtended();
+        int differences = 0;
+        for (int k = 0; k < image.length; k += 7) {
+            final BigDecimal cRe = cpv.getExactCentreReal().add(offsetsReal[k % size].toBigDecimal());
+            final BigDecimal cIm = cpv.getExactCentreImaginary().add(offsetsImaginary[k / size].toBigDecimal());
+            final ReferenceOrbit orbit = ReferenceOrbit.calculate(BigDecimal.ZERO, BigDecimal.ZERO, cRe, cIm, false,
+                    2000, 2.0, digits);
+            if (image[k] != orbit.getLength()) {
+                differences++;
+            }
+        }
+        assertEquals(0, differences);
+        assertTrue(countDistinct(image) > 2);
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.PerturbationImageRenderer#setSeriesApproximation(boolean)}. Check
+     * that skipping iterations with the series approximation leaves the deep zoom image unchanged and that the
+     * skipped iterations are reported.
+     */
+    @Test
+    public void testSeriesApproximation() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(64, 48);
+        cpv.setCentre(-2.0, 0.0);
+        cpv.setZoomFactor(1.0e30);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        generator.setMaximumIterations(1000);
+        final PerturbationImageRenderer renderer = new PerturbationImageRenderer(2);
+        assertTrue(renderer.isSeriesApproximation());
+        renderer.setSeriesApproximation(false);
+        final RenderProgress progressFull = new RenderProgress();
+        final double[] expected = renderer.render(generator, cpv, progressFull);
+        assertEquals(0L, progressFull.getSkippedIterations());
+        assertEquals(1.0, progressFull.getIterationSpeedup(), 0.0);
+
+        renderer.setSeriesApproximation(true);
+        final RenderProgress progress = new RenderProgress();
+        final double[] image = renderer.render(generator, cpv, progress);
+        assertArrayEquals(expected, image, 0.0);
+        assertTrue(progress.getSkippedIterations() >= 15L * image.length);
+        assertEquals(progressFull.getCalculatedIterations(),
+                progress.getCalculatedIterations() + progress.getSkippedIterations());
+        assertTrue(progress.getIterationSpeedup() > 1.5);
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.PerturbationImageRenderer#setLinearApproximation(boolean)}. Check
+     * that skipping blocks of iterations with bivariate linear approximations leaves deep zoom images unchanged, both
+     * near the boundary of the Mandelbrot set and in its interior, where nearly all iterations are skipped.
+     */
+    @Test
+    public void testLinearApproximation() {
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        final PerturbationImageRenderer renderer = new PerturbationImageRenderer(2);
+        renderer.setSeriesApproximation(false);
+        assertTrue(renderer.isLinearApproximation());
+        final double[][] views = {{-2.0, 0.0, 1000, 1.0}, {-0.1, 0.1, 20000, 100.0}};
+        for (final double[] view : views) {
+            final ComplexPlaneView cpv = new ComplexPlaneView(32, 24);
+            cpv.setCentre(view[0], view[1]);
+            cpv.setZoomFactor(1.0e30);
+            generator.setMaximumIterations((int) view[2]);
+            renderer.setLinearApproximation(false);
+            final double[] expected = renderer.render(generator, cpv, new RenderProgress());
+            renderer.setLinearApproximation(true);
+            final RenderProgress progress = new RenderProgress();
+            assertArrayEquals(expected, renderer.render(generator, cpv, progress), 0.0);
+            assertTrue(progress.getIterationSpeedup() >= view[3]);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.PerturbationImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Generators that are not supported are rendered without perturbation.
+     */
+    @Test
+    public void testRenderUnsupported() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(60, 40);
+        final ModifiedMandelbrotGenerator generator = FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime();
+        assertTrue(!PerturbationImageRenderer.supports(generator));
+        final double[] expected = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+        final RenderProgress progress = new RenderProgress();
+        assertArrayEquals(expected, new PerturbationImageRenderer(1).render(generator, cpv, progress), 0.0);
+        assertEquals(0, progress.getNumberOfReferenceOrbits());
+    }
+
+    /**
+     * Count the number of distinct values in an image.
+     *
+     * @param image The image.
+     * @return The number of distinct values.
+     */
+    private static long countDistinct(final double[] image) {
+        return Arrays.stream(image).distinct().count();
+    }
+}
@@ -0,0 +1,91 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.QuadraticVariant}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class QuadraticVariantTest {
+
+    /**
+     * Test method for {@link QuadraticVariant#getKernel()}. The kernels should give exactly the same values as the
+     * generating functions evaluated with {@link Complex} objects, and the variants should be recognized from their
+     * kernels.
+     */
+    @Test
+    public void testKernelMatchesFunction() {
+        for (final QuadraticVariant variant : QuadraticVariant.values()) {
+            assertSame(variant, QuadraticVariant.of(variant.getKernel()));
+            final Function<Complex, Complex> f = variant.getFunction();
+            final ComplexKernel k = variant.getKernel();
+            for (double re = -1.5; re <= 1.5; re += 0.1875) {
+                for (double im = -1.25; im <= 1.25; im += 0.3125) {
+                    final Complex expected = f.apply(Complex.valueOf(re, im));
+                    assertEquals(variant.getName(), expected.getReal(), k.real(re, im), 0.0);
+                    assertEquals(variant.getName(), expected.getImaginary(), k.imaginary(re, im), 0.0);
+                }
+            }
+        }
+        assertNull(QuadraticVariant.of(null));
+        assertNull(QuadraticVariant.of(ComplexFormula.parse("z^3 + c").getKernel()));
+
+        // Burning Ship: z=(-1+2i) gives (1+2i)^2=-3+4i.
+        assertEquals(-3.0, ComplexKernel.BURNING_SHIP.real(-1.0, 2.0), 0.0);
+        assertEquals(4.0, ComplexKernel.BURNING_SHIP.imaginary(-1.0, 2.0), 0.0);
+        // Perpendicular Burning Ship: (-1-2i)^2=-3+4i, Celtic: |-3|+(-4)i, Buffalo: |-3|+|-4|i.
+        assertEquals(4.0, ComplexKernel.PERPENDICULAR_BURNING_SHIP.imaginary(-1.0, 2.0), 0.0);
+        assertEquals(3.0, ComplexKernel.CELTIC.real(-1.0, 2.0), 0.0);
+        assertEquals(-4.0, ComplexKernel.CELTIC.imaginary(-1.0, 2.0), 0.0);
+        assertEquals(3.0, ComplexKernel.BUFFALO.real(-1.0, 2.0), 0.0);
+        assertEquals(4.0, ComplexKernel.BUFFALO.imaginary(-1.0, 2.0), 0.0);
+    }
+
+    /**
+     * Test method for {@link FractalGeneratorFactory#getQuadraticVariantEscapeTime(QuadraticVariant)}. The images
+     * calculated by the batch renderer should agree with those of the tiled renderer (which iterates the kernel and
+     * makes use of the symmetries), apart from rare pixels that come within rounding errors of the stopping radius.
+     */
+    @Test
+    public void testGenerators() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(160, 120);
+        cpv.setCentre(-0.5, 0.0);
+        final Complex mu = Complex.valueOf(-1.2, -0.1);
+        final FractalSymmetry[] mandelbrotSymmetry = {FractalSymmetry.CONJUGATE, FractalSymmetry.NONE,
+                FractalSymmetry.NONE, FractalSymmetry.CONJUGATE, FractalSymmetry.NONE};
+        final FractalSymmetry[] juliaSymmetry = {FractalSymmetry.POINT, FractalSymmetry.POINT, FractalSymmetry.NONE,
+                FractalSymmetry.POINT, FractalSymmetry.POINT};
+        for (final QuadraticVariant variant : QuadraticVariant.values()) {
+            final MandelbrotGenerator mandelbrot = FractalGeneratorFactory.getQuadraticVariantEscapeTime(variant);
+            final JuliaFatouGenerator julia = FractalGeneratorFactory.getQuadraticVariantJuliaEscapeTime(variant, mu);
+            assertEquals(variant.getName(), mandelbrotSymmetry[variant.ordinal()], mandelbrot.getSymmetry());
+            assertEquals(variant.getName(), juliaSymmetry[variant.ordinal()], julia.getSymmetry());
+            assertEquals(variant.getName(), mandelbrot.getName());
+            for (final ComplexDynamicsBased generator : new ComplexDynamicsBased[]{mandelbrot, julia}) {
+                final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+                final double[] image = new BatchImageRenderer().render(generator, cpv, new RenderProgress());
+                int differences = 0;
+                for (int k = 0; k < image.length; k++) {
+                    if (image[k] != expected[k]) {
+                        differences++;
+                    }
+                }
+                assertEquals(generator.getName(), 0.0, differences, image.length / 1000);
+            }
+        }
+        assertArrayEquals(new TiledImageRenderer(2).render(FractalGeneratorFactory.getMandelbrotEscapeTime(), cpv,
+                new RenderProgress()), new TiledImageRenderer(2).render(
+                FractalGeneratorFactory.getQuadraticVariantEscapeTime(QuadraticVariant.MANDELBROT), cpv,
+                new RenderProgress()), 0.0);
+    }
+}
@@ -0,0 +1,58 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.SubdivisionImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class SubdivisionImageRendererTest {
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.SubdivisionImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check that the escape time image of the Mandelbrot set is reproduced while iterating only part of the pixels,
+     * and that the progress accounting is complete.
+     */
+    @Test
+    public void testRender() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(301, 201);
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        final double[] expected = new TiledImageRenderer(2).render(generator, cpv, new RenderProgress());
+
+        final RenderProgress progress = new RenderProgress();
+        final double[] image = new SubdivisionImageRenderer(3).render(generator, cpv, progress);
+        assertArrayEquals(expected, image, 0.0);
+        assertEquals(expected.length, progress.getCompletedPixels());
+        assertEquals(100, progress.getPercentage());
+        assertTrue(progress.getIteratedFraction() < 0.75);
+
+        generator.setRenderer(new SubdivisionImageRenderer());
+        assertArrayEquals(expected, generator.generateImage(cpv), 0.0);
+        assertTrue(generator.getLastRenderProgress().getIteratedPixels() < expected.length);
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.SubdivisionImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check images that are too narrow to be subdivided.
+     */
+    @Test
+    public void testRenderNarrowImages() {
+        final MandelbrotGenerator generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        final SubdivisionImageRenderer renderer = new SubdivisionImageRenderer(2);
+        for (final int[] size : new int[][]{{1, 50}, {50, 1}, {2, 2}, {3, 40}}) {
+            final ComplexPlaneView cpv = new ComplexPlaneView(size[0], size[1]);
+            final RenderProgress progress = new RenderProgress();
+            final double[] expected = new TiledImageRenderer(1).render(generator, cpv, new RenderProgress());
+            assertArrayEquals(expected, renderer.render(generator, cpv, progress), 0.0);
+            assertEquals(expected.length, progress.getCompletedPixels());
+        }
+    }
+}
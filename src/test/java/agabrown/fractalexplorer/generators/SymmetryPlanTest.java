@@ -0,0 +1,111 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.SymmetryPlan}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class SymmetryPlanTest {
+
+    /**
+     * Calculate the fractal image pixel by pixel, without making use of symmetry.
+     *
+     * @param fg  The fractal generator.
+     * @param cpv The complex plane view.
+     * @return The fractal image.
+     */
+    private static double[] serialImage(final FractalGenerator fg, final ComplexPlaneView cpv) {
+        final int imWidth = cpv.getSizeRealPixels();
+        final double[] image = new double[imWidth * cpv.getSizeImaginaryPixels()];
+        for (int k = 0; k < image.length; k++) {
+            image[k] = fg.generatePixelValue(cpv.getValueAtRealPixel(k % imWidth),
+                    cpv.getValueAtImaginaryPixel(k / imWidth));
+        }
+        return image;
+    }
+
+    /**
+     * Render the image with all renderers and check that the result is identical to the pixel by pixel calculation.
+     *
+     * @param fg  The fractal generator.
+     * @param cpv The complex plane view.
+     * @return The largest fraction of iterated pixels among the renderers.
+     */
+    private static double checkRenderers(final FractalGenerator fg, final ComplexPlaneView cpv) {
+        final double[] expected = serialImage(fg, cpv);
+        double maxFraction = 0.0;
+        for (final ImageRenderer renderer : new ImageRenderer[]{new TiledImageRenderer(3, 16),
+                new SubdivisionImageRenderer(3), new BoundaryTracingImageRenderer(3, 32)}) {
+            final RenderProgress progress = new RenderProgress();
+            final double[] image = renderer.render(fg, cpv, progress);
+            if (renderer instanceof TiledImageRenderer) {
+                assertArrayEquals(expected, image, 0.0);
+            }
+            assertEquals(expected.length, progress.getCompletedPixels());
+            maxFraction = Math.max(maxFraction, progress.getIteratedFraction());
+        }
+        return maxFraction;
+    }
+
+    /**
+     * Check the Mandelbrot and Tricorn sets (conjugate symmetry) for views centred on, straddling, and away from the
+     * real axis.
+     */
+    @Test
+    public void testConjugateSymmetry() {
+        final MandelbrotGenerator mandelbrot = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        assertEquals(FractalSymmetry.CONJUGATE, mandelbrot.getSymmetry());
+        for (final boolean conjugate : new boolean[]{false, true}) {
+            mandelbrot.useConjugate(conjugate);
+            for (final int height : new int[]{120, 121}) {
+                final ComplexPlaneView cpv = new ComplexPlaneView(160, height);
+                assertTrue(checkRenderers(mandelbrot, cpv) <= 0.51);
+                cpv.setCentre(-0.5, 0.25);
+                checkRenderers(mandelbrot, cpv);
+                cpv.setCentre(-0.5, 2.0);
+                assertEquals(1.0, checkRenderers(mandelbrot, cpv), 0.0);
+            }
+        }
+        assertEquals(FractalSymmetry.NONE,
+                FractalGeneratorFactory.getRudyCubicMandelbrotEscapeTime().getSymmetry());
+
+        final MandelbrotGenerator multibrot = FractalGeneratorFactory.getMultibrotEscapeTime(5);
+        for (final boolean conjugate : new boolean[]{false, true}) {
+            multibrot.useConjugate(conjugate);
+            assertTrue(checkRenderers(multibrot, new ComplexPlaneView(160, 121)) <= 0.51);
+        }
+    }
+
+    /**
+     * Check the Julia set (point symmetry) for views centred on and away from the origin.
+     */
+    @Test
+    public void testPointSymmetry() {
+        final JuliaFatouGenerator julia = FractalGeneratorFactory.getJuliaClassicEscapeTime(Complex.valueOf(-0.8,
+                0.156));
+        assertEquals(FractalSymmetry.POINT, julia.getSymmetry());
+        for (final int[] size : new int[][]{{160, 120}, {161, 121}, {160, 121}}) {
+            final ComplexPlaneView cpv = new ComplexPlaneView(size[0], size[1]);
+            cpv.setCentre(0.0, 0.0);
+            assertTrue(checkRenderers(julia, cpv) <= 0.51);
+            cpv.setCentre(0.3, 0.0);
+            checkRenderers(julia, cpv);
+            cpv.setCentre(0.0, 0.4);
+            checkRenderers(julia, cpv);
+        }
+
+        final JuliaFatouGenerator multiJulia = FractalGeneratorFactory.getMultiJuliaEscapeTime(4,
+                Complex.valueOf(0.48, 0.5));
+        final ComplexPlaneView cpv = new ComplexPlaneView(161, 121);
+        cpv.setCentre(0.0, 0.0);
+        assertTrue(checkRenderers(multiJulia, cpv) <= 0.51);
+    }
+}
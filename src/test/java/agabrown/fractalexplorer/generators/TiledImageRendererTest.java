@@ -0,0 +1,57 @@
+package agabrown.fractalexplorer.generators;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.generators.TiledImageRenderer}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class TiledImageRendererTest {
+
+    ComplexPlaneView cpv;
+    MandelbrotGenerator generator;
+    double[] expected;
+
+    @Before
+    public void setUp() {
+        cpv = new ComplexPlaneView(203, 117);
+        generator = FractalGeneratorFactory.getMandelbrotEscapeTime();
+        expected = new double[cpv.getSizeRealPixels() * cpv.getSizeImaginaryPixels()];
+        for (int k = 0; k < expected.length; k++) {
+            expected[k] = generator.generatePixelValue(cpv.getValueAtRealPixel(k % cpv.getSizeRealPixels()),
+                    cpv.getValueAtImaginaryPixel(k / cpv.getSizeRealPixels()));
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.generators.TiledImageRenderer#render(FractalGenerator, ComplexPlaneView, RenderProgress)}
+     * . Check that the tiled image is identical to the pixel by pixel calculation, for tile sizes that do and do not
+     * divide the image size, and that the progress accounting is complete.
+     */
+    @Test
+    public void testRender() {
+        for (final int tileSize : new int[]{1, 7, 16, TiledImageRenderer.DEFAULT_TILE_SIZE, 1000}) {
+            final TiledImageRenderer renderer = new TiledImageRenderer(3, tileSize);
+            final RenderProgress progress = new RenderProgress();
+            assertArrayEquals(expected, renderer.render(generator, cpv, progress), 0.0);
+            assertEquals(expected.length, progress.getCompletedPixels());
+            assertEquals(expected.length, progress.getTotalPixels());
+            assertEquals(100, progress.getPercentage());
+        }
+        assertArrayEquals(expected, generator.generateImage(cpv), 0.0);
+        try {
+            new TiledImageRenderer(0);
+            fail("IllegalArgumentException expected.");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package agabrown.fractalexplorer.sets;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import agabrown.fractalexplorer.generators.QuadraticVariant;
+import org.apache.commons.math3.complex.Complex;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.sets.BurningShipSet}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class BurningShipSetTest {
+
+    private static final int MAX_ITER = 200;
+
+    /**
+     * Test method for {@link BurningShipSet#numberOfIterationsForPoint(double, double, int)}. The iteration counts of
+     * the fractal sets of the variants should be the same as those obtained by iterating the generating function of
+     * the variant with {@link Complex} objects.
+     */
+    @Test
+    public void testIterations() {
+        for (final QuadraticVariant variant : QuadraticVariant.values()) {
+            if (variant == QuadraticVariant.MANDELBROT) {
+                continue;
+            }
+            final FractalSet fractalSet = variant.getFractalSet();
+            assertTrue(fractalSet instanceof BurningShipSet);
+            final Function<Complex, Complex> f = variant.getFunction();
+            int inSet = 0;
+            for (double re = -2.0; re <= 1.0; re += 0.046875) {
+                for (double im = -2.0; im <= 1.0; im += 0.046875) {
+                    final Complex c = Complex.valueOf(re, im);
+                    Complex z = c;
+                    int expected = 0;
+                    while (z.getReal() * z.getReal() + z.getImaginary() * z.getImaginary() <= 4.0
+                            && expected < MAX_ITER) {
+                        final Complex w = f.apply(z);
+                        z = Complex.valueOf(w.getReal() + re, w.getImaginary() + im);
+                        expected++;
+                    }
+                    assertEquals(variant.getName(), expected, fractalSet.numberOfIterationsForPoint(re, im, MAX_ITER));
+                    if (expected == MAX_ITER) {
+                        inSet++;
+                    }
+                }
+            }
+            assertTrue(variant.getName(), inSet > 0);
+        }
+
+        // The small ship on the antenna is not symmetric about the real axis.
+        final FractalSet burningShip = QuadraticVariant.BURNING_SHIP.getFractalSet();
+        assertTrue(burningShip.isPointInSet(-1.76, -0.01, MAX_ITER));
+        assertFalse(burningShip.isPointInSet(-1.76, 0.01, MAX_ITER));
+        assertEquals("Burning Ship set", burningShip.getName());
+    }
+
+    /**
+     * Test method for {@link BurningShipSet#numberOfIterationsForPoint(double, double, int)} in single precision. The
+     * boundaries of the variants contain many more chaotic orbits than that of the Mandelbrot set, so that a larger
+     * fraction of the iteration counts differ from double precision at the default zoom level (about 3 percent instead
+     * of well below 2 percent).
+     */
+    @Test
+    public void testSinglePrecision() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(150, 100);
+        for (final QuadraticVariant variant : QuadraticVariant.values()) {
+            if (variant == QuadraticVariant.MANDELBROT) {
+                continue;
+            }
+            final FractalSet fractalSet = variant.getFractalSet();
+            fractalSet.setPeriodicityTolerance(cpv);
+            int differences = 0;
+            for (int j = 0; j < cpv.getSizeImaginaryPixels(); j++) {
+                for (int i = 0; i < cpv.getSizeRealPixels(); i++) {
+                    final double x = cpv.getValueAtRealPixel(i);
+                    final double y = cpv.getValueAtImaginaryPixel(j);
+                    fractalSet.setSinglePrecision(false);
+                    final int expected = fractalSet.numberOfIterationsForPoint(x, y, 500);
+                    fractalSet.setSinglePrecision(true);
+                    if (fractalSet.numberOfIterationsForPoint(x, y, 500) != expected) {
+                        differences++;
+                    }
+                }
+            }
+            assertTrue(fractalSet.getName() + ": " + differences, differences <= 150 * 100 / 20);
+        }
+    }
+
+    /**
+     * Test method for {@link BurningShipSet#BurningShipSet(String, boolean, boolean, boolean, double)}. The Mandelbrot
+     * set itself, an empty name and imaginary factors other than 2 or -2 are refused.
+     */
+    @Test
+    public void testConstructor() {
+        assertTrue(QuadraticVariant.MANDELBROT.getFractalSet() instanceof MandelbrotSet);
+        assertEquals("Celtic set", new BurningShipSet("Celtic", false, false, true, 2.0).getName());
+        final Runnable[] invalid = {() -> new BurningShipSet(null, true, true, false, 2.0),
+                () -> new BurningShipSet("", true, true, false, 2.0),
+                () -> new BurningShipSet("Mandelbrot", false, false, false, 2.0),
+                () -> new BurningShipSet("Burning Ship", true, true, false, 1.0),
+                () -> new BurningShipSet("Burning Ship", true, true, false, Double.NaN)};
+        for (final Runnable constructor : invalid) {
+            try {
+                constructor.run();
+                fail("IllegalArgumentException expected.");
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
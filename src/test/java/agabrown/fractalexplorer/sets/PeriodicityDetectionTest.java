@@ -0,0 +1,68 @@
+package agabrown.fractalexplorer.sets;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for the periodicity detection in the implementations of
+ * {@link agabrown.fractalexplorer.sets.FractalSet}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class PeriodicityDetectionTest {
+
+    private static final int MAX_ITER = 100000;
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.sets.MandelbrotSet#periodOfPoint(double, double, int)}. Check
+     * the periods of points in known hyperbolic components and that the iterations stop early.
+     */
+    @Test
+    public void testMandelbrotPeriods() {
+        final MandelbrotSet mandelbrotSet = new MandelbrotSet();
+        assertEquals(0, mandelbrotSet.periodOfPoint(-1.3, 0.0, MAX_ITER));
+        mandelbrotSet.setPeriodicityTolerance(new ComplexPlaneView(1000, 667));
+        assertEquals(1, mandelbrotSet.periodOfPoint(0.0, 0.0, MAX_ITER));
+        assertEquals(2, mandelbrotSet.periodOfPoint(-1.0, 0.0, MAX_ITER));
+        assertEquals(4, mandelbrotSet.periodOfPoint(-1.3, 0.0, MAX_ITER));
+        assertEquals(3, mandelbrotSet.periodOfPoint(-0.1226, 0.7449, MAX_ITER));
+        assertEquals(3, mandelbrotSet.periodOfPoint(-1.7549, 0.0, MAX_ITER));
+        assertEquals(0, mandelbrotSet.periodOfPoint(0.5, 0.5, MAX_ITER));
+
+        mandelbrotSet.setInteriorCheck(false);
+        assertEquals(1, mandelbrotSet.periodOfPoint(0.0, 0.0, MAX_ITER));
+        assertTrue(mandelbrotSet.isPointInSet(-1.3, 0.0, MAX_ITER));
+        assertFalse(mandelbrotSet.isPointInSet(0.5, 0.5, MAX_ITER));
+        assertEquals(new MandelbrotSet().numberOfIterationsForPoint(0.26, 0.0, MAX_ITER),
+                mandelbrotSet.numberOfIterationsForPoint(0.26, 0.0, MAX_ITER));
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.sets.JuliaSet#periodOfPoint(double, double, int)} and
+     * {@link agabrown.fractalexplorer.sets.TricornSet#periodOfPoint(double, double, int)}.
+     */
+    @Test
+    public void testJuliaAndTricornPeriods() {
+        final JuliaSet juliaSet = new JuliaSet(-1.0, 0.0);
+        juliaSet.setPeriodicityTolerance(1.0e-9);
+        assertEquals(2, juliaSet.periodOfPoint(0.1, 0.1, MAX_ITER));
+        assertTrue(juliaSet.isPointInSet(0.1, 0.1, MAX_ITER));
+        assertEquals(0, juliaSet.periodOfPoint(1.5, 0.5, MAX_ITER));
+
+        final TricornSet tricornSet = new TricornSet();
+        tricornSet.setPeriodicityTolerance(1.0e-9);
+        assertEquals(1, tricornSet.periodOfPoint(0.1, 0.0, MAX_ITER));
+        assertEquals(0, tricornSet.periodOfPoint(1.0, 1.0, MAX_ITER));
+        try {
+            tricornSet.setPeriodicityTolerance(-1.0);
+            fail("IllegalArgumentException expected.");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
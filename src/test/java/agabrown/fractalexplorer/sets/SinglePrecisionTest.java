@@ -0,0 +1,116 @@
+package agabrown.fractalexplorer.sets;
+
+import agabrown.fractalexplorer.dm.ComplexPlaneView;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the single precision iterations in the implementations of
+ * {@link agabrown.fractalexplorer.sets.FractalSet}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class SinglePrecisionTest {
+
+    private static final int MAX_ITER = 500;
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.sets.FractalSet#setSinglePrecision(ComplexPlaneView, int)}. Single precision is
+     * selected for the default view but not for deep zooms.
+     */
+    @Test
+    public void testSelection() {
+        final MandelbrotSet mandelbrotSet = new MandelbrotSet();
+        assertFalse(mandelbrotSet.isSinglePrecision());
+        final ComplexPlaneView cpv = new ComplexPlaneView(1000, 667);
+        mandelbrotSet.setSinglePrecision(cpv, MAX_ITER);
+        assertTrue(mandelbrotSet.isSinglePrecision());
+        cpv.setCentre(-0.7436438870371587, 0.1318259042053119);
+        cpv.setZoomFactor(1.0e6);
+        mandelbrotSet.setSinglePrecision(cpv, MAX_ITER);
+        assertFalse(mandelbrotSet.isSinglePrecision());
+    }
+
+    /**
+     * Test method for
+     * {@link agabrown.fractalexplorer.sets.FractalSet#numberOfIterationsForPoint(double, double, int)} in single
+     * precision. At the default zoom level the iteration counts agree with double precision, apart from a small
+     * fraction of points close to the boundary of the set.
+     */
+    @Test
+    public void testIterations() {
+        final ComplexPlaneView cpv = new ComplexPlaneView(150, 100);
+        final FractalSet[] fractalSets = {new MandelbrotSet(), new JuliaSet(-1.0, 0.0), new TricornSet()};
+        for (final FractalSet fractalSet : fractalSets) {
+            fractalSet.setPeriodicityTolerance(cpv);
+            int differences = 0;
+            for (int j = 0; j < cpv.getSizeImaginaryPixels(); j++) {
+                for (int i = 0; i < cpv.getSizeRealPixels(); i++) {
+                    final double x = cpv.getValueAtRealPixel(i);
+                    final double y = cpv.getValueAtImaginaryPixel(j);
+                    fractalSet.setSinglePrecision(false);
+                    final int expected = fractalSet.numberOfIterationsForPoint(x, y, MAX_ITER);
+                    fractalSet.setSinglePrecision(true);
+                    if (fractalSet.numberOfIterationsForPoint(x, y, MAX_ITER) != expected) {
+                        differences++;
+                    }
+                }
+            }
+            assertTrue(fractalSet.getName() + ": " + differences, differences <= 150 * 100 / 50);
+        }
+
+        final MandelbrotSet mandelbrotSet = new MandelbrotSet();
+        mandelbrotSet.setSinglePrecision(true);
+        mandelbrotSet.setInteriorCheck(false);
+        mandelbrotSet.setPeriodicityTolerance(1.0e-5);
+        assertEquals(3, mandelbrotSet.periodOfPoint(-0.1226, 0.7449, MAX_ITER));
+        assertFalse(mandelbrotSet.isPointInSet(0.5, 0.5, MAX_ITER));
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.sets.FractalSet#setSinglePrecision(boolean)}. Implementations
+     * that do not support single precision need not implement the precision methods and stay in double precision.
+     */
+    @Test
+    public void testDefaultPrecision() {
+        final FractalSet fractalSet = new FractalSet() {
+            @Override
+            public boolean isPointInSet(final double real, final double imaginary, final int maxIter) {
+                return false;
+            }
+
+            @Override
+            public int numberOfIterationsForPoint(final double real, final double imaginary, final int maxIter) {
+                return 0;
+            }
+
+            @Override
+            public int periodOfPoint(final double real, final double imaginary, final int maxIter) {
+                return 0;
+            }
+
+            @Override
+            public void setPeriodicityTolerance(final double tolerance) {
+            }
+
+            @Override
+            public String getName() {
+                return "Empty set";
+            }
+
+            @Override
+            public List<String> getInfoLines() {
+                return Collections.emptyList();
+            }
+        };
+        fractalSet.setSinglePrecision(new ComplexPlaneView(1000, 667), MAX_ITER);
+        assertFalse(fractalSet.isSinglePrecision());
+    }
+}
@@ -0,0 +1,80 @@
+package agabrown.fractalexplorer.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.util.DoubleDouble}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class DoubleDoubleTest {
+
+    /**
+     * Relative precision of double-double numbers.
+     */
+    private static final BigDecimal PRECISION = new BigDecimal("1e-31");
+
+    /**
+     * Test method for the arithmetic methods of {@link agabrown.fractalexplorer.util.DoubleDouble}. Check the results
+     * against arbitrary precision arithmetic.
+     */
+    @Test
+    public void testArithmetic() {
+        final BigDecimal x = new BigDecimal("-0.74364388703715870475219150611477416");
+        final BigDecimal y = new BigDecimal("1.3182590420531197049313205638513950");
+        final DoubleDouble a = DoubleDouble.valueOf(x);
+        final DoubleDouble b = DoubleDouble.valueOf(y);
+        assertClose(x, a.toBigDecimal());
+        assertEquals(x.doubleValue(), a.doubleValue(), 0.0);
+        assertTrue(Math.abs(a.getLow()) <= 0.5 * Math.ulp(a.getHigh()));
+
+        final DoubleDouble result = new DoubleDouble();
+        assertClose(x.add(y), result.add(a, b).toBigDecimal());
+        assertClose(x.subtract(y), result.subtract(a, b).toBigDecimal());
+        assertClose(x.multiply(y), result.multiply(a, b).toBigDecimal());
+        assertClose(x.multiply(x), result.square(a).toBigDecimal());
+        assertClose(x.add(new BigDecimal(0.1)), result.add(a, 0.1).toBigDecimal());
+        assertClose(x.multiply(new BigDecimal(0.1)), result.multiply(a, 0.1).toBigDecimal());
+        assertClose(x.multiply(new BigDecimal("0.25")), result.scalb(a, -2).toBigDecimal());
+        assertClose(x.negate(), result.negate(a).toBigDecimal());
+        assertEquals(0.0, result.subtract(a, a).doubleValue(), 0.0);
+
+        // in place operation: a = a^2 + b
+        a.square(a).add(a, b);
+        assertClose(x.multiply(x).add(y), a.toBigDecimal());
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.util.DoubleDouble}. Small differences that are lost in double
+     * precision are kept.
+     */
+    @Test
+    public void testSmallDifferences() {
+        final DoubleDouble one = new DoubleDouble(1.0);
+        final DoubleDouble sum = new DoubleDouble().add(one, 1.0e-25);
+        assertEquals(1.0, sum.getHigh(), 0.0);
+        assertEquals(1.0e-25, sum.getLow(), 0.0);
+        assertEquals(1.0e-25, new DoubleDouble().subtract(sum, one).doubleValue(), 1.0e-40);
+        assertEquals(2.0e-25, new DoubleDouble().square(sum).subtract(new DoubleDouble().square(sum), one)
+                .doubleValue(), 1.0e-40);
+        assertEquals(new DoubleDouble(1.0).add(new DoubleDouble(1.0), 1.0e-25), sum);
+        assertEquals("1.0000000000000000000000001000000", sum.toString());
+    }
+
+    /**
+     * Assert that two numbers agree to double-double precision.
+     *
+     * @param expected The expected value.
+     * @param actual   The actual value.
+     */
+    private static void assertClose(final BigDecimal expected, final BigDecimal actual) {
+        final BigDecimal tolerance = PRECISION.multiply(expected.abs()).round(MathContext.DECIMAL64);
+        assertTrue(expected + " vs " + actual, expected.subtract(actual).abs().compareTo(tolerance) <= 0);
+    }
+}
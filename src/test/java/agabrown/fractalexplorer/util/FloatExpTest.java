@@ -0,0 +1,103 @@
+package agabrown.fractalexplorer.util;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.util.FloatExp}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class FloatExpTest {
+
+    private static final double TOLERANCE = 1.0e-15;
+
+    /**
+     * Test method for the arithmetic methods of {@link agabrown.fractalexplorer.util.FloatExp}. Within the range of
+     * doubles the results should agree with double precision arithmetic.
+     */
+    @Test
+    public void testArithmetic() {
+        final double x = -3.75e-5;
+        final double y = 1.2345e3;
+        final FloatExp a = new FloatExp(x);
+        final FloatExp b = new FloatExp(y);
+        final FloatExp result = new FloatExp();
+        assertEquals(x, a.doubleValue(), 0.0);
+        assertTrue(Math.abs(a.getMantissa()) >= 1.0 && Math.abs(a.getMantissa()) < 2.0);
+        assertEquals(Math.getExponent(x), a.getExponent());
+        assertEquals(x + y, result.add(a, b).doubleValue(), 0.0);
+        assertEquals(x - y, result.subtract(a, b).doubleValue(), 0.0);
+        assertEquals(x * y, result.multiply(a, b).doubleValue(), 0.0);
+        assertEquals(x * 7.0, result.multiply(a, 7.0).doubleValue(), 0.0);
+        assertEquals(x / y, result.divide(a, b).doubleValue(), 0.0);
+        assertEquals(x * 0.25, result.scalb(a, -2).doubleValue(), 0.0);
+        assertEquals(-x, result.negate(a).doubleValue(), 0.0);
+        assertEquals(Math.abs(x), result.abs(a).doubleValue(), 0.0);
+        assertEquals(0.0, result.subtract(a, a).doubleValue(), 0.0);
+        assertEquals(Integer.MIN_VALUE, result.getExponent());
+        assertEquals(y, result.add(result, b).doubleValue(), 0.0);
+
+        // in place operation: a = a^2 + b
+        a.multiply(a, a).add(a, b);
+        assertEquals(x * x + y, a.doubleValue(), 0.0);
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.util.FloatExp}. Check that numbers far outside the range of
+     * doubles are represented with full precision.
+     */
+    @Test
+    public void testExtendedRange() {
+        final FloatExp tiny = new FloatExp(1.5, -2000);
+        final FloatExp product = new FloatExp().multiply(tiny, tiny);
+        assertEquals(-3999, product.getExponent());
+        assertEquals(1.125, product.getMantissa(), 0.0);
+        assertEquals(0.0, product.doubleValue(), 0.0);
+        assertEquals(tiny, new FloatExp().divide(product, tiny));
+
+        final FloatExp sum = new FloatExp().add(tiny, new FloatExp(1.0, -2010));
+        assertEquals(1.5 + Math.scalb(1.0, -10), sum.getMantissa(), 0.0);
+        assertEquals(-2000, sum.getExponent());
+        assertEquals(0, new FloatExp().add(tiny, new FloatExp(1.0)).compareTo(new FloatExp(1.0)));
+
+        assertEquals(-2000 * Math.log10(2.0) + Math.log10(1.5), tiny.log10(), 1.0e-12);
+        assertTrue(tiny.compareTo(new FloatExp(Double.MIN_VALUE)) < 0);
+        assertTrue(tiny.compareTo(new FloatExp()) > 0);
+        assertTrue(new FloatExp().negate(tiny).compareTo(new FloatExp()) < 0);
+
+        final FloatExp subnormal = new FloatExp(Double.MIN_VALUE);
+        assertEquals(-1074, subnormal.getExponent());
+        assertEquals(1.0, subnormal.getMantissa(), 0.0);
+        assertEquals(Double.MIN_VALUE, subnormal.doubleValue(), 0.0);
+    }
+
+    /**
+     * Test method for {@link agabrown.fractalexplorer.util.FloatExp#toBigDecimal()} and
+     * {@link agabrown.fractalexplorer.util.FloatExp#valueOf(BigDecimal)}.
+     */
+    @Test
+    public void testDecimalConversion() {
+        final FloatExp tiny = new FloatExp(1.5, -2000);
+        final BigDecimal exact = tiny.toBigDecimal();
+        assertEquals(0, exact.compareTo(new BigDecimal("1.5").divide(BigDecimal.valueOf(2).pow(2000))));
+        assertEquals(tiny, FloatExp.valueOf(exact));
+        assertEquals(0, BigDecimal.ZERO.compareTo(new FloatExp().toBigDecimal()));
+        assertEquals(0, new BigDecimal(0.1).compareTo(new FloatExp(0.1).toBigDecimal()));
+
+        final FloatExp large = FloatExp.valueOf(new BigDecimal("2.5E400"));
+        assertEquals(400 + Math.log10(2.5), large.log10(), 1.0e-13);
+        assertEquals(2.5, large.toBigDecimal().scaleByPowerOfTen(-400).doubleValue(), TOLERANCE * 2.5);
+        assertEquals(Double.POSITIVE_INFINITY, large.doubleValue(), 0.0);
+        assertEquals(-0.75, FloatExp.valueOf(new BigDecimal("-0.75")).doubleValue(), 0.0);
+        assertEquals(new FloatExp(), FloatExp.valueOf(BigDecimal.ZERO));
+
+        assertEquals("1.1481306952742545E602", new FloatExp(1.0, 2000).toString());
+        assertEquals(tiny, FloatExp.valueOf(new BigDecimal(tiny.toString())));
+        assertEquals("0.125", new FloatExp(0.125).toString());
+    }
+}
@@ -0,0 +1,72 @@
+package agabrown.fractalexplorer.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link agabrown.fractalexplorer.util.PrecisionVerification}.
+ *
+ * @author agabrown Oct 2026
+ */
+public class PrecisionVerificationTest {
+
+    /**
+     * Test method for {@link PrecisionVerification#agrees(double, double)}. Values that are not a number and values of
+     * which only one is infinite never agree.
+     */
+    @Test
+    public void testAgrees() {
+        assertTrue(PrecisionVerification.agrees(10.0, 10.0));
+        assertTrue(PrecisionVerification.agrees(10.0, 10.0 + FEConstants.VERIFICATION_VALUE_TOLERANCE));
+        assertFalse(PrecisionVerification.agrees(10.0, 11.0));
+        assertTrue(PrecisionVerification.agrees(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY));
+        assertFalse(PrecisionVerification.agrees(Double.POSITIVE_INFINITY, 10.0));
+        assertFalse(PrecisionVerification.agrees(10.0, Double.NEGATIVE_INFINITY));
+        assertFalse(PrecisionVerification.agrees(Double.NaN, 10.0));
+        assertFalse(PrecisionVerification.agrees(10.0, Double.NaN));
+        assertFalse(PrecisionVerification.agrees(Double.NaN, Double.NaN));
+    }
+
+    /**
+     * Test method for
+     * {@link PrecisionVerification#verify(double[], int, java.util.function.IntToDoubleFunction)}. An image with a few
+     * disagreeing sampled pixels is accepted and the neighbourhoods of those pixels are replaced by the double
+     * precision values, while an image with more disagreeing samples is refused and left unchanged.
+     */
+    @Test
+    public void testVerify() {
+        final int width = 64;
+        final int height = 64;
+        final double[] expected = new double[width * height];
+        for (int k = 0; k < expected.length; k++) {
+            expected[k] = k % 7;
+        }
+
+        final double[] image = expected.clone();
+        assertTrue(PrecisionVerification.verify(image, width, k -> expected[k]));
+        assertArrayEquals(expected, image, 0.0);
+
+        // Every 16th pixel is sampled, so that only the first of these pixels is.
+        for (final int k : new int[]{16 * width, 15 * width + 1, 16 * width + 1, 17 * width + 1}) {
+            image[k] = Double.NaN;
+        }
+        image[20 * width + 10] = -1.0;
+        assertTrue(PrecisionVerification.verify(image, width, k -> expected[k]));
+        assertArrayEquals(Arrays.copyOf(expected, 20 * width + 10), Arrays.copyOf(image, 20 * width + 10), 0.0);
+        assertEquals(-1.0, image[20 * width + 10], 0.0);
+
+        final double[] refused = expected.clone();
+        for (int s = 0; s <= FEConstants.VERIFICATION_MAXIMUM_DISAGREEMENTS; s++) {
+            refused[s * 16 * width] = Double.NaN;
+        }
+        final double[] copy = refused.clone();
+        assertFalse(PrecisionVerification.verify(refused, width, k -> expected[k]));
+        assertArrayEquals(copy, refused, 0.0);
+    }
+}
@@ -0,0 +1,79 @@
+package agabrown.fractalexplorer.generators;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of {@link EscapeTimeBatchKernel} with the Java Vector API, which iterates as many points at once as
+ * fit in the SIMD registers of the processor. Points whose orbits have escaped are masked out of the updates, and the
+ * iterations of a group of points stop as soon as all of them have escaped or the maximum number of iterations is
+ * reached. The points left over at the end of the batch are iterated with the {@link ScalarEscapeTimeKernel}. The
+ * arithmetic operations are those of the scalar kernel, so the results are identical.
+ *
+ * <p>
+ * This class is compiled separately for Java 17 and needs the incubator module {@code jdk.incubator.vector} at run
+ * time (JVM option {@code --add-modules jdk.incubator.vector}). It is only ever loaded through reflection by
+ * {@link BatchImageRenderer#vectorKernel()}, which falls back to the scalar kernel where it is not available.
+ * </p>
+ *
+ * @author agabrown Oct 2026
+ */
+public final class VectorEscapeTimeKernel implements EscapeTimeBatchKernel {
+
+    /**
+     * The preferred vector shape of the platform.
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Kernel for the points that do not fill a complete vector.
+     */
+    private final ScalarEscapeTimeKernel tail = new ScalarEscapeTimeKernel();
+
+    @Override
+    public String getName() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+
+    @Override
+    public void iterate(final double[] zRe, final double[] zIm, final double[] cRe, final double[] cIm,
+                        final int[] iterations, final int from, final int to, final QuadraticVariant variant,
+                        final boolean conjugate, final int maxIter, final double radiusSquared) {
+        final double sign = variant.imaginaryFactor(conjugate);
+        final boolean absRe = variant.isAbsoluteReal();
+        final boolean absIm = variant.isAbsoluteImaginary();
+        final boolean absSquareRe = variant.isAbsoluteSquareReal();
+        final int lanes = SPECIES.length();
+        int k = from;
+        for (; k + lanes <= to; k += lanes) {
+            DoubleVector re = DoubleVector.fromArray(SPECIES, zRe, k);
+            DoubleVector im = DoubleVector.fromArray(SPECIES, zIm, k);
+            final DoubleVector pRe = DoubleVector.fromArray(SPECIES, cRe, k);
+            final DoubleVector pIm = DoubleVector.fromArray(SPECIES, cIm, k);
+            DoubleVector count = DoubleVector.zero(SPECIES);
+            VectorMask<Double> active = SPECIES.maskAll(true);
+            for (int n = 0; n < maxIter; n++) {
+                final DoubleVector reSquared = re.mul(re);
+                final DoubleVector imSquared = im.mul(im);
+                active = active.andNot(reSquared.add(imSquared).compare(VectorOperators.GT, radiusSquared));
+                if (!active.anyTrue()) {
+                    break;
+                }
+                final DoubleVector newIm = (absRe ? re.abs() : re).mul(sign).mul(absIm ? im.abs() : im).add(pIm);
+                final DoubleVector reDifference = reSquared.sub(imSquared);
+                final DoubleVector newRe = (absSquareRe ? reDifference.abs() : reDifference).add(pRe);
+                re = re.blend(newRe, active);
+                im = im.blend(newIm, active);
+                count = count.add(1.0, active);
+            }
+            re.intoArray(zRe, k);
+            im.intoArray(zIm, k);
+            for (int lane = 0; lane < lanes; lane++) {
+                iterations[k + lane] = (int) count.lane(lane);
+            }
+        }
+        tail.iterate(zRe, zIm, cRe, cIm, iterations, k, to, variant, conjugate, maxIter, radiusSquared);
+    }
+}